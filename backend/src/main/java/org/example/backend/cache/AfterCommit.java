@@ -0,0 +1,25 @@
+package org.example.backend.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//Runs action after commit of current transaction, or at once when there is no transaction.
+//Caches are evicted and in-memory indexes are changed through it, so readers can't put old data back into them
+//before changes are visible in database and rolled back changes never get into them
+public class AfterCommit {
+
+    public static void run(Runnable action) {
+
+        if(TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+}
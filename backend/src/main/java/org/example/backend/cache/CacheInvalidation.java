@@ -0,0 +1,5 @@
+package org.example.backend.cache;
+
+//Message telling every replica which cached entry is no longer valid, origin is id of replica which sent it
+public record CacheInvalidation(String origin, CacheInvalidationType type, String key) {
+}
@@ -0,0 +1,57 @@
+package org.example.backend.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+//Invalidates caches of this replica after commit and sends the same invalidation to other replicas
+//through transport, invalidations sent by this replica are ignored when they come back
+@Component
+public class CacheInvalidationBus {
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final List<CacheInvalidationListener> listeners;
+    private final CacheInvalidationTransport transport;
+
+    @Autowired
+    public CacheInvalidationBus(List<CacheInvalidationListener> listeners, CacheInvalidationTransport transport) {
+        this.listeners = listeners;
+        this.transport = transport;
+        this.transport.subscribe(this::receive);
+    }
+
+    public void invalidateProduct(String eanCode) {
+        publish(CacheInvalidationType.PRODUCT, eanCode);
+    }
+
+    public void invalidateCatalogQueries(CatalogQuery... catalogQueries) {
+
+        for(CatalogQuery catalogQuery : catalogQueries)
+            publish(CacheInvalidationType.CATALOG_QUERY, catalogQuery.name());
+    }
+
+    public void invalidateRolesAndPrivileges() {
+        publish(CacheInvalidationType.ROLES_AND_PRIVILEGES, null);
+    }
+
+    private void publish(CacheInvalidationType type, String key) {
+
+        CacheInvalidation invalidation = new CacheInvalidation(origin, type, key);
+
+        transport.send(invalidation);
+        AfterCommit.run(() -> invalidateLocally(invalidation));
+    }
+
+    private void receive(CacheInvalidation invalidation) {
+
+        if(!origin.equals(invalidation.origin()))
+            invalidateLocally(invalidation);
+    }
+
+    private void invalidateLocally(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.invalidate(invalidation));
+    }
+}
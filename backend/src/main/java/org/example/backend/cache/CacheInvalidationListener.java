@@ -0,0 +1,7 @@
+package org.example.backend.cache;
+
+//Cache of this replica which is evicted by CacheInvalidationBus, invalidations of other types are ignored
+public interface CacheInvalidationListener {
+
+    void invalidate(CacheInvalidation invalidation);
+}
@@ -0,0 +1,12 @@
+package org.example.backend.cache;
+
+import java.util.function.Consumer;
+
+//Carries invalidations between replicas. Invalidation is sent inside transaction of change
+//and must reach receivers only when that transaction is committed
+public interface CacheInvalidationTransport {
+
+    void send(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> receiver);
+}
@@ -0,0 +1,11 @@
+package org.example.backend.cache;
+
+//Kinds of cached state which can be invalidated, key of CacheInvalidation depends on it
+public enum CacheInvalidationType {
+    //Key is ean code of product
+    PRODUCT,
+    //Key is name of CatalogQuery
+    CATALOG_QUERY,
+    //Key isn't used, all roles and privileges are invalidated
+    ROLES_AND_PRIVILEGES
+}
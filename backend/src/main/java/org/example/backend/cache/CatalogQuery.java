@@ -0,0 +1,9 @@
+package org.example.backend.cache;
+
+//Shapes of catalog queries whose results are kept in ProductCatalogCache
+public enum CatalogQuery {
+    //Ean codes of products which current price differs from regular price
+    PRODUCTS_ON_SALE,
+    //All distinct product types
+    PRODUCT_TYPES
+}
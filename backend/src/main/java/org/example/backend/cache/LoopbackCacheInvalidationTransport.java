@@ -0,0 +1,26 @@
+package org.example.backend.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+//Delivers invalidations to receivers in the same JVM, it is used by single replica and in tests
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(CacheInvalidation invalidation) {
+        AfterCommit.run(() -> receivers.forEach(receiver -> receiver.accept(invalidation)));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+}
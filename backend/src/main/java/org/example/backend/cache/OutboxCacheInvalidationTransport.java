@@ -0,0 +1,142 @@
+package org.example.backend.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dao.repository.cache.CacheInvalidationEventRepository;
+import org.example.backend.dao.repository.cache.StoredCacheInvalidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+//Sends invalidations to other replicas through cache_invalidation_event table, so no broker is needed.
+//Every replica polls rows with id greater than the highest one it has seen, clocks of replicas are never
+//compared. Id is taken at insert, but row is visible only after commit, so row with smaller id can appear
+//after rows with greater ones. Ids skipped by poll are remembered as gaps and polled again until their row
+//appears or gap timeout passes, at most maximal gaps of them. Rows older than retention are deleted by any replica
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.transport", havingValue = "outbox")
+public class OutboxCacheInvalidationTransport implements CacheInvalidationTransport,
+        ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxCacheInvalidationTransport.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration GAP_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration RETENTION = Duration.ofHours(1);
+    private static final int POLL_LIMIT = 1000;
+    private static final int MAXIMAL_GAPS = 1000;
+
+    private final CacheInvalidationEventRepository cacheInvalidationEventRepository;
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    //Highest delivered id and ids below it whose rows weren't seen yet with time when they were found missing,
+    //only polling thread uses them
+    private Long highWatermark;
+    private final TreeMap<Long, Instant> gaps = new TreeMap<>();
+
+    @Autowired
+    public OutboxCacheInvalidationTransport(CacheInvalidationEventRepository cacheInvalidationEventRepository) {
+        this.cacheInvalidationEventRepository = cacheInvalidationEventRepository;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //Creation time is used only for retention, which is far longer than any clock difference of replicas
+    @Override
+    public void send(CacheInvalidation invalidation) {
+        cacheInvalidationEventRepository.save(invalidation, Instant.now());
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+
+    //Polling starts when application is ready, context can be refreshed more than once
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        if(started.compareAndSet(false, true))
+            executor.scheduleWithFixedDelay(this::pollSafely, POLL_INTERVAL.toMillis(), POLL_INTERVAL.toMillis(),
+                    TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //First poll only takes current highest id, cache of starting replica is empty, so older rows don't matter
+    void poll() {
+
+        Instant now = Instant.now();
+
+        if(highWatermark == null) {
+            highWatermark = cacheInvalidationEventRepository.findMaximalId();
+            return;
+        }
+
+        for(StoredCacheInvalidation storedInvalidation
+                : cacheInvalidationEventRepository.findByIds(new ArrayList<>(gaps.keySet()))) {
+            gaps.remove(storedInvalidation.id());
+            deliver(storedInvalidation);
+        }
+
+        List<StoredCacheInvalidation> storedInvalidations;
+
+        do {
+            storedInvalidations = cacheInvalidationEventRepository.findAfterId(highWatermark, POLL_LIMIT);
+
+            for(StoredCacheInvalidation storedInvalidation : storedInvalidations) {
+
+                for(long id = Math.max(highWatermark + 1, storedInvalidation.id() - MAXIMAL_GAPS);
+                    id < storedInvalidation.id(); id++)
+                    gaps.put(id, now);
+
+                highWatermark = storedInvalidation.id();
+                deliver(storedInvalidation);
+            }
+        } while(storedInvalidations.size() == POLL_LIMIT);
+
+        gaps.values().removeIf(foundAt -> foundAt.isBefore(now.minus(GAP_TIMEOUT)));
+
+        while(gaps.size() > MAXIMAL_GAPS)
+            gaps.pollFirstEntry();
+
+        cacheInvalidationEventRepository.deleteCreatedBefore(now.minus(RETENTION));
+    }
+
+    //Failed poll is repeated with the next one, exception would stop scheduled polling
+    private void pollSafely() {
+
+        try{
+            poll();
+        } catch (RuntimeException e) {
+            logger.warn("Cache invalidations weren't polled", e);
+        }
+    }
+
+    private void deliver(StoredCacheInvalidation storedInvalidation) {
+        receivers.forEach(receiver -> receiver.accept(storedInvalidation.invalidation()));
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.backend.model.ProductModel;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+//Read-through cache of product catalog, products are kept by ean code and query results by CatalogQuery.
+//Query results hold only ean codes, so change of one product evicts only its own entry and queries it can move in.
+//Products change only through ProductDataService, which evicts affected entries on every replica
+//through CacheInvalidationBus. Every invalidation bumps generation of its key and entry loaded is cached only
+//when generation of its key didn't change during load, so reader which loaded product before change was
+//committed can't put old model back after eviction. Generations of products are kept in fixed number of slots
+//picked by hash of ean code, key sharing slot with changed product only misses one put.
+//Cached models are shared between requests and must not be modified
+@Component
+public class ProductCatalogCache implements CacheInvalidationListener, MeterBinder {
+
+    private static final long MAXIMUM_PRODUCTS = 10_000;
+    private static final Duration EXPIRY = Duration.ofMinutes(10);
+    private static final int PRODUCT_GENERATION_SLOTS = 4096;
+
+    private final Cache<String, ProductModel> products;
+    private final Cache<CatalogQuery, List<String>> queries;
+    private final AtomicLongArray productGenerations = new AtomicLongArray(PRODUCT_GENERATION_SLOTS);
+    private final AtomicLongArray queryGenerations = new AtomicLongArray(CatalogQuery.values().length);
+
+    public ProductCatalogCache() {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_PRODUCTS)
+                .expireAfterWrite(EXPIRY)
+                .recordStats()
+                .build();
+        this.queries = Caffeine.newBuilder()
+                .maximumSize(CatalogQuery.values().length)
+                .expireAfterWrite(EXPIRY)
+                .recordStats()
+                .build();
+    }
+
+    //Loader returns null when product doesn't exist, it isn't cached
+    public ProductModel getProduct(String eanCode, Function<String, ProductModel> loader) {
+
+        ProductModel cachedProduct = products.getIfPresent(eanCode);
+
+        if(cachedProduct != null)
+            return cachedProduct;
+
+        long generation = productGenerations.get(productSlot(eanCode));
+        ProductModel loadedProduct = loader.apply(eanCode);
+
+        if(loadedProduct != null)
+            putProduct(eanCode, loadedProduct, generation);
+
+        return loadedProduct;
+    }
+
+    //Missing products are loaded by one call of loader, products which don't exist are skipped
+    public List<ProductModel> getProducts(List<String> eanCodes,
+                                          Function<List<String>, Map<String, ProductModel>> loader) {
+
+        Map<String, ProductModel> foundProducts = new HashMap<>(products.getAllPresent(eanCodes));
+        List<String> missingEanCodes = eanCodes.stream()
+                .filter(eanCode -> !foundProducts.containsKey(eanCode))
+                .distinct()
+                .toList();
+
+        if(!missingEanCodes.isEmpty()) {
+
+            Map<String, Long> generations = new HashMap<>();
+            missingEanCodes.forEach(eanCode -> generations.put(eanCode, productGenerations.get(productSlot(eanCode))));
+
+            loader.apply(new ArrayList<>(missingEanCodes)).forEach((eanCode, productModel) -> {
+
+                foundProducts.put(eanCode, productModel);
+
+                if(generations.containsKey(eanCode))
+                    putProduct(eanCode, productModel, generations.get(eanCode));
+            });
+        }
+
+        List<ProductModel> productModels = new ArrayList<>();
+
+        eanCodes.forEach(eanCode -> {
+
+            ProductModel productModel = foundProducts.get(eanCode);
+
+            if(productModel != null)
+                productModels.add(productModel);
+        });
+
+        return productModels;
+    }
+
+    //Returns null when any of products isn't cached, nothing is loaded then
+    public List<ProductModel> getProductsIfPresent(List<String> eanCodes) {
+
+        Map<String, ProductModel> foundProducts = products.getAllPresent(eanCodes);
+
+        if(!foundProducts.keySet().containsAll(eanCodes))
+            return null;
+
+        return eanCodes.stream().map(foundProducts::get).toList();
+    }
+
+    public List<String> getQuery(CatalogQuery query, Supplier<List<String>> loader) {
+
+        List<String> cachedResult = queries.getIfPresent(query);
+
+        if(cachedResult != null)
+            return cachedResult;
+
+        long generation = queryGenerations.get(query.ordinal());
+        List<String> loadedResult = List.copyOf(loader.get());
+
+        putQuery(query, loadedResult, generation);
+
+        return loadedResult;
+    }
+
+    //Returns null when result of query isn't cached
+    public List<String> getQueryIfPresent(CatalogQuery query) {
+        return queries.getIfPresent(query);
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+
+        if(invalidation.type() == CacheInvalidationType.PRODUCT) {
+            productGenerations.incrementAndGet(productSlot(invalidation.key()));
+            products.invalidate(invalidation.key());
+        }
+        else if(invalidation.type() == CacheInvalidationType.CATALOG_QUERY) {
+            CatalogQuery query = CatalogQuery.valueOf(invalidation.key());
+            queryGenerations.incrementAndGet(query.ordinal());
+            queries.invalidate(query);
+        }
+    }
+
+    //Put checks generation while it holds entry, invalidation bumps generation before it evicts entry
+    private void putProduct(String eanCode, ProductModel productModel, long generation) {
+        products.asMap().compute(eanCode, (key, existingProduct) ->
+                (productGenerations.get(productSlot(eanCode)) == generation) ? productModel : existingProduct);
+    }
+
+    private void putQuery(CatalogQuery query, List<String> result, long generation) {
+        queries.asMap().compute(query, (key, existingResult) ->
+                (queryGenerations.get(query.ordinal()) == generation) ? result : existingResult);
+    }
+
+    private int productSlot(String eanCode) {
+        return Math.floorMod(eanCode.hashCode(), PRODUCT_GENERATION_SLOTS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, products, "productCatalog.products");
+        CaffeineCacheMetrics.monitor(registry, queries, "productCatalog.queries");
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dao.entity.user.Privilege;
+import org.example.backend.dao.entity.user.Role;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+//Second-level cache of roles and privileges is evicted after they are changed. Hibernate updates cached entities
+//by itself, but not the other side of role-privilege relation and not users holding changed role,
+//so whole regions are evicted
+@Component
+public class ReferenceDataCache implements CacheInvalidationListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+
+        if(invalidation.type() == CacheInvalidationType.ROLES_AND_PRIVILEGES)
+            evictRolesAndPrivileges();
+    }
+
+    public void evictRolesAndPrivileges() {
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        cache.evictEntityData(Role.class);
+        cache.evictEntityData(Privilege.class);
+        cache.evictCollectionData(Role.class.getName() + ".privileges");
+        cache.evictCollectionData(Privilege.class.getName() + ".roles");
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.backend.catalog;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dao.service.ProductDataService;
+import org.example.backend.model.ProductModel;
+import org.example.backend.model.ProductPageModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+//Cache-first, non-blocking reads of product catalog. Result which is cached completes at once on caller thread,
+//others are read from database by small pool of reader threads, so request thread is never held for database
+//round trip. Reads wait in bounded queue, when it is full future fails with RejectedExecutionException at once,
+//so overload is pushed back to clients instead of piling up requests
+@Component
+public class CatalogReader {
+
+    private final ProductDataService productDataService;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public CatalogReader(ProductDataService productDataService,
+                         @Value("${catalog-reader.threads:8}") int threads,
+                         @Value("${catalog-reader.queue-capacity:500}") int queueCapacity) {
+
+        if(threads <= 0)
+            throw new IllegalArgumentException("Incorrect argument: threads");
+        else if(queueCapacity <= 0)
+            throw new IllegalArgumentException("Incorrect argument: queueCapacity");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.productDataService = productDataService;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-reader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<List<ProductModel>> getProductsOnSale() {
+        return cachedOrRead(productDataService::getCachedProductsOnSale, productDataService::getProductsOnSale);
+    }
+
+    public CompletableFuture<List<ProductModel>> getProductsByEANCodes(List<String> eanCodes) {
+        return cachedOrRead(() -> productDataService.getCachedProductsByEANCodes(eanCodes),
+                () -> productDataService.getProductsByEANCodes(eanCodes));
+    }
+
+    //Search pages aren't cached, they are always read by reader threads
+    public CompletableFuture<ProductPageModel> getProductsBySearch(String type, String phrase, Double minPrice,
+                                                                   Double maxPrice, String cursor) {
+        return cachedOrRead(() -> null,
+                () -> productDataService.getProductsBySearch(type, phrase, minPrice, maxPrice, cursor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //Incorrect argument and full queue fail returned future, nothing is thrown to caller
+    private <T> CompletableFuture<T> cachedOrRead(Supplier<T> cachedResult, Supplier<T> reader) {
+
+        try{
+            T result = cachedResult.get();
+
+            if(result != null)
+                return CompletableFuture.completedFuture(result);
+
+            return CompletableFuture.supplyAsync(reader, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
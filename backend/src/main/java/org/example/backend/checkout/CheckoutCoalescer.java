@@ -0,0 +1,239 @@
+package org.example.backend.checkout;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dao.service.OrderTransactionOutcome;
+import org.example.backend.dao.service.OrderTransactionService;
+import org.example.backend.model.OrderTransactionModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Group commit of checkouts. Orders which arrive within a few milliseconds of each other are placed
+//in one transaction, so stock of product which many of them buy is decremented once per batch and
+//its row lock is taken once instead of once per order. Caller still waits for its own order and gets
+//the same result or exception as without coalescing
+@Component
+public class CheckoutCoalescer implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutCoalescer.class);
+
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final Duration RESULT_TIMEOUT = Duration.ofMinutes(2);
+
+    private final OrderTransactionService orderTransactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maximalBatchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PendingCheckout> pendingCheckouts = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final ThreadPoolExecutor executor;
+    private final Thread dispatcher;
+
+    @Autowired
+    public CheckoutCoalescer(OrderTransactionService orderTransactionService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${checkout-coalescer.enabled:false}") boolean enabled,
+                             @Value("${checkout-coalescer.window:3ms}") Duration window,
+                             @Value("${checkout-coalescer.max-batch-size:64}") int maximalBatchSize,
+                             @Value("${checkout-coalescer.workers:4}") int workers,
+                             @Value("${checkout-coalescer.shutdown-timeout:30s}") Duration shutdownTimeout) {
+
+        if((window == null) || (window.isNegative()))
+            throw new IllegalArgumentException("Incorrect argument: window");
+        else if(maximalBatchSize <= 0)
+            throw new IllegalArgumentException("Incorrect argument: maximalBatchSize");
+        else if(workers <= 0)
+            throw new IllegalArgumentException("Incorrect argument: workers");
+        else if((shutdownTimeout == null) || (shutdownTimeout.isNegative()))
+            throw new IllegalArgumentException("Incorrect argument: shutdownTimeout");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.orderTransactionService = orderTransactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.window = window;
+        this.maximalBatchSize = maximalBatchSize;
+        this.shutdownTimeout = shutdownTimeout;
+
+        //Dispatcher places batch itself when every worker is busy and their queue is full, so it slows down
+        //instead of dropping orders. Unlike CallerRunsPolicy it does so after shutdown too
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2), runnable -> {
+            Thread thread = new Thread(runnable, "checkout-coalescer-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> runnable.run());
+
+        this.dispatcher = new Thread(this::dispatch, "checkout-coalescer-dispatcher");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        if(enabled && started.compareAndSet(false, true))
+            dispatcher.start();
+    }
+
+    //Order is placed directly when coalescing is off or queue is full. Incorrect order is refused before
+    //it is queued, so it never waits for window
+    public OrderTransactionModel saveNewOrderTransaction(OrderTransactionModel orderTransactionModel) {
+
+        if((!started.get()) || (stopped.get()))
+            return orderTransactionService.saveNewOrderTransaction(orderTransactionModel);
+
+        orderTransactionService.checkNewOrderTransaction(orderTransactionModel);
+
+        PendingCheckout pendingCheckout = new PendingCheckout(orderTransactionModel, new CompletableFuture<>());
+
+        if(!pendingCheckouts.offer(pendingCheckout))
+            return orderTransactionService.saveNewOrderTransaction(orderTransactionModel);
+
+        //Shutdown could drain queue between check above and offer, then nobody else takes this order
+        if((stopped.get()) && (pendingCheckouts.remove(pendingCheckout)))
+            placeAlone(pendingCheckout);
+
+        return awaitResult(pendingCheckout);
+    }
+
+    //Order which is still queued when waiting times out is taken back and placed directly. Order which is
+    //already being placed can't be taken back, so caller gets exception and order may still be placed
+    private OrderTransactionModel awaitResult(PendingCheckout pendingCheckout) {
+
+        try{
+            return pendingCheckout.result().get(RESULT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+
+            if(e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw new IllegalStateException("Checkout failed", e.getCause());
+        } catch (TimeoutException e) {
+
+            if(pendingCheckouts.remove(pendingCheckout))
+                return orderTransactionService.saveNewOrderTransaction(pendingCheckout.orderTransactionModel());
+
+            throw new IllegalStateException("Checkout wasn't placed in " + RESULT_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Checkout was interrupted", e);
+        }
+    }
+
+    //Queued orders are placed one by one before shutdown, so no caller waits forever
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+
+        stopped.set(true);
+        dispatcher.interrupt();
+
+        if(started.get())
+            dispatcher.join(shutdownTimeout.toMillis());
+
+        executor.shutdown();
+
+        //Batches which no worker started in time are placed here, batches being placed can't be taken back
+        if(!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS))
+            executor.shutdownNow().forEach(Runnable::run);
+
+        List<PendingCheckout> remainingCheckouts = new ArrayList<>();
+        pendingCheckouts.drainTo(remainingCheckouts);
+        remainingCheckouts.forEach(this::placeAlone);
+    }
+
+    //Batch is closed when window after its first order passes or it is full. Orders already taken from
+    //queue when shutdown interrupts dispatcher are placed one by one, shutdown places the rest
+    private void dispatch() {
+
+        while(!stopped.get()) {
+
+            List<PendingCheckout> batch = new ArrayList<>(maximalBatchSize);
+
+            try{
+                batch.add(pendingCheckouts.take());
+
+                long deadline = System.nanoTime() + window.toNanos();
+
+                while(batch.size() < maximalBatchSize) {
+
+                    PendingCheckout pendingCheckout = pendingCheckouts.poll(deadline - System.nanoTime(),
+                            TimeUnit.NANOSECONDS);
+
+                    if(pendingCheckout == null)
+                        break;
+
+                    batch.add(pendingCheckout);
+                }
+
+                executor.execute(() -> place(batch));
+            } catch (InterruptedException e) {
+                batch.forEach(this::placeAlone);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    //Refused orders write nothing, so they are answered from the same batch as placed ones. Unexpected
+    //failure rolls back whole batch, then its orders are placed one by one
+    void place(List<PendingCheckout> batch) {
+
+        List<OrderTransactionOutcome> outcomes;
+
+        try{
+            outcomes = transactionTemplate.execute(status -> orderTransactionService.placeNewOrderTransactions(
+                    batch.stream().map(PendingCheckout::orderTransactionModel).toList()));
+        } catch (RuntimeException e) {
+            logger.warn("Batch of " + batch.size() + " checkouts wasn't placed, checkouts are placed one by one", e);
+            batch.forEach(this::placeAlone);
+            return;
+        }
+
+        for(int i = 0; i < batch.size(); i++) {
+
+            OrderTransactionOutcome outcome = outcomes.get(i);
+
+            if(outcome.refusal() != null)
+                batch.get(i).result().completeExceptionally(outcome.refusal());
+            else
+                batch.get(i).result().complete(outcome.orderTransaction());
+        }
+    }
+
+    private void placeAlone(PendingCheckout pendingCheckout) {
+
+        try{
+            pendingCheckout.result().complete(
+                    orderTransactionService.saveNewOrderTransaction(pendingCheckout.orderTransactionModel()));
+        } catch (RuntimeException e) {
+            pendingCheckout.result().completeExceptionally(e);
+        }
+    }
+
+    record PendingCheckout(OrderTransactionModel orderTransactionModel,
+                           CompletableFuture<OrderTransactionModel> result) {}
+}
@@ -0,0 +1,126 @@
+package org.example.backend.controller;
+
+import org.example.backend.catalog.CatalogReader;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.product.ProductNotFoundException;
+import org.example.backend.model.ProductModel;
+import org.example.backend.model.ProductPageModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+//Read-only catalog API served by CatalogReader. Request thread is given back to Tomcat as soon as read
+//is queued and response is written when it completes. Lists are also available as NDJSON, one product per line,
+//written as it is serialized. Overloaded reader answers 503, so client backs off
+@RestController
+public class CatalogController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final CatalogReader catalogReader;
+
+    @Autowired
+    public CatalogController(CatalogReader catalogReader) {
+        this.catalogReader = catalogReader;
+    }
+
+    @GetMapping("/catalog/products/search")
+    public CompletableFuture<ResponseEntity<ProductPageModel>> getProductsBySearch(
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "phrase", required = false) String phrase,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+
+        return catalogReader.getProductsBySearch(type, phrase, minPrice, maxPrice, cursor)
+                .handle(this::toResponse);
+    }
+
+    @GetMapping("/catalog/products")
+    public CompletableFuture<ResponseEntity<List<ProductModel>>> getProductsByEanCodes(
+            @RequestParam(value = "eanCodes") List<String> eanCodes) {
+
+        return catalogReader.getProductsByEANCodes(eanCodes).handle(this::toResponse);
+    }
+
+    @GetMapping(value = "/catalog/products", produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> streamProductsByEanCodes(
+            @RequestParam(value = "eanCodes") List<String> eanCodes) {
+
+        return stream(catalogReader.getProductsByEANCodes(eanCodes));
+    }
+
+    @GetMapping("/catalog/products/sale")
+    public CompletableFuture<ResponseEntity<List<ProductModel>>> getProductsOnSale() {
+        return catalogReader.getProductsOnSale().handle(this::toResponse);
+    }
+
+    @GetMapping(value = "/catalog/products/sale", produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> streamProductsOnSale() {
+        return stream(catalogReader.getProductsOnSale());
+    }
+
+    private <T> ResponseEntity<T> toResponse(T result, Throwable throwable) {
+
+        if(throwable == null)
+            return ResponseEntity.ok(result);
+
+        Throwable cause = (throwable instanceof CompletionException) ? throwable.getCause() : throwable;
+
+        if(cause instanceof BadArgumentException)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        else if(cause instanceof ProductNotFoundException)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        else if(cause instanceof RejectedExecutionException)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).build();
+
+        throw new CompletionException(cause);
+    }
+
+    //Read which was refused at once gets its status, read which fails later can only break the stream
+    private ResponseEntity<ResponseBodyEmitter> stream(CompletableFuture<List<ProductModel>> products) {
+
+        if(products.isCompletedExceptionally())
+            return products.<ResponseEntity<ResponseBodyEmitter>>handle(
+                    (productModels, throwable) -> toResponse(null, throwable)).join();
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+
+        products.whenComplete((productModels, throwable) -> {
+
+            if(throwable != null) {
+                emitter.completeWithError(throwable);
+                return;
+            }
+
+            try{
+                for(ProductModel productModel : productModels) {
+                    emitter.send(productModel, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                }
+
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, NDJSON)
+                .body(emitter);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.backend.controller;
+
+import org.example.backend.dao.service.ImageDataService;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.image.ImageNotFoundException;
+import org.example.backend.image.ImageHashes;
+import org.example.backend.image.ImageFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@RestController
+public class ImageController {
+
+    //Content behind hash never changes, so browsers may keep it as long as they want
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    private final ImageDataService imageDataService;
+
+    @Autowired
+    public ImageController(ImageDataService imageDataService) {
+        this.imageDataService = imageDataService;
+    }
+
+    //Size is one of thumbnail, card or full, without it originally uploaded image is sent
+    @GetMapping("/images/{hash}")
+    public ResponseEntity<StreamingResponseBody> getImageByHash(
+            @PathVariable("hash") String hash,
+            @RequestParam(value = "size", required = false) String size,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch){
+
+        String eTag = eTagOf(hash, size);
+
+        //Hash is the content itself, so matching ETag is answered without loading image
+        if((ImageHashes.isValid(hash)) && (ifNoneMatch != null)
+                && ((ifNoneMatch.contains(eTag)) || (ifNoneMatch.trim().equals("*"))))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(IMAGE_CACHE_CONTROL)
+                    .build();
+
+        ImageFile imageFile;
+
+        try{
+            imageFile = imageDataService.getProductImageByHash(hash, size);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (ImageNotFoundException e){
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        StreamingResponseBody body = outputStream -> imageDataService.transferImage(imageFile, outputStream);
+
+        //Original image sent instead of not yet generated variant mustn't be cached under variant address
+        if((size != null) && (imageFile.variant() == null))
+            return ResponseEntity.status(HttpStatus.OK)
+                    .cacheControl(CacheControl.noStore())
+                    .contentType(MediaType.parseMediaType(imageFile.mimeType()))
+                    .contentLength(imageFile.size())
+                    .body(body);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(IMAGE_CACHE_CONTROL)
+                .contentType(MediaType.parseMediaType(imageFile.mimeType()))
+                .contentLength(imageFile.size())
+                .body(body);
+    }
+
+    private static String eTagOf(String hash, String size) {
+        return size == null ? "\"" + hash + "\"" : "\"" + hash + "-" + size + "\"";
+    }
+}
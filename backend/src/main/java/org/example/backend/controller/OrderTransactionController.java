@@ -1,17 +1,28 @@
 package org.example.backend.controller;
 
+import org.example.backend.checkout.CheckoutCoalescer;
+import org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue;
+import org.example.backend.dao.service.OrderIntakeService;
 import org.example.backend.dao.service.OrderTransactionService;
+import org.example.backend.dao.service.TransactionExportService;
+import org.example.backend.enumerated.TransactionStatus;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
+import org.example.backend.exception.product.InsufficientStockException;
 import org.example.backend.exception.product.ProductNotFoundException;
+import org.example.backend.exception.transaction.IdempotencyKeyReusedException;
+import org.example.backend.exception.transaction.OrderIntentNotFoundException;
 import org.example.backend.exception.transaction.OrderTransactionNotFoundException;
 import org.example.backend.exception.transaction.PaymentMethodNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
+import org.example.backend.export.ExportFormat;
 import org.example.backend.model.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Date;
 import java.util.List;
@@ -21,14 +32,22 @@ import java.util.UUID;
 public class OrderTransactionController {
 
     private final OrderTransactionService orderTransactionService;
+    private final TransactionExportService transactionExportService;
+    private final OrderIntakeService orderIntakeService;
+    private final CheckoutCoalescer checkoutCoalescer;
 
     @Autowired
-    public OrderTransactionController(OrderTransactionService orderTransactionService) {
+    public OrderTransactionController(OrderTransactionService orderTransactionService,
+                                      TransactionExportService transactionExportService,
+                                      OrderIntakeService orderIntakeService, CheckoutCoalescer checkoutCoalescer) {
         this.orderTransactionService = orderTransactionService;
+        this.transactionExportService = transactionExportService;
+        this.orderIntakeService = orderIntakeService;
+        this.checkoutCoalescer = checkoutCoalescer;
     }
 
     @PostMapping("/order/create")
-    public ResponseEntity<OrderTransactionModel> createNewOrderTransaction(
+    public ResponseEntity<?> createNewOrderTransaction(
             @RequestBody OrderTransactionModel orderTransactionModel) {
 
         if(orderTransactionModel == null)
@@ -37,7 +56,7 @@ public class OrderTransactionController {
         OrderTransactionModel result;
 
         try{
-            result = orderTransactionService.saveNewOrderTransaction(orderTransactionModel);
+            result = checkoutCoalescer.saveNewOrderTransaction(orderTransactionModel);
         } catch (BadArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (ProductNotFoundException e) {
@@ -48,11 +67,52 @@ public class OrderTransactionController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (PaymentMethodNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (InsufficientStockException e) {
+            //Client gets EAN codes of every line which couldn't be reserved, not only the first one
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getEANCodes());
         }
 
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    //Order is only checked and stored, it is placed later by order intake worker. Client polls returned intent
+    //to get id of placed order, repeated request with the same idempotency key returns the same intent
+    @PostMapping("/order/intents")
+    public ResponseEntity<OrderIntentModel> acceptOrderTransaction(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody OrderTransactionModel orderTransactionModel) {
+
+        OrderIntentModel result;
+
+        try{
+            result = orderIntakeService.acceptOrderTransaction(idempotencyKey, orderTransactionModel);
+        } catch (BadArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/order/intents/" + result.getId())
+                .body(result);
+    }
+
+    @GetMapping("/order/intents/{id}")
+    public ResponseEntity<OrderIntentModel> getOrderIntentById(@PathVariable("id") UUID id) {
+
+        OrderIntentModel result;
+
+        try{
+            result = orderIntakeService.getOrderIntentById(id);
+        } catch (BadArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (OrderIntentNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
     @PutMapping("/admin/order/update-status-by-id")
     public ResponseEntity<OrderTransactionModel> updateOrderTransactionStatusByOrderTransactionId(
             @RequestBody TransactionIdAndTransactionStatusModel transactionIdAndTransactionStatusModel) {
@@ -93,184 +153,26 @@ public class OrderTransactionController {
     }
 
     @GetMapping("/orders-by-search")
-    public ResponseEntity<List<OrderTransactionModel>> getOrderTransactionsBySearch(
-            @RequestParam("startingDate") Date startingDate,
-            @RequestParam("endingDate") Date endingDate,
-            @RequestParam("paymentMethodName") String paymentMethodName,
-            @RequestParam("deliveryProviderName") String deliveryProviderName,
-            @RequestParam("userEmail") String userEmail,
-            @RequestParam("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds) {
-
-        if(forbiddenOrderTransactionIds == null)
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-
-        List<OrderTransactionModel> result;
-
-        if((startingDate != null) && (endingDate != null) && (paymentMethodName != null) &&
-                (deliveryProviderName != null) && (userEmail != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                                startingDate, endingDate, paymentMethodName,
-                                deliveryProviderName, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null) && (paymentMethodName != null) &&
-                (deliveryProviderName != null)){
-
-            try{
-                result = orderTransactionService
-                            .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                                startingDate, endingDate, paymentMethodName,
-                                deliveryProviderName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null) && (paymentMethodName != null) &&
-                (userEmail != null)){
-
-            try{
-                result = orderTransactionService.getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                        startingDate, endingDate, paymentMethodName, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null) && (deliveryProviderName != null) &&
-        (userEmail != null)){
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                                startingDate, endingDate, deliveryProviderName, userEmail,
-                                forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((paymentMethodName != null) && (deliveryProviderName != null)
-                && (userEmail != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                                paymentMethodName, deliveryProviderName, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null) && (paymentMethodName != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                                startingDate, endingDate, paymentMethodName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null)
-                && (deliveryProviderName != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                                startingDate, endingDate, deliveryProviderName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null)
-                && (userEmail != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriodAndUserEmail(
-                                startingDate, endingDate, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((paymentMethodName != null) && (deliveryProviderName != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                                paymentMethodName, deliveryProviderName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((paymentMethodName != null) && (userEmail != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                                paymentMethodName, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((deliveryProviderName != null) && (userEmail != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                                deliveryProviderName, userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((startingDate != null) && (endingDate != null)) {
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByTimePeriod(
-                                startingDate, endingDate, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if(paymentMethodName != null){
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByPaymentMethodName(
-                                paymentMethodName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if(deliveryProviderName != null){
-
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByDeliveryProviderName(
-                                deliveryProviderName, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if(userEmail != null){
+    public ResponseEntity<OrderTransactionPageModel> getOrderTransactionsBySearch(
+            @RequestParam(name = "startingDate", required = false) Date startingDate,
+            @RequestParam(name = "endingDate", required = false) Date endingDate,
+            @RequestParam(name = "paymentMethodName", required = false) String paymentMethodName,
+            @RequestParam(name = "deliveryProviderName", required = false) String deliveryProviderName,
+            @RequestParam(name = "userEmail", required = false) String userEmail,
+            @RequestParam(name = "status", required = false) TransactionStatus status,
+            @RequestParam(name = "minimalCost", required = false) Double minimalCost,
+            @RequestParam(name = "maximalCost", required = false) Double maximalCost,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(startingDate, endingDate,
+                paymentMethodName, deliveryProviderName, userEmail, status, minimalCost, maximalCost);
+
+        OrderTransactionPageModel result;
 
-            try{
-                result = orderTransactionService
-                        .getOrderTransactionsByUserEmail(userEmail, forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else{
-            try{
-                result = orderTransactionService
-                        .getOrderTransactions(forbiddenOrderTransactionIds);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
+        try{
+            result = orderTransactionService.getOrderTransactionsBySearch(searchModel, cursor);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
         return ResponseEntity.status(HttpStatus.OK).body(result);
@@ -292,6 +194,30 @@ public class OrderTransactionController {
         return ResponseEntity.status(HttpStatus.OK).body(orderTransactionModels);
     }
 
+    //Rows are written while they are read from database, so export of any period needs the same memory
+    @GetMapping("/admin/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrderTransactions(
+            @RequestParam("startingDate") Date startingDate, @RequestParam("endingDate") Date endingDate,
+            @RequestParam(name = "format", defaultValue = "csv") String formatName) {
+
+        ExportFormat format = ExportFormat.fromFormatName(formatName);
+
+        try{
+            transactionExportService.checkExportArguments(startingDate, endingDate, format);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        StreamingResponseBody body = outputStream -> transactionExportService
+                .exportOrderTransactions(startingDate, endingDate, format, outputStream);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/orders/count-by-time-period")
     public ResponseEntity<Long> getCountOfAllOrderTransactionsByTimePeriod(
             @RequestBody TimePeriodModel timePeriodModel) {
@@ -368,10 +294,10 @@ public class OrderTransactionController {
     }
 
     @GetMapping("/orders/ordered-products/product-quantity-and-revenue-by-search")
-    public ResponseEntity<List<Object[]>> getProductsAndTheirOrderedQuantityAndRevenueBy(
+    public ResponseEntity<List<ProductQuantityAndRevenue>> getProductsAndTheirOrderedQuantityAndRevenueBy(
             @RequestBody ProductAndQuantityAndRevenueSearchModel requestBody){
 
-        List<Object[]> result;
+        List<ProductQuantityAndRevenue> result;
 
         if(requestBody == null)
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -1,16 +1,31 @@
 package org.example.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dao.repository.product.ProductQuantity;
 import org.example.backend.dao.service.ProductDataService;
+import org.example.backend.dao.service.ProductImportService;
+import org.example.backend.dao.service.StockAdjustmentService;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.product.ProductNotSavedException;
 import org.example.backend.model.*;
+import org.example.backend.productimport.ProductImageArchive;
+import org.example.backend.productimport.ProductImportFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.ArrayList;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -19,10 +34,17 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductDataService productDataService;
+    private final ProductImportService productImportService;
+    private final StockAdjustmentService stockAdjustmentService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ProductController(ProductDataService productDataService) {
+    public ProductController(ProductDataService productDataService, ProductImportService productImportService,
+                             StockAdjustmentService stockAdjustmentService, ObjectMapper objectMapper) {
         this.productDataService = productDataService;
+        this.productImportService = productImportService;
+        this.stockAdjustmentService = stockAdjustmentService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/manager/create-product")
@@ -46,6 +68,61 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    //Products file is csv or ndjson with ProductImportRow fields, images is zip archive with main images named
+    //in mainImage field. Progress of every imported chunk is sent as one NDJSON line while import goes on
+    @PostMapping("/manager/products/import")
+    public ResponseEntity<StreamingResponseBody> importProducts(
+            @RequestParam("products") MultipartFile products, @RequestParam("images") MultipartFile images,
+            @RequestParam(name = "format", defaultValue = "csv") String formatName) {
+
+        ProductImportFormat format = ProductImportFormat.fromFormatName(formatName);
+
+        if((format == null) || products.isEmpty() || images.isEmpty())
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+
+        //Uploaded files are copied, because servlet container can delete them before import ends
+        Path productsFile;
+        Path imagesFile;
+
+        try{
+            productsFile = copyToTemporaryFile(products);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        try{
+            imagesFile = copyToTemporaryFile(images);
+        } catch (IOException e) {
+            deleteTemporaryFile(productsFile);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        //Archive is opened before response starts, so file which isn't zip archive still gets 400 status
+        ProductImageArchive imageArchive;
+
+        try{
+            imageArchive = new ProductImageArchive(imagesFile);
+        } catch (IOException e) {
+            deleteTemporaryFile(productsFile);
+            deleteTemporaryFile(imagesFile);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try(InputStream inputStream = Files.newInputStream(productsFile); imageArchive) {
+                productImportService.importProducts(format.createReader(inputStream), imageArchive,
+                        progress -> writeProgress(outputStream, progress));
+            } finally {
+                deleteTemporaryFile(productsFile);
+                deleteTemporaryFile(imagesFile);
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                .body(body);
+    }
+
     @PutMapping("/manager/update-product")
     public ResponseEntity<ProductModel> updateProduct(@RequestBody ProductModel productModel) {
 
@@ -99,7 +176,8 @@ public class ProductController {
             }
         }
 
-        if(productModel.getMainImage() != existingProduct.getMainImage()){
+        //Responses don't contain image bytes, so sent main image always means new main image
+        if(productModel.getMainImage() != null){
 
             try{
                 existingProduct = productDataService
@@ -159,6 +237,40 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    //Body is ndjson with EANCode and delta in every line, outcome of every line is sent as one NDJSON line
+    //in the same order. Stock never goes below zero, adjustment which would do it isn't applied
+    @PutMapping("/admin/products/stock-adjustments")
+    public ResponseEntity<StreamingResponseBody> adjustProductQuantities(InputStream adjustments) {
+
+        //Body is read before response starts, so stream isn't read after request ends
+        Path adjustmentsFile;
+
+        try{
+            adjustmentsFile = Files.createTempFile("stock-adjustments", null);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        try{
+            Files.copy(adjustments, adjustmentsFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteTemporaryFile(adjustmentsFile);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try(InputStream inputStream = Files.newInputStream(adjustmentsFile)) {
+                stockAdjustmentService.adjustStock(inputStream, result -> writeAdjustmentResult(outputStream, result));
+            } finally {
+                deleteTemporaryFile(adjustmentsFile);
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                .body(body);
+    }
+
     @PutMapping("/manager/insert-product-page-images")
     public ResponseEntity<ProductModelAndPageImages> insertProductPageImage(
             @RequestBody ProductEANCodeAndPageImage model) {
@@ -201,91 +313,22 @@ public class ProductController {
     }
 
     @GetMapping("/products-by-search")
-    public ResponseEntity<List<ProductModel>> getProductsByProductSearchModel(
-            @RequestParam(name = "type") String type, @RequestParam(name = "phrase") String phrase,
-            @RequestParam(name = "minPrice") Double minPrice, @RequestParam(name = "maxPrice") Double maxPrice,
-            @RequestParam(name = "forbiddenEanCodes") List<String> forbiddenEanCodes) {
-
-        if(forbiddenEanCodes == null)
-            forbiddenEanCodes = new ArrayList<>();
-
-        List<ProductModel> productModels;
-
-        if((type != null) && (phrase != null) && (minPrice != null) && (maxPrice != null)
-                && (!type.trim().isEmpty()) && (!phrase.trim().isEmpty())) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByTypeAndPhraseAndPriceRange(
-                                type, phrase, minPrice, maxPrice, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((type != null) && (phrase != null) && (!type.trim().isEmpty()) && (!phrase.trim().isEmpty())) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByTypeAndPhrase(type, phrase, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((type != null) && (minPrice != null) && (maxPrice != null) && (!type.trim().isEmpty())) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByTypeAndPriceRange(type, minPrice, maxPrice, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((phrase != null) && (minPrice != null) && (maxPrice != null) && (!phrase.trim().isEmpty())) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByPhraseAndPriceRange(phrase, minPrice, maxPrice, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((type != null) && (!type.trim().isEmpty())) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByType( type, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((phrase != null) && (!phrase.trim().isEmpty())) {
+    public ResponseEntity<ProductPageModel> getProductsByProductSearchModel(
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "phrase", required = false) String phrase,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "cursor", required = false) String cursor) {
 
-            try{
-                productModels = productDataService.getProductsByPhrase(phrase, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else if((minPrice != null) && (maxPrice != null)) {
-
-            try{
-                productModels = productDataService
-                        .getProductsByPriceRange( minPrice, maxPrice, forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-        }
-        else{
+        ProductPageModel productPage;
 
-            try{
-                productModels = productDataService
-                        .getProducts(forbiddenEanCodes);
-            } catch (BadArgumentException e){
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
+        try{
+            productPage = productDataService.getProductsBySearch(type, phrase, minPrice, maxPrice, cursor);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
-        return ResponseEntity.ok(productModels);
+        return ResponseEntity.ok(productPage);
     }
 
     @GetMapping("/products-by-ean-codes")
@@ -304,6 +347,21 @@ public class ProductController {
         return ResponseEntity.ok(productModels);
     }
 
+    @GetMapping("/products/suggest")
+    public ResponseEntity<List<ProductSuggestionModel>> getProductSuggestions(
+            @RequestParam(value = "prefix") String prefix){
+
+        List<ProductSuggestionModel> suggestions;
+
+        try{
+            suggestions = productDataService.getProductSuggestions(prefix);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/products/sale")
     public ResponseEntity<List<ProductModel>> getProductsOnSale(){
 
@@ -311,9 +369,9 @@ public class ProductController {
     }
 
     @GetMapping("/admin/products/{phrase}")
-    public ResponseEntity<List<Object[]>> getProductsAndRelatedToThemQuantityByPhrase(@PathVariable("phrase") String phrase){
+    public ResponseEntity<List<ProductQuantity>> getProductsAndRelatedToThemQuantityByPhrase(@PathVariable("phrase") String phrase){
 
-        List<Object[]> result;
+        List<ProductQuantity> result;
 
         try{
             result = productDataService.getProductsAndRelatedToThemQuantityByPhrase(phrase);
@@ -363,4 +421,49 @@ public class ProductController {
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
+
+    private Path copyToTemporaryFile(MultipartFile file) throws IOException {
+
+        Path temporaryFile = Files.createTempFile("product-import", null);
+
+        try{
+            file.transferTo(temporaryFile);
+        } catch (IOException e) {
+            deleteTemporaryFile(temporaryFile);
+            throw e;
+        }
+
+        return temporaryFile;
+    }
+
+    private void deleteTemporaryFile(Path file) {
+
+        try{
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private void writeProgress(OutputStream outputStream, ProductImportProgressModel progress) {
+
+        try{
+            outputStream.write(objectMapper.writeValueAsBytes(progress));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Results aren't flushed one by one, output stream of response sends them when its buffer is full
+    private void writeAdjustmentResult(OutputStream outputStream, StockAdjustmentResultModel result) {
+
+        try{
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
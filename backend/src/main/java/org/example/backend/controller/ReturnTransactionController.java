@@ -1,17 +1,22 @@
 package org.example.backend.controller;
 
+import org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue;
 import org.example.backend.dao.service.ReturnTransactionService;
+import org.example.backend.dao.service.TransactionExportService;
 import org.example.backend.enumerated.ReturnCause;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
 import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.transaction.ReturnTransactionNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
+import org.example.backend.export.ExportFormat;
 import org.example.backend.model.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Date;
 import java.util.List;
@@ -21,10 +26,13 @@ import java.util.UUID;
 public class ReturnTransactionController{
 
     private final ReturnTransactionService returnTransactionService;
+    private final TransactionExportService transactionExportService;
 
     @Autowired
-    public ReturnTransactionController(ReturnTransactionService returnTransactionService) {
+    public ReturnTransactionController(ReturnTransactionService returnTransactionService,
+                                       TransactionExportService transactionExportService) {
         this.returnTransactionService = returnTransactionService;
+        this.transactionExportService = transactionExportService;
     }
 
     @PostMapping("/create-return-transaction")
@@ -100,29 +108,50 @@ public class ReturnTransactionController{
         return ResponseEntity.status(HttpStatus.OK).body(returnTransactionModelList);
     }
 
+    //One row per returned product, rows are streamed the same way as in order export
+    @GetMapping("/admin/returns/export")
+    public ResponseEntity<StreamingResponseBody> exportReturnTransactions(
+            @RequestParam("startingDate") Date startingDate, @RequestParam("endingDate") Date endingDate,
+            @RequestParam(name = "format", defaultValue = "csv") String formatName) {
+
+        ExportFormat format = ExportFormat.fromFormatName(formatName);
+
+        try{
+            transactionExportService.checkExportArguments(startingDate, endingDate, format);
+        } catch (BadArgumentException e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        StreamingResponseBody body = outputStream -> transactionExportService
+                .exportReturnTransactions(startingDate, endingDate, format, outputStream);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"returns." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/return-transactions-by-search")
-    public ResponseEntity<List<ReturnTransactionModel>> getReturnTransactionsByReturnTransactionSearchModel(
+    public ResponseEntity<ReturnTransactionPageModel> getReturnTransactionsByReturnTransactionSearchModel(
             @RequestParam("startingDate") Date startingDate, @RequestParam("endingDate") Date endingDate,
             @RequestParam("returnCause") String returnCauseName,
             @RequestParam("deliveryProviderName") String deliveryProviderName,
             @RequestParam("userEmail") String userEmail,
-            @RequestParam("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds) {
+            @RequestParam(name = "cursor", required = false) String cursor) {
 
         ReturnCause returnCause = ReturnCause.fromString(returnCauseName);
 
-        if(forbiddenReturnTransactionIds == null)
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-
-        List<ReturnTransactionModel> returnTransactionModels;
+        ReturnTransactionPageModel returnTransactionPage;
 
         if((startingDate != null) && (endingDate != null) && (returnCause != null)
                 && (deliveryProviderName != null) && (userEmail != null)) {
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                                 startingDate, endingDate, returnCause, deliveryProviderName, userEmail,
-                                forbiddenReturnTransactionIds);
+                                cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -131,10 +160,10 @@ public class ReturnTransactionController{
                 && (returnCause != null) && (deliveryProviderName != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                                 startingDate, endingDate, returnCause, deliveryProviderName,
-                                forbiddenReturnTransactionIds);
+                                cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -143,10 +172,10 @@ public class ReturnTransactionController{
                 && (returnCause != null) && (userEmail != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
                                 startingDate, endingDate, returnCause, userEmail,
-                                forbiddenReturnTransactionIds);
+                                cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -155,10 +184,10 @@ public class ReturnTransactionController{
                 && (deliveryProviderName != null) && (userEmail != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                                 startingDate, endingDate, deliveryProviderName, userEmail,
-                                forbiddenReturnTransactionIds);
+                                cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -166,9 +195,9 @@ public class ReturnTransactionController{
         else if((returnCause != null) && (deliveryProviderName != null) && (userEmail != null)) {
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                                returnCause, deliveryProviderName, userEmail, forbiddenReturnTransactionIds);
+                                returnCause, deliveryProviderName, userEmail, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -176,9 +205,9 @@ public class ReturnTransactionController{
         else if((startingDate != null) && (endingDate != null) && (returnCause != null)) {
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndReturnCause(
-                                startingDate, endingDate, returnCause, forbiddenReturnTransactionIds);
+                                startingDate, endingDate, returnCause, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -187,9 +216,9 @@ public class ReturnTransactionController{
                 && (deliveryProviderName != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                                startingDate, endingDate, deliveryProviderName, forbiddenReturnTransactionIds);
+                                startingDate, endingDate, deliveryProviderName, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -198,9 +227,9 @@ public class ReturnTransactionController{
                 && (userEmail != null)) {
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriodAndUserEmail(
-                                startingDate, endingDate, userEmail, forbiddenReturnTransactionIds);
+                                startingDate, endingDate, userEmail, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -208,9 +237,9 @@ public class ReturnTransactionController{
         else if((returnCause != null) && (deliveryProviderName != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                                returnCause, deliveryProviderName, forbiddenReturnTransactionIds);
+                                returnCause, deliveryProviderName, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -218,9 +247,9 @@ public class ReturnTransactionController{
         else if((returnCause != null) && (userEmail != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByReturnCauseAndUserEmail(
-                                returnCause, userEmail, forbiddenReturnTransactionIds);
+                                returnCause, userEmail, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -228,9 +257,9 @@ public class ReturnTransactionController{
         else if((deliveryProviderName != null) && (userEmail != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                                deliveryProviderName, userEmail, forbiddenReturnTransactionIds);
+                                deliveryProviderName, userEmail, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -238,9 +267,9 @@ public class ReturnTransactionController{
         else if((startingDate != null) && (endingDate != null)){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByTimePeriod(
-                                startingDate, endingDate, forbiddenReturnTransactionIds);
+                                startingDate, endingDate, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -248,8 +277,8 @@ public class ReturnTransactionController{
         else if(returnCause != null){
 
             try{
-                returnTransactionModels = returnTransactionService
-                        .getReturnTransactionsByReturnCause(returnCause, forbiddenReturnTransactionIds);
+                returnTransactionPage = returnTransactionService
+                        .getReturnTransactionsByReturnCause(returnCause, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -257,9 +286,9 @@ public class ReturnTransactionController{
         else if(deliveryProviderName != null){
 
             try{
-                returnTransactionModels = returnTransactionService
+                returnTransactionPage = returnTransactionService
                         .getReturnTransactionsByDeliveryProviderName(
-                                deliveryProviderName, forbiddenReturnTransactionIds);
+                                deliveryProviderName, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -267,22 +296,22 @@ public class ReturnTransactionController{
         else if(userEmail != null){
 
             try{
-                returnTransactionModels = returnTransactionService
-                        .getReturnTransactionsByUserEmail(userEmail, forbiddenReturnTransactionIds);
+                returnTransactionPage = returnTransactionService
+                        .getReturnTransactionsByUserEmail(userEmail, cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
         }
         else{
             try{
-                returnTransactionModels = returnTransactionService
-                        .getReturnTransactions(forbiddenReturnTransactionIds);
+                returnTransactionPage = returnTransactionService
+                        .getReturnTransactions(cursor);
             } catch (BadArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(returnTransactionModels);
+        return ResponseEntity.status(HttpStatus.OK).body(returnTransactionPage);
     }
 
     @GetMapping("/return-transactions/all/returned-products/quantity-and-revenue")
@@ -306,10 +335,10 @@ public class ReturnTransactionController{
     }
 
     @GetMapping("/return-transactions/returned-products/product-quantity-and-revenue-by-search")
-    public ResponseEntity<List<Object[]>> getProductsAndTheirReturnedQuantityAndRevenueBy(
+    public ResponseEntity<List<ProductQuantityAndRevenue>> getProductsAndTheirReturnedQuantityAndRevenueBy(
             ProductAndQuantityAndRevenueSearchModel requestBody){
 
-        List<Object[]> result;
+        List<ProductQuantityAndRevenue> result;
 
         if((requestBody.getStartingDate() != null) && (requestBody.getEndingDate() != null)
                 && (requestBody.getPhrase() != null) && (requestBody.getType() != null)) {
@@ -431,4 +460,51 @@ public class ReturnTransactionController{
 
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
+
+    //Rows contain return cause, returned quantity, revenue and return rate, when type is given
+    //only products of this type are counted
+    @GetMapping("/return-transactions/returned-products/return-causes-related-quantity-revenue-and-return-rate-by-time-period")
+    public ResponseEntity<List<Object[]>> getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(
+            @RequestBody TimePeriodModel requestBody, @RequestParam(value = "type", required = false) String type){
+
+        if(requestBody == null)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+
+        List<Object[]> result;
+
+        try{
+            if(type != null)
+                result = returnTransactionService
+                        .getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(
+                                requestBody.getStartingDate(), requestBody.getEndDate(), type);
+            else
+                result = returnTransactionService
+                        .getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(
+                                requestBody.getStartingDate(), requestBody.getEndDate());
+        } catch (BadArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @GetMapping("/return-transactions/returned-products/delivery-providers-and-return-causes-related-quantity-and-revenue-by-time-period")
+    public ResponseEntity<List<Object[]>> getDeliveryProvidersAndReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+            @RequestBody TimePeriodModel requestBody){
+
+        if(requestBody == null)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+
+        List<Object[]> result;
+
+        try{
+            result = returnTransactionService
+                    .getDeliveryProvidersAndReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+                            requestBody.getStartingDate(), requestBody.getEndDate());
+        } catch (BadArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
 }
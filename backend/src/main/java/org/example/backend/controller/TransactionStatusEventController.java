@@ -0,0 +1,37 @@
+package org.example.backend.controller;
+
+import org.example.backend.exception.transaction.TooManySubscribersException;
+import org.example.backend.statusevent.TransactionStatusEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+//Live stream of order and return status changes for admin dashboards, instead of polling transaction lists
+@RestController
+public class TransactionStatusEventController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final TransactionStatusEventHub transactionStatusEventHub;
+
+    @Autowired
+    public TransactionStatusEventController(TransactionStatusEventHub transactionStatusEventHub) {
+        this.transactionStatusEventHub = transactionStatusEventHub;
+    }
+
+    @GetMapping(value = "/admin/transactions/status-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getTransactionStatusEvents() {
+
+        try{
+            return ResponseEntity.ok(transactionStatusEventHub.subscribe());
+        } catch (TooManySubscribersException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).build();
+        }
+    }
+}
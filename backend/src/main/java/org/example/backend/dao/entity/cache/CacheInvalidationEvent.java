@@ -0,0 +1,35 @@
+package org.example.backend.dao.entity.cache;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.cache.CacheInvalidationType;
+
+import java.time.Instant;
+
+//Entity for storing cache invalidations sent to other replicas. It is inserted in the same transaction
+//as change of cached data, so replicas see it only when the change is committed
+@Entity
+@Table(indexes = @Index(columnList = "createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String origin;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CacheInvalidationType type;
+
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -6,11 +6,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.backend.dao.entity.product.Product;
+import org.example.backend.image.StoredImage;
 
 import java.util.UUID;
 
 //Entity for storing product image on product page
 @Entity
+@Table(indexes = @Index(columnList = "hash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,20 +23,29 @@ public class ProductPageImage {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Lob
+    //Key of image in ImageStore, it is SHA-256 of image, so it is also used as image address
+    //in /images/{hash} and as its ETag
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
     @Column(nullable = false)
-    private byte[] image;
+    private String mimeType;
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH})
     @JoinColumn(name = "product_id", referencedColumnName = "id")
     private Product product;
 
-    public ProductPageImage(byte[] image) {
-        this.image = image;
+    public ProductPageImage(StoredImage storedImage) {
+        this.hash = storedImage.key();
+        this.size = storedImage.size();
+        this.mimeType = storedImage.mimeType();
     }
 
-    public ProductPageImage(byte[] image, Product product) {
-        this.image = image;
+    public ProductPageImage(StoredImage storedImage, Product product) {
+        this(storedImage);
         this.product = product;
     }
 }
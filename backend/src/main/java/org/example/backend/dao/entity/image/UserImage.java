@@ -6,11 +6,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.backend.dao.entity.user.User;
+import org.example.backend.image.StoredImage;
 
 import java.util.UUID;
 
 //Entity for storing profile image for user
 @Entity
+@Table(indexes = @Index(columnList = "hash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,19 +23,27 @@ public class UserImage {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Lob
+    //Key of image in ImageStore, it is SHA-256 of image
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
     @Column(nullable = false)
-    private byte[] image;
+    private String mimeType;
 
     @OneToOne(cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH}, mappedBy = "profileImage")
     private User user;
 
-    public UserImage(byte[] image) {
-        this.image = image;
+    public UserImage(StoredImage storedImage) {
+        this.hash = storedImage.key();
+        this.size = storedImage.size();
+        this.mimeType = storedImage.mimeType();
     }
 
-    public UserImage(byte[] image, User user) {
-        this.image = image;
+    public UserImage(StoredImage storedImage, User user) {
+        this(storedImage);
         this.user = user;
     }
 }
@@ -50,10 +50,10 @@ public class Product {
     @Column(nullable = false)
     private Double currentPrice;
 
-    @OneToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Stock stock;
 
-    @OneToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "main_image_id", referencedColumnName = "id")
     private ProductMainImage mainImage;
 
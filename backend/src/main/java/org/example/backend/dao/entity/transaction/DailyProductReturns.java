@@ -0,0 +1,26 @@
+package org.example.backend.dao.entity.transaction;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Entity for storing quantity and revenue of returned products summed per day, product, type, return cause
+//and delivery provider. It is updated in the same transaction as return is saved, so return reports
+//don't sum every returned product
+@Entity
+@Table(indexes = {@Index(columnList = "type"), @Index(columnList = "returnCause")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductReturns {
+
+    @EmbeddedId
+    private DailyProductReturnsId id;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
@@ -0,0 +1,38 @@
+package org.example.backend.dao.entity.transaction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enumerated.ReturnCause;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+//Key of DailyProductReturns, type is type of product on the day of return
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductReturnsId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate returnDay;
+
+    @Column(nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReturnCause returnCause;
+
+    @Column(nullable = false)
+    private Long deliveryProviderId;
+}
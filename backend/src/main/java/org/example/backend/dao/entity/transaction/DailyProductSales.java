@@ -0,0 +1,25 @@
+package org.example.backend.dao.entity.transaction;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Entity for storing quantity and revenue of ordered products summed per day, product and type.
+//It is updated in the same transaction as order is placed, so revenue reports don't sum every ordered product
+@Entity
+@Table(indexes = @Index(columnList = "type"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductSales {
+
+    @EmbeddedId
+    private DailyProductSalesId id;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
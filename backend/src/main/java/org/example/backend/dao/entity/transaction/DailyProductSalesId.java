@@ -0,0 +1,28 @@
+package org.example.backend.dao.entity.transaction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+//Key of DailyProductSales, type is type of product on the day of sale
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductSalesId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate salesDay;
+
+    @Column(nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private String type;
+}
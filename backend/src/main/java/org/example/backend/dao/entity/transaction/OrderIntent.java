@@ -0,0 +1,51 @@
+package org.example.backend.dao.entity.transaction;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enumerated.OrderIntentStatus;
+
+import java.time.Instant;
+
+//Entity for storing orders accepted by order intake before they are placed. Rows are written and claimed
+//by OrderIntentRepository with JDBC, entity describes the table. Unique idempotency key makes repeated
+//submission of the same order return the intent stored first
+@Entity
+@Table(indexes = @Index(columnList = "status, createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntent {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String idempotencyKey;
+
+    //Order transaction model as JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OrderIntentStatus status;
+
+    //Set by worker which claimed intent, so worker whose claim expired can't finish it
+    @Column(length = 36)
+    private String claimToken;
+
+    private Instant claimedAt;
+
+    @Column(length = 36)
+    private String orderTransactionId;
+
+    @Column(length = 1000)
+    private String rejectionReason;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
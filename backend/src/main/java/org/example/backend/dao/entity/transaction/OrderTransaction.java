@@ -11,32 +11,49 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-//Entity for storing data of orders
+//Entity for storing data of orders. Associations are lazy, every use case fetches only what it shows
+//with one of entity graphs below
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@NamedEntityGraph(name = "OrderTransaction.listing", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("deliveryAddress"),
+        @NamedAttributeNode("deliveryProvider"),
+        @NamedAttributeNode("paymentMethod")
+})
+@NamedEntityGraph(name = "OrderTransaction.details", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("deliveryAddress"),
+        @NamedAttributeNode("deliveryProvider"),
+        @NamedAttributeNode("paymentMethod"),
+        @NamedAttributeNode(value = "orderedProducts", subgraph = "orderedProducts")
+}, subgraphs = {
+        @NamedSubgraph(name = "orderedProducts", attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+        @NamedSubgraph(name = "product", attributeNodes = @NamedAttributeNode("mainImage"))
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class OrderTransaction extends Transaction {
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH})
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH, CascadeType.PERSIST})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH, CascadeType.PERSIST})
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address deliveryAddress;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH})
     @JoinColumn(name = "delivery_provider_id", referencedColumnName = "id")
     private DeliveryProvider deliveryProvider;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.REFRESH})
     @JoinColumn(name = "payment_method_id", referencedColumnName = "id")
     private PaymentMethod paymentMethod;
 
-    @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL, mappedBy = "orderTransaction")
+    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "orderTransaction")
     private List<OrderedProduct> orderedProducts;
 
     public OrderTransaction(Date transactionDate, User user, Address deliveryAddress, DeliveryProvider deliveryProvider,
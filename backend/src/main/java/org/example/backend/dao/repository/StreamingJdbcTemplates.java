@@ -0,0 +1,38 @@
+package org.example.backend.dao.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+//Creates JdbcTemplate which reads rows of result as they come instead of loading whole result first.
+//MySQL driver streams rows only with fetch size Integer.MIN_VALUE, then connection can't run other statement
+//until result is read, so row handlers of such template must use other connection for their own statements.
+//Other databases get given fetch size
+public class StreamingJdbcTemplates {
+
+    private static final String MYSQL_PRODUCT_NAME = "MySQL";
+
+    private StreamingJdbcTemplates() {
+    }
+
+    public static JdbcTemplate create(DataSource dataSource, int fetchSize) {
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(isMySql(dataSource) ? Integer.MIN_VALUE : fetchSize);
+
+        return jdbcTemplate;
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+
+        try{
+            return MYSQL_PRODUCT_NAME.equals(
+                    JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
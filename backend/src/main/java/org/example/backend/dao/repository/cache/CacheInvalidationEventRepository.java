@@ -0,0 +1,80 @@
+package org.example.backend.dao.repository.cache;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+//Outbox of cache invalidations, rows are written by JDBC, so they join transaction of change
+//without loading anything into persistence context
+@Repository
+public class CacheInvalidationEventRepository {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO cache_invalidation_event (origin, type, cache_key, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String FIND_AFTER_ID_QUERY =
+            "SELECT id, origin, type, cache_key FROM cache_invalidation_event WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String FIND_BY_IDS_QUERY =
+            "SELECT id, origin, type, cache_key FROM cache_invalidation_event WHERE id IN (%s) ORDER BY id";
+
+    private static final String FIND_MAXIMAL_ID_QUERY =
+            "SELECT COALESCE(MAX(id), 0) FROM cache_invalidation_event";
+
+    private static final String DELETE_CREATED_BEFORE_QUERY =
+            "DELETE FROM cache_invalidation_event WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CacheInvalidationEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(CacheInvalidation invalidation, Instant createdAt) {
+        jdbcTemplate.update(INSERT_QUERY, invalidation.origin(), invalidation.type().name(), invalidation.key(),
+                Timestamp.from(createdAt));
+    }
+
+    //Returns maximum limit rows with id greater than given one, ordered by id
+    public List<StoredCacheInvalidation> findAfterId(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_ID_QUERY, this::mapStoredInvalidation, afterId, limit);
+    }
+
+    public List<StoredCacheInvalidation> findByIds(List<Long> ids) {
+
+        if(ids.isEmpty())
+            return List.of();
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+
+        return jdbcTemplate.query(String.format(FIND_BY_IDS_QUERY, placeholders), this::mapStoredInvalidation,
+                ids.toArray());
+    }
+
+    //Returns 0 when there are no rows
+    public long findMaximalId() {
+
+        Long maximalId = jdbcTemplate.queryForObject(FIND_MAXIMAL_ID_QUERY, Long.class);
+
+        return (maximalId == null) ? 0 : maximalId;
+    }
+
+    public int deleteCreatedBefore(Instant createdAt) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE_QUERY, Timestamp.from(createdAt));
+    }
+
+    private StoredCacheInvalidation mapStoredInvalidation(ResultSet resultSet, int rowNumber) throws SQLException {
+        return new StoredCacheInvalidation(resultSet.getLong("id"), new CacheInvalidation(resultSet.getString("origin"),
+                CacheInvalidationType.valueOf(resultSet.getString("type")), resultSet.getString("cache_key")));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.backend.dao.repository.cache;
+
+import org.example.backend.cache.CacheInvalidation;
+
+//Invalidation read from cache_invalidation_event with id of its row
+public record StoredCacheInvalidation(Long id, CacheInvalidation invalidation) {
+}
@@ -5,4 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.UUID;
 
-public interface ProductMainImageRepository extends JpaRepository<ProductMainImage, UUID> {}
+public interface ProductMainImageRepository extends JpaRepository<ProductMainImage, UUID> {
+
+    ProductMainImage findFirstByHash(String hash);
+}
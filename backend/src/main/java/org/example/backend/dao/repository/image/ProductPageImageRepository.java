@@ -12,4 +12,6 @@ public interface ProductPageImageRepository extends JpaRepository <ProductPageIm
 
     @Query("SELECT p FROM ProductPageImage AS p WHERE p.product.id = :productId")
     List<ProductPageImage> findByProductId(UUID productId);
+
+    ProductPageImage findFirstByHash(String hash);
 }
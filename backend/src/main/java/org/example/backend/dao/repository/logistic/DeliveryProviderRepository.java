@@ -1,21 +1,27 @@
 package org.example.backend.dao.repository.logistic;
 
+import jakarta.persistence.QueryHint;
 import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
+//Lookups by name are answered from query cache, results are invalidated by Hibernate when table is changed
 public interface DeliveryProviderRepository extends JpaRepository<DeliveryProvider, Long> {
 
     List<DeliveryProvider> findAllByEnabledFalse();
 
     List<DeliveryProvider> findAllByEnabledTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT d FROM DeliveryProvider AS d WHERE d.name = :name")
     DeliveryProvider findByName(@Param("name") String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT d.name FROM DeliveryProvider AS d GROUP BY d.name")
     List<String> findAllNames();
 }
@@ -0,0 +1,17 @@
+package org.example.backend.dao.repository.product;
+
+import org.example.backend.model.ProductModel;
+
+import java.util.UUID;
+
+//Fields of product needed to place an order, loaded without stock and with only hash of main image.
+//This record is created by JPQL constructor expression in ProductRepository
+public record OrderableProduct(UUID id, String EANCode, String name, String type, String description,
+                               Integer height, Integer width, Double regularPrice, Double currentPrice,
+                               String mainImageHash) {
+
+    public ProductModel toProductModel() {
+        return new ProductModel(EANCode, name, type, description, height, width, regularPrice, currentPrice,
+                null, mainImageHash);
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.product;
+
+//One row of stock report, only columns which are shown are selected, so no Product entity is loaded
+public record ProductQuantity(String EANCode, String name, String type, Long quantity) {
+}
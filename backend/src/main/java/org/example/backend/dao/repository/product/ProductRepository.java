@@ -1,7 +1,9 @@
 package org.example.backend.dao.repository.product;
 
 import org.example.backend.dao.entity.product.Product;
+import org.example.backend.search.IndexedProduct;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,63 +13,66 @@ import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    @EntityGraph(attributePaths = {"stock", "mainImage"})
     @Query("SELECT p FROM Product AS p WHERE p.EANCode = :eanCode")
     Product findByEANCode(@Param("eanCode") String eanCode);
 
+    @EntityGraph(attributePaths = "mainImage")
     @Query("SELECT p FROM Product AS p WHERE p.EANCode IN (:eanCodes)")
     List<Product> findByEANCodes(@Param("eanCodes") List<String> eanCodes);
 
-    @Query("SELECT p FROM Product AS p WHERE p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> find(List<String> forbiddenEanCodes, Pageable pageable);
+    //Loads products of whole order with one query, without stock and images
+    @Query("SELECT new org.example.backend.dao.repository.product.OrderableProduct(p.id, p.EANCode, p.name, " +
+            " p.type, p.description, p.height, p.width, p.regularPrice, p.currentPrice, m.hash) " +
+            " FROM Product AS p LEFT JOIN p.mainImage AS m WHERE p.EANCode IN (:eanCodes)")
+    List<OrderableProduct> findOrderableProductsByEANCodes(@Param("eanCodes") List<String> eanCodes);
 
-    @Query("SELECT p FROM Product AS p WHERE p.type = :type AND p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> findByType(
-            @Param("type") String type, @Param("forbiddenEanCodes") List<String> forbiddenEanCodes,
-            Pageable pageable);
+    //Returns only ean codes which already belong to some product
+    @Query("SELECT p.EANCode FROM Product AS p WHERE p.EANCode IN (:eanCodes)")
+    List<String> findExistingEANCodes(@Param("eanCodes") List<String> eanCodes);
+
+    @Query("SELECT p.EANCode FROM Product AS p WHERE p.id = :id")
+    String findEANCodeById(@Param("id") UUID id);
+
+    //Loads only fields needed by ProductSearchIndex, without images and stock
+    @Query("SELECT new org.example.backend.search.IndexedProduct(p.EANCode, p.name, p.type, p.description, " +
+            " p.currentPrice) FROM Product AS p")
+    List<IndexedProduct> findAllIndexedProducts();
+
+    @Query("SELECT new org.example.backend.search.IndexedProduct(p.EANCode, p.name, p.type, p.description, " +
+            " p.currentPrice) FROM Product AS p WHERE p.EANCode IN (:eanCodes)")
+    List<IndexedProduct> findIndexedProductsByEANCodes(@Param("eanCodes") List<String> eanCodes);
 
-    @Query("SELECT p FROM Product AS p WHERE LOWER(p.name) LIKE %:phrase% AND " +
-            " p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> findByPhrase(
-            @Param("phrase") String phrase, @Param("forbiddenEanCodes") List<String> forbiddenEanCodes,
+    //Methods below page with keyset pagination, they return products with ean code greater than afterEanCode
+    //ordered by ean code, so pass empty string as afterEanCode to get the first page
+    @EntityGraph(attributePaths = "mainImage")
+    @Query("SELECT p FROM Product AS p WHERE p.EANCode > :afterEanCode ORDER BY p.EANCode")
+    List<Product> find(@Param("afterEanCode") String afterEanCode, Pageable pageable);
+
+    @EntityGraph(attributePaths = "mainImage")
+    @Query("SELECT p FROM Product AS p WHERE p.type = :type AND p.EANCode > :afterEanCode ORDER BY p.EANCode")
+    List<Product> findByType(
+            @Param("type") String type, @Param("afterEanCode") String afterEanCode,
             Pageable pageable);
 
+    @EntityGraph(attributePaths = "mainImage")
     @Query("SELECT p FROM Product AS p WHERE :minimalPrice <= p.currentPrice AND :maximalPrice >= p.currentPrice " +
-            " AND p.EANCode NOT IN (:forbiddenEanCodes)")
+            " AND p.EANCode > :afterEanCode ORDER BY p.EANCode")
     List<Product> findByPriceRange(
             @Param("minimalPrice") Double minimalPrice, @Param("maximalPrice") Double maximalPrice,
-            @Param("forbiddenEanCodes") List<String> forbiddenEanCodes, Pageable pageable
+            @Param("afterEanCode") String afterEanCode, Pageable pageable
     );
 
-    @Query("SELECT p FROM Product AS p WHERE LOWER(p.name) LIKE %:phrase% AND p.type = :type " +
-            " AND p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> findByPhraseAndType(@Param("phrase") String phrase, @Param("type") String type,
-                                      @Param("forbiddenEanCodes") List<String> forbiddenEanCodes,
-                                      Pageable pageable);
-
+    @EntityGraph(attributePaths = "mainImage")
     @Query("SELECT p FROM Product AS p WHERE p.type = :type AND p.currentPrice >= :minimalPrice AND " +
-            " p.currentPrice <= :maximalPrice AND p.EANCode NOT IN (:forbiddenEanCodes)")
+            " p.currentPrice <= :maximalPrice AND p.EANCode > :afterEanCode ORDER BY p.EANCode")
     List<Product> findByTypeAndPriceRange(@Param("type") String type, @Param("minimalPrice") Double min,
                                           @Param("maximalPrice") Double max,
-                                          @Param("forbiddenEanCodes") List<String> forbiddenEanCodes,
+                                          @Param("afterEanCode") String afterEanCode,
                                           Pageable pageable);
 
-    @Query("SELECT p FROM Product AS p WHERE LOWER(p.name) LIKE %:phrase% AND p.currentPrice >= :minimalPrice AND " +
-            " p.currentPrice <= :maximalPrice AND p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> findByPhraseAndPriceRange(@Param("phrase") String phrase,
-                                            @Param("minimalPrice") Double min, @Param("maximalPrice") Double max,
-                                            @Param("forbiddenEanCodes") List<String> forbiddenEanCodes,
-                                            Pageable pageable);
-
-    @Query("SELECT p FROM Product AS p WHERE LOWER(p.name) LIKE %:phrase% AND p.type = :type" +
-    " AND :minimalPrice <= p.currentPrice AND :maximalPrice >= p.currentPrice " +
-            " AND p.EANCode NOT IN (:forbiddenEanCodes)")
-    List<Product> findByPhraseAndTypeAndPriceRange(
-            @Param("phrase") String phrase, @Param("type") String type,
-            @Param("minimalPrice") Double minimalPrice, @Param("maximalPrice") Double maximalPrice,
-            @Param("forbiddenEanCodes") List<String> forbiddenEanCodes, Pageable pageable);
-
-    @Query("SELECT p FROM Product AS p WHERE p.currentPrice != p.regularPrice")
-    List<Product> showOnSale();
+    @Query("SELECT p.EANCode FROM Product AS p WHERE p.currentPrice != p.regularPrice ORDER BY p.EANCode")
+    List<String> findEANCodesOfProductsOnSale();
 
     @Query("SELECT p.type FROM Product AS p GROUP BY p.type")
     List<String> getAllProductTypes();
@@ -79,6 +84,8 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     List<Object[]> getTypesAndQuantityOfProductsWithThisTypes();
 
     //You need to adjust percent signs at the beginning and at the end
-    @Query("SELECT p, SUM(p.stock.quantity) FROM Product AS p WHERE LOWER(p.name) LIKE %:phrase% GROUP BY p.name")
-    List<Object[]> getProductsAndRelatedQuantityByPhrase(@Param("phrase") String phrase);
+    @Query("SELECT new org.example.backend.dao.repository.product.ProductQuantity(p.EANCode, p.name, p.type," +
+            " SUM(s.quantity)) FROM Product AS p JOIN p.stock AS s WHERE LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantity> getProductsAndRelatedQuantityByPhrase(@Param("phrase") String phrase);
 }
@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.product;
+
+//Change of stock of product with given EAN code, positive delta adds stock and negative one takes it
+public record StockAdjustment(String EANCode, Long delta) {
+}
@@ -0,0 +1,53 @@
+package org.example.backend.dao.repository.product;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+//Changes stock in database with conditional increment, product and its images are never loaded.
+//Stock can't go below zero, adjustment which would do it isn't applied. Adjustments are sent as one JDBC batch
+@Repository
+public class StockAdjustmentRepository {
+
+    private static final String ADJUST_STOCK_QUERY =
+            "UPDATE stock SET quantity = quantity + ? "
+                    + "WHERE id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?) AND quantity + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockAdjustmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Returns for every adjustment, in the same order, whether it was applied. Adjustment isn't applied
+    //when product doesn't exist or there is not enough stock
+    public boolean[] adjust(List<StockAdjustment> adjustments) {
+
+        //Rows are always locked in the same order, so two batches or batch and order can't deadlock,
+        //adjustments of the same product keep their order
+        List<Integer> sortedIndexes = IntStream.range(0, adjustments.size()).boxed()
+                .sorted(Comparator.comparing(index -> adjustments.get(index).EANCode()))
+                .toList();
+
+        List<Object[]> arguments = sortedIndexes.stream().map(index -> {
+            StockAdjustment adjustment = adjustments.get(index);
+            return new Object[]{adjustment.delta(), adjustment.EANCode(), adjustment.delta()};
+        }).toList();
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(ADJUST_STOCK_QUERY, arguments);
+
+        boolean[] applied = new boolean[adjustments.size()];
+
+        //Driver which doesn't report count of updated rows (SUCCESS_NO_INFO) fails every adjustment,
+        //it is never treated as success
+        for(int i = 0; i < updatedRows.length; i++)
+            applied[sortedIndexes.get(i)] = (updatedRows[i] == 1);
+
+        return applied;
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.product;
+
+//One line of order, quantity is taken from stock of product with given EAN code
+public record StockReservation(String EANCode, Long quantity) {
+}
@@ -0,0 +1,177 @@
+package org.example.backend.dao.repository.product;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+//Takes ordered quantities from stock with conditional decrement, so check and write are one atomic statement
+//and two concurrent orders can't both pass the check. Statements of one order are sent as one JDBC batch
+@Repository
+public class StockReservationRepository {
+
+    private static final String DECREMENT_STOCK_QUERY =
+            "UPDATE stock SET quantity = quantity - ? "
+                    + "WHERE id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?) AND quantity >= ?";
+
+    private static final String INCREMENT_STOCK_QUERY =
+            "UPDATE stock SET quantity = quantity + ? "
+                    + "WHERE id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?)";
+
+    private static final String LOCK_STOCK_QUERY =
+            "SELECT s.quantity FROM stock AS s "
+                    + "WHERE s.id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?) FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockReservationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Returns reservations which weren't made, because there was not enough stock or product doesn't exist.
+    //Reservations which were made are given back when any other one fails, so refused order leaves no change
+    //and transaction can go on with other orders
+    public List<StockReservation> reserve(List<StockReservation> reservations) {
+
+        //Rows are always locked in the same order, so two orders of the same products can't deadlock
+        List<StockReservation> sortedReservations = new ArrayList<>(reservations);
+        sortedReservations.sort(Comparator.comparing(StockReservation::EANCode));
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK_QUERY, toArguments(sortedReservations, true));
+
+        List<StockReservation> madeReservations = new ArrayList<>();
+        List<StockReservation> failedReservations = new ArrayList<>();
+
+        //Driver which doesn't report count of updated rows (SUCCESS_NO_INFO) fails every reservation,
+        //it is never treated as success
+        for(int i = 0; i < updatedRows.length; i++) {
+
+            if(updatedRows[i] != 1)
+                failedReservations.add(sortedReservations.get(i));
+            else
+                madeReservations.add(sortedReservations.get(i));
+        }
+
+        if((!failedReservations.isEmpty()) && (!madeReservations.isEmpty()))
+            jdbcTemplate.batchUpdate(INCREMENT_STOCK_QUERY, toArguments(madeReservations, false));
+
+        return failedReservations;
+    }
+
+    //Reserves stock for many orders at once and returns ean codes which were missing for every order,
+    //in the same order as orders. Quantities of every product are summed, so product which many orders
+    //take is decremented with one conditional update instead of one per order. When some product runs out,
+    //its stock is shared among orders in their order and orders which don't fit take nothing
+    public List<List<String>> reserveForOrders(List<List<StockReservation>> orders) {
+
+        //TreeMap keeps products sorted by ean code, so rows are locked in the same order as in reserve
+        Map<String, Long> totalQuantities = new TreeMap<>();
+        orders.forEach(order -> order.forEach(reservation ->
+                totalQuantities.merge(reservation.EANCode(), reservation.quantity(), Long::sum)));
+
+        List<StockReservation> totalReservations = toReservations(totalQuantities);
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK_QUERY, toArguments(totalReservations, true));
+
+        Set<String> shortEANCodes = new TreeSet<>();
+
+        for(int i = 0; i < updatedRows.length; i++) {
+            if(updatedRows[i] != 1)
+                shortEANCodes.add(totalReservations.get(i).EANCode());
+        }
+
+        List<List<String>> missingEANCodes = new ArrayList<>();
+
+        if(shortEANCodes.isEmpty()) {
+            orders.forEach(order -> missingEANCodes.add(List.of()));
+            return missingEANCodes;
+        }
+
+        //Stock which ran out is read under lock, so nobody else takes it until transaction ends
+        Map<String, Long> availableQuantities = new HashMap<>();
+
+        shortEANCodes.forEach(eanCode -> {
+            Long quantity = jdbcTemplate.queryForList(LOCK_STOCK_QUERY, Long.class, eanCode).stream()
+                    .findFirst().orElse(null);
+            availableQuantities.put(eanCode, (quantity == null) ? 0L : quantity);
+        });
+
+        Map<String, Long> allocatedQuantities = new TreeMap<>();
+        Map<String, Long> givenBackQuantities = new TreeMap<>();
+
+        for(List<StockReservation> order : orders) {
+
+            Map<String, Long> orderQuantities = new TreeMap<>();
+            order.forEach(reservation ->
+                    orderQuantities.merge(reservation.EANCode(), reservation.quantity(), Long::sum));
+
+            List<String> orderMissingEANCodes = orderQuantities.entrySet().stream()
+                    .filter(orderQuantity -> shortEANCodes.contains(orderQuantity.getKey()))
+                    .filter(orderQuantity -> orderQuantity.getValue() > availableQuantities.get(orderQuantity.getKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            missingEANCodes.add(orderMissingEANCodes);
+
+            orderQuantities.forEach((eanCode, quantity) -> {
+                if(!orderMissingEANCodes.isEmpty()) {
+                    if(!shortEANCodes.contains(eanCode))
+                        givenBackQuantities.merge(eanCode, quantity, Long::sum);
+                }
+                else if(shortEANCodes.contains(eanCode)) {
+                    availableQuantities.merge(eanCode, -quantity, Long::sum);
+                    allocatedQuantities.merge(eanCode, quantity, Long::sum);
+                }
+            });
+        }
+
+        List<StockReservation> allocatedReservations = toReservations(allocatedQuantities);
+
+        if(!allocatedReservations.isEmpty()) {
+
+            int[] allocatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK_QUERY,
+                    toArguments(allocatedReservations, true));
+
+            for(int allocatedRow : allocatedRows) {
+                if(allocatedRow != 1)
+                    throw new IllegalStateException("Stock changed while it was locked");
+            }
+        }
+
+        List<StockReservation> givenBackReservations = toReservations(givenBackQuantities);
+
+        if(!givenBackReservations.isEmpty())
+            jdbcTemplate.batchUpdate(INCREMENT_STOCK_QUERY, toArguments(givenBackReservations, false));
+
+        return missingEANCodes;
+    }
+
+    private List<StockReservation> toReservations(Map<String, Long> quantities) {
+        return quantities.entrySet().stream()
+                .map(quantity -> new StockReservation(quantity.getKey(), quantity.getValue()))
+                .toList();
+    }
+
+    private List<Object[]> toArguments(List<StockReservation> reservations, boolean withCheckedQuantity) {
+
+        List<Object[]> arguments = new ArrayList<>();
+
+        reservations.forEach(reservation -> {
+            if(withCheckedQuantity)
+                arguments.add(new Object[]{reservation.quantity(), reservation.EANCode(), reservation.quantity()});
+            else
+                arguments.add(new Object[]{reservation.quantity(), reservation.EANCode()});
+        });
+
+        return arguments;
+    }
+}
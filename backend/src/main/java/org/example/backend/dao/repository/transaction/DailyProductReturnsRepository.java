@@ -0,0 +1,99 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.dao.entity.transaction.DailyProductReturns;
+import org.example.backend.dao.entity.transaction.DailyProductReturnsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Return reports read from daily rollup instead of every returned product. Methods returning products
+//select only columns of report row, both days of time period are included
+public interface DailyProductReturnsRepository extends JpaRepository<DailyProductReturns, DailyProductReturnsId> {
+
+    @Query("SELECT SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d")
+    List<Object[]> getAllQuantityOfReturnedProductsAndRevenue();
+
+    @Query("SELECT d.id.type, SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d GROUP BY d.id.type")
+    List<Object[]> getAllTypesAndTheirReturnedQuantityAndRevenue();
+
+    @Query("SELECT SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay")
+    List<Object[]> getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(@Param("startingDay") LocalDate startingDay,
+                                                                          @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT d.id.type, SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay GROUP BY d.id.type")
+    List<Object[]> getAllTypesAndTheirQuantityOfReturnedProductsAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByPhrase(@Param("phrase") String phrase);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.type = :type GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByType(@Param("type") String type);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("phrase") String phrase);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay AND d.id.type = :type" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("type") String type);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.type = :type AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(
+            @Param("phrase") String phrase, @Param("type") String type);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductReturns AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay AND d.id.type = :type" +
+            " AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("phrase") String phrase, @Param("type") String type);
+
+    @Query("SELECT d.id.returnCause, SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay GROUP BY d.id.returnCause")
+    List<Object[]> getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT d.id.returnCause, SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay AND d.id.type = :type" +
+            " GROUP BY d.id.returnCause")
+    List<Object[]> getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("type") String type);
+
+    @Query("SELECT p.name, d.id.returnCause, SUM(d.quantity), SUM(d.revenue) FROM DailyProductReturns AS d" +
+            " JOIN DeliveryProvider AS p ON p.id = d.id.deliveryProviderId" +
+            " WHERE d.id.returnDay >= :startingDay AND d.id.returnDay <= :endingDay GROUP BY p.name, d.id.returnCause")
+    List<Object[]> getDeliveryProvidersAndReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+}
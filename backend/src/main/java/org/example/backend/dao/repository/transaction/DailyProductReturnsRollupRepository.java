@@ -0,0 +1,108 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.enumerated.ReturnCause;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//Keeps daily_product_returns up to date, rows are incremented in database, so concurrent returns don't lose counts.
+//Products are matched by EAN code, so their UUID ids don't have to be bound by JDBC
+@Repository
+public class DailyProductReturnsRollupRepository {
+
+    private static final String INCREMENT_QUERY =
+            "UPDATE daily_product_returns SET quantity = quantity + ?, revenue = revenue + ? "
+                    + "WHERE return_day = ? AND type = ? AND return_cause = ? AND delivery_provider_id = ? "
+                    + "AND product_id = (SELECT p.id FROM product AS p WHERE p.eancode = ?)";
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO daily_product_returns "
+                    + "(return_day, product_id, type, return_cause, delivery_provider_id, quantity, revenue) "
+                    + "SELECT ?, p.id, ?, ?, ?, ?, ? FROM product AS p WHERE p.eancode = ?";
+
+    //Returned products which were never linked to their return transaction have no date, so they are skipped.
+    //Day is compared with date of return as range, so index of return date is used
+    private static final String REBUILD_DAY_QUERY =
+            "INSERT INTO daily_product_returns "
+                    + "(return_day, product_id, type, return_cause, delivery_provider_id, quantity, revenue) "
+                    + "SELECT ?, r.product_id, p.type, t.return_cause, t.delivery_provider_id, "
+                    + "SUM(r.quantity), SUM(r.quantity * r.price_per_unit) "
+                    + "FROM returned_product AS r JOIN return_transaction AS t ON t.id = r.return_transaction_id "
+                    + "JOIN product AS p ON p.id = r.product_id "
+                    + "WHERE t.delivery_provider_id IS NOT NULL AND t.date >= ? AND t.date < ? "
+                    + "GROUP BY r.product_id, p.type, t.return_cause, t.delivery_provider_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DailyProductReturnsRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Existing rows are incremented with one JDBC batch, rows of first return of product on given day,
+    //with given cause and delivery provider are inserted
+    public void add(LocalDate day, ReturnCause returnCause, Long deliveryProviderId, List<ProductReturn> returns) {
+
+        //Rows are always locked in the same order, so two returns of the same products can't deadlock
+        List<ProductReturn> sortedReturns = new ArrayList<>(returns);
+        sortedReturns.sort(Comparator.comparing(ProductReturn::EANCode).thenComparing(ProductReturn::type));
+
+        List<Object[]> arguments = new ArrayList<>();
+
+        sortedReturns.forEach(productReturn -> {
+            arguments.add(new Object[]{productReturn.quantity(), productReturn.revenue(), day, productReturn.type(),
+                    returnCause.name(), deliveryProviderId, productReturn.EANCode()});
+        });
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(INCREMENT_QUERY, arguments);
+
+        for(int i = 0; i < updatedRows.length; i++) {
+
+            if(updatedRows[i] == 0)
+                insert(day, returnCause, deliveryProviderId, sortedReturns.get(i));
+        }
+    }
+
+    public boolean isEmpty() {
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_product_returns", Integer.class);
+
+        return (rows == null) || (rows == 0);
+    }
+
+    //Returns null when there are no returns
+    public LocalDate findFirstReturnDay() {
+
+        Date firstReturnDate = jdbcTemplate.queryForObject("SELECT MIN(date) FROM return_transaction", Date.class);
+
+        return (firstReturnDate == null) ? null : firstReturnDate.toLocalDate();
+    }
+
+    //Replaces rows of given day with sums of returns of that day, so it can be repeated.
+    //Day must already be over, returns of current day are still added to it
+    public int rebuildDay(LocalDate day) {
+
+        jdbcTemplate.update("DELETE FROM daily_product_returns WHERE return_day = ?", day);
+
+        return jdbcTemplate.update(REBUILD_DAY_QUERY, day, day, day.plusDays(1));
+    }
+
+    private void insert(LocalDate day, ReturnCause returnCause, Long deliveryProviderId, ProductReturn productReturn) {
+
+        try{
+            jdbcTemplate.update(INSERT_QUERY, day, productReturn.type(), returnCause.name(), deliveryProviderId,
+                    productReturn.quantity(), productReturn.revenue(), productReturn.EANCode());
+        } catch (DuplicateKeyException e) {
+            //Concurrent return inserted the same row first, so now it can be incremented
+            jdbcTemplate.update(INCREMENT_QUERY, productReturn.quantity(), productReturn.revenue(), day,
+                    productReturn.type(), returnCause.name(), deliveryProviderId, productReturn.EANCode());
+        }
+    }
+}
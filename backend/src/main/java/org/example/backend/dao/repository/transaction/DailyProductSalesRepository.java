@@ -0,0 +1,87 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.dao.entity.transaction.DailyProductSales;
+import org.example.backend.dao.entity.transaction.DailyProductSalesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Revenue reports read from daily rollup instead of every ordered product. Methods returning products
+//select only columns of report row, both days of time period are included
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSalesId> {
+
+    @Query("SELECT SUM(d.quantity), SUM(d.revenue) FROM DailyProductSales AS d")
+    List<Object[]> getAllQuantityOfOrderedProductsAndRevenue();
+
+    @Query("SELECT d.id.type, SUM(d.quantity), SUM(d.revenue) FROM DailyProductSales AS d GROUP BY d.id.type")
+    List<Object[]> getAllTypesAndTheirOrderedQuantityAndRevenue();
+
+    @Query("SELECT SUM(d.quantity), SUM(d.revenue) FROM DailyProductSales AS d" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay")
+    List<Object[]> getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(@Param("startingDay") LocalDate startingDay,
+                                                                         @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT d.id.type, SUM(d.quantity), SUM(d.revenue) FROM DailyProductSales AS d" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay GROUP BY d.id.type")
+    List<Object[]> getAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.type = :type GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByType(@Param("type") String type);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByPhrase(@Param("phrase") String phrase);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndPhrase(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("phrase") String phrase);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay AND d.id.type = :type" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndType(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("type") String type);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.type = :type AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTypeAndPhrase(
+            @Param("type") String type, @Param("phrase") String phrase);
+
+    @Query("SELECT new org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue(p.EANCode, p.name," +
+            " p.type, SUM(d.quantity), SUM(d.revenue)) FROM DailyProductSales AS d JOIN Product AS p ON p.id = d.id.productId" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay AND d.id.type = :type" +
+            " AND LOWER(p.name) LIKE %:phrase%" +
+            " GROUP BY p.id, p.EANCode, p.name, p.type")
+    List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndTypeAndPhrase(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("type") String type, @Param("phrase") String phrase);
+
+    @Query("SELECT SUM(d.quantity) FROM DailyProductSales AS d" +
+            " WHERE d.id.salesDay >= :startingDay AND d.id.salesDay <= :endingDay AND d.id.type = :type")
+    Long getQuantityOfOrderedProductsByTimePeriodAndType(
+            @Param("startingDay") LocalDate startingDay, @Param("endingDay") LocalDate endingDay,
+            @Param("type") String type);
+}
@@ -0,0 +1,98 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//Keeps daily_product_sales up to date, rows are incremented in database, so concurrent orders don't lose sales.
+//Products are matched by EAN code, so their UUID ids don't have to be bound by JDBC
+@Repository
+public class DailyProductSalesRollupRepository {
+
+    private static final String INCREMENT_QUERY =
+            "UPDATE daily_product_sales SET quantity = quantity + ?, revenue = revenue + ? "
+                    + "WHERE sales_day = ? AND type = ? AND product_id = (SELECT p.id FROM product AS p WHERE p.eancode = ?)";
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO daily_product_sales (sales_day, product_id, type, quantity, revenue) "
+                    + "SELECT ?, p.id, ?, ?, ? FROM product AS p WHERE p.eancode = ?";
+
+    //Day is compared with date of order as range, so index of order date is used
+    private static final String REBUILD_DAY_QUERY =
+            "INSERT INTO daily_product_sales (sales_day, product_id, type, quantity, revenue) "
+                    + "SELECT ?, o.product_id, p.type, SUM(o.quantity), SUM(o.quantity * o.price_per_unit) "
+                    + "FROM ordered_product AS o JOIN order_transaction AS t ON t.id = o.order_transaction_id "
+                    + "JOIN product AS p ON p.id = o.product_id "
+                    + "WHERE t.date >= ? AND t.date < ? "
+                    + "GROUP BY o.product_id, p.type";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DailyProductSalesRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Existing rows are incremented with one JDBC batch, rows of first sale of product on given day are inserted
+    public void add(LocalDate day, List<ProductSale> sales) {
+
+        //Rows are always locked in the same order, so two orders of the same products can't deadlock
+        List<ProductSale> sortedSales = new ArrayList<>(sales);
+        sortedSales.sort(Comparator.comparing(ProductSale::EANCode).thenComparing(ProductSale::type));
+
+        List<Object[]> arguments = new ArrayList<>();
+
+        sortedSales.forEach(sale -> {
+            arguments.add(new Object[]{sale.quantity(), sale.revenue(), day, sale.type(), sale.EANCode()});
+        });
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(INCREMENT_QUERY, arguments);
+
+        for(int i = 0; i < updatedRows.length; i++) {
+
+            if(updatedRows[i] == 0)
+                insert(day, sortedSales.get(i));
+        }
+    }
+
+    public boolean isEmpty() {
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_product_sales", Integer.class);
+
+        return (rows == null) || (rows == 0);
+    }
+
+    //Returns null when there are no orders
+    public LocalDate findFirstOrderDay() {
+
+        Date firstOrderDate = jdbcTemplate.queryForObject("SELECT MIN(date) FROM order_transaction", Date.class);
+
+        return (firstOrderDate == null) ? null : firstOrderDate.toLocalDate();
+    }
+
+    //Replaces rows of given day with sums of orders of that day, so it can be repeated.
+    //Day must already be over, orders of current day are still added to it
+    public int rebuildDay(LocalDate day) {
+
+        jdbcTemplate.update("DELETE FROM daily_product_sales WHERE sales_day = ?", day);
+
+        return jdbcTemplate.update(REBUILD_DAY_QUERY, day, day, day.plusDays(1));
+    }
+
+    private void insert(LocalDate day, ProductSale sale) {
+
+        try{
+            jdbcTemplate.update(INSERT_QUERY, day, sale.type(), sale.quantity(), sale.revenue(), sale.EANCode());
+        } catch (DuplicateKeyException e) {
+            //Concurrent order inserted the same row first, so now it can be incremented
+            jdbcTemplate.update(INCREMENT_QUERY, sale.quantity(), sale.revenue(), day, sale.type(), sale.EANCode());
+        }
+    }
+}
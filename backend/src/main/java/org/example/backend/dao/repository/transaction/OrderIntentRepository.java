@@ -0,0 +1,104 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.enumerated.OrderIntentStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+//Outbox of accepted orders. Intents are claimed with conditional update instead of SELECT ... FOR UPDATE
+//SKIP LOCKED, so many workers and replicas can drain the table on every database. Claim which wasn't
+//finished in time, for example because its worker died, can be claimed again by any worker
+@Repository
+public class OrderIntentRepository {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO order_intent (id, idempotency_key, payload, status, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FIND_BY_ID_QUERY =
+            "SELECT id, idempotency_key, payload, status, order_transaction_id, rejection_reason "
+                    + "FROM order_intent WHERE id = ?";
+
+    private static final String FIND_BY_IDEMPOTENCY_KEY_QUERY =
+            "SELECT id, idempotency_key, payload, status, order_transaction_id, rejection_reason "
+                    + "FROM order_intent WHERE idempotency_key = ?";
+
+    private static final String FIND_CLAIMABLE_QUERY =
+            "SELECT id, idempotency_key, payload, status, order_transaction_id, rejection_reason "
+                    + "FROM order_intent WHERE status = 'PENDING' OR (status = 'PROCESSING' AND claimed_at < ?) "
+                    + "ORDER BY created_at LIMIT ?";
+
+    private static final String CLAIM_QUERY =
+            "UPDATE order_intent SET status = 'PROCESSING', claim_token = ?, claimed_at = ? "
+                    + "WHERE id = ? AND (status = 'PENDING' OR (status = 'PROCESSING' AND claimed_at < ?))";
+
+    private static final String FINISH_QUERY =
+            "UPDATE order_intent SET status = ?, order_transaction_id = ?, rejection_reason = ?, claim_token = NULL, "
+                    + "claimed_at = NULL WHERE id = ? AND status = 'PROCESSING' AND claim_token = ?";
+
+    private static final RowMapper<StoredOrderIntent> ROW_MAPPER = (resultSet, rowNumber) ->
+            new StoredOrderIntent(resultSet.getString("id"), resultSet.getString("idempotency_key"),
+                    resultSet.getString("payload"), OrderIntentStatus.valueOf(resultSet.getString("status")),
+                    resultSet.getString("order_transaction_id"), resultSet.getString("rejection_reason"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderIntentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Throws DuplicateKeyException when intent with the same idempotency key is already stored
+    public void save(StoredOrderIntent intent, Instant createdAt) {
+        jdbcTemplate.update(INSERT_QUERY, intent.id(), intent.idempotencyKey(), intent.payload(),
+                intent.status().name(), Timestamp.from(createdAt));
+    }
+
+    public StoredOrderIntent findById(String id) {
+        return jdbcTemplate.query(FIND_BY_ID_QUERY, ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    public StoredOrderIntent findByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.query(FIND_BY_IDEMPOTENCY_KEY_QUERY, ROW_MAPPER, idempotencyKey).stream()
+                .findFirst().orElse(null);
+    }
+
+    //Returns oldest intents, maximum limit of them, which were claimed with claimToken. Candidates claimed
+    //by other worker between select and update are skipped
+    public List<StoredOrderIntent> claim(String claimToken, int limit, Instant claimedAt, Instant expiredBefore) {
+
+        List<StoredOrderIntent> candidates = jdbcTemplate.query(FIND_CLAIMABLE_QUERY, ROW_MAPPER,
+                Timestamp.from(expiredBefore), limit);
+
+        if(candidates.isEmpty())
+            return List.of();
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(CLAIM_QUERY, candidates.stream()
+                .map(candidate -> new Object[]{claimToken, Timestamp.from(claimedAt), candidate.id(),
+                        Timestamp.from(expiredBefore)})
+                .toList());
+
+        return IntStream.range(0, candidates.size())
+                .filter(index -> updatedRows[index] == 1)
+                .mapToObj(candidates::get)
+                .toList();
+    }
+
+    //Stores status, order transaction id and rejection reason of intents. Returns false when any of them
+    //isn't claimed with claimToken anymore, then caller has to roll back its transaction
+    public boolean finish(List<StoredOrderIntent> intents, String claimToken) {
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(FINISH_QUERY, intents.stream()
+                .map(intent -> new Object[]{intent.status().name(), intent.orderTransactionId(),
+                        intent.rejectionReason(), intent.id(), claimToken})
+                .toList());
+
+        return Arrays.stream(updatedRows).allMatch(updatedRow -> updatedRow == 1);
+    }
+}
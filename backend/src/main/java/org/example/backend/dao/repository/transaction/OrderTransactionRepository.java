@@ -2,135 +2,50 @@ package org.example.backend.dao.repository.transaction;
 
 import org.example.backend.dao.entity.transaction.OrderTransaction;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OrderTransactionRepository extends JpaRepository<OrderTransaction, UUID> {
+public interface OrderTransactionRepository extends JpaRepository<OrderTransaction, UUID>,
+        JpaSpecificationExecutor<OrderTransaction> {
+
+    //Sort used by search, newest order transactions come first
+    Sort SEARCH_SORT = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
 
     @Query("SELECT COUNT(o) FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate")
     Long getCountOfAllOrderTransactionsByTimePeriod(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate);
 
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactions(
-            @Param("forbiddenOrderTransactionIds") List<UUID> ids, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriod(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("forbiddenOrderTransactionIds") List<UUID> ids, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.paymentMethod.name = :paymentMethodName " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByPaymentMethodName(
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds,  Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.deliveryProvider.name = :deliveryProviderName " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByDeliveryProviderName(
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.userEmail = :email " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByUserEmail(
-            @Param("email") String email,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.paymentMethod.name = :paymentMethodName AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndPaymentMethodName(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.deliveryProvider.name = :deliveryProviderName AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndDeliveryProviderName(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.user.email = :userEmail AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndUserEmail(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.paymentMethod.name = :paymentMethodName " +
-            "AND o.deliveryProvider.name = :deliveryProviderName AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
+    //Associations of OrderTransaction.listing entity graph, fluent specification query accepts only property names
+    List<String> LISTING_ATTRIBUTES = List.of("user", "deliveryAddress", "deliveryProvider", "paymentMethod");
 
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.paymentMethod.name = :paymentMethodName AND " +
-            "o.userEmail = :userEmail AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByPaymentMethodNameAndUserEmail(
-            @Param("paymentMethodName") String paymentMethodName, @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.deliveryProvider.name = :deliveryProviderName AND " +
-            " o.userEmail = :userEmail AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByDeliveryProviderNameAndUserEmail(
-            @Param("deliveryProviderName") String deliveryProviderName, @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            "o.paymentMethod.name = :paymentMethodName AND o.deliveryProvider.name = :deliveryProviderName " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.deliveryProvider.name = :deliveryProviderName AND o.userEmail = :userEmail " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.paymentMethod.name = :paymentMethodName AND o.userEmail = :userEmail " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.paymentMethod.name = :paymentMethodName AND " +
-            " o.deliveryProvider.name = :deliveryProviderName AND o.userEmail = :userEmail " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
-
-    @Query("SELECT o FROM OrderTransaction AS o WHERE o.date >= :startingDate AND o.date <= :endingDate AND " +
-            " o.paymentMethod.name = :paymentMethodName AND " +
-            " o.deliveryProvider.name = :deliveryProviderName AND o.userEmail = :userEmail " +
-            " AND o.id NOT IN (:forbiddenOrderTransactionIds)")
-    List<OrderTransaction> findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-            @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("paymentMethodName") String paymentMethodName,
-            @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("userEmail") String userEmail,
-            @Param("forbiddenOrderTransactionIds") List<UUID> forbiddenOrderTransactionIds, Pageable pageable);
+    //Returns maximum limit order transactions matching specification ordered by SEARCH_SORT,
+    //unlike findAll with Pageable it doesn't run additional count query
+    default List<OrderTransaction> findOrderTransactionsBySpecification(
+            Specification<OrderTransaction> specification, int limit) {
+        return findBy(specification, query -> query.project(LISTING_ATTRIBUTES).sortBy(SEARCH_SORT).limit(limit).all());
+    }
 
+    @EntityGraph("OrderTransaction.listing")
     @Query("SELECT o FROM OrderTransaction AS o WHERE o.id IN (:ids)")
     List<OrderTransaction> findOrderTransactionsByIdList(@Param("ids") List<UUID> ids, Pageable pageable);
+
+    @EntityGraph("OrderTransaction.details")
+    @Query("SELECT o FROM OrderTransaction AS o WHERE o.id = :id")
+    Optional<OrderTransaction> findOrderTransactionWithOrderedProductsById(@Param("id") UUID id);
+
+    //Ordered products of already loaded page are fetched by second query, collection fetched together with page
+    //would make Hibernate apply page limit in memory. Loaded order transactions get their collections initialized
+    @Query("SELECT DISTINCT o FROM OrderTransaction AS o LEFT JOIN FETCH o.orderedProducts AS op"
+            + " LEFT JOIN FETCH op.product AS p LEFT JOIN FETCH p.mainImage WHERE o IN (:orderTransactions)")
+    List<OrderTransaction> fetchOrderedProducts(@Param("orderTransactions") List<OrderTransaction> orderTransactions);
 }
@@ -0,0 +1,59 @@
+package org.example.backend.dao.repository.transaction;
+
+import jakarta.persistence.criteria.Predicate;
+import org.example.backend.dao.entity.transaction.OrderTransaction;
+import org.example.backend.model.OrderTransactionSearchModel;
+import org.example.backend.pagination.DateAndIdCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+//Builds one predicate from every not null criterion of OrderTransactionSearchModel.
+//Predicates are always added in the same order and values are bound as parameters,
+//so each combination of criteria is always translated to the same SQL statement
+public class OrderTransactionSpecification {
+
+    public static Specification<OrderTransaction> bySearchModel(
+            OrderTransactionSearchModel searchModel, DateAndIdCursor afterCursor) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            if(searchModel.getStartingDate() != null)
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(
+                        root.<Date>get("date"), searchModel.getStartingDate()));
+            if(searchModel.getEndingDate() != null)
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(
+                        root.<Date>get("date"), searchModel.getEndingDate()));
+            if(searchModel.getPaymentMethodName() != null)
+                predicates.add(criteriaBuilder.equal(
+                        root.get("paymentMethod").get("name"), searchModel.getPaymentMethodName()));
+            if(searchModel.getDeliveryProviderName() != null)
+                predicates.add(criteriaBuilder.equal(
+                        root.get("deliveryProvider").get("name"), searchModel.getDeliveryProviderName()));
+            if(searchModel.getUserEmail() != null)
+                predicates.add(criteriaBuilder.equal(root.get("userEmail"), searchModel.getUserEmail()));
+            if(searchModel.getStatus() != null)
+                predicates.add(criteriaBuilder.equal(root.get("status"), searchModel.getStatus()));
+            if(searchModel.getMinimalCost() != null)
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(
+                        root.<Double>get("cost"), searchModel.getMinimalCost()));
+            if(searchModel.getMaximalCost() != null)
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(
+                        root.<Double>get("cost"), searchModel.getMaximalCost()));
+
+            //Keyset predicate, it has to match the order of OrderTransactionRepository.SEARCH_SORT
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.<Date>get("date"), afterCursor.getDate()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("date"), afterCursor.getDate()),
+                            criteriaBuilder.lessThan(root.<UUID>get("id"), afterCursor.getId()))));
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -1,17 +1,23 @@
 package org.example.backend.dao.repository.transaction;
 
+import jakarta.persistence.QueryHint;
 import org.example.backend.dao.entity.transaction.PaymentMethod;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
+//Lookups by name are answered from query cache, results are invalidated by Hibernate when table is changed
 public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM PaymentMethod AS p WHERE p.name = :name")
     PaymentMethod findByName(@Param("name") String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p.name FROM PaymentMethod AS p GROUP BY p.name")
     List<String> findAllPaymentMethodNames();
 }
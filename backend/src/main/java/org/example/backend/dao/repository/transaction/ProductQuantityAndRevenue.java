@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.transaction;
+
+//One row of product report, only columns which are shown are selected, so no Product entity is loaded
+public record ProductQuantityAndRevenue(String EANCode, String name, String type, Long quantity, Double revenue) {
+}
@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.transaction;
+
+//Quantity and revenue of one product in one return, added to DailyProductReturns
+public record ProductReturn(String EANCode, String type, Long quantity, Double revenue) {
+}
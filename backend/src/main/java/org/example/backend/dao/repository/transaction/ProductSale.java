@@ -0,0 +1,5 @@
+package org.example.backend.dao.repository.transaction;
+
+//Quantity and revenue of one product in one order, added to DailyProductSales
+public record ProductSale(String EANCode, String type, Long quantity, Double revenue) {
+}
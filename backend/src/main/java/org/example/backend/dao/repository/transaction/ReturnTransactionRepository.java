@@ -22,129 +22,131 @@ public interface ReturnTransactionRepository extends JpaRepository<ReturnTransac
     List<ReturnTransaction> findReturnTransactionsByReturnTransactionIds(
             @Param("returnTransactionIds") List<UUID> returnTransactionIds);
 
-    @Query("SELECT r FROM ReturnTransaction AS r WHERE r.id NOT IN (:forbiddenReturnTransactionIds)")
+    //Methods below page with keyset pagination, they return return transactions placed before (cursorDate, cursorId)
+    //ordered by date and id descending, so pass DateAndIdCursor.FIRST_PAGE values to get the first page
+    @Query("SELECT r FROM ReturnTransaction AS r WHERE (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactions(
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriod(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.returnCause = :returnCause " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByReturnCause(
             @Param("returnCause") ReturnCause returnCause,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.deliveryProvider.name = :deliveryProviderName " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByDeliveryProviderName(
             @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.userEmail = :userEmail " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByUserEmail(
             @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
-            " r.returnCause = :returnCause AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.returnCause = :returnCause AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndReturnCause(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("returnCause") ReturnCause returnCause,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
-            " r.deliveryProvider.name = :deliveryProviderName AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.deliveryProvider.name = :deliveryProviderName AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndDeliveryProviderName(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
-            " r.user.email = :userEmail AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.user.email = :userEmail AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndUserEmail(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.returnCause = :returnCause AND " +
-            " r.deliveryProvider.name = :deliveryProviderName AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.deliveryProvider.name = :deliveryProviderName AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByReturnCauseAndDeliveryProviderName(
             @Param("returnCause") ReturnCause returnCause,
             @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.returnCause = :returnCause AND r.userEmail = :userEmail " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByReturnCauseAndUserEmail(
             @Param("returnCause") ReturnCause returnCause, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.deliveryProvider.name = :deliveryProviderName AND " +
-            " r.userEmail = :userEmail AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.userEmail = :userEmail AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByDeliveryProviderNameAndUserEmail(
             @Param("deliveryProviderName") String deliveryProviderName, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
             " r.returnCause = :returnCause AND r.deliveryProvider.name = :deliveryProviderName " +
-            " AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("returnCause") ReturnCause returnCause,
             @Param("deliveryProviderName") String deliveryProviderName,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
             " r.returnCause = :returnCause AND r.userEmail = :userEmail AND " +
-            " r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("returnCause") ReturnCause returnCause, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
             " r.deliveryProvider.name = :deliveryProviderName AND r.userEmail = :userEmail AND " +
-            " r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("deliveryProviderName") String deliveryProviderName, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.returnCause = :returnCause AND " +
             " r.deliveryProvider.name = :deliveryProviderName AND r.userEmail = :userEmail AND " +
-            " r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
             @Param("returnCause") ReturnCause returnCause,
             @Param("deliveryProviderName") String deliveryProviderName, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 
     @Query("SELECT r FROM ReturnTransaction AS r WHERE r.date >= :startingDate AND r.date <= :endingDate AND " +
             " r.returnCause = :returnCause AND r.deliveryProvider.name = :deliveryProviderName AND " +
-            " r.userEmail = :userEmail AND r.id NOT IN (:forbiddenReturnTransactionIds)")
+            " r.userEmail = :userEmail AND (r.date < :cursorDate OR (r.date = :cursorDate AND r.id < :cursorId)) " +
+            " ORDER BY r.date DESC, r.id DESC")
     List<ReturnTransaction> findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
             @Param("startingDate") Date startingDate, @Param("endingDate") Date endingDate,
             @Param("returnCause") ReturnCause returnCause,
             @Param("deliveryProviderName") String deliveryProviderName, @Param("userEmail") String userEmail,
-            @Param("forbiddenReturnTransactionIds") List<UUID> forbiddenReturnTransactionIds,
-            Pageable pageable);
+            @Param("cursorDate") Date cursorDate, @Param("cursorId") UUID cursorId, Pageable pageable);
 }
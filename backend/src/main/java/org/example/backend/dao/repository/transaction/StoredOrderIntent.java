@@ -0,0 +1,16 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.enumerated.OrderIntentStatus;
+
+//Row of order_intent without claim columns, payload is order transaction model as JSON
+public record StoredOrderIntent(String id, String idempotencyKey, String payload, OrderIntentStatus status,
+                                String orderTransactionId, String rejectionReason) {
+
+    public StoredOrderIntent completed(String orderTransactionId) {
+        return new StoredOrderIntent(id, idempotencyKey, payload, OrderIntentStatus.COMPLETED, orderTransactionId, null);
+    }
+
+    public StoredOrderIntent rejected(String rejectionReason) {
+        return new StoredOrderIntent(id, idempotencyKey, payload, OrderIntentStatus.REJECTED, null, rejectionReason);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.dao.repository.StreamingJdbcTemplates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+//Reads orders and returns for exports with forward-only JDBC cursor, one row per ordered or returned product.
+//Entities and images are never loaded, every row is passed to consumer and forgotten, so memory doesn't grow
+//with export period
+@Repository
+public class TransactionExportRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    public static final List<String> ORDER_COLUMNS = List.of("orderId", "date", "status", "userEmail",
+            "firstNameAndLastNameOfUser", "cost", "deliveryProvider", "paymentMethod", "country", "province", "city",
+            "address", "EANCode", "productName", "quantity", "pricePerUnit");
+
+    public static final List<String> RETURN_COLUMNS = List.of("returnId", "date", "status", "userEmail",
+            "firstNameAndLastNameOfUser", "cost", "returnCause", "deliveryProvider", "orderId", "EANCode",
+            "productName", "quantity", "pricePerUnit");
+
+    //Columns holding ids, they are binary(16) in MySQL and are converted to UUID
+    private static final Set<String> UUID_COLUMNS = Set.of("orderId", "returnId");
+
+    private static final String ORDERS_QUERY =
+            "SELECT t.id, t.date, t.status, t.user_email, t.first_name_and_last_name_of_user, t.cost, d.name, m.name, "
+                    + "a.country, a.province, a.city, a.address, p.eancode, p.name, o.quantity, o.price_per_unit "
+                    + "FROM order_transaction AS t JOIN ordered_product AS o ON o.order_transaction_id = t.id "
+                    + "JOIN product AS p ON p.id = o.product_id "
+                    + "LEFT JOIN delivery_provider AS d ON d.id = t.delivery_provider_id "
+                    + "LEFT JOIN payment_method AS m ON m.id = t.payment_method_id "
+                    + "LEFT JOIN address AS a ON a.id = t.address_id "
+                    + "WHERE t.date >= ? AND t.date <= ? ORDER BY t.date, t.id";
+
+    private static final String RETURNS_QUERY =
+            "SELECT t.id, t.date, t.status, t.user_email, t.first_name_and_last_name_of_user, t.cost, t.return_cause, "
+                    + "d.name, r.order_transaction_id, p.eancode, p.name, r.quantity, r.price_per_unit "
+                    + "FROM return_transaction AS t JOIN returned_product AS r ON r.return_transaction_id = t.id "
+                    + "JOIN product AS p ON p.id = r.product_id "
+                    + "LEFT JOIN delivery_provider AS d ON d.id = t.delivery_provider_id "
+                    + "WHERE t.date >= ? AND t.date <= ? ORDER BY t.date, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //Own JdbcTemplate, so streaming of exports doesn't change other queries
+    @Autowired
+    public TransactionExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = StreamingJdbcTemplates.create(dataSource, FETCH_SIZE);
+    }
+
+    //Values of row are in the same order as ORDER_COLUMNS
+    public void forEachOrderedProduct(Date startingDate, Date endingDate, Consumer<Object[]> consumer) {
+        forEachRow(ORDERS_QUERY, ORDER_COLUMNS, startingDate, endingDate, consumer);
+    }
+
+    //Values of row are in the same order as RETURN_COLUMNS
+    public void forEachReturnedProduct(Date startingDate, Date endingDate, Consumer<Object[]> consumer) {
+        forEachRow(RETURNS_QUERY, RETURN_COLUMNS, startingDate, endingDate, consumer);
+    }
+
+    private void forEachRow(String query, List<String> columns, Date startingDate, Date endingDate,
+                            Consumer<Object[]> consumer) {
+
+        boolean[] uuidColumns = new boolean[columns.size()];
+
+        for(int i = 0; i < columns.size(); i++)
+            uuidColumns[i] = UUID_COLUMNS.contains(columns.get(i));
+
+        jdbcTemplate.query(query, resultSet -> {
+
+            Object[] values = new Object[columns.size()];
+
+            for(int i = 0; i < columns.size(); i++)
+                values[i] = uuidColumns[i] ? readUUID(resultSet, i + 1) : readValue(resultSet, i + 1);
+
+            consumer.accept(values);
+        }, new Timestamp(startingDate.getTime()), new Timestamp(endingDate.getTime()));
+    }
+
+    //Dates are written as ISO-8601 instants
+    private Object readValue(ResultSet resultSet, int column) throws SQLException {
+
+        Object value = resultSet.getObject(column);
+
+        if(value instanceof Timestamp timestamp)
+            return timestamp.toInstant();
+        else
+            return value;
+    }
+
+    //MySQL returns binary(16) as bytes, databases with UUID type return UUID
+    private UUID readUUID(ResultSet resultSet, int column) throws SQLException {
+
+        Object value = resultSet.getObject(column);
+
+        if(value == null)
+            return null;
+        else if(value instanceof UUID uuid)
+            return uuid;
+        else if((value instanceof byte[] bytes) && (bytes.length == 16)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        else
+            throw new IllegalStateException("Column " + column + " doesn't hold UUID");
+    }
+}
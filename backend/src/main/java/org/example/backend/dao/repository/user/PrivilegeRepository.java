@@ -1,9 +1,14 @@
 package org.example.backend.dao.repository.user;
 
+import jakarta.persistence.QueryHint;
 import org.example.backend.dao.entity.user.Privilege;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+//Lookups by name are answered from query cache, results are invalidated by Hibernate when table is changed
 public interface PrivilegeRepository extends JpaRepository<Privilege, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Privilege findByName(String name);
 }
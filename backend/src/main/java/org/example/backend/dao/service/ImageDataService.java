@@ -0,0 +1,92 @@
+package org.example.backend.dao.service;
+
+import jakarta.transaction.Transactional;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.image.ProductPageImage;
+import org.example.backend.dao.repository.image.ProductMainImageRepository;
+import org.example.backend.dao.repository.image.ProductPageImageRepository;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.image.ImageNotFoundException;
+import org.example.backend.image.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+@Service
+public class ImageDataService {
+
+    private static final String VARIANT_MIME_TYPE = "image/jpeg";
+
+    private final ProductMainImageRepository productMainImageRepository;
+    private final ProductPageImageRepository productPageImageRepository;
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator imageVariantGenerator;
+
+    @Autowired
+    public ImageDataService(ProductMainImageRepository productMainImageRepository,
+                            ProductPageImageRepository productPageImageRepository,
+                            ImageStore imageStore, ImageVariantGenerator imageVariantGenerator) {
+        this.productMainImageRepository = productMainImageRepository;
+        this.productPageImageRepository = productPageImageRepository;
+        this.imageStore = imageStore;
+        this.imageVariantGenerator = imageVariantGenerator;
+    }
+
+    //Function returns product main image or product page image with given hash in requested size,
+    //null size means originally uploaded image. When requested variant isn't generated yet
+    //original image is returned and variant generation is scheduled
+    @Transactional
+    public ImageFile getProductImageByHash(String hash, String size){
+
+        ImageVariant variant = null;
+
+        if(!ImageHashes.isValid(hash))
+            throw new BadArgumentException("Incorrect argument: hash");
+        else if((size != null) && ((variant = ImageVariant.fromSizeName(size)) == null))
+            throw new BadArgumentException("Incorrect argument: size");
+
+        StoredImage storedImage = findProductImageByHash(hash);
+
+        if(variant != null) {
+
+            Long variantSize = imageStore.variantSize(hash, variant);
+
+            if(variantSize != null)
+                return new ImageFile(hash, variant, variantSize, VARIANT_MIME_TYPE);
+
+            imageVariantGenerator.generateVariants(hash);
+        }
+
+        return new ImageFile(hash, null, storedImage.size(), storedImage.mimeType());
+    }
+
+    //Image bytes go straight from ImageStore to response, they are never loaded to heap as a whole
+    public void transferImage(ImageFile imageFile, OutputStream outputStream) throws IOException {
+
+        if(imageFile.variant() == null)
+            imageStore.transferTo(imageFile.key(), Channels.newChannel(outputStream));
+        else
+            imageStore.transferVariantTo(imageFile.key(), imageFile.variant(), Channels.newChannel(outputStream));
+    }
+
+    //Images with the same hash have the same content so any of them can be returned
+    private StoredImage findProductImageByHash(String hash){
+
+        ProductMainImage productMainImage = productMainImageRepository.findFirstByHash(hash);
+
+        if(productMainImage != null)
+            return new StoredImage(productMainImage.getHash(), productMainImage.getSize(),
+                    productMainImage.getMimeType());
+
+        ProductPageImage productPageImage = productPageImageRepository.findFirstByHash(hash);
+
+        if(productPageImage != null)
+            return new StoredImage(productPageImage.getHash(), productPageImage.getSize(),
+                    productPageImage.getMimeType());
+
+        throw new ImageNotFoundException("Image with hash " + hash + " not found");
+    }
+}
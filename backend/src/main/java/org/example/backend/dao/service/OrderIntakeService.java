@@ -0,0 +1,187 @@
+package org.example.backend.dao.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dao.repository.transaction.OrderIntentRepository;
+import org.example.backend.dao.repository.transaction.StoredOrderIntent;
+import org.example.backend.enumerated.OrderIntentStatus;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
+import org.example.backend.exception.product.InsufficientStockException;
+import org.example.backend.exception.product.ProductNotFoundException;
+import org.example.backend.exception.transaction.IdempotencyKeyReusedException;
+import org.example.backend.exception.transaction.OrderIntentNotFoundException;
+import org.example.backend.exception.transaction.PaymentMethodNotFoundException;
+import org.example.backend.exception.user.UserNotFoundException;
+import org.example.backend.model.OrderIntentModel;
+import org.example.backend.model.OrderTransactionModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+//Accept-then-process order placement. Accepted order is only checked and written to order_intent,
+//workers claim intents in micro-batches and place every batch in one transaction. Refused order
+//writes nothing, so it doesn't roll back other orders of its batch
+@Service
+public class OrderIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private static final int MAXIMAL_IDEMPOTENCY_KEY_LENGTH = 100;
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final OrderIntentRepository orderIntentRepository;
+    private final OrderTransactionService orderTransactionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public OrderIntakeService(OrderIntentRepository orderIntentRepository,
+                              OrderTransactionService orderTransactionService, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.orderIntentRepository = orderIntentRepository;
+        this.orderTransactionService = orderTransactionService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    //Intent with the same idempotency key and the same order is returned when it is already stored,
+    //so repeated submission doesn't place order twice
+    public OrderIntentModel acceptOrderTransaction(String idempotencyKey, OrderTransactionModel orderTransactionModel) {
+
+        if((idempotencyKey == null) || (idempotencyKey.trim().isEmpty())
+                || (idempotencyKey.length() > MAXIMAL_IDEMPOTENCY_KEY_LENGTH))
+            throw new BadArgumentException("Incorrect argument: idempotencyKey");
+
+        orderTransactionService.checkNewOrderTransaction(orderTransactionModel);
+
+        String payload;
+
+        try{
+            payload = objectMapper.writeValueAsString(orderTransactionModel);
+        } catch (JsonProcessingException e) {
+            throw new BadArgumentException("Incorrect argument: orderTransactionModel");
+        }
+
+        StoredOrderIntent intent = new StoredOrderIntent(UUID.randomUUID().toString(), idempotencyKey, payload,
+                OrderIntentStatus.PENDING, null, null);
+
+        try{
+            orderIntentRepository.save(intent, Instant.now());
+            return toOrderIntentModel(intent);
+        } catch (DuplicateKeyException e) {
+
+            StoredOrderIntent storedIntent = orderIntentRepository.findByIdempotencyKey(idempotencyKey);
+
+            if(storedIntent == null)
+                throw e;
+            else if(!storedIntent.payload().equals(payload))
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency key " + idempotencyKey + " was already used for different order");
+
+            return toOrderIntentModel(storedIntent);
+        }
+    }
+
+    public OrderIntentModel getOrderIntentById(UUID id) {
+
+        if(id == null)
+            throw new BadArgumentException("Null argument: id");
+
+        StoredOrderIntent intent = orderIntentRepository.findById(id.toString());
+
+        if(intent == null)
+            throw new OrderIntentNotFoundException("Order intent with id " + id + " not found");
+
+        return toOrderIntentModel(intent);
+    }
+
+    //Claims maximum batchSize intents and places them, returns number of claimed intents
+    public int processOrderIntents(int batchSize) {
+
+        if(batchSize <= 0)
+            throw new BadArgumentException("Incorrect argument: batchSize");
+
+        String claimToken = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+
+        List<StoredOrderIntent> intents = orderIntentRepository.claim(claimToken, batchSize, now,
+                now.minus(CLAIM_TIMEOUT));
+
+        if(intents.isEmpty())
+            return 0;
+
+        //Unexpected failure rolls back whole batch, then orders are placed one by one,
+        //so only the order which caused it is refused
+        try{
+            transactionTemplate.executeWithoutResult(status -> placeOrders(intents, claimToken));
+        } catch (RuntimeException e) {
+            intents.forEach(intent -> placeOrderAlone(intent, claimToken));
+        }
+
+        return intents.size();
+    }
+
+    private void placeOrders(List<StoredOrderIntent> intents, String claimToken) {
+
+        List<StoredOrderIntent> finishedIntents = intents.stream().map(this::placeOrder).toList();
+
+        if(!orderIntentRepository.finish(finishedIntents, claimToken))
+            throw new IllegalStateException("Order intents were claimed by other worker before they were placed");
+    }
+
+    private void placeOrderAlone(StoredOrderIntent intent, String claimToken) {
+
+        try{
+            transactionTemplate.executeWithoutResult(status -> placeOrders(List.of(intent), claimToken));
+        } catch (RuntimeException e) {
+
+            logger.warn("Order intent " + intent.id() + " wasn't placed", e);
+
+            //Claim is checked again, so intent claimed by other worker isn't refused
+            try{
+                orderIntentRepository.finish(List.of(intent.rejected("Order couldn't be placed")), claimToken);
+            } catch (RuntimeException finishException) {
+                logger.warn("Order intent " + intent.id() + " wasn't refused", finishException);
+            }
+        }
+    }
+
+    private StoredOrderIntent placeOrder(StoredOrderIntent intent) {
+
+        try{
+            OrderTransactionModel orderTransaction = orderTransactionService
+                    .placeNewOrderTransaction(readOrderTransaction(intent));
+
+            return intent.completed(orderTransaction.getId().toString());
+        } catch (BadArgumentException | ProductNotFoundException | UserNotFoundException
+                 | DeliveryProviderNotFoundException | PaymentMethodNotFoundException
+                 | InsufficientStockException e) {
+            return intent.rejected(e.getMessage());
+        }
+    }
+
+    private OrderTransactionModel readOrderTransaction(StoredOrderIntent intent) {
+
+        try{
+            return objectMapper.readValue(intent.payload(), OrderTransactionModel.class);
+        } catch (JsonProcessingException e) {
+            throw new BadArgumentException("Incorrect argument: payload");
+        }
+    }
+
+    private OrderIntentModel toOrderIntentModel(StoredOrderIntent intent) {
+        return new OrderIntentModel(UUID.fromString(intent.id()), intent.status(),
+                (intent.orderTransactionId() == null) ? null : UUID.fromString(intent.orderTransactionId()),
+                intent.rejectionReason());
+    }
+}
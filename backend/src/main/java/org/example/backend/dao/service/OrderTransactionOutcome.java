@@ -0,0 +1,15 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.model.OrderTransactionModel;
+
+//Result of one order of a batch, either placed order transaction or exception which refused it
+public record OrderTransactionOutcome(OrderTransactionModel orderTransaction, RuntimeException refusal) {
+
+    public static OrderTransactionOutcome placed(OrderTransactionModel orderTransaction) {
+        return new OrderTransactionOutcome(orderTransaction, null);
+    }
+
+    public static OrderTransactionOutcome refused(RuntimeException refusal) {
+        return new OrderTransactionOutcome(null, refusal);
+    }
+}
@@ -10,108 +10,183 @@ import org.example.backend.dao.entity.transaction.PaymentMethod;
 import org.example.backend.dao.entity.user.User;
 import org.example.backend.dao.repository.logistic.AddressRepository;
 import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.OrderableProduct;
 import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockReservation;
+import org.example.backend.dao.repository.product.StockReservationRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
 import org.example.backend.dao.repository.transaction.OrderTransactionRepository;
-import org.example.backend.dao.repository.transaction.OrderedProductRepository;
+import org.example.backend.dao.repository.transaction.OrderTransactionSpecification;
 import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
+import org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue;
+import org.example.backend.dao.repository.transaction.ProductSale;
 import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.enumerated.TransactionEventType;
 import org.example.backend.enumerated.TransactionStatus;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
+import org.example.backend.exception.product.InsufficientStockException;
 import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.transaction.OrderTransactionNotFoundException;
 import org.example.backend.exception.transaction.PaymentMethodNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
 import org.example.backend.model.OrderTransactionModel;
+import org.example.backend.model.OrderTransactionPageModel;
+import org.example.backend.model.OrderTransactionSearchModel;
 import org.example.backend.model.ProductModel;
+import org.example.backend.pagination.CursorCodec;
+import org.example.backend.pagination.DateAndIdCursor;
+import org.example.backend.statusevent.TransactionStatusEvent;
 import org.example.backend.validator.DateValidator;
+import org.example.backend.validator.EANCodeValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.regex.Pattern;
 
 @Service
 public class OrderTransactionService {
 
+    private static final int PAGE_SIZE = 24;
+
     private final PaymentMethodRepository paymentMethodRepository;
     private final DeliveryProviderRepository deliveryProviderRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
-    private final OrderedProductRepository orderedProductRepository;
     private final OrderTransactionRepository orderTransactionRepository;
     private final UserRepository userRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private final Pattern userEmailPattern;
-    private final Pattern ean8Pattern;
-    private final Pattern ean13Pattern;
 
     @Autowired
     public OrderTransactionService(AddressRepository addressRepository, ProductRepository productRepository,
-                                   OrderedProductRepository orderedProductRepository, OrderTransactionRepository orderTransactionRepository,
+                                   OrderTransactionRepository orderTransactionRepository,
                                    UserRepository userRepository, DeliveryProviderRepository deliveryProviderRepository,
-                                   PaymentMethodRepository paymentMethodRepository) {
+                                   PaymentMethodRepository paymentMethodRepository,
+                                   StockReservationRepository stockReservationRepository,
+                                   DailyProductSalesRepository dailyProductSalesRepository,
+                                   DailyProductSalesRollupRepository dailyProductSalesRollupRepository,
+                                   ApplicationEventPublisher applicationEventPublisher) {
         this.addressRepository = addressRepository;
         this.productRepository = productRepository;
-        this.orderedProductRepository = orderedProductRepository;
         this.orderTransactionRepository = orderTransactionRepository;
         this.userRepository = userRepository;
         this.userEmailPattern = Pattern.compile("[a-zA-Z]+[a-zA-Z0-9]+@[a-zA-Z0-9]+.[a-z]+");
         this.deliveryProviderRepository = deliveryProviderRepository;
         this.paymentMethodRepository = paymentMethodRepository;
-        this.ean8Pattern = Pattern.compile("^[0-9]{8}$");
-        this.ean13Pattern = Pattern.compile("^[0-9]{13}$");
+        this.stockReservationRepository = stockReservationRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.dailyProductSalesRollupRepository = dailyProductSalesRollupRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Transactional
     public OrderTransactionModel saveNewOrderTransaction(OrderTransactionModel orderTransactionModel) {
+        return placeNewOrderTransaction(orderTransactionModel);
+    }
 
-        if(orderTransactionModel == null)
-            throw new BadArgumentException("Null argument: orderTransactionModel");
-        else if((orderTransactionModel.getUserEmail() == null) || (!userEmailPattern.matcher(orderTransactionModel.getUserEmail()).matches()))
-            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.userEmail");
-        else if((orderTransactionModel.getDeliveryProviderName() == null) || (orderTransactionModel.getDeliveryProviderName().trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.deliveryProviderName");
-        else if((orderTransactionModel.getPaymentMethodName() == null) || (orderTransactionModel.getPaymentMethodName().trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.paymentMethodName");
-        else if((orderTransactionModel.getAddress() == null) || (orderTransactionModel.getAddress().getCountry() == null)
-                || (orderTransactionModel.getAddress().getProvince() == null) || (orderTransactionModel.getAddress().getCity() == null)
-                || (orderTransactionModel.getAddress().getAddress() == null) || (orderTransactionModel.getAddress().getCountry().trim().isEmpty())
-                || (orderTransactionModel.getAddress().getProvince().trim().isEmpty()) || (orderTransactionModel.getAddress().getCity().trim().isEmpty())
-                || (orderTransactionModel.getAddress().getAddress().trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.addressModel");
-        else if((orderTransactionModel.getOrderedProducts() == null) || (orderTransactionModel.getOrderedProducts().isEmpty()))
-            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.productsAndOrderedQuantity");
+    //Runs in transaction of caller and doesn't mark it for rollback when order is refused. Order is refused
+    //before anything is written, so order intake places many orders in one transaction and goes on
+    //with the next one when order is refused
+    public OrderTransactionModel placeNewOrderTransaction(OrderTransactionModel orderTransactionModel) {
+
+        PreparedOrderTransaction preparedOrderTransaction = prepareNewOrderTransaction(orderTransactionModel);
+
+        reserveStock(preparedOrderTransaction.reservations());
+
+        return saveReservedOrderTransaction(preparedOrderTransaction);
+    }
+
+    //Places orders in transaction of caller, stock of every product is taken by one conditional update
+    //for all orders, so orders of the same products lock their stock rows once. When stock isn't enough
+    //for every order, orders are served in given order. Outcome of refused order holds exception
+    //which saveNewOrderTransaction would throw, other orders are placed anyway
+    public List<OrderTransactionOutcome> placeNewOrderTransactions(List<OrderTransactionModel> orderTransactionModels) {
+
+        if(orderTransactionModels == null)
+            throw new BadArgumentException("Null argument: orderTransactionModels");
+
+        OrderTransactionOutcome[] outcomes = new OrderTransactionOutcome[orderTransactionModels.size()];
+        List<Integer> preparedIndexes = new ArrayList<>();
+        List<PreparedOrderTransaction> preparedOrderTransactions = new ArrayList<>();
+
+        for(int i = 0; i < orderTransactionModels.size(); i++) {
+
+            try{
+                preparedOrderTransactions.add(prepareNewOrderTransaction(orderTransactionModels.get(i)));
+                preparedIndexes.add(i);
+            } catch (BadArgumentException | ProductNotFoundException | UserNotFoundException
+                     | DeliveryProviderNotFoundException | PaymentMethodNotFoundException e) {
+                outcomes[i] = OrderTransactionOutcome.refused(e);
+            }
+        }
+
+        List<List<String>> missingEANCodes = preparedOrderTransactions.isEmpty() ? List.of()
+                : stockReservationRepository.reserveForOrders(preparedOrderTransactions.stream()
+                        .map(PreparedOrderTransaction::reservations).toList());
+
+        for(int i = 0; i < preparedOrderTransactions.size(); i++) {
+
+            if(missingEANCodes.get(i).isEmpty())
+                outcomes[preparedIndexes.get(i)] = OrderTransactionOutcome.placed(
+                        saveReservedOrderTransaction(preparedOrderTransactions.get(i)));
+            else
+                outcomes[preparedIndexes.get(i)] = OrderTransactionOutcome.refused(
+                        insufficientStock(missingEANCodes.get(i)));
+        }
+
+        return Arrays.asList(outcomes);
+    }
+
+    //Finds everything order needs without writing anything
+    private PreparedOrderTransaction prepareNewOrderTransaction(OrderTransactionModel orderTransactionModel) {
+
+        checkNewOrderTransaction(orderTransactionModel);
+
+        //Products of every line are loaded with one query, order lines get only references to them
+        List<String> eanCodes = orderTransactionModel.getOrderedProducts().stream()
+                .map(orderedProductModel -> orderedProductModel.getProduct().getEANCode()).distinct().toList();
+
+        Map<String, OrderableProduct> productsByEanCode = new HashMap<>();
+
+        productRepository.findOrderableProductsByEANCodes(eanCodes).forEach(product -> {
+            productsByEanCode.put(product.EANCode(), product);
+        });
 
         ArrayList<OrderedProduct> orderedProducts = new ArrayList<>();
+        List<StockReservation> reservations = new ArrayList<>();
+        Map<String, ProductSale> salesByEanCode = new LinkedHashMap<>();
+        Map<UUID, ProductModel> productModelsById = new HashMap<>();
 
         orderTransactionModel.getOrderedProducts().forEach(orderedProductModel -> {
 
-            if((orderedProductModel == null) || (orderedProductModel.getProduct() == null)
-                    || (orderedProductModel.getProduct().getEANCode() == null)
-                    || ((!ean8Pattern.matcher(orderedProductModel.getProduct().getEANCode()).matches())
-                            && (!ean13Pattern.matcher(orderedProductModel.getProduct().getEANCode()).matches()))
-                    || (orderedProductModel.getQuantity() == null) || (orderedProductModel.getQuantity() <= 0))
-                throw new BadArgumentException("Incorrect argument field: orderTransactionModel.productsAndOrderedQuantity");
-
-            Product foundProduct = productRepository
-                    .findByEANCode(orderedProductModel.getProduct().getEANCode());
+            OrderableProduct foundProduct = productsByEanCode.get(orderedProductModel.getProduct().getEANCode());
 
             if(foundProduct == null){
                 throw new ProductNotFoundException(
                         "Product with ean code " + orderedProductModel.getProduct().getEANCode() + " not found");
             }
 
-            if(foundProduct.getStock().getQuantity() < orderedProductModel.getQuantity()){
-                throw new BadArgumentException(
-                        "There is not enough stock for product with ean code "
-                                + orderedProductModel.getProduct().getEANCode());
-            }
-
-            orderedProducts.add(new OrderedProduct(foundProduct, orderedProductModel.getQuantity(),
-                    foundProduct.getCurrentPrice()));
+            orderedProducts.add(new OrderedProduct(productRepository.getReferenceById(foundProduct.id()),
+                    orderedProductModel.getQuantity(), foundProduct.currentPrice()));
+            reservations.add(new StockReservation(foundProduct.EANCode(), orderedProductModel.getQuantity()));
+            salesByEanCode.merge(foundProduct.EANCode(),
+                    new ProductSale(foundProduct.EANCode(), foundProduct.type(), orderedProductModel.getQuantity(),
+                            orderedProductModel.getQuantity() * foundProduct.currentPrice()),
+                    (sale, nextSale) -> new ProductSale(sale.EANCode(), sale.type(),
+                            sale.quantity() + nextSale.quantity(), sale.revenue() + nextSale.revenue()));
+            productModelsById.put(foundProduct.id(), foundProduct.toProductModel());
         });
 
         User user = userRepository.findByEmail(orderTransactionModel.getUserEmail());
@@ -129,6 +204,16 @@ public class OrderTransactionService {
         if(paymentMethod == null)
             throw new PaymentMethodNotFoundException("Payment Method with name " + orderTransactionModel.getPaymentMethodName() + " not found");
 
+        return new PreparedOrderTransaction(orderTransactionModel, user, deliveryProvider, paymentMethod,
+                orderedProducts, reservations, new ArrayList<>(salesByEanCode.values()), productModelsById);
+    }
+
+    //Stock of order must be already reserved
+    private OrderTransactionModel saveReservedOrderTransaction(PreparedOrderTransaction preparedOrderTransaction) {
+
+        OrderTransactionModel orderTransactionModel = preparedOrderTransaction.orderTransactionModel();
+        ArrayList<OrderedProduct> orderedProducts = preparedOrderTransaction.orderedProducts();
+
         Address deliveryAddress = addressRepository.findByCountryAndCityAndProvinceAndAddress(
                 orderTransactionModel.getAddress().getCountry(), orderTransactionModel.getAddress().getProvince(),
                 orderTransactionModel.getAddress().getCity(), orderTransactionModel.getAddress().getAddress());
@@ -142,25 +227,52 @@ public class OrderTransactionService {
             deliveryAddress = addressRepository.save(deliveryAddress);
         }
 
-        ArrayList<OrderedProduct> savedOrderedProducts =
-                new ArrayList<>(orderedProductRepository.saveAll(orderedProducts));
+        OrderTransaction orderTransaction = new OrderTransaction(Date.from(Instant.now()),
+                preparedOrderTransaction.user(), deliveryAddress, preparedOrderTransaction.deliveryProvider(),
+                preparedOrderTransaction.paymentMethod(), orderedProducts);
 
-        OrderTransaction orderTransaction = new OrderTransaction(Date.from(Instant.now()), user, deliveryAddress,
-                deliveryProvider, paymentMethod, orderedProducts);
+        dailyProductSalesRollupRepository.add(toDay(orderTransaction.getDate()), preparedOrderTransaction.sales());
 
-        OrderTransaction finalOrderTransaction = orderTransactionRepository.save(orderTransaction);
+        //Lines are persisted by cascade with their order transaction already set,
+        //so they are inserted in one JDBC batch without following updates
+        orderedProducts.forEach(orderedProduct -> orderedProduct.setOrderTransaction(orderTransaction));
 
-        savedOrderedProducts.forEach(orderedProduct -> {
-            orderedProduct = orderedProductRepository.save(orderedProduct);
-            orderedProduct.setOrderTransaction(finalOrderTransaction);
-        });
+        orderTransactionRepository.save(orderTransaction);
 
-        savedOrderedProducts.forEach(orderedProduct -> {
-            orderedProduct.getProduct().getStock()
-                    .setQuantity(orderedProduct.getProduct().getStock().getQuantity() - orderedProduct.getQuantity());
-        });
+        applicationEventPublisher.publishEvent(TransactionStatusEvent.of(TransactionEventType.ORDER_CREATED,
+                orderTransaction.getId(), orderTransaction.getStatus()));
 
-        return OrderTransactionModel.fromOrderTransaction(orderTransaction);
+        return OrderTransactionModel.fromOrderTransaction(orderTransaction,
+                preparedOrderTransaction.productModelsById());
+    }
+
+    //Checks only fields of order, doesn't look for user, products, delivery provider and payment method
+    public void checkNewOrderTransaction(OrderTransactionModel orderTransactionModel) {
+
+        if(orderTransactionModel == null)
+            throw new BadArgumentException("Null argument: orderTransactionModel");
+        else if((orderTransactionModel.getUserEmail() == null) || (!userEmailPattern.matcher(orderTransactionModel.getUserEmail()).matches()))
+            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.userEmail");
+        else if((orderTransactionModel.getDeliveryProviderName() == null) || (orderTransactionModel.getDeliveryProviderName().trim().isEmpty()))
+            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.deliveryProviderName");
+        else if((orderTransactionModel.getPaymentMethodName() == null) || (orderTransactionModel.getPaymentMethodName().trim().isEmpty()))
+            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.paymentMethodName");
+        else if((orderTransactionModel.getAddress() == null) || (orderTransactionModel.getAddress().getCountry() == null)
+                || (orderTransactionModel.getAddress().getProvince() == null) || (orderTransactionModel.getAddress().getCity() == null)
+                || (orderTransactionModel.getAddress().getAddress() == null) || (orderTransactionModel.getAddress().getCountry().trim().isEmpty())
+                || (orderTransactionModel.getAddress().getProvince().trim().isEmpty()) || (orderTransactionModel.getAddress().getCity().trim().isEmpty())
+                || (orderTransactionModel.getAddress().getAddress().trim().isEmpty()))
+            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.addressModel");
+        else if((orderTransactionModel.getOrderedProducts() == null) || (orderTransactionModel.getOrderedProducts().isEmpty()))
+            throw new BadArgumentException("Incorrect argument field: orderTransactionModel.productsAndOrderedQuantity");
+
+        orderTransactionModel.getOrderedProducts().forEach(orderedProductModel -> {
+
+            if((orderedProductModel == null) || (orderedProductModel.getProduct() == null)
+                    || (!EANCodeValidator.isCorrect(orderedProductModel.getProduct().getEANCode()))
+                    || (orderedProductModel.getQuantity() == null) || (orderedProductModel.getQuantity() <= 0))
+                throw new BadArgumentException("Incorrect argument field: orderTransactionModel.productsAndOrderedQuantity");
+        });
     }
 
     @Transactional
@@ -171,12 +283,16 @@ public class OrderTransactionService {
         else if((status == null) || (status == TransactionStatus.RETURN_ACCEPTED))
             throw new BadArgumentException("Incorrect argument: status");
 
-        OrderTransaction orderTransaction = orderTransactionRepository.findById(id).orElseThrow(() -> {
-            return new OrderTransactionNotFoundException("Order transaction with id " + id + " not found");
-        });
+        OrderTransaction orderTransaction = orderTransactionRepository
+                .findOrderTransactionWithOrderedProductsById(id).orElseThrow(() -> {
+                    return new OrderTransactionNotFoundException("Order transaction with id " + id + " not found");
+                });
 
         orderTransaction.setStatus(status);
 
+        applicationEventPublisher.publishEvent(TransactionStatusEvent.of(TransactionEventType.ORDER_STATUS_CHANGED,
+                id, status));
+
         return OrderTransactionModel.fromOrderTransaction(orderTransaction);
     }
 
@@ -186,9 +302,10 @@ public class OrderTransactionService {
         if(id == null)
             throw new BadArgumentException("Null argument: id");
 
-        OrderTransaction orderTransaction = orderTransactionRepository.findById(id).orElseThrow(() -> {
-            return new OrderTransactionNotFoundException("Order transaction with id " + id + " not found");
-        });
+        OrderTransaction orderTransaction = orderTransactionRepository
+                .findOrderTransactionWithOrderedProductsById(id).orElseThrow(() -> {
+                    return new OrderTransactionNotFoundException("Order transaction with id " + id + " not found");
+                });
 
         return OrderTransactionModel.fromOrderTransaction(orderTransaction);
     }
@@ -201,326 +318,41 @@ public class OrderTransactionService {
         return orderTransactionRepository.getCountOfAllOrderTransactionsByTimePeriod(startingDate, endingDate);
     }
 
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactions(List<UUID> forbiddenOrderTransactionIds) {
-
-        if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactions(forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriod(
-            Date startingDate, Date endingDate, List<UUID> forbiddenOrderTransactionIds) {
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions =
-                orderTransactionRepository.findOrderTransactionsByTimePeriod(
-                        startingDate, endingDate, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByPaymentMethodName(
-            String paymentMethodName, List<UUID> forbiddenOrderTransactionIds) {
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodName(
-                        paymentMethodName, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orders);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByDeliveryProviderName(
-            String deliveryProviderName, List<UUID> forbiddenOrderTransactionIds) {
-
-        if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderName(
-                        deliveryProviderName, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orders);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByUserEmail(
-            String userEmail, List<UUID> forbiddenOrderTransactionIds) {
-
-        if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByUserEmail(
-                        userEmail, forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orders);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndPaymentMethodName(
-            Date startingDate, Date endingDate, String paymentMethodName,
-            List<UUID> forbiddenOrderTransactionIds) {
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodName(
-                        startingDate, endingDate, paymentMethodName, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-            Date startingDate, Date endingDate, String deliveryProviderName,
-            List<UUID> forbiddenOrderTransactionIds) {
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                        startingDate, endingDate, deliveryProviderName, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
+    //This method gets maximum 24 order transactions matching every not null criterion of searchModel,
+    //placed before the one encoded in cursor
     @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndUserEmail(
-            Date startingDate, Date endingDate, String userEmail, List<UUID> forbiddenOrderTransactionIds) {
+    public OrderTransactionPageModel getOrderTransactionsBySearch(
+            OrderTransactionSearchModel searchModel, String cursor) {
 
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
+        if(searchModel == null)
+            throw new BadArgumentException("Null argument: searchModel");
 
-        if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndUserEmail(
-                        startingDate, endingDate, userEmail, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
+        if((searchModel.getStartingDate() != null) || (searchModel.getEndingDate() != null))
+            DateValidator.checkIfDatesAreGood(searchModel.getStartingDate(), searchModel.getEndingDate());
 
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-            String paymentMethodName, String deliveryProviderName, List<UUID> forbiddenOrderTransactionIds) {
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
+        if((searchModel.getPaymentMethodName() != null) && (searchModel.getPaymentMethodName().trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
+        else if((searchModel.getDeliveryProviderName() != null)
+                && (searchModel.getDeliveryProviderName().trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                        paymentMethodName, deliveryProviderName, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByPaymentMethodNameAndUserEmail(
-            String paymentMethodName, String userEmail, List<UUID> forbiddenOrderTransactionIds) {
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
+        else if((searchModel.getUserEmail() != null)
+                && (!userEmailPattern.matcher(searchModel.getUserEmail()).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
+        else if((searchModel.getMinimalCost() != null) && (searchModel.getMinimalCost() < 0))
+            throw new BadArgumentException("Incorrect argument: minimalCost");
+        else if((searchModel.getMaximalCost() != null) && ((searchModel.getMaximalCost() < 0)
+                || ((searchModel.getMinimalCost() != null)
+                && (searchModel.getMaximalCost() < searchModel.getMinimalCost()))))
+            throw new BadArgumentException("Incorrect argument: maximalCost");
 
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndUserEmail(
-                        paymentMethodName, userEmail, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
+        List<OrderTransaction> orderTransactions = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, afterCursor), PAGE_SIZE);
 
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-            String deliveryProviderName, String userEmail, List<UUID> forbiddenOrderTransactionIds) {
+        fetchOrderedProducts(orderTransactions);
 
-        if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                        deliveryProviderName, userEmail, forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-            Date startingDate, Date endingDate, String paymentMethodName, String deliveryProviderName,
-            List<UUID> forbiddenOrderTransactionIds) {
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                        startingDate, endingDate, paymentMethodName, deliveryProviderName,
-                        forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-            Date startingDate, Date endingDate, String paymentMethodName, String userEmail,
-            List<UUID> forbiddenOrderTransactionIds) {
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                        startingDate, endingDate, paymentMethodName, userEmail, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-            Date startingDate, Date endingDate, String deliveryProviderName, String userEmail,
-            List<UUID> forbiddenOrderTransactionIds){
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                        startingDate, endingDate, deliveryProviderName, userEmail, forbiddenOrderTransactionIds,
-                        PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-            String paymentMethodName, String deliveryProviderName, String userEmail,
-            List<UUID> forbiddenOrderTransactionIds){
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        paymentMethodName, deliveryProviderName, userEmail,
-                        forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
-    }
-
-    //This method gets maximum 24 order transactions
-    @Transactional
-    public List<OrderTransactionModel> getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-            Date startingDate, Date endingDate, String paymentMethodName, String deliveryProviderName,
-            String userEmail, List<UUID> forbiddenOrderTransactionIds){
-
-        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
-
-        if((paymentMethodName == null) || (paymentMethodName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: paymentMethodName");
-        else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
-            throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
-            throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenOrderTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenOrderTransactionIds");
-
-        List<OrderTransaction> orderTransactions = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        paymentMethodName, deliveryProviderName, userEmail,
-                        forbiddenOrderTransactionIds, PageRequest.of(0, 24));
-
-        return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
+        return mapOrderTransactionListToOrderTransactionPageModel(orderTransactions);
     }
 
     //This method gets maximum 24 order transactions
@@ -533,17 +365,19 @@ public class OrderTransactionService {
         List<OrderTransaction> orderTransactions = orderTransactionRepository
                 .findOrderTransactionsByIdList(ids, PageRequest.of(0, 24));
 
+        fetchOrderedProducts(orderTransactions);
+
         return mapOrderTransactionListToOrderTransactionModelList(orderTransactions);
     }
 
     @Transactional
     public List<Object[]> getAllQuantityOfOrderedProductsAndRevenue(){
-        return orderedProductRepository.getAllQuantityOfOrderedProductsAndRevenue();
+        return dailyProductSalesRepository.getAllQuantityOfOrderedProductsAndRevenue();
     }
 
     @Transactional
     public List<Object[]> getAllTypesAndTheirOrderedQuantityAndRevenue(){
-        return orderedProductRepository.getAllTypesAndTheirOrderedQuantityAndRevenue();
+        return dailyProductSalesRepository.getAllTypesAndTheirOrderedQuantityAndRevenue();
     }
 
     @Transactional
@@ -551,44 +385,39 @@ public class OrderTransactionService {
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        return orderedProductRepository.getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(startingDate, endingDate);
+        return dailyProductSalesRepository.getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(
+                toDay(startingDate), toDay(endingDate));
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(Date startingDate, Date endingDate){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(Date startingDate, Date endingDate){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(startingDate, endingDate);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository
+                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByPhrase(String phrase){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByPhrase(String phrase){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> result = orderedProductRepository.getProductsAndTheirOrderedQuantityAndRevenueByPhrase(phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository.getProductsAndTheirOrderedQuantityAndRevenueByPhrase(phrase);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByType(String type){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByType(String type){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> result = orderedProductRepository.getProductsAndTheirOrderedQuantityAndRevenueByType(type);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository.getProductsAndTheirOrderedQuantityAndRevenueByType(type);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndPhrase(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndPhrase(
             Date startingDate, Date endingDate, String phrase){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -596,14 +425,13 @@ public class OrderTransactionService {
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndPhrase(startingDate, endingDate, phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository
+                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndPhrase(
+                        toDay(startingDate), toDay(endingDate), phrase);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndType(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndType(
             Date startingDate, Date endingDate, String type){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -611,28 +439,25 @@ public class OrderTransactionService {
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndType(startingDate, endingDate, type);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository
+                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndType(
+                        toDay(startingDate), toDay(endingDate), type);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByTypeAndPhrase(String type, String phrase){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTypeAndPhrase(String type, String phrase){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
         else if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTypeAndPhrase(type, phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository
+                .getProductsAndTheirOrderedQuantityAndRevenueByTypeAndPhrase(type, phrase);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndTypeAndPhrase(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndTypeAndPhrase(
             Date startingDate, Date endingDate, String type, String phrase){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -642,11 +467,9 @@ public class OrderTransactionService {
         else if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndTypeAndPhrase(
-                        startingDate, endingDate, type, phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(result);
+        return dailyProductSalesRepository
+                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriodAndTypeAndPhrase(
+                        toDay(startingDate), toDay(endingDate), type, phrase);
     }
 
     @Transactional
@@ -655,29 +478,50 @@ public class OrderTransactionService {
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        return orderedProductRepository
-                .getAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriod(startingDate, endingDate);
+        return dailyProductSalesRepository
+                .getAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
+    }
+
+    //Stock is decremented in database, not on loaded entities, so concurrent orders can't oversell.
+    //Exception rolls back the whole order, including lines which were reserved
+    private void reserveStock(List<StockReservation> reservations){
+
+        List<StockReservation> failedReservations = stockReservationRepository.reserve(reservations);
+
+        if(!failedReservations.isEmpty())
+            throw insufficientStock(failedReservations.stream().map(StockReservation::EANCode).distinct().toList());
     }
 
-    private List<Object[]> mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(List<Object[]> list){
+    private static InsufficientStockException insufficientStock(List<String> eanCodes){
+        return new InsufficientStockException(
+                "There is not enough stock for products with ean codes " + String.join(", ", eanCodes), eanCodes);
+    }
 
-        ArrayList<Object[]> resultWithProductTurnedToProductModel = new ArrayList<>();
+    //Daily rollup is keyed by day in time zone of server, the same one in which order dates are stored
+    private static LocalDate toDay(Date date){
+        return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
 
-        list.forEach(row -> {
+    //Page of order transactions is loaded with its to-one associations, ordered products of whole page
+    //are loaded by one more query instead of one query per order transaction and product
+    private void fetchOrderedProducts(List<OrderTransaction> orderTransactions){
 
-            Product product = (Product) row[0];
+        if(!orderTransactions.isEmpty())
+            orderTransactionRepository.fetchOrderedProducts(orderTransactions);
+    }
 
-            ProductModel productModel = ProductModel.fromProduct(product);
+    //Next cursor is returned only when page is full, otherwise there is nothing more to load
+    private OrderTransactionPageModel mapOrderTransactionListToOrderTransactionPageModel(
+            List<OrderTransaction> orderTransactionList){
 
-            Object[] newRow = new Object[3];
-            newRow[0] = productModel;
-            newRow[1] = productModel;
-            newRow[2] = productModel;
+        String nextCursor = null;
 
-            resultWithProductTurnedToProductModel.add(newRow);
-        });
+        if(orderTransactionList.size() == PAGE_SIZE){
+            OrderTransaction lastOrderTransaction = orderTransactionList.get(orderTransactionList.size() - 1);
+            nextCursor = CursorCodec.encodeDateAndId(lastOrderTransaction.getDate(), lastOrderTransaction.getId());
+        }
 
-        return resultWithProductTurnedToProductModel;
+        return new OrderTransactionPageModel(mapOrderTransactionListToOrderTransactionModelList(orderTransactionList), nextCursor);
     }
 
     private List<OrderTransactionModel> mapOrderTransactionListToOrderTransactionModelList(
@@ -691,4 +535,11 @@ public class OrderTransactionService {
 
         return orderTransactionModels;
     }
+
+    //Order matched with everything it needs, it is saved when its stock is reserved
+    private record PreparedOrderTransaction(OrderTransactionModel orderTransactionModel, User user,
+                                            DeliveryProvider deliveryProvider, PaymentMethod paymentMethod,
+                                            ArrayList<OrderedProduct> orderedProducts,
+                                            List<StockReservation> reservations, List<ProductSale> sales,
+                                            Map<UUID, ProductModel> productModelsById) {}
 }
@@ -1,12 +1,16 @@
 package org.example.backend.dao.service;
 
 import jakarta.transaction.Transactional;
+import org.example.backend.cache.CacheInvalidationBus;
+import org.example.backend.cache.CatalogQuery;
+import org.example.backend.cache.ProductCatalogCache;
 import org.example.backend.dao.entity.image.ProductMainImage;
 import org.example.backend.dao.entity.image.ProductPageImage;
 import org.example.backend.dao.entity.product.Product;
 import org.example.backend.dao.entity.product.Stock;
 import org.example.backend.dao.repository.image.ProductMainImageRepository;
 import org.example.backend.dao.repository.image.ProductPageImageRepository;
+import org.example.backend.dao.repository.product.ProductQuantity;
 import org.example.backend.dao.repository.product.ProductRepository;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.image.ProductPageImageNotFoundException;
@@ -15,21 +19,32 @@ import org.example.backend.exception.product.ProductNotSavedException;
 import org.example.backend.model.ProductModel;
 import org.example.backend.model.ProductModelAndPageImages;
 import org.example.backend.model.ProductModelAndStock;
+import org.example.backend.model.ProductPageModel;
 import org.example.backend.model.ProductPageImageModel;
+import org.example.backend.model.ProductSuggestionModel;
+import org.example.backend.pagination.CursorCodec;
+import org.example.backend.image.ImageStore;
+import org.example.backend.image.ImageVariantGenerator;
+import org.example.backend.image.StoredImage;
+import org.example.backend.search.ProductSearchIndex;
+import org.example.backend.search.ProductSuggestionTrie;
+import org.example.backend.validator.EANCodeValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 @Service
 public class ProductDataService {
 
-    Pattern ean8Pattern;
-    Pattern ean13Pattern;
+    private static final int PAGE_SIZE = 24;
+    private static final int SUGGESTIONS_LIMIT = 10;
+
 
     private ProductPageImageRepository productPageImageRepository;
 
@@ -37,15 +52,37 @@ public class ProductDataService {
 
     private ProductRepository productRepository;
 
+    private ProductSearchIndex productSearchIndex;
+
+    private ProductSuggestionTrie productSuggestionTrie;
+
+    private ImageStore imageStore;
+
+    private ImageVariantGenerator imageVariantGenerator;
+
+    private ProductCatalogCache productCatalogCache;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Autowired
     public ProductDataService(ProductMainImageRepository productMainImageRepository,
                               ProductRepository productRepository,
-                              ProductPageImageRepository productPageImageRepository) {
+                              ProductPageImageRepository productPageImageRepository,
+                              ProductSearchIndex productSearchIndex,
+                              ProductSuggestionTrie productSuggestionTrie,
+                              ImageStore imageStore,
+                              ImageVariantGenerator imageVariantGenerator,
+                              ProductCatalogCache productCatalogCache,
+                              CacheInvalidationBus cacheInvalidationBus) {
         this.productMainImageRepository = productMainImageRepository;
         this.productRepository = productRepository;
         this.productPageImageRepository = productPageImageRepository;
-        this.ean8Pattern = Pattern.compile("^[0-9]{8}$");
-        this.ean13Pattern = Pattern.compile("^[0-9]{13}$");
+        this.productSearchIndex = productSearchIndex;
+        this.productSuggestionTrie = productSuggestionTrie;
+        this.imageStore = imageStore;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.productCatalogCache = productCatalogCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     @Transactional
@@ -53,8 +90,7 @@ public class ProductDataService {
 
         if(productModel == null)
             throw new BadArgumentException("Null argument: productModel");
-        else if((productModel.getEANCode() == null) ||
-                (!((ean8Pattern.matcher(productModel.getEANCode()).matches()) || (ean13Pattern.matcher(productModel.getEANCode()).matches()))))
+        else if(!EANCodeValidator.isCorrect(productModel.getEANCode()))
             throw new BadArgumentException("Incorrect argument field: productModel.EANCode");
         else if((productModel.getName() == null) || (productModel.getName().trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument field: productModel.name");
@@ -82,20 +118,23 @@ public class ProductDataService {
 
         Stock stockEntity = new Stock(stock);
         
-        ProductMainImage productMainImage = new ProductMainImage(productModel.getMainImage());
+        ProductMainImage productMainImage = new ProductMainImage(saveImage(productModel.getMainImage()));
 
         Product product = new Product(productModel.getName(), productModel.getEANCode(), productModel.getType(),
                 productModel.getDescription(), productModel.getHeight(), productModel.getWidth(), productModel.getRegularPrice(),
                 productModel.getCurrentPrice(), stockEntity, productMainImage);
 
-        return new ProductModelAndStock(ProductModel.fromProduct(productRepository.save(product)), stock);
+        Product savedProduct = productRepository.save(product);
+        cacheInvalidationBus.invalidateProduct(savedProduct.getEANCode());
+        cacheInvalidationBus.invalidateCatalogQueries(CatalogQuery.PRODUCTS_ON_SALE, CatalogQuery.PRODUCT_TYPES);
+
+        return new ProductModelAndStock(ProductModel.fromProduct(savedProduct), stock);
     }
 
     @Transactional
     public ProductModel updateProductDescriptionByEANCode(String eanCode, String description){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if((description == null) || (description.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: description");
@@ -107,6 +146,7 @@ public class ProductDataService {
 
         foundProduct.setDescription(description);
         productRepository.save(foundProduct);
+        cacheInvalidationBus.invalidateProduct(eanCode);
 
         return ProductModel.fromProduct(foundProduct);
     }
@@ -114,8 +154,7 @@ public class ProductDataService {
     @Transactional
     public ProductModel updateProductSizeByEANCode(String eanCode, Integer height, Integer width){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if((height == null) || (height <= 0))
             throw new BadArgumentException("Incorrect argument: height");
@@ -130,7 +169,7 @@ public class ProductDataService {
         foundProduct.setHeight(height);
         foundProduct.setWidth(width);
         productRepository.save(foundProduct);
-
+        cacheInvalidationBus.invalidateProduct(eanCode);
 
         return ProductModel.fromProduct(foundProduct);
     }
@@ -139,8 +178,7 @@ public class ProductDataService {
     public ProductModel updateProductRegularPriceAndCurrentPriceByEANCode(
             String eanCode, Double regularPrice, Double currentPrice){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if((regularPrice == null) || (regularPrice <= 0))
             throw new BadArgumentException("Incorrect argument: regularPrice");
@@ -157,6 +195,8 @@ public class ProductDataService {
         foundProduct.setRegularPrice(regularPrice);
         foundProduct.setCurrentPrice(currentPrice);
         productRepository.save(foundProduct);
+        cacheInvalidationBus.invalidateProduct(eanCode);
+        cacheInvalidationBus.invalidateCatalogQueries(CatalogQuery.PRODUCTS_ON_SALE);
 
         return ProductModel.fromProduct(foundProduct);
     }
@@ -164,8 +204,7 @@ public class ProductDataService {
     @Transactional
     public ProductModel updateProductMainImageByEANCode(String eanCode, byte[] newMainImage){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if(newMainImage == null)
             throw new BadArgumentException("Null argument: newMainImage");
@@ -175,7 +214,7 @@ public class ProductDataService {
         if(product == null)
             throw new ProductNotFoundException("Product with ean code " + eanCode + " not found");
 
-        ProductMainImage productMainImage = new ProductMainImage(newMainImage);
+        ProductMainImage productMainImage = new ProductMainImage(saveImage(newMainImage));
 
         if(product.getMainImage() == null){
             product.setMainImage(productMainImage);
@@ -186,6 +225,7 @@ public class ProductDataService {
         }
 
         productRepository.save(product);
+        cacheInvalidationBus.invalidateProduct(eanCode);
 
         return ProductModel.fromProduct(product);
     }
@@ -193,8 +233,7 @@ public class ProductDataService {
     @Transactional
     public ProductModelAndPageImages addProductPageImageByEANCode(String eanCode, byte[] newPageImage){
 
-        if((eanCode == null) || ((!ean8Pattern.matcher(eanCode).matches())
-                && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if(newPageImage == null)
             throw new BadArgumentException("Null argument: newPageImage");
@@ -204,18 +243,17 @@ public class ProductDataService {
         if(foundProduct == null)
             throw new ProductNotFoundException("Product with ean code " + eanCode + " not found");
 
-        foundProduct.getPageImages().add(new ProductPageImage(newPageImage));
+        foundProduct.getPageImages().add(new ProductPageImage(saveImage(newPageImage)));
         productRepository.save(foundProduct);
 
         return new ProductModelAndPageImages(ProductModel.fromProduct(foundProduct),
-                ProductModelAndPageImages.imagesFromPageImages(foundProduct.getPageImages()));
+                ProductModelAndPageImages.imageHashesFromPageImages(foundProduct.getPageImages()));
     }
 
     @Transactional
     public ProductModelAndPageImages deleteProductPageImageByEANCode(String eanCode, UUID pageImageId){
 
-        if((eanCode == null) || ((!ean8Pattern.matcher(eanCode).matches())
-                && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if(pageImageId == null)
             throw new BadArgumentException("Null argument: pageImageId");
@@ -235,14 +273,13 @@ public class ProductDataService {
         productRepository.save(foundProduct);
 
         return new ProductModelAndPageImages(ProductModel.fromProduct(foundProduct),
-                ProductModelAndPageImages.imagesFromPageImages(foundProduct.getPageImages()));
+                ProductModelAndPageImages.imageHashesFromPageImages(foundProduct.getPageImages()));
     }
 
     @Transactional
     public ProductModelAndStock addProductQuantityByEANCode(String eanCode, Long stock){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if((stock == null) || (stock < 0))
             throw new BadArgumentException("Incorrect argument: stock");
@@ -261,8 +298,7 @@ public class ProductDataService {
     @Transactional
     public ProductModelAndStock reduceProductQuantityByEANCode(String eanCode, Long stock){
 
-        if((eanCode == null) ||
-                ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
         else if((stock == null) || (stock < 0))
             throw new BadArgumentException("Incorrect argument: stock");
@@ -297,100 +333,109 @@ public class ProductDataService {
     @Transactional
     public ProductModel getProductByEANCode(String eanCode){
 
-        if((eanCode == null) || ((!ean8Pattern.matcher(eanCode).matches()) && (!ean13Pattern.matcher(eanCode).matches())))
+        if(!EANCodeValidator.isCorrect(eanCode))
             throw new BadArgumentException("Incorrect argument: eanCode");
 
-        Product foundProduct = productRepository.findByEANCode(eanCode);
+        ProductModel foundProduct = productCatalogCache.getProduct(eanCode, key -> {
+
+            Product product = productRepository.findByEANCode(key);
+
+            return (product == null) ? null : ProductModel.fromProduct(product);
+        });
 
         if(foundProduct == null)
             throw new ProductNotFoundException("Product with ean code " + eanCode + " not found");
 
-        return ProductModel.fromProduct(foundProduct);
+        return foundProduct;
     }
 
     @Transactional
     public List<ProductModel> getProductsByEANCodes(List<String> eanCodes){
 
-        if(eanCodes == null)
-            throw new BadArgumentException("Null argument: eanCodes");
+        checkEANCodes(eanCodes);
 
-        eanCodes.forEach(eanCode -> {
+        return productCatalogCache.getProducts(eanCodes, this::findProductModelsByEANCodes);
+    }
 
-            if((eanCode == null) || (!ean8Pattern.matcher(eanCode).matches())
-                    || (!ean13Pattern.matcher(eanCode).matches()))
-                throw new BadArgumentException("Incorrect argument: eanCodes");
-        });
+    //Function returns null when any of products isn't cached, database isn't queried
+    public List<ProductModel> getCachedProductsByEANCodes(List<String> eanCodes){
 
-        List<Product> foundProducts = productRepository.findByEANCodes(eanCodes);
+        checkEANCodes(eanCodes);
 
-        return mapProductListToProductModelList(foundProducts);
+        return productCatalogCache.getProductsIfPresent(eanCodes);
+    }
+
+    //Function picks query by criteria which are given, blank type and phrase are treated as missing
+    @Transactional
+    public ProductPageModel getProductsBySearch(String type, String phrase, Double minPrice, Double maxPrice,
+                                                String cursor){
+
+        boolean hasType = (type != null) && (!type.trim().isEmpty());
+        boolean hasPhrase = (phrase != null) && (!phrase.trim().isEmpty());
+        boolean hasPriceRange = (minPrice != null) && (maxPrice != null);
+
+        if(hasType && hasPhrase && hasPriceRange)
+            return getProductsByTypeAndPhraseAndPriceRange(type, phrase, minPrice, maxPrice, cursor);
+        else if(hasType && hasPhrase)
+            return getProductsByTypeAndPhrase(type, phrase, cursor);
+        else if(hasType && hasPriceRange)
+            return getProductsByTypeAndPriceRange(type, minPrice, maxPrice, cursor);
+        else if(hasPhrase && hasPriceRange)
+            return getProductsByPhraseAndPriceRange(phrase, minPrice, maxPrice, cursor);
+        else if(hasType)
+            return getProductsByType(type, cursor);
+        else if(hasPhrase)
+            return getProductsByPhrase(phrase, cursor);
+        else if(hasPriceRange)
+            return getProductsByPriceRange(minPrice, maxPrice, cursor);
+        else
+            return getProducts(cursor);
     }
 
+    //Function returns maximum 24 Products which have ean code greater than the one encoded in cursor
     @Transactional
-    public List<ProductModel> getProducts(List<String> forbiddenEanCodes){
+    public ProductPageModel getProducts(String cursor){
 
-        if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
+        String afterEanCode = decodeCursor(cursor);
 
         List<Product> foundProducts = productRepository
-                .find(forbiddenEanCodes, PageRequest.of(0, 24));
+                .find(afterEanCode, PageRequest.of(0, PAGE_SIZE));
 
-        return mapProductListToProductModelList(foundProducts);
+        return mapProductListToProductPageModel(foundProducts);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
-    //and select them by type
+    //Function returns maximum 24 Products which have ean code greater than the one encoded in cursor
+    //and select them by type, page is empty when nothing is left
     @Transactional
-    public List<ProductModel> getProductsByType(
-            String type, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByType(String type, String cursor){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> foundProducts = productRepository
-                .findByType(type, forbiddenEanCodes, PageRequest.of(0, 24));
-
-        if(foundProducts.isEmpty())
-            throw new ProductNotFoundException("Products with type " + type + " not found");
-
-        ArrayList<ProductModel> productModels = new ArrayList<>();
+        String afterEanCode = decodeCursor(cursor);
 
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
+        List<Product> foundProducts = productRepository
+                .findByType(type, afterEanCode, PageRequest.of(0, PAGE_SIZE));
 
-        return productModels;
+        return mapProductListToProductPageModel(foundProducts);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products ranked by relevance to phrase, starting from position encoded in cursor,
     //and select them by phrase
     @Transactional
-    public List<ProductModel> getProductsByPhrase(String phrase, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByPhrase(String phrase, String cursor){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> products = productRepository
-                .findByPhrase(phrase, forbiddenEanCodes, PageRequest.of(0, 24));
-
-        ArrayList<ProductModel> productModels = new ArrayList<>();
-
-        products.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
-
-        return productModels;
+        return searchProductsInIndex(phrase, null, null, null, cursor);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products which have ean code greater than the one encoded in cursor
     //and select them by price range
     @Transactional
-    public List<ProductModel> getProductsByPriceRange(
-            Double minimalPrice, Double maximalPrice, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByPriceRange(
+            Double minimalPrice, Double maximalPrice, String cursor){
 
         if((minimalPrice == null) || (minimalPrice <= 0))
             throw new BadArgumentException("Incorrect argument: minimalPrice");
@@ -398,53 +443,35 @@ public class ProductDataService {
             throw new BadArgumentException("Incorrect argument: maximalPrice");
         else if(minimalPrice > maximalPrice)
             throw new BadArgumentException("Argument minimalPrice mustn't be greater than maximalPrice");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> foundProducts = productRepository
-                .findByPriceRange(minimalPrice, maximalPrice, forbiddenEanCodes,
-                        PageRequest.of(0, 24));
+        String afterEanCode = decodeCursor(cursor);
 
-        ArrayList<ProductModel> productModels = new ArrayList<>();
-
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
+        List<Product> foundProducts = productRepository
+                .findByPriceRange(minimalPrice, maximalPrice, afterEanCode,
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return productModels;
+        return mapProductListToProductPageModel(foundProducts);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products ranked by relevance to phrase, starting from position encoded in cursor,
     //and select them by type and phrase
     @Transactional
-    public List<ProductModel> getProductsByTypeAndPhrase(
-            String type, String phrase, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByTypeAndPhrase(
+            String type, String phrase, String cursor){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
         else if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
-
-        List<Product> foundProducts = productRepository
-                .findByPhraseAndType(
-                        phrase, type, forbiddenEanCodes, PageRequest.of(0, 24));
-
-        ArrayList<ProductModel> productModels = new ArrayList<>();
-
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
 
-        return productModels;
+        return searchProductsInIndex(phrase, type, null, null, cursor);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products which have ean code greater than the one encoded in cursor
     //and select them by type and price range
     @Transactional
-    public List<ProductModel> getProductsByTypeAndPriceRange(
-            String type, Double minimalPrice, Double maximalPrice, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByTypeAndPriceRange(
+            String type, Double minimalPrice, Double maximalPrice, String cursor){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
@@ -454,27 +481,21 @@ public class ProductDataService {
             throw new BadArgumentException("Incorrect argument: maximalPrice");
         else if(minimalPrice > maximalPrice)
             throw new BadArgumentException("Argument minimalPrice mustn't be greater than maximalPrice");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> foundProducts = productRepository
-                .findByTypeAndPriceRange(type, minimalPrice, maximalPrice, forbiddenEanCodes,
-                        PageRequest.of(0, 24));
+        String afterEanCode = decodeCursor(cursor);
 
-        ArrayList<ProductModel> productModels = new ArrayList<>();
-
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
+        List<Product> foundProducts = productRepository
+                .findByTypeAndPriceRange(type, minimalPrice, maximalPrice, afterEanCode,
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return productModels;
+        return mapProductListToProductPageModel(foundProducts);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products ranked by relevance to phrase, starting from position encoded in cursor,
     //and select them by phrase and price range
     @Transactional
-    public List<ProductModel> getProductsByPhraseAndPriceRange(
-            String phrase, Double minimalPrice, Double maximalPrice, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByPhraseAndPriceRange(
+            String phrase, Double minimalPrice, Double maximalPrice, String cursor){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
@@ -484,27 +505,15 @@ public class ProductDataService {
             throw new BadArgumentException("Incorrect argument: maximalPrice");
         else if(minimalPrice > maximalPrice)
             throw new BadArgumentException("Argument minimalPrice mustn't be greater than maximalPrice");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> foundProducts = productRepository
-                .findByPhraseAndPriceRange(phrase, minimalPrice, maximalPrice, forbiddenEanCodes,
-                        PageRequest.of(0, 24));
-
-        ArrayList<ProductModel> productModels = new ArrayList<>();
-
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
-
-        return productModels;
+        return searchProductsInIndex(phrase, null, minimalPrice, maximalPrice, cursor);
     }
 
-    //Function returns maximum 24 Products which don't have ean code included in forbiddenEanCodeList
+    //Function returns maximum 24 Products ranked by relevance to phrase, starting from position encoded in cursor,
     //and select them by type and phrase and price range
     @Transactional
-    public List<ProductModel> getProductsByTypeAndPhraseAndPriceRange(
-            String type, String phrase, Double minimalPrice, Double maximalPrice, List<String> forbiddenEanCodes){
+    public ProductPageModel getProductsByTypeAndPhraseAndPriceRange(
+            String type, String phrase, Double minimalPrice, Double maximalPrice, String cursor){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
@@ -516,57 +525,45 @@ public class ProductDataService {
             throw new BadArgumentException("Incorrect argument: maximalPrice");
         else if(minimalPrice > maximalPrice)
             throw new BadArgumentException("Argument minimalPrice mustn't be greater than maximalPrice");
-        else if(forbiddenEanCodes == null)
-            throw new BadArgumentException("Null argument: forbiddenEanCodes");
 
-        List<Product> foundProducts = productRepository
-                .findByPhraseAndTypeAndPriceRange(
-                        phrase, type, minimalPrice, maximalPrice, forbiddenEanCodes,
-                        PageRequest.of(0, 24));
+        return searchProductsInIndex(phrase, type, minimalPrice, maximalPrice, cursor);
+    }
 
-        ArrayList<ProductModel> productModels = new ArrayList<>();
+    //Function returns maximum 10 names and ean codes of products which name, word of name or type
+    //starts with prefix, it doesn't query database
+    public List<ProductSuggestionModel> getProductSuggestions(String prefix){
 
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
+        if((prefix == null) || (prefix.trim().isEmpty()))
+            throw new BadArgumentException("Incorrect argument: prefix");
 
-        return productModels;
+        return productSuggestionTrie.suggest(prefix, SUGGESTIONS_LIMIT);
     }
 
+    //Only ean codes of products on sale are cached for this query, products are taken from cache by ean code
     @Transactional
     public List<ProductModel> getProductsOnSale(){
 
-        List<Product> foundProducts = productRepository.showOnSale();
+        List<String> eanCodesOnSale = productCatalogCache.getQuery(CatalogQuery.PRODUCTS_ON_SALE,
+                productRepository::findEANCodesOfProductsOnSale);
 
-        ArrayList<ProductModel> productModels = new ArrayList<>();
+        return productCatalogCache.getProducts(eanCodesOnSale, this::findProductModelsByEANCodes);
+    }
 
-        foundProducts.forEach(product -> {
-            productModels.add(ProductModel.fromProduct(product));
-        });
+    //Function returns null when products on sale aren't cached, database isn't queried
+    public List<ProductModel> getCachedProductsOnSale(){
 
-        return productModels;
+        List<String> eanCodesOnSale = productCatalogCache.getQueryIfPresent(CatalogQuery.PRODUCTS_ON_SALE);
+
+        return (eanCodesOnSale == null) ? null : productCatalogCache.getProductsIfPresent(eanCodesOnSale);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndRelatedToThemQuantityByPhrase(String phrase){
+    public List<ProductQuantity> getProductsAndRelatedToThemQuantityByPhrase(String phrase){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        ArrayList<Object[]> rowsWithProductModel = new ArrayList<>();
-
-        List<Object[]> resultList = productRepository.getProductsAndRelatedQuantityByPhrase(phrase);
-
-        resultList.forEach(row -> {
-
-            Object[] newRow = new Object[2];
-            newRow[0] = ProductModel.fromProduct((Product) row[0]);
-            newRow[1] = row[1];
-
-            rowsWithProductModel.add(newRow);
-        });
-
-        return rowsWithProductModel;
+        return productRepository.getProductsAndRelatedQuantityByPhrase(phrase);
     }
 
     @Transactional
@@ -592,7 +589,7 @@ public class ProductDataService {
 
     @Transactional
     public List<String> getAllProductTypes(){
-        return productRepository.getAllProductTypes();
+        return productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, productRepository::getAllProductTypes);
     }
 
     @Transactional
@@ -601,7 +598,37 @@ public class ProductDataService {
         if(id == null)
             throw new BadArgumentException("Null argument: id");
 
+        String eanCode = productRepository.findEANCodeById(id);
+
         productRepository.deleteById(id);
+
+        if(eanCode != null) {
+            cacheInvalidationBus.invalidateProduct(eanCode);
+            cacheInvalidationBus.invalidateCatalogQueries(CatalogQuery.PRODUCTS_ON_SALE, CatalogQuery.PRODUCT_TYPES);
+        }
+    }
+
+    private void checkEANCodes(List<String> eanCodes){
+
+        if(eanCodes == null)
+            throw new BadArgumentException("Null argument: eanCodes");
+
+        eanCodes.forEach(eanCode -> {
+
+            if(!EANCodeValidator.isCorrect(eanCode))
+                throw new BadArgumentException("Incorrect argument: eanCodes");
+        });
+    }
+
+    private Map<String, ProductModel> findProductModelsByEANCodes(List<String> eanCodes){
+
+        Map<String, ProductModel> productModels = new HashMap<>();
+
+        productRepository.findByEANCodes(eanCodes).forEach(product -> {
+            productModels.put(product.getEANCode(), ProductModel.fromProduct(product));
+        });
+
+        return productModels;
     }
 
     private List<ProductModel> mapProductListToProductModelList(List<Product> productList){
@@ -615,6 +642,75 @@ public class ProductDataService {
         return productModels;
     }
 
+    //Next cursor is returned only when page is full, otherwise there is nothing more to load
+    private ProductPageModel mapProductListToProductPageModel(List<Product> productList){
+
+        String nextCursor = null;
+
+        if(productList.size() == PAGE_SIZE)
+            nextCursor = CursorCodec.encodeEanCode(productList.get(productList.size() - 1).getEANCode());
+
+        return new ProductPageModel(mapProductListToProductModelList(productList), nextCursor);
+    }
+
+    //Resized variants of image are generated in background, until they are ready original image is sent
+    private StoredImage saveImage(byte[] image){
+
+        StoredImage storedImage = imageStore.save(image);
+        imageVariantGenerator.generateVariants(storedImage.key());
+
+        return storedImage;
+    }
+
+    //Text match is done by ProductSearchIndex, database is asked only for products on requested page
+    private ProductPageModel searchProductsInIndex(
+            String phrase, String type, Double minimalPrice, Double maximalPrice, String cursor){
+
+        int offset = CursorCodec.decodeOffset(cursor);
+
+        List<String> foundEanCodes = productSearchIndex.search(phrase, type, minimalPrice, maximalPrice);
+
+        if(offset >= foundEanCodes.size())
+            return new ProductPageModel(new ArrayList<>(), null);
+
+        List<String> eanCodesOnPage = foundEanCodes
+                .subList(offset, Math.min(offset + PAGE_SIZE, foundEanCodes.size()));
+
+        Map<String, Product> productsByEanCode = new HashMap<>();
+
+        productRepository.findByEANCodes(eanCodesOnPage).forEach(product -> {
+            productsByEanCode.put(product.getEANCode(), product);
+        });
+
+        List<ProductModel> productModels = new ArrayList<>();
+
+        //Products keep order of relevance returned by index
+        eanCodesOnPage.forEach(eanCode -> {
+
+            Product product = productsByEanCode.get(eanCode);
+
+            if(product != null)
+                productModels.add(ProductModel.fromProduct(product));
+        });
+
+        String nextCursor = null;
+
+        if(offset + PAGE_SIZE < foundEanCodes.size())
+            nextCursor = CursorCodec.encodeOffset(offset + PAGE_SIZE);
+
+        return new ProductPageModel(productModels, nextCursor);
+    }
+
+    private String decodeCursor(String cursor){
+
+        String afterEanCode = CursorCodec.decodeEanCode(cursor);
+
+        if((!afterEanCode.isEmpty()) && (!EANCodeValidator.isCorrect(afterEanCode)))
+            throw new BadArgumentException("Incorrect argument: cursor");
+
+        return afterEanCode;
+    }
+
     private List<ProductPageImageModel> mapProductPageImageListToProductPageImageList(
             List<ProductPageImage> productPageImageList){
 
@@ -0,0 +1,287 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.cache.CacheInvalidationBus;
+import org.example.backend.cache.CatalogQuery;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.image.ImageStore;
+import org.example.backend.image.ImageVariantGenerator;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.ProductImportProgressModel;
+import org.example.backend.model.ProductImportRejectionModel;
+import org.example.backend.productimport.ProductImageArchive;
+import org.example.backend.productimport.ProductImportReader;
+import org.example.backend.productimport.ProductImportRow;
+import org.example.backend.validator.EANCodeValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+//Imports products from file in chunks, every chunk is checked against existing ean codes with one query
+//and inserted in its own transaction with JDBC batches, so failure keeps chunks imported before it.
+//Images are saved before chunk transaction starts, so transaction holds no locks while images are written
+@Service
+public class ProductImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ProductImportService(ProductRepository productRepository, ImageStore imageStore,
+                                ImageVariantGenerator imageVariantGenerator, CacheInvalidationBus cacheInvalidationBus,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.imageStore = imageStore;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    //Progress listener gets progress after every chunk, returned progress is the finished one
+    public ProductImportProgressModel importProducts(ProductImportReader reader, ProductImageArchive images,
+                                                     Consumer<ProductImportProgressModel> progressListener)
+            throws IOException {
+
+        if(reader == null)
+            throw new BadArgumentException("Null argument: reader");
+        else if(images == null)
+            throw new BadArgumentException("Null argument: images");
+        else if(progressListener == null)
+            throw new BadArgumentException("Null argument: progressListener");
+
+        //Ean codes seen in file, so product repeated in file is imported once
+        Set<String> seenEANCodes = new HashSet<>();
+        ProductImportProgressModel progress = new ProductImportProgressModel(0L, 0L, 0L, List.of(), false);
+
+        List<ProductImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        ProductImportRow row = reader.read();
+
+        while(row != null) {
+
+            chunk.add(row);
+
+            if(chunk.size() == CHUNK_SIZE) {
+                progress = importChunk(chunk, images, seenEANCodes, progress);
+                progressListener.accept(progress);
+                chunk.clear();
+            }
+
+            row = reader.read();
+        }
+
+        //Rejections of the last full chunk were already sent, so they aren't repeated in finished progress
+        if(!chunk.isEmpty())
+            progress = importChunk(chunk, images, seenEANCodes, progress);
+        else
+            progress = new ProductImportProgressModel(progress.getProcessedRows(), progress.getImportedProducts(),
+                    progress.getRejectedRows(), List.of(), false);
+
+        progress.setFinished(true);
+        progressListener.accept(progress);
+
+        return progress;
+    }
+
+    private ProductImportProgressModel importChunk(List<ProductImportRow> chunk, ProductImageArchive images,
+                                                   Set<String> seenEANCodes, ProductImportProgressModel progress)
+            throws IOException {
+
+        long firstRow = progress.getProcessedRows() + 1;
+        List<ProductImportRejectionModel> rejections = new ArrayList<>();
+        List<NumberedRow> checkedRows = new ArrayList<>();
+
+        for(int i = 0; i < chunk.size(); i++) {
+
+            ProductImportRow row = chunk.get(i);
+            String reason = checkRow(row);
+
+            if((reason == null) && (!seenEANCodes.add(row.EANCode())))
+                reason = "Product with ean code " + row.EANCode() + " is repeated in file";
+
+            if(reason != null)
+                rejections.add(new ProductImportRejectionModel(firstRow + i, row.EANCode(), reason));
+            else
+                checkedRows.add(new NumberedRow(firstRow + i, row));
+        }
+
+        List<PreparedProduct> preparedProducts = new ArrayList<>();
+        Set<String> existingEANCodes = findExistingEANCodes(checkedRows);
+
+        for(NumberedRow checkedRow : checkedRows) {
+
+            if(existingEANCodes.contains(checkedRow.row().EANCode())) {
+                rejections.add(alreadyExists(checkedRow));
+                continue;
+            }
+
+            byte[] image = images.read(checkedRow.row().mainImage());
+
+            if(image == null)
+                rejections.add(new ProductImportRejectionModel(checkedRow.number(), checkedRow.row().EANCode(),
+                        "Incorrect argument field: mainImage"));
+            else
+                preparedProducts.add(new PreparedProduct(checkedRow, saveImage(image)));
+        }
+
+        int importedProducts = insert(preparedProducts, rejections);
+
+        return new ProductImportProgressModel(progress.getProcessedRows() + chunk.size(),
+                progress.getImportedProducts() + importedProducts,
+                progress.getRejectedRows() + rejections.size(), rejections, false);
+    }
+
+    //Product with the same ean code can be saved by someone else after check, then chunk is checked again
+    //and inserted without such products
+    private int insert(List<PreparedProduct> preparedProducts, List<ProductImportRejectionModel> rejections) {
+
+        if(preparedProducts.isEmpty())
+            return 0;
+
+        try{
+            insertInTransaction(preparedProducts);
+            return preparedProducts.size();
+        } catch (DataIntegrityViolationException e) {
+
+            Set<String> existingEANCodes = findExistingEANCodes(
+                    preparedProducts.stream().map(PreparedProduct::numberedRow).toList());
+
+            List<PreparedProduct> newProducts = new ArrayList<>();
+
+            preparedProducts.forEach(preparedProduct -> {
+                if(existingEANCodes.contains(preparedProduct.numberedRow().row().EANCode()))
+                    rejections.add(alreadyExists(preparedProduct.numberedRow()));
+                else
+                    newProducts.add(preparedProduct);
+            });
+
+            if(!newProducts.isEmpty())
+                insertInTransaction(newProducts);
+
+            return newProducts.size();
+        }
+    }
+
+    //Entities are created inside transaction, so failed transaction doesn't leave generated ids in them
+    private void insertInTransaction(List<PreparedProduct> preparedProducts) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            List<Product> products = preparedProducts.stream().map(this::toProduct).toList();
+
+            productRepository.saveAll(products);
+            productRepository.flush();
+
+            products.forEach(product -> cacheInvalidationBus.invalidateProduct(product.getEANCode()));
+
+            cacheInvalidationBus.invalidateCatalogQueries(CatalogQuery.PRODUCTS_ON_SALE, CatalogQuery.PRODUCT_TYPES);
+        });
+    }
+
+    //Checks the same fields as ProductDataService.saveNewProduct, returns null when row is correct
+    private String checkRow(ProductImportRow row) {
+
+        if(!EANCodeValidator.isCorrect(row.EANCode()))
+            return "Incorrect argument field: EANCode";
+        else if((row.name() == null) || (row.name().trim().isEmpty()))
+            return "Incorrect argument field: name";
+        else if((row.type() == null) || (row.type().trim().isEmpty()))
+            return "Incorrect argument field: type";
+        else if((row.description() == null) || (row.description().trim().isEmpty()))
+            return "Incorrect argument field: description";
+        else if(!isPositiveInteger(row.height()))
+            return "Incorrect argument field: height";
+        else if(!isPositiveInteger(row.width()))
+            return "Incorrect argument field: width";
+        else if(!isPositiveDouble(row.regularPrice()))
+            return "Incorrect argument field: regularPrice";
+        else if(!isPositiveDouble(row.currentPrice()))
+            return "Incorrect argument field: currentPrice";
+        else if(!isPositiveLong(row.stock()))
+            return "Incorrect argument field: stock";
+        else if((row.mainImage() == null) || (row.mainImage().trim().isEmpty()))
+            return "Incorrect argument field: mainImage";
+
+        return null;
+    }
+
+    private Set<String> findExistingEANCodes(List<NumberedRow> rows) {
+
+        if(rows.isEmpty())
+            return Set.of();
+
+        return new HashSet<>(productRepository.findExistingEANCodes(
+                rows.stream().map(numberedRow -> numberedRow.row().EANCode()).toList()));
+    }
+
+    private ProductImportRejectionModel alreadyExists(NumberedRow numberedRow) {
+        return new ProductImportRejectionModel(numberedRow.number(), numberedRow.row().EANCode(),
+                "Product with ean code " + numberedRow.row().EANCode() + " already exists");
+    }
+
+    private Product toProduct(PreparedProduct preparedProduct) {
+
+        ProductImportRow row = preparedProduct.numberedRow().row();
+
+        return new Product(row.name().trim(), row.EANCode(), row.type().trim(), row.description().trim(),
+                Integer.valueOf(row.height().trim()), Integer.valueOf(row.width().trim()),
+                Double.valueOf(row.regularPrice().trim()), Double.valueOf(row.currentPrice().trim()),
+                new Stock(Long.valueOf(row.stock().trim())), new ProductMainImage(preparedProduct.mainImage()));
+    }
+
+    private StoredImage saveImage(byte[] image) {
+
+        StoredImage storedImage = imageStore.save(image);
+        imageVariantGenerator.generateVariants(storedImage.key());
+
+        return storedImage;
+    }
+
+    private boolean isPositiveInteger(String value) {
+
+        try{
+            return (value != null) && (Integer.parseInt(value.trim()) > 0);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean isPositiveLong(String value) {
+
+        try{
+            return (value != null) && (Long.parseLong(value.trim()) > 0);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean isPositiveDouble(String value) {
+
+        try{
+            return (value != null) && (Double.parseDouble(value.trim()) > 0)
+                    && Double.isFinite(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private record NumberedRow(long number, ProductImportRow row) {}
+
+    private record PreparedProduct(NumberedRow numberedRow, StoredImage mainImage) {}
+}
@@ -11,11 +11,10 @@ import org.example.backend.dao.entity.user.User;
 import org.example.backend.dao.repository.logistic.AddressRepository;
 import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
 import org.example.backend.dao.repository.product.ProductRepository;
-import org.example.backend.dao.repository.transaction.OrderedProductRepository;
-import org.example.backend.dao.repository.transaction.ReturnTransactionRepository;
-import org.example.backend.dao.repository.transaction.ReturnedProductRepository;
+import org.example.backend.dao.repository.transaction.*;
 import org.example.backend.dao.repository.user.UserRepository;
 import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.enumerated.TransactionEventType;
 import org.example.backend.enumerated.TransactionStatus;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
@@ -24,12 +23,19 @@ import org.example.backend.exception.transaction.ReturnTransactionNotFoundExcept
 import org.example.backend.exception.transaction.ReturnedProductNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
 import org.example.backend.model.*;
+import org.example.backend.pagination.CursorCodec;
+import org.example.backend.pagination.DateAndIdCursor;
+import org.example.backend.statusevent.TransactionStatusEvent;
 import org.example.backend.validator.DateValidator;
+import org.example.backend.validator.EANCodeValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -37,6 +43,8 @@ import java.util.regex.Pattern;
 @Service
 public class ReturnTransactionService {
 
+    private static final int PAGE_SIZE = 24;
+
     private final AddressRepository addressRepository;
     private final DeliveryProviderRepository deliveryProviderRepository;
     private final ReturnTransactionRepository returnTransactionRepository;
@@ -44,16 +52,22 @@ public class ReturnTransactionService {
     private final ProductRepository productRepository;
     private final OrderedProductRepository orderedProductRepository;
     private final ReturnedProductRepository returnedProductRepository;
+    private final DailyProductReturnsRepository dailyProductReturnsRepository;
+    private final DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private final Pattern userEmailPattern;
-    private final Pattern ean8Pattern;
-    private final Pattern ean13Pattern;
 
     @Autowired
     public ReturnTransactionService(DeliveryProviderRepository deliveryProviderRepository, ReturnTransactionRepository returnTransactionRepository,
                                     UserRepository userRepository, ProductRepository productRepository,
                                     OrderedProductRepository orderedProductRepository, AddressRepository addressRepository,
-                                    ReturnedProductRepository returnedProductRepository) {
+                                    ReturnedProductRepository returnedProductRepository,
+                                    DailyProductReturnsRepository dailyProductReturnsRepository,
+                                    DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository,
+                                    DailyProductSalesRepository dailyProductSalesRepository,
+                                    ApplicationEventPublisher applicationEventPublisher) {
         this.deliveryProviderRepository = deliveryProviderRepository;
         this.returnTransactionRepository = returnTransactionRepository;
         this.userRepository = userRepository;
@@ -61,9 +75,11 @@ public class ReturnTransactionService {
         this.orderedProductRepository = orderedProductRepository;
         this.returnedProductRepository = returnedProductRepository;
         this.addressRepository = addressRepository;
+        this.dailyProductReturnsRepository = dailyProductReturnsRepository;
+        this.dailyProductReturnsRollupRepository = dailyProductReturnsRollupRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.userEmailPattern = Pattern.compile("[a-zA-Z]+[a-zA-Z0-9]+@[a-zA-Z0-9]+.[a-z]+");
-        this.ean8Pattern = Pattern.compile("^[0-9]{8}$");
-        this.ean13Pattern = Pattern.compile("^[0-9]{13}$");
     }
 
     @Transactional
@@ -91,14 +107,13 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Incorrect argument field: returnTransactionModel.productsAndReturnedQuantity");
 
         List<ReturnedProduct> productsToReturn = new ArrayList<>();
+        Map<String, ProductReturn> returnsByEanCode = new LinkedHashMap<>();
 
         returnTransactionModel.getReturnedProducts().forEach(returnedProductModel -> {
 
             Long quantityNotReturned = 0L;
 
-            if((returnedProductModel.getProduct() == null) || (returnedProductModel.getProduct().getEANCode() == null)
-                    || ((!ean8Pattern.matcher(returnedProductModel.getProduct().getEANCode()).matches()) &&
-                            (!ean13Pattern.matcher(returnedProductModel.getProduct().getEANCode()).matches()))
+            if((returnedProductModel.getProduct() == null) || (!EANCodeValidator.isCorrect(returnedProductModel.getProduct().getEANCode()))
                     || (returnedProductModel.getQuantity() == null) || (returnedProductModel.getQuantity() <= 0)
                     || (returnedProductModel.getTransactionInWhichThisProductWasOrdered() == null))
                 throw new BadArgumentException("Incorrect argument field: returnTransactionModel.productsAndReturnedQuantity");
@@ -139,8 +154,17 @@ public class ReturnTransactionService {
             if(returnedProductModel.getQuantity() > quantityNotReturned)
                 throw new BadArgumentException("One of products can't be returned cause of too big quantity");
 
-            productsToReturn.add(new ReturnedProduct(foundProduct, returnedProductModel.getQuantity(),
-                    orderedProducts.get(0).getPricePerUnit(), returnedProductModel.getTransactionInWhichThisProductWasOrdered()));
+            ReturnedProduct returnedProduct = new ReturnedProduct(foundProduct, returnedProductModel.getQuantity(),
+                    orderedProducts.get(0).getPricePerUnit(), returnedProductModel.getTransactionInWhichThisProductWasOrdered());
+
+            productsToReturn.add(returnedProduct);
+
+            //The same product can be returned from few orders, rollup gets one row for it
+            returnsByEanCode.merge(foundProduct.getEANCode(),
+                    new ProductReturn(foundProduct.getEANCode(), foundProduct.getType(), returnedProduct.getQuantity(),
+                            returnedProduct.getQuantity() * returnedProduct.getPricePerUnit()),
+                    (first, second) -> new ProductReturn(first.EANCode(), first.type(),
+                            first.quantity() + second.quantity(), first.revenue() + second.revenue()));
         });
 
         User user = userRepository.findByEmail(returnTransactionModel.getUserEmail());
@@ -155,8 +179,6 @@ public class ReturnTransactionService {
             throw new DeliveryProviderNotFoundException(
                     "Delivery Provider with name " + returnTransactionModel.getDeliveryProviderName() + " not found");
 
-        List<ReturnedProduct> returnedProductData = returnedProductRepository.saveAll(productsToReturn);
-
         AddressModel address = returnTransactionModel.getAddress();
         Address entityAddress = addressRepository.findByCountryAndCityAndProvinceAndAddress(
                 address.getCountry(), address.getProvince(), address.getCity(), address.getAddress());
@@ -167,7 +189,15 @@ public class ReturnTransactionService {
         }
 
         ReturnTransaction returnTransaction = new ReturnTransaction(Date.from(Instant.now()), user,
-                entityAddress, deliveryProvider, returnTransactionModel.getReturnCause(), returnedProductData);
+                entityAddress, deliveryProvider, returnTransactionModel.getReturnCause(), productsToReturn);
+
+        dailyProductReturnsRollupRepository.add(toDay(returnTransaction.getDate()), returnTransaction.getReturnCause(),
+                deliveryProvider.getId(), new ArrayList<>(returnsByEanCode.values()));
+
+        //Returned products are persisted by cascade with their return transaction already set,
+        //so they can be found by date of return
+        for(ReturnedProduct returnedProduct : productsToReturn)
+            returnedProduct.setReturnTransaction(returnTransaction);
 
         returnTransaction = returnTransactionRepository.save(returnTransaction);
 
@@ -189,6 +219,9 @@ public class ReturnTransactionService {
         returnTransaction.setStatus(status);
         returnTransactionRepository.save(returnTransaction);
 
+        applicationEventPublisher.publishEvent(TransactionStatusEvent.of(TransactionEventType.RETURN_STATUS_CHANGED,
+                id, status));
+
         return ReturnTransactionModel.fromReturnTransaction(returnTransaction);
     }
 
@@ -218,220 +251,218 @@ public class ReturnTransactionService {
         return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactions(
-            List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactions(
+            String cursor){
 
-        if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
-                .findReturnTransactions(forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                .findReturnTransactions(afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriod(
-            Date startingDate, Date endingDate, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriod(
+            Date startingDate, Date endingDate, String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriod(
-                        startingDate, endingDate, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        startingDate, endingDate, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByReturnCause(
-            ReturnCause returnCause, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByReturnCause(
+            ReturnCause returnCause, String cursor){
 
         if(returnCause == null)
             throw new BadArgumentException("Null argument: returnCause");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByReturnCause(
-                        returnCause, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        returnCause, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByDeliveryProviderName(
-            String deliveryProviderName, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByDeliveryProviderName(
+            String deliveryProviderName, String cursor){
 
         if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderName(
-                        deliveryProviderName, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        deliveryProviderName, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByUserEmail(
-            String userEmail, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByUserEmail(
+            String userEmail, String cursor){
 
         if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByUserEmail(
-                        userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndReturnCause(
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndReturnCause(
             Date startingDate, Date endingDate, ReturnCause returnCause,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
         if(returnCause == null)
             throw new BadArgumentException("Null argument: returnCause");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCause(
-                        startingDate, endingDate, returnCause, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        startingDate, endingDate, returnCause, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndDeliveryProviderName(
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndDeliveryProviderName(
             Date startingDate, Date endingDate, String deliveryProviderName,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
         if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                        startingDate, endingDate, deliveryProviderName, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        startingDate, endingDate, deliveryProviderName, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndUserEmail(
-            Date startingDate, Date endingDate, String userEmail, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndUserEmail(
+            Date startingDate, Date endingDate, String userEmail, String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
         if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndUserEmail(
-                        startingDate, endingDate, userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        startingDate, endingDate, userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-            ReturnCause returnCause, String deliveryProviderName, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByReturnCauseAndDeliveryProviderName(
+            ReturnCause returnCause, String deliveryProviderName, String cursor){
 
         if(returnCause == null)
             throw new BadArgumentException("Null argument: returnCause");
         else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                        returnCause, deliveryProviderName, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        returnCause, deliveryProviderName, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByReturnCauseAndUserEmail(
-            ReturnCause returnCause, String userEmail, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByReturnCauseAndUserEmail(
+            ReturnCause returnCause, String userEmail, String cursor){
 
         if(returnCause == null)
             throw new BadArgumentException("Null argument: returnCause");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndUserEmail(
-                        returnCause, userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        returnCause, userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-            String deliveryProviderName, String userEmail, List<UUID> forbiddenReturnTransactionIds){
+    public ReturnTransactionPageModel getReturnTransactionsByDeliveryProviderNameAndUserEmail(
+            String deliveryProviderName, String userEmail, String cursor){
 
         if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                        deliveryProviderName, userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        deliveryProviderName, userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
             Date startingDate, Date endingDate, ReturnCause returnCause, String deliveryProviderName,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
@@ -439,22 +470,22 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Null argument: returnCause");
         else if((deliveryProviderName == null) || (deliveryProviderName.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                         startingDate, endingDate, returnCause, deliveryProviderName,
-                        forbiddenReturnTransactionIds, PageRequest.of(0, 24));
+                        afterCursor.getDate(), afterCursor.getId(), PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
             Date startingDate, Date endingDate, ReturnCause returnCause, String userEmail,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
@@ -462,22 +493,22 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Null argument: returnCause");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                        startingDate, endingDate, returnCause, userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        startingDate, endingDate, returnCause, userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
+    public ReturnTransactionPageModel getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
             Date startingDate, Date endingDate, String deliveryProviderName, String userEmail,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
@@ -485,22 +516,22 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                         startingDate, endingDate, deliveryProviderName, userEmail,
-                        forbiddenReturnTransactionIds, PageRequest.of(0, 24));
+                        afterCursor.getDate(), afterCursor.getId(), PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel> getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
+    public ReturnTransactionPageModel getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
             ReturnCause returnCause, String deliveryProviderName, String userEmail,
-            List<UUID> forbiddenReturnTransactionIds){
+            String cursor){
 
         if(returnCause == null)
             throw new BadArgumentException("Null argument: returnCause");
@@ -508,23 +539,23 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                        returnCause, deliveryProviderName, userEmail, forbiddenReturnTransactionIds,
-                        PageRequest.of(0, 24));
+                        returnCause, deliveryProviderName, userEmail, afterCursor.getDate(), afterCursor.getId(),
+                        PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
-    //This method returns list of maximum 24 ReturnTransaction
+    //This method returns list of maximum 24 ReturnTransaction placed before the one encoded in cursor
     @Transactional
-    public List<ReturnTransactionModel>
+    public ReturnTransactionPageModel
     getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
             Date startingDate, Date endingDate, ReturnCause returnCause,
-            String deliveryProviderName, String userEmail, List<UUID> forbiddenReturnTransactionIds){
+            String deliveryProviderName, String userEmail, String cursor){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
@@ -534,68 +565,64 @@ public class ReturnTransactionService {
             throw new BadArgumentException("Incorrect argument: deliveryProviderName");
         else if((userEmail == null) || (!userEmailPattern.matcher(userEmail).matches()))
             throw new BadArgumentException("Incorrect argument: userEmail");
-        else if(forbiddenReturnTransactionIds == null)
-            throw new BadArgumentException("Null argument: forbiddenReturnTransactionIds");
+
+        DateAndIdCursor afterCursor = CursorCodec.decodeDateAndId(cursor);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                         startingDate, endingDate, returnCause, deliveryProviderName, userEmail,
-                        forbiddenReturnTransactionIds, PageRequest.of(0, 24));
+                        afterCursor.getDate(), afterCursor.getId(), PageRequest.of(0, PAGE_SIZE));
 
-        return mapReturnTransactionListToReturnTransactionModelList(returnTransactions);
+        return mapReturnTransactionListToReturnTransactionPageModel(returnTransactions);
     }
 
     @Transactional
     public List<Object[]> getQuantityOfAllReturnedProductsAndRevenue(){
-        return returnedProductRepository.getAllQuantityOfReturnedProductsAndRevenue();
+        return dailyProductReturnsRepository.getAllQuantityOfReturnedProductsAndRevenue();
     }
 
     @Transactional
     public List<Object[]> getAllTypesAndTheirReturnedQuantityAndRevenue(){
-        return returnedProductRepository.getAllTypesAndTheirReturnedQuantityAndRevenue();
+        return dailyProductReturnsRepository.getAllTypesAndTheirReturnedQuantityAndRevenue();
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(
             Date startingDate, Date endingDate){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        List<Object[]> resultList = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(startingDate, endingDate);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
+        return dailyProductReturnsRepository
+                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByPhrase(String phrase){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByPhrase(String phrase){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> resultList = returnedProductRepository
+        return dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByPhrase(phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByType(String type){
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByType(String type){
 
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> resultList = returnedProductRepository
+        List<ProductQuantityAndRevenue> resultList = dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByType(type);
 
         if(resultList.isEmpty())
             throw new ReturnedProductNotFoundException("Returned product with type " + type + " not exist");
 
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
+        return resultList;
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(
             Date startingDate, Date endingDate, String phrase){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -603,15 +630,13 @@ public class ReturnTransactionService {
         if((phrase == null) || (phrase.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: phrase");
 
-        List<Object[]> resultList = returnedProductRepository
+        return dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(
-                        startingDate, endingDate, phrase);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
+                        toDay(startingDate), toDay(endingDate), phrase);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
             Date startingDate, Date endingDate, String type){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -619,15 +644,13 @@ public class ReturnTransactionService {
         if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> resultList = returnedProductRepository
+        return dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
-                        startingDate, endingDate, type);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
+                        toDay(startingDate), toDay(endingDate), type);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(
             String phrase, String type){
 
         if((phrase == null) || (phrase.trim().isEmpty()))
@@ -635,15 +658,13 @@ public class ReturnTransactionService {
         else if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> resultList = returnedProductRepository
+        return dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(
                         phrase, type);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
     }
 
     @Transactional
-    public List<Object[]> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(
+    public List<ProductQuantityAndRevenue> getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(
             Date startingDate, Date endingDate, String phrase, String type){
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
@@ -653,11 +674,9 @@ public class ReturnTransactionService {
         else if((type == null) || (type.trim().isEmpty()))
             throw new BadArgumentException("Incorrect argument: type");
 
-        List<Object[]> resultList = returnedProductRepository
+        return dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(
-                        startingDate, endingDate, phrase, type);
-
-        return mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(resultList);
+                        toDay(startingDate), toDay(endingDate), phrase, type);
     }
 
     @Transactional
@@ -666,8 +685,8 @@ public class ReturnTransactionService {
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        List<Object[]> resultList = returnedProductRepository
-                .getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(startingDate, endingDate);
+        List<Object[]> resultList = dailyProductReturnsRepository
+                .getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
 
         Object[] returnList = new Object[2];
         returnList[0] = resultList.get(0)[0];
@@ -682,25 +701,97 @@ public class ReturnTransactionService {
 
         DateValidator.checkIfDatesAreGood(startingDate, endingDate);
 
-        return returnedProductRepository
-                .getAllTypesAndTheirQuantityOfReturnedProductsAndRevenueByTimePeriod(startingDate, endingDate);
+        return dailyProductReturnsRepository
+                .getAllTypesAndTheirQuantityOfReturnedProductsAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
+    }
+
+    //Rows contain return cause, returned quantity, revenue and return rate, which is returned quantity
+    //divided by quantity of products ordered in the same time period
+    @Transactional
+    public List<Object[]> getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(
+            Date startingDate, Date endingDate){
+
+        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
+
+        List<Object[]> orderedQuantityAndRevenue = dailyProductSalesRepository
+                .getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
+
+        Long orderedQuantity = orderedQuantityAndRevenue.isEmpty() ? null : (Long) orderedQuantityAndRevenue.get(0)[0];
+
+        List<Object[]> resultList = dailyProductReturnsRepository
+                .getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(toDay(startingDate), toDay(endingDate));
+
+        return addReturnRateToListRows(resultList, orderedQuantity);
+    }
+
+    //The same as above, but only products of given type are counted, both returned and ordered
+    @Transactional
+    public List<Object[]> getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(
+            Date startingDate, Date endingDate, String type){
+
+        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
+
+        if((type == null) || (type.trim().isEmpty()))
+            throw new BadArgumentException("Incorrect argument: type");
+
+        Long orderedQuantity = dailyProductSalesRepository
+                .getQuantityOfOrderedProductsByTimePeriodAndType(toDay(startingDate), toDay(endingDate), type);
+
+        List<Object[]> resultList = dailyProductReturnsRepository
+                .getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
+                        toDay(startingDate), toDay(endingDate), type);
+
+        return addReturnRateToListRows(resultList, orderedQuantity);
+    }
+
+    @Transactional
+    public List<Object[]> getDeliveryProvidersAndReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+            Date startingDate, Date endingDate){
+
+        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
+
+        return dailyProductReturnsRepository
+                .getDeliveryProvidersAndReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(
+                        toDay(startingDate), toDay(endingDate));
     }
 
-    private List<Object[]> mapListRowsFromProductAndLongAndDoubleToProductModelAndLongAndDouble(List<Object[]> list){
+    //Return rate is null when nothing was ordered, there is nothing to divide by
+    private List<Object[]> addReturnRateToListRows(List<Object[]> list, Long orderedQuantity){
 
-        ArrayList<Object[]> resultListWithProductModel = new ArrayList<>();
+        ArrayList<Object[]> resultWithReturnRate = new ArrayList<>();
 
         list.forEach(row -> {
 
-            Object[] newRow = new Object[3];
-            newRow[0] = ProductModel.fromProduct((Product) row[0]);
+            Object[] newRow = new Object[4];
+            newRow[0] = row[0];
             newRow[1] = row[1];
             newRow[2] = row[2];
+            newRow[3] = ((orderedQuantity == null) || (orderedQuantity == 0)) ? null
+                    : ((Long) row[1]).doubleValue() / orderedQuantity;
 
-            resultListWithProductModel.add(newRow);
+            resultWithReturnRate.add(newRow);
         });
 
-        return resultListWithProductModel;
+        return resultWithReturnRate;
+    }
+
+    //Daily rollup is keyed by day in time zone of server, the same one in which return dates are stored
+    private static LocalDate toDay(Date date){
+        return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    //Next cursor is returned only when page is full, otherwise there is nothing more to load
+    private ReturnTransactionPageModel mapReturnTransactionListToReturnTransactionPageModel(
+            List<ReturnTransaction> returnTransactionList){
+
+        String nextCursor = null;
+
+        if(returnTransactionList.size() == PAGE_SIZE){
+            ReturnTransaction lastReturnTransaction = returnTransactionList.get(returnTransactionList.size() - 1);
+            nextCursor = CursorCodec.encodeDateAndId(lastReturnTransaction.getDate(), lastReturnTransaction.getId());
+        }
+
+        return new ReturnTransactionPageModel(mapReturnTransactionListToReturnTransactionModelList(returnTransactionList), nextCursor);
     }
 
     private List<ReturnTransactionModel> mapReturnTransactionListToReturnTransactionModelList(
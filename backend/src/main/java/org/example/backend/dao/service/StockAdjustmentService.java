@@ -0,0 +1,144 @@
+package org.example.backend.dao.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockAdjustment;
+import org.example.backend.dao.repository.product.StockAdjustmentRepository;
+import org.example.backend.enumerated.StockAdjustmentStatus;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.model.StockAdjustmentResultModel;
+import org.example.backend.validator.EANCodeValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+//Applies stream of stock adjustments in chunks, every chunk is one JDBC batch of conditional updates
+//in its own transaction, so adjustments of finished chunks stay when later chunk fails.
+//Products and images are never loaded, only ean codes of failed adjustments are looked up with one query
+@Service
+public class StockAdjustmentService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final StockAdjustmentRepository stockAdjustmentRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader stockAdjustmentReader;
+
+    @Autowired
+    public StockAdjustmentService(StockAdjustmentRepository stockAdjustmentRepository,
+                                  ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.stockAdjustmentRepository = stockAdjustmentRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stockAdjustmentReader = objectMapper.readerFor(StockAdjustment.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    //Every line of input is JSON object with EANCode and delta, result listener gets outcome of every line
+    //in the same order, empty lines are skipped
+    public void adjustStock(InputStream inputStream, Consumer<StockAdjustmentResultModel> resultListener)
+            throws IOException {
+
+        if(inputStream == null)
+            throw new BadArgumentException("Null argument: inputStream");
+        else if(resultListener == null)
+            throw new BadArgumentException("Null argument: resultListener");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<StockAdjustmentResultModel> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line = reader.readLine();
+
+        while(line != null) {
+
+            lineNumber++;
+
+            if(!line.isBlank())
+                chunk.add(toResult(lineNumber, line));
+
+            if(chunk.size() == CHUNK_SIZE) {
+                adjustChunk(chunk);
+                chunk.forEach(resultListener);
+                chunk.clear();
+            }
+
+            line = reader.readLine();
+        }
+
+        adjustChunk(chunk);
+        chunk.forEach(resultListener);
+    }
+
+    //Sets status of every result which wasn't rejected already
+    private void adjustChunk(List<StockAdjustmentResultModel> chunk) {
+
+        List<StockAdjustmentResultModel> correctResults = chunk.stream()
+                .filter(result -> result.getStatus() == null)
+                .toList();
+
+        if(correctResults.isEmpty())
+            return;
+
+        List<StockAdjustment> adjustments = correctResults.stream()
+                .map(result -> new StockAdjustment(result.getEANCode(), result.getDelta()))
+                .toList();
+
+        boolean[] applied = transactionTemplate.execute(status -> stockAdjustmentRepository.adjust(adjustments));
+
+        List<String> failedEANCodes = new ArrayList<>();
+
+        for(int i = 0; i < applied.length; i++) {
+
+            if(applied[i])
+                correctResults.get(i).setStatus(StockAdjustmentStatus.APPLIED);
+            else
+                failedEANCodes.add(correctResults.get(i).getEANCode());
+        }
+
+        if(failedEANCodes.isEmpty())
+            return;
+
+        Set<String> existingEANCodes = new HashSet<>(productRepository.findExistingEANCodes(failedEANCodes));
+
+        correctResults.forEach(result -> {
+            if(result.getStatus() == null)
+                result.setStatus(existingEANCodes.contains(result.getEANCode())
+                        ? StockAdjustmentStatus.INSUFFICIENT_STOCK : StockAdjustmentStatus.PRODUCT_NOT_FOUND);
+        });
+    }
+
+    //Result of line which can't be applied gets its status at once, others get it when their chunk is applied
+    private StockAdjustmentResultModel toResult(long lineNumber, String line) {
+
+        StockAdjustment adjustment;
+
+        try{
+            adjustment = stockAdjustmentReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return new StockAdjustmentResultModel(lineNumber, null, null, StockAdjustmentStatus.INCORRECT_ARGUMENT);
+        }
+
+        if((!EANCodeValidator.isCorrect(adjustment.EANCode())) || (adjustment.delta() == null))
+            return new StockAdjustmentResultModel(lineNumber, adjustment.EANCode(), adjustment.delta(),
+                    StockAdjustmentStatus.INCORRECT_ARGUMENT);
+
+        return new StockAdjustmentResultModel(lineNumber, adjustment.EANCode(), adjustment.delta(), null);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.dao.repository.transaction.TransactionExportRepository;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.export.ExportFormat;
+import org.example.backend.export.ExportWriter;
+import org.example.backend.validator.DateValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+//Streams orders and returns of time period straight from database to output stream.
+//Methods aren't transactional, they are called while response is written, after controller method returned
+@Service
+public class TransactionExportService {
+
+    private final TransactionExportRepository transactionExportRepository;
+
+    @Autowired
+    public TransactionExportService(TransactionExportRepository transactionExportRepository) {
+        this.transactionExportRepository = transactionExportRepository;
+    }
+
+    //Controllers call it before response is started, so bad arguments still get 400 status
+    public void checkExportArguments(Date startingDate, Date endingDate, ExportFormat format) {
+
+        DateValidator.checkIfDatesAreGood(startingDate, endingDate);
+
+        if(format == null)
+            throw new BadArgumentException("Null argument: format");
+    }
+
+    public void exportOrderTransactions(Date startingDate, Date endingDate, ExportFormat format,
+                                        OutputStream outputStream) throws IOException {
+
+        checkExportArguments(startingDate, endingDate, format);
+
+        export(TransactionExportRepository.ORDER_COLUMNS, format, outputStream, consumer ->
+                transactionExportRepository.forEachOrderedProduct(startingDate, endingDate, consumer));
+    }
+
+    public void exportReturnTransactions(Date startingDate, Date endingDate, ExportFormat format,
+                                         OutputStream outputStream) throws IOException {
+
+        checkExportArguments(startingDate, endingDate, format);
+
+        export(TransactionExportRepository.RETURN_COLUMNS, format, outputStream, consumer ->
+                transactionExportRepository.forEachReturnedProduct(startingDate, endingDate, consumer));
+    }
+
+    private void export(List<String> columns, ExportFormat format, OutputStream outputStream,
+                        Consumer<Consumer<Object[]>> rows) throws IOException {
+
+        ExportWriter writer = format.createWriter(columns, outputStream);
+
+        try{
+            rows.accept(values -> {
+                try{
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            //Client closed connection, cursor is already closed by JdbcTemplate
+            throw e.getCause();
+        }
+
+        writer.finish();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.backend.dao.service;
 
 import jakarta.transaction.Transactional;
+import org.example.backend.cache.CacheInvalidationBus;
 import org.example.backend.dao.entity.image.UserImage;
 import org.example.backend.dao.entity.user.Privilege;
 import org.example.backend.dao.entity.user.Role;
@@ -16,6 +17,7 @@ import org.example.backend.exception.role.RoleNotFoundException;
 import org.example.backend.exception.role.RoleNotSavedException;
 import org.example.backend.exception.user.UserNotFoundException;
 import org.example.backend.exception.user.UserNotSavedException;
+import org.example.backend.image.ImageStore;
 import org.example.backend.model.PrivilegeModel;
 import org.example.backend.model.RoleModel;
 import org.example.backend.model.UserIdAndImage;
@@ -44,17 +46,23 @@ public class UserDataService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final UserImageRepository userImageRepository;
+    private final ImageStore imageStore;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
     @Autowired
     public UserDataService(PrivilegeRepository privilegeRepository, RoleRepository roleRepository,
-                           UserImageRepository userImageRepository, UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+                           UserImageRepository userImageRepository, UserRepository userRepository,
+                           BCryptPasswordEncoder bCryptPasswordEncoder, ImageStore imageStore,
+                           CacheInvalidationBus cacheInvalidationBus) {
         this.privilegeRepository = privilegeRepository;
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.userImageRepository = userImageRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.imageStore = imageStore;
+        this.cacheInvalidationBus = cacheInvalidationBus;
         this.privilegeNamePattern = Pattern.compile("[A-Z]+_PRIVILEGE");
         this.roleNamePattern = Pattern.compile("ROLE_[A-Z]+");
         this.userEmailPattern = Pattern.compile("[a-zA-Z]+[a-zA-Z0-9]+@[a-zA-Z0-9]+.[a-z]+");
@@ -72,6 +80,7 @@ public class UserDataService {
 
         Privilege newPrivilege = new Privilege(privilegeName);
         newPrivilege = privilegeRepository.save(newPrivilege);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return PrivilegeModel.fromPrivilege(newPrivilege);
     }
@@ -92,6 +101,7 @@ public class UserDataService {
 
         privilege.setName(privilegeName);
         privilege = privilegeRepository.save(privilege);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return PrivilegeModel.fromPrivilege(privilege);
     }
@@ -145,6 +155,7 @@ public class UserDataService {
             throw new BadArgumentException("Incorrect argument: id");
 
         privilegeRepository.deleteById(id);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
     }
 
     @Transactional
@@ -180,6 +191,7 @@ public class UserDataService {
         privileges.forEach(privilege -> {
             privilege.getRoles().add(finalRole);
         });
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return RoleModel.fromRole(roleEntity);
     }
@@ -199,6 +211,7 @@ public class UserDataService {
 
         foundRole.setName(newName);
         roleRepository.save(foundRole);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return RoleModel.fromRole(foundRole);
     }
@@ -223,6 +236,7 @@ public class UserDataService {
 
         role.getPrivileges().removeIf(pomPrivilege -> pomPrivilege.getId().equals(id));
         roleRepository.save(role);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return RoleModel.fromRole(role);
     }
@@ -246,6 +260,7 @@ public class UserDataService {
 
         role.getPrivileges().add(privilege);
         roleRepository.save(role);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
 
         return RoleModel.fromRole(role);
     }
@@ -319,6 +334,7 @@ public class UserDataService {
         }
 
         roleRepository.deleteById(idOfRoleToDelete);
+        cacheInvalidationBus.invalidateRolesAndPrivileges();
     }
 
     @Transactional
@@ -425,12 +441,12 @@ public class UserDataService {
          if(foundUser.getProfileImage() != null)
              userImageRepository.delete(foundUser.getProfileImage());
 
-         UserImage userImage = userImageRepository.save(new UserImage(image));
+         UserImage userImage = userImageRepository.save(new UserImage(imageStore.save(image)));
 
          foundUser.setProfileImage(userImage);
          userRepository.save(foundUser);
 
-         return new UserIdAndImage(id, userImage.getImage());
+         return new UserIdAndImage(id, image);
     }
 
     @Transactional
@@ -473,7 +489,7 @@ public class UserDataService {
         if(user.getProfileImage() == null)
             return new UserIdAndImage(id, null);
 
-        return new UserIdAndImage(id, user.getProfileImage().getImage());
+        return new UserIdAndImage(id, imageStore.read(user.getProfileImage().getHash()));
     }
 
     @Transactional
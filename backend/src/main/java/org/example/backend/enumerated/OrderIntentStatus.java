@@ -0,0 +1,5 @@
+package org.example.backend.enumerated;
+
+public enum OrderIntentStatus {
+    PENDING, PROCESSING, COMPLETED, REJECTED
+}
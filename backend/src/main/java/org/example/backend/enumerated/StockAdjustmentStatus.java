@@ -0,0 +1,5 @@
+package org.example.backend.enumerated;
+
+public enum StockAdjustmentStatus {
+    APPLIED, PRODUCT_NOT_FOUND, INSUFFICIENT_STOCK, INCORRECT_ARGUMENT
+}
@@ -0,0 +1,5 @@
+package org.example.backend.enumerated;
+
+public enum TransactionEventType {
+    ORDER_CREATED, ORDER_STATUS_CHANGED, RETURN_STATUS_CHANGED
+}
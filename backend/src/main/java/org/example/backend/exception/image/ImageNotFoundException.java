@@ -0,0 +1,7 @@
+package org.example.backend.exception.image;
+
+public class ImageNotFoundException extends RuntimeException {
+    public ImageNotFoundException(String message) {
+        super(message);
+    }
+}
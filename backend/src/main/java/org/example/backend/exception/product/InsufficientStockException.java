@@ -0,0 +1,18 @@
+package org.example.backend.exception.product;
+
+import java.util.List;
+
+public class InsufficientStockException extends RuntimeException {
+
+    //EAN codes of every order line which couldn't be reserved
+    private final List<String> EANCodes;
+
+    public InsufficientStockException(String message, List<String> EANCodes) {
+        super(message);
+        this.EANCodes = EANCodes;
+    }
+
+    public List<String> getEANCodes() {
+        return EANCodes;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.exception.transaction;
+
+//Thrown when idempotency key of stored order intent comes with different order
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
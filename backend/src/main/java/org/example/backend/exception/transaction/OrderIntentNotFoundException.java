@@ -0,0 +1,7 @@
+package org.example.backend.exception.transaction;
+
+public class OrderIntentNotFoundException extends RuntimeException {
+    public OrderIntentNotFoundException(String message) {
+        super(message);
+    }
+}
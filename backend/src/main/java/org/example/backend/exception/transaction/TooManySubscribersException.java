@@ -0,0 +1,8 @@
+package org.example.backend.exception.transaction;
+
+//Thrown when transaction status stream already has maximum number of subscribers
+public class TooManySubscribersException extends RuntimeException {
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
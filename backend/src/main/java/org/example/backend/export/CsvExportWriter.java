@@ -0,0 +1,66 @@
+package org.example.backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+//Writes header with column names and then one line per row, values are quoted only when needed (RFC 4180).
+//Header is written also when there are no rows
+class CsvExportWriter implements ExportWriter {
+
+    private final List<String> columns;
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvExportWriter(List<String> columns, OutputStream outputStream) {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        writeHeaderIfNeeded();
+        writeLine(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeHeaderIfNeeded();
+        writer.flush();
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+
+        if(!headerWritten) {
+            writeLine(columns.toArray());
+            headerWritten = true;
+        }
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+
+        for(int i = 0; i < values.length; i++) {
+
+            if(i > 0)
+                writer.write(',');
+
+            if(values[i] != null)
+                writer.write(escape(values[i].toString()));
+        }
+
+        writer.write("\r\n");
+    }
+
+    private String escape(String value) {
+
+        if((value.indexOf(',') == -1) && (value.indexOf('"') == -1) && (value.indexOf('\n') == -1)
+                && (value.indexOf('\r') == -1))
+            return value;
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.backend.export;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+//Formats of streamed exports, every format writes one row as soon as it is read from database
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    //Name used in format parameter of export endpoints
+    public String getFormatName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public ExportWriter createWriter(List<String> columns, OutputStream outputStream) {
+
+        if(this == CSV)
+            return new CsvExportWriter(columns, outputStream);
+        else
+            return new NdjsonExportWriter(columns, outputStream);
+    }
+
+    //Returns null when there is no format with given name
+    public static ExportFormat fromFormatName(String formatName) {
+
+        for(ExportFormat format : values()) {
+            if(format.getFormatName().equals(formatName))
+                return format;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.backend.export;
+
+import java.io.IOException;
+
+//Writes rows of export one by one, values are in the same order as columns given to ExportFormat.createWriter.
+//Nothing is kept after row is written, so export of any size needs the same memory
+public interface ExportWriter {
+
+    void writeRow(Object[] values) throws IOException;
+
+    //Flushes buffered rows, output stream stays open
+    void finish() throws IOException;
+}
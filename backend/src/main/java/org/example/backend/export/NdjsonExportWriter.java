@@ -0,0 +1,62 @@
+package org.example.backend.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+//Writes one JSON object per line with column names as keys, numbers stay numbers and other values are strings
+class NdjsonExportWriter implements ExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final List<String> columns;
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(List<String> columns, OutputStream outputStream) {
+        this.columns = columns;
+
+        try{
+            this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+
+        generator.writeStartObject();
+
+        for(int i = 0; i < values.length; i++) {
+
+            generator.writeFieldName(columns.get(i));
+
+            if(values[i] == null)
+                generator.writeNull();
+            else if(values[i] instanceof Long value)
+                generator.writeNumber(value);
+            else if(values[i] instanceof Double value)
+                generator.writeNumber(value);
+            else if(values[i] instanceof Number value)
+                generator.writeNumber(value.toString());
+            else
+                generator.writeString(values[i].toString());
+        }
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
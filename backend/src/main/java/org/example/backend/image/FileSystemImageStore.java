@@ -0,0 +1,141 @@
+package org.example.backend.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+
+//Keeps every image in its own file named by its hash, files are spread over directories
+//by first four signs of hash, so no directory gets too many entries
+@Component
+public class FileSystemImageStore implements ImageStore {
+
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private final Path directory;
+
+    public FileSystemImageStore(@Value("${image-store.directory:image-store}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath();
+    }
+
+    @Override
+    public StoredImage save(byte[] image) {
+
+        String key = ImageHashes.sha256(image);
+
+        writeIfAbsent(pathOf(key), image);
+
+        return new StoredImage(key, (long) image.length, guessMimeType(image));
+    }
+
+    @Override
+    public byte[] read(String key) {
+
+        try{
+            return Files.readAllBytes(pathOf(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void transferTo(String key, WritableByteChannel target) throws IOException {
+        transfer(pathOf(key), target);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return ImageHashes.isValid(key) && Files.exists(pathOf(key));
+    }
+
+    @Override
+    public void saveVariant(String key, ImageVariant variant, byte[] image) {
+        writeIfAbsent(variantPathOf(key, variant), image);
+    }
+
+    @Override
+    public Long variantSize(String key, ImageVariant variant) {
+
+        try{
+            return Files.size(variantPathOf(key, variant));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void transferVariantTo(String key, ImageVariant variant, WritableByteChannel target) throws IOException {
+        transfer(variantPathOf(key, variant), target);
+    }
+
+    private static void transfer(Path path, WritableByteChannel target) throws IOException {
+
+        try(FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long position = 0;
+            long size = fileChannel.size();
+
+            //transferTo may send fewer bytes than asked for
+            while(position < size)
+                position += fileChannel.transferTo(position, size - position, target);
+        }
+    }
+
+    //File is written to temporary file first, so readers never see half written file
+    private static void writeIfAbsent(Path path, byte[] content) {
+
+        try{
+            if(Files.exists(path))
+                return;
+
+            Files.createDirectories(path.getParent());
+
+            Path temporaryPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+
+            try{
+                Files.write(temporaryPath, content);
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                //The same file was written concurrently, its content is the same
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path variantPathOf(String key, ImageVariant variant) {
+        return pathOf(key).resolveSibling(key + "." + variant.getSizeName());
+    }
+
+    private Path pathOf(String key) {
+
+        if(!ImageHashes.isValid(key))
+            throw new IllegalArgumentException("Incorrect image key: " + key);
+
+        return directory.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static String guessMimeType(byte[] image) {
+
+        try{
+            String mimeType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(image));
+
+            if(mimeType != null)
+                return mimeType;
+        } catch (IOException e) {
+            //Unknown content is stored as plain bytes
+        }
+
+        return DEFAULT_MIME_TYPE;
+    }
+}
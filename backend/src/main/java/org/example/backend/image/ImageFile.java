@@ -0,0 +1,4 @@
+package org.example.backend.image;
+
+//Image which is sent to client, variant is null for originally uploaded image
+public record ImageFile(String key, ImageVariant variant, Long size, String mimeType) {}
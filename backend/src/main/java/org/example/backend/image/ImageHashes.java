@@ -0,0 +1,31 @@
+package org.example.backend.image;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+//Images are addressed by SHA-256 of their content, so the same hash always means the same bytes
+//and clients may cache image under its hash forever
+public class ImageHashes {
+
+    private static final Pattern hashPattern = Pattern.compile("^[0-9a-f]{64}$");
+
+    //Returns null for null image, entity validation reports missing image then
+    public static String sha256(byte[] image) {
+
+        if(image == null)
+            return null;
+
+        try{
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean isValid(String hash) {
+        return (hash != null) && (hashPattern.matcher(hash).matches());
+    }
+}
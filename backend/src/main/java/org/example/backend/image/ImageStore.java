@@ -0,0 +1,26 @@
+package org.example.backend.image;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+//Storage of image bytes outside of database, images are addressed by SHA-256 of their content,
+//so saving the same image twice stores it once
+public interface ImageStore {
+
+    StoredImage save(byte[] image);
+
+    byte[] read(String key);
+
+    //Streams image to target without loading it to heap
+    void transferTo(String key, WritableByteChannel target) throws IOException;
+
+    boolean exists(String key);
+
+    //Variants are kept next to image they were made from and are addressed by its key
+    void saveVariant(String key, ImageVariant variant, byte[] image);
+
+    //Returns null when variant wasn't generated yet
+    Long variantSize(String key, ImageVariant variant);
+
+    void transferVariantTo(String key, ImageVariant variant, WritableByteChannel target) throws IOException;
+}
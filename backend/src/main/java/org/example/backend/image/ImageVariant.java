@@ -0,0 +1,37 @@
+package org.example.backend.image;
+
+import java.util.Locale;
+
+//Resized and recompressed copies of uploaded image, longer side of variant is at most maxDimension
+public enum ImageVariant {
+
+    THUMBNAIL(160),
+    CARD(480),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    //Name used in size parameter of /images/{hash}
+    public String getSizeName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    //Returns null when there is no variant with given size name
+    public static ImageVariant fromSizeName(String sizeName) {
+
+        for(ImageVariant variant : values()) {
+            if(variant.getSizeName().equals(sizeName))
+                return variant;
+        }
+
+        return null;
+    }
+}
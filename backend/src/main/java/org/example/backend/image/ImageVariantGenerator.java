@@ -0,0 +1,138 @@
+package org.example.backend.image;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.*;
+
+//Produces every ImageVariant of uploaded image in background, variants are JPEG files.
+//Executor has fixed number of threads and bounded queue, so burst of uploads can't exhaust memory,
+//when queue is full generation is skipped and it is scheduled again when variant is requested
+@Component
+public class ImageVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor executor;
+
+    //Keys waiting in queue or being processed, the same image is never processed twice at once
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ImageVariantGenerator(ImageStore imageStore) {
+        this.imageStore = imageStore;
+        this.executor = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-generator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void generateVariants(String key) {
+
+        if(!pendingKeys.add(key))
+            return;
+
+        try{
+            executor.execute(() -> {
+                try{
+                    generateVariantsNow(key);
+                } finally {
+                    pendingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingKeys.remove(key);
+            logger.warn("Image variant queue is full, variants of image {} are skipped", key);
+        }
+    }
+
+    //Image which can't be decoded has no variants, original image is sent instead
+    void generateVariantsNow(String key) {
+
+        try{
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(imageStore.read(key)));
+
+            if(original == null)
+                return;
+
+            for(ImageVariant variant : ImageVariant.values()) {
+
+                if(imageStore.variantSize(key, variant) == null)
+                    imageStore.saveVariant(key, variant, encodeJpeg(resize(original, variant.getMaxDimension())));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Variants of image {} weren't generated", key, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //Image is never enlarged, only recompressed when it is already small enough
+    private static BufferedImage resize(BufferedImage original, int maxDimension) {
+
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(original.getWidth(), original.getHeight()));
+
+        int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * scale));
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+
+        try{
+            //JPEG has no transparency, transparent pixels become white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return resized;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try(ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return outputStream.toByteArray();
+    }
+}
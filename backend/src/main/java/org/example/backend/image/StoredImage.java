@@ -0,0 +1,4 @@
+package org.example.backend.image;
+
+//Address and metadata of image kept in ImageStore, this is all image entities hold
+public record StoredImage(String key, Long size, String mimeType) {}
@@ -0,0 +1,38 @@
+package org.example.backend.migration;
+
+import org.example.backend.dao.repository.transaction.DailyProductReturnsRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+//Returns saved before daily return rollup was introduced aren't in it, for example
+//--migrate=daily-product-returns-rollup --before-day=2025-03-01
+@Component
+public class DailyProductReturnsRollupMigration extends DailyRollupMigration {
+
+    private final DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository;
+
+    @Autowired
+    public DailyProductReturnsRollupMigration(DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository,
+                                              PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.dailyProductReturnsRollupRepository = dailyProductReturnsRollupRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "daily-product-returns-rollup";
+    }
+
+    @Override
+    LocalDate findFirstDay() {
+        return dailyProductReturnsRollupRepository.findFirstReturnDay();
+    }
+
+    @Override
+    void rebuildDay(LocalDate day) {
+        dailyProductReturnsRollupRepository.rebuildDay(day);
+    }
+}
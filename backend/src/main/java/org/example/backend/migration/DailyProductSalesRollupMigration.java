@@ -0,0 +1,38 @@
+package org.example.backend.migration;
+
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+//Orders placed before daily sales rollup was introduced aren't in it, for example
+//--migrate=daily-product-sales-rollup --before-day=2025-03-01
+@Component
+public class DailyProductSalesRollupMigration extends DailyRollupMigration {
+
+    private final DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+
+    @Autowired
+    public DailyProductSalesRollupMigration(DailyProductSalesRollupRepository dailyProductSalesRollupRepository,
+                                            PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.dailyProductSalesRollupRepository = dailyProductSalesRollupRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "daily-product-sales-rollup";
+    }
+
+    @Override
+    LocalDate findFirstDay() {
+        return dailyProductSalesRollupRepository.findFirstOrderDay();
+    }
+
+    @Override
+    void rebuildDay(LocalDate day) {
+        dailyProductSalesRollupRepository.rebuildDay(day);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.migration;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+//Fills daily rollup from history. Every day before --before-day is rebuilt in its own short transaction,
+//so history rows are locked only one day at a time and never together with rows of running checkouts.
+//Rebuilt day replaces what rollup had for it, so migration can be run again. --before-day must be a day
+//from which every replica added its transactions to rollup, days from it on aren't touched
+abstract class DailyRollupMigration implements Migration {
+
+    private static final String BEFORE_DAY_OPTION = "before-day";
+
+    private final TransactionTemplate transactionTemplate;
+
+    DailyRollupMigration(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments arguments) {
+
+        LocalDate beforeDay = beforeDay(arguments);
+        LocalDate firstDay = findFirstDay();
+
+        if(firstDay == null)
+            return;
+
+        for(LocalDate day = firstDay; day.isBefore(beforeDay); day = day.plusDays(1)) {
+
+            LocalDate rebuiltDay = day;
+
+            transactionTemplate.executeWithoutResult(status -> rebuildDay(rebuiltDay));
+        }
+    }
+
+    //Returns null when there is no history
+    abstract LocalDate findFirstDay();
+
+    abstract void rebuildDay(LocalDate day);
+
+    //Current day can't be rebuilt, transactions are still added to it
+    private LocalDate beforeDay(ApplicationArguments arguments) {
+
+        List<String> values = arguments.getOptionValues(BEFORE_DAY_OPTION);
+
+        if((values == null) || (values.isEmpty()))
+            throw new IllegalArgumentException("Null argument: before-day");
+        else if(values.size() > 1)
+            throw new IllegalArgumentException("Incorrect argument: before-day");
+
+        LocalDate beforeDay;
+
+        try{
+            beforeDay = LocalDate.parse(values.get(0));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Incorrect argument: before-day");
+        }
+
+        if(beforeDay.isAfter(LocalDate.now()))
+            throw new IllegalArgumentException("Incorrect argument: before-day");
+
+        return beforeDay;
+    }
+}
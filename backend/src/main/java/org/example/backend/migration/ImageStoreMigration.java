@@ -0,0 +1,94 @@
+package org.example.backend.migration;
+
+import org.example.backend.dao.repository.StreamingJdbcTemplates;
+import org.example.backend.image.ImageStore;
+import org.example.backend.image.StoredImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+//Images were kept in image column of image tables before ImageStore was introduced, this migration copies them
+//to ImageStore. Rows are streamed, so only one image is in memory at a time, and hashes are committed in batches.
+//Only rows without hash are read, so migration interrupted halfway continues where it stopped, and running it
+//again after the last replica of older version stopped migrates images which that replica saved meanwhile.
+//Image column is left in place for replicas of older version, it is dropped by migration of the next release
+@Component
+public class ImageStoreMigration implements Migration {
+
+    private static final List<String> IMAGE_TABLES = List.of("product_main_image", "product_page_image", "user_image");
+    private static final int FETCH_SIZE = 100;
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageStore imageStore;
+
+    @Autowired
+    public ImageStoreMigration(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                               PlatformTransactionManager transactionManager, ImageStore imageStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = StreamingJdbcTemplates.create(dataSource, FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageStore = imageStore;
+    }
+
+    @Override
+    public String getName() {
+        return "image-store";
+    }
+
+    @Override
+    public void run(ApplicationArguments arguments) {
+        IMAGE_TABLES.forEach(this::migrateTable);
+    }
+
+    private void migrateTable(String table) {
+
+        String legacyColumnNullable = jdbcTemplate.query(
+                "SELECT is_nullable FROM information_schema.columns WHERE LOWER(table_name) = ? " +
+                        "AND LOWER(column_name) = 'image' AND table_schema = SCHEMA()",
+                resultSet -> resultSet.next() ? resultSet.getString(1) : null, table);
+
+        if(legacyColumnNullable == null)
+            return;
+
+        //Entities of this version don't write image column, so their inserts would fail while it is required
+        if("NO".equalsIgnoreCase(legacyColumnNullable))
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY image LONGBLOB NULL");
+
+        List<Object[]> batch = new ArrayList<>();
+
+        //Schema update fills hash column added to existing rows with empty string on MySQL
+        streamingJdbcTemplate.query("SELECT id, image FROM " + table
+                + " WHERE (hash IS NULL OR hash = '') AND image IS NOT NULL", resultSet -> {
+
+            StoredImage storedImage = imageStore.save(resultSet.getBytes("image"));
+
+            batch.add(new Object[]{storedImage.key(), storedImage.size(), storedImage.mimeType(),
+                    resultSet.getObject("id")});
+
+            if(batch.size() == BATCH_SIZE)
+                updateHashes(table, batch);
+        });
+
+        if(!batch.isEmpty())
+            updateHashes(table, batch);
+    }
+
+    //Hashes are written in own transaction on other connection than streamed rows
+    private void updateHashes(String table, List<Object[]> batch) {
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "UPDATE " + table + " SET hash = ?, size = ?, mime_type = ? WHERE id = ?", batch));
+
+        batch.clear();
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.backend.migration;
+
+import org.springframework.boot.ApplicationArguments;
+
+//One-off change of existing data, it is run only when it is named in --migrate option of MigrationRunner.
+//Migration must be safe to run again, for example after it was interrupted
+public interface Migration {
+
+    String getName();
+
+    void run(ApplicationArguments arguments);
+}
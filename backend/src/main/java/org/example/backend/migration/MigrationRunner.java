@@ -0,0 +1,52 @@
+package org.example.backend.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Runs migrations named in --migrate option. Ordinary start of replica runs none of them, so replicas never run
+//the same migration at once. Migration is run by one process started only for it, for example
+//java -jar backend.jar --spring.main.web-application-type=none --migrate=image-store
+@Component
+public class MigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private static final String MIGRATE_OPTION = "migrate";
+
+    private final Map<String, Migration> migrationsByName = new HashMap<>();
+
+    @Autowired
+    public MigrationRunner(List<Migration> migrations) {
+        migrations.forEach(migration -> migrationsByName.put(migration.getName(), migration));
+    }
+
+    @Override
+    public void run(ApplicationArguments arguments) {
+
+        if(!arguments.containsOption(MIGRATE_OPTION))
+            return;
+
+        List<String> names = arguments.getOptionValues(MIGRATE_OPTION);
+
+        //Every name is checked first, so misspelled name doesn't leave migrations before it done and the rest not
+        for(String name : names) {
+            if(!migrationsByName.containsKey(name))
+                throw new IllegalArgumentException("Incorrect argument: migrate");
+        }
+
+        for(String name : names) {
+
+            logger.info("Migration " + name + " started");
+            migrationsByName.get(name).run(arguments);
+            logger.info("Migration " + name + " finished");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enumerated.OrderIntentStatus;
+
+import java.util.UUID;
+
+//State of order accepted by order intake, order transaction id is set when order is placed
+//and rejection reason when it is refused
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderIntentModel {
+
+    private UUID id;
+    private OrderIntentStatus status;
+    private UUID orderTransactionId;
+    private String rejectionReason;
+}
@@ -7,7 +7,9 @@ import org.example.backend.enumerated.TransactionStatus;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Data
 @NoArgsConstructor
@@ -26,6 +28,17 @@ public class OrderTransactionModel {
     private ArrayList<OrderedProductModel> orderedProducts;
 
     public static OrderTransactionModel fromOrderTransaction(OrderTransaction orderTransaction){
+        return fromOrderTransaction(orderTransaction, ProductModel::fromProduct);
+    }
+
+    //Products are taken from productModelsById by id, so not loaded product references stay not loaded
+    public static OrderTransactionModel fromOrderTransaction(OrderTransaction orderTransaction,
+                                                             Map<UUID, ProductModel> productModelsById){
+        return fromOrderTransaction(orderTransaction, product -> productModelsById.get(product.getId()));
+    }
+
+    private static OrderTransactionModel fromOrderTransaction(OrderTransaction orderTransaction,
+                                                              Function<Product, ProductModel> productMapper){
 
         OrderTransactionModel orderTransactionReturnModel = OrderTransactionModel
                 .builder()
@@ -50,11 +63,7 @@ public class OrderTransactionModel {
 
             Product product = orderedProduct.getProduct();
 
-            ProductModel productModel = new ProductModel(product.getEANCode(), product.getName(),
-                    product.getType(), product.getDescription(), product.getHeight(), product.getWidth(),
-                    product.getRegularPrice(), product.getCurrentPrice(), product.getMainImage().getImage());
-
-            orderedProductModels.add(new OrderedProductModel(orderedProduct.getId(), productModel,
+            orderedProductModels.add(new OrderedProductModel(orderedProduct.getId(), productMapper.apply(product),
                     orderedProduct.getQuantity()));
         });
 
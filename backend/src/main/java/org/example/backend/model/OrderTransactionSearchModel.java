@@ -2,9 +2,11 @@ package org.example.backend.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.example.backend.enumerated.TransactionStatus;
 
 import java.util.Date;
 
+//Every field is optional, null field means that criterion is not used
 @Getter
 @AllArgsConstructor
 public class OrderTransactionSearchModel {
@@ -14,4 +16,7 @@ public class OrderTransactionSearchModel {
     private String paymentMethodName;
     private String deliveryProviderName;
     private String userEmail;
+    private TransactionStatus status;
+    private Double minimalCost;
+    private Double maximalCost;
 }
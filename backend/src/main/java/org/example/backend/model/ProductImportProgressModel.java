@@ -0,0 +1,21 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//Progress of product import sent after every chunk, counts are totals since import started
+//and rejections are only rows of the last chunk, so client has to collect them
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportProgressModel {
+
+    private Long processedRows;
+    private Long importedProducts;
+    private Long rejectedRows;
+    private List<ProductImportRejectionModel> rejections;
+    private boolean finished;
+}
@@ -0,0 +1,16 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Row of import file which wasn't imported, rows are numbered from 1 without header
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportRejectionModel {
+
+    private Long row;
+    private String EANCode;
+    private String reason;
+}
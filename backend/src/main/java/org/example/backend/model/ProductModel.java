@@ -1,5 +1,6 @@
 package org.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,7 +23,10 @@ public class ProductModel {
     private Integer width;
     private Double regularPrice;
     private Double currentPrice;
+    //Only accepted in requests, responses carry mainImageHash and image is loaded from /images/{hash}
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] mainImage;
+    private String mainImageHash;
 
     @Override
     public boolean equals(Object o) {
@@ -34,6 +38,6 @@ public class ProductModel {
 
         return new ProductModel(product.getEANCode(), product.getName(),
                 product.getType(), product.getDescription(), product.getHeight(), product.getWidth(),
-                product.getRegularPrice(), product.getCurrentPrice(), product.getMainImage().getImage());
+                product.getRegularPrice(), product.getCurrentPrice(), null, product.getMainImage().getHash());
     }
 }
@@ -12,14 +12,15 @@ import java.util.List;
 public class ProductModelAndPageImages {
 
     private ProductModel product;
-    private List<byte[]> images;
+    //Images are loaded from /images/{hash}
+    private List<String> imageHashes;
 
-    public static List<byte[]> imagesFromPageImages(List<ProductPageImage> pageImages){
+    public static List<String> imageHashesFromPageImages(List<ProductPageImage> pageImages){
 
-        ArrayList<byte[]> images = new ArrayList<>();
+        ArrayList<String> imageHashes = new ArrayList<>();
 
-        pageImages.forEach(page -> images.add(page.getImage()));
+        pageImages.forEach(page -> imageHashes.add(page.getHash()));
 
-        return images;
+        return imageHashes;
     }
 }
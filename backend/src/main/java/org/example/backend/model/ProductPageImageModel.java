@@ -11,9 +11,10 @@ import java.util.UUID;
 public class ProductPageImageModel {
 
     private UUID id;
-    private byte[] image;
+    //Image is loaded from /images/{hash}
+    private String hash;
 
     public static ProductPageImageModel fromProductPageImage(ProductPageImage productPageImage) {
-        return new ProductPageImageModel(productPageImage.getId(), productPageImage.getImage());
+        return new ProductPageImageModel(productPageImage.getId(), productPageImage.getHash());
     }
 }
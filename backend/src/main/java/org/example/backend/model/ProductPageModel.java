@@ -0,0 +1,17 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPageModel {
+
+    private List<ProductModel> products;
+    //Cursor for loading next page, null when there is no next page
+    private String nextCursor;
+}
@@ -3,8 +3,6 @@ package org.example.backend.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.List;
-
 @Getter
 @AllArgsConstructor
 public class ProductSearchModel {
@@ -13,5 +11,6 @@ public class ProductSearchModel {
     private String type;
     private Double minPrice;
     private Double maxPrice;
-    private List<String> eanCodesOfProductsPreviouslyLoaded;
+    //Opaque cursor returned as nextCursor with previous page, null for the first page
+    private String cursor;
 }
@@ -0,0 +1,15 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Lightweight result of search-as-you-type, full product is loaded only after suggestion is chosen
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestionModel {
+
+    private String name;
+    private String EANCode;
+}
@@ -0,0 +1,18 @@
+package org.example.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enumerated.StockAdjustmentStatus;
+
+//Outcome of one line of stock adjustment request, lines are numbered from 1
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAdjustmentResultModel {
+
+    private Long line;
+    private String EANCode;
+    private Long delta;
+    private StockAdjustmentStatus status;
+}
@@ -0,0 +1,94 @@
+package org.example.backend.orderintake;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dao.service.OrderIntakeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Drains order_intent with fixed number of threads, every thread places one micro-batch at a time.
+//Thread which got full batch takes the next one at once, otherwise it waits for poll interval
+@Component
+@ConditionalOnProperty(name = "order-intake.enabled", havingValue = "true")
+public class OrderIntakeWorker implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeWorker.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OrderIntakeService orderIntakeService;
+    private final int workers;
+    private final int batchSize;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    @Autowired
+    public OrderIntakeWorker(OrderIntakeService orderIntakeService,
+                             @Value("${order-intake.workers:2}") int workers,
+                             @Value("${order-intake.batch-size:50}") int batchSize) {
+
+        if(workers <= 0)
+            throw new IllegalArgumentException("Incorrect argument: workers");
+        else if(batchSize <= 0)
+            throw new IllegalArgumentException("Incorrect argument: batchSize");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.orderIntakeService = orderIntakeService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.executor = Executors.newScheduledThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "order-intake-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //Workers start when application is ready, context can be refreshed more than once
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        if(started.compareAndSet(false, true)) {
+            for(int i = 0; i < workers; i++)
+                executor.scheduleWithFixedDelay(this::drainSafely, POLL_INTERVAL.toMillis(), POLL_INTERVAL.toMillis(),
+                        TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //Batches being placed are finished, intents claimed by interrupted worker are claimed again after timeout
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+
+        executor.shutdown();
+
+        if(!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS))
+            executor.shutdownNow();
+    }
+
+    void drain() {
+        while(orderIntakeService.processOrderIntents(batchSize) == batchSize);
+    }
+
+    //Failed drain is repeated with the next poll, exception would stop scheduled draining
+    private void drainSafely() {
+
+        try{
+            drain();
+        } catch (RuntimeException e) {
+            logger.warn("Order intents weren't processed", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.backend.pagination;
+
+import org.example.backend.exception.global.BadArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+//Encodes and decodes opaque cursors used for keyset pagination,
+//client should only pass back cursor it received as nextCursor
+public class CursorCodec {
+
+    public static String encodeEanCode(String eanCode) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(eanCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Returns empty string for null or blank cursor, which means first page
+    public static String decodeEanCode(String cursor) {
+
+        if((cursor == null) || (cursor.trim().isEmpty()))
+            return "";
+
+        try{
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadArgumentException("Incorrect argument: cursor");
+        }
+    }
+
+    public static String encodeDateAndId(Date date, UUID id) {
+
+        String value = date.getTime() + ":" + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Returns DateAndIdCursor.FIRST_PAGE for null or blank cursor
+    public static DateAndIdCursor decodeDateAndId(String cursor) {
+
+        if((cursor == null) || (cursor.trim().isEmpty()))
+            return DateAndIdCursor.FIRST_PAGE;
+
+        try{
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(':');
+
+            return new DateAndIdCursor(new Date(Long.parseLong(value.substring(0, separatorIndex))),
+                    UUID.fromString(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadArgumentException("Incorrect argument: cursor");
+        }
+    }
+
+    //Cursor for in-memory result lists which are paged by position of first element of next page
+    public static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Returns 0 for null or blank cursor, which means first page
+    public static int decodeOffset(String cursor) {
+
+        if((cursor == null) || (cursor.trim().isEmpty()))
+            return 0;
+
+        int offset;
+
+        try{
+            offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadArgumentException("Incorrect argument: cursor");
+        }
+
+        if(offset < 0)
+            throw new BadArgumentException("Incorrect argument: cursor");
+
+        return offset;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.backend.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+//Position in list of transactions ordered by date and id descending, next page starts right after it
+@Getter
+@AllArgsConstructor
+public class DateAndIdCursor {
+
+    //Every transaction is older than this date, so id is never compared on the first page
+    public static final DateAndIdCursor FIRST_PAGE =
+            new DateAndIdCursor(Date.from(Instant.parse("9999-01-01T00:00:00Z")), new UUID(0L, 0L));
+
+    private Date date;
+    private UUID id;
+}
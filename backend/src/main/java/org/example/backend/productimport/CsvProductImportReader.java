@@ -0,0 +1,107 @@
+package org.example.backend.productimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Columns are matched by names in header, so their order doesn't matter. Quoted values can contain commas,
+//quotes written twice and line breaks (RFC 4180), empty lines are skipped
+class CsvProductImportReader implements ProductImportReader {
+
+    private final Reader reader;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    CsvProductImportReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        List<String> header = readRecord();
+
+        if(header != null) {
+            for(int i = 0; i < header.size(); i++)
+                columnIndexes.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+    }
+
+    @Override
+    public ProductImportRow read() throws IOException {
+
+        List<String> values = readRecord();
+
+        while((values != null) && (values.size() == 1) && values.get(0).isEmpty())
+            values = readRecord();
+
+        if(values == null)
+            return null;
+
+        return new ProductImportRow(value(values, "EANCode"), value(values, "name"), value(values, "type"),
+                value(values, "description"), value(values, "height"), value(values, "width"),
+                value(values, "regularPrice"), value(values, "currentPrice"), value(values, "stock"),
+                value(values, "mainImage"));
+    }
+
+    //Returns null when column isn't in header or row is shorter than header
+    private String value(List<String> values, String column) {
+
+        Integer index = columnIndexes.get(column);
+
+        if((index == null) || (index >= values.size()))
+            return null;
+
+        return values.get(index);
+    }
+
+    //Returns null at the end of file
+    private List<String> readRecord() throws IOException {
+
+        int sign = reader.read();
+
+        if(sign == -1)
+            return null;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        while(sign != -1) {
+
+            if(quoted) {
+                if(sign == '"') {
+                    sign = reader.read();
+
+                    if(sign == '"')
+                        value.append('"');
+                    else {
+                        //Quote ended value, sign after it is read as unquoted one
+                        quoted = false;
+                        continue;
+                    }
+                }
+                else
+                    value.append((char) sign);
+            }
+            else if(sign == '"')
+                quoted = true;
+            else if(sign == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            }
+            else if(sign == '\n')
+                break;
+            else if(sign != '\r')
+                value.append((char) sign);
+
+            sign = reader.read();
+        }
+
+        values.add(value.toString());
+
+        return values;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.backend.productimport;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+//Unknown fields are skipped, numbers are read as text like in CSV file
+class NdjsonProductImportReader implements ProductImportReader {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final MappingIterator<ProductImportRow> rows;
+
+    NdjsonProductImportReader(InputStream inputStream) throws IOException {
+        this.rows = OBJECT_MAPPER.readerFor(ProductImportRow.class).readValues(inputStream);
+    }
+
+    @Override
+    public ProductImportRow read() throws IOException {
+        return rows.hasNextValue() ? rows.nextValue() : null;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.backend.productimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+//Zip archive with main images of imported products, images are read by file name only when their row is imported,
+//so archive is never loaded to memory as a whole
+public class ProductImageArchive implements Closeable {
+
+    private final ZipFile zipFile;
+
+    public ProductImageArchive(Path path) throws IOException {
+        this.zipFile = new ZipFile(path.toFile());
+    }
+
+    //Returns null when there is no image with given file name
+    public byte[] read(String fileName) throws IOException {
+
+        if(fileName == null)
+            return null;
+
+        ZipEntry entry = zipFile.getEntry(fileName);
+
+        if((entry == null) || entry.isDirectory())
+            return null;
+
+        try(InputStream inputStream = zipFile.getInputStream(entry)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+}
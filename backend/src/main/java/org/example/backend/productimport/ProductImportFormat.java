@@ -0,0 +1,37 @@
+package org.example.backend.productimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+//Formats of product import files, CSV file has header with names of ProductImportRow fields,
+//NDJSON file has one object with these fields per line
+public enum ProductImportFormat {
+
+    CSV,
+    NDJSON;
+
+    //Name used in format parameter of import endpoint
+    public String getFormatName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public ProductImportReader createReader(InputStream inputStream) throws IOException {
+
+        if(this == CSV)
+            return new CsvProductImportReader(inputStream);
+        else
+            return new NdjsonProductImportReader(inputStream);
+    }
+
+    //Returns null when there is no format with given name
+    public static ProductImportFormat fromFormatName(String formatName) {
+
+        for(ProductImportFormat format : values()) {
+            if(format.getFormatName().equals(formatName))
+                return format;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.backend.productimport;
+
+import java.io.IOException;
+
+//Reads rows of import file one by one, so file of any size needs the same memory
+public interface ProductImportReader {
+
+    //Returns null when there are no more rows
+    ProductImportRow read() throws IOException;
+}
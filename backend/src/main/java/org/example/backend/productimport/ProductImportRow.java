@@ -0,0 +1,7 @@
+package org.example.backend.productimport;
+
+//One product of import file, values are kept as they were written in file and are checked by ProductImportService,
+//so bad value rejects only its row. mainImage is file name of image in image archive
+public record ProductImportRow(String EANCode, String name, String type, String description, String height,
+                               String width, String regularPrice, String currentPrice, String stock,
+                               String mainImage) {}
@@ -0,0 +1,29 @@
+package org.example.backend.search;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+//Part of product kept in ProductSearchIndex, texts are lowercased once when product is indexed
+@Getter
+public class IndexedProduct {
+
+    private final String eanCode;
+    private final String name;
+    private final String type;
+    private final Double currentPrice;
+    private final String lowerCaseName;
+    private final String lowerCaseType;
+    private final String lowerCaseDescription;
+
+    //This constructor is also used by JPQL constructor expression in ProductRepository
+    public IndexedProduct(String eanCode, String name, String type, String description, Double currentPrice) {
+        this.eanCode = eanCode;
+        this.name = name;
+        this.type = type;
+        this.currentPrice = currentPrice;
+        this.lowerCaseName = name.toLowerCase(Locale.ROOT);
+        this.lowerCaseType = type.toLowerCase(Locale.ROOT);
+        this.lowerCaseDescription = description.toLowerCase(Locale.ROOT);
+    }
+}
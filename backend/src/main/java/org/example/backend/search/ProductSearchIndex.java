@@ -0,0 +1,247 @@
+package org.example.backend.search;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationListener;
+import org.example.backend.cache.CacheInvalidationType;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//In-memory inverted index of trigrams of product name, type and description.
+//It is built once on application start and then kept up to date by product invalidations of CacheInvalidationBus,
+//which come from every replica, so text search of products never scans product table
+@Component
+public class ProductSearchIndex implements ApplicationListener<ApplicationReadyEvent>,
+        CacheInvalidationListener {
+
+    private static final int GRAM_LENGTH = 3;
+
+    //Weights of fields used for ranking, match in name is the most relevant
+    private static final int NAME_MATCH_SCORE = 4;
+    private static final int NAME_WORD_START_SCORE = 2;
+    private static final int TYPE_MATCH_SCORE = 2;
+    private static final int DESCRIPTION_MATCH_SCORE = 1;
+
+    private final ProductRepository productRepository;
+
+    private final Map<String, IndexedProduct> productsByEanCode = new HashMap<>();
+    private final Map<String, Set<String>> eanCodesByGram = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StaleProducts staleProducts;
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        this.staleProducts = new StaleProducts(productRepository);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        rebuild(productRepository.findAllIndexedProducts());
+    }
+
+    public void rebuild(List<IndexedProduct> products) {
+
+        lock.writeLock().lock();
+
+        try{
+            productsByEanCode.clear();
+            eanCodesByGram.clear();
+            products.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Product changed on any replica is read again before the next lookup
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+
+        if(invalidation.type() == CacheInvalidationType.PRODUCT)
+            staleProducts.add(invalidation.key());
+    }
+
+    //Returns ean codes of products which contain every word of phrase in name, type or description,
+    //best matches go first and products with equal score are ordered by ean code.
+    //Null type, minimalPrice or maximalPrice means that criterion is not used
+    public List<String> search(String phrase, String type, Double minimalPrice, Double maximalPrice) {
+
+        List<String> words = splitToWords(phrase);
+
+        refreshStaleProducts();
+
+        lock.readLock().lock();
+
+        try{
+            Collection<String> candidates = findCandidates(words);
+
+            List<ScoredEanCode> hits = new ArrayList<>();
+
+            for(String eanCode : candidates) {
+
+                IndexedProduct product = productsByEanCode.get(eanCode);
+
+                if((type != null) && (!type.equals(product.getType())))
+                    continue;
+                else if((minimalPrice != null) && (product.getCurrentPrice() < minimalPrice))
+                    continue;
+                else if((maximalPrice != null) && (product.getCurrentPrice() > maximalPrice))
+                    continue;
+
+                int score = score(product, words);
+
+                if(score > 0)
+                    hits.add(new ScoredEanCode(eanCode, score));
+            }
+
+            hits.sort(Comparator.comparingInt(ScoredEanCode::score).reversed()
+                    .thenComparing(ScoredEanCode::eanCode));
+
+            return hits.stream().map(ScoredEanCode::eanCode).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<String> findCandidates(List<String> words) {
+
+        Set<String> candidates = null;
+
+        for(String word : words) {
+
+            //Words shorter than gram can't be looked up, they are checked while scoring
+            if(word.length() < GRAM_LENGTH)
+                continue;
+
+            for(String gram : grams(word)) {
+
+                Set<String> eanCodes = eanCodesByGram.getOrDefault(gram, Set.of());
+
+                if(candidates == null)
+                    candidates = new HashSet<>(eanCodes);
+                else
+                    candidates.retainAll(eanCodes);
+
+                if(candidates.isEmpty())
+                    return candidates;
+            }
+        }
+
+        return candidates == null ? productsByEanCode.keySet() : candidates;
+    }
+
+    //Returns 0 when at least one word is not contained in any field
+    private int score(IndexedProduct product, List<String> words) {
+
+        int score = 0;
+
+        for(String word : words) {
+
+            int wordScore = 0;
+
+            String name = product.getLowerCaseName();
+            int indexInName = name.indexOf(word);
+
+            if(indexInName >= 0) {
+                wordScore += NAME_MATCH_SCORE;
+
+                if((indexInName == 0) || (!Character.isLetterOrDigit(name.charAt(indexInName - 1))))
+                    wordScore += NAME_WORD_START_SCORE;
+            }
+            if(product.getLowerCaseType().contains(word))
+                wordScore += TYPE_MATCH_SCORE;
+            if(product.getLowerCaseDescription().contains(word))
+                wordScore += DESCRIPTION_MATCH_SCORE;
+
+            if(wordScore == 0)
+                return 0;
+
+            score += wordScore;
+        }
+
+        return score;
+    }
+
+    private void refreshStaleProducts() {
+
+        staleProducts.reload(products -> {
+
+            lock.writeLock().lock();
+
+            try{
+                products.forEach((eanCode, product) -> {
+                    remove(eanCode);
+
+                    if(product != null)
+                        put(product);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(IndexedProduct product) {
+
+        productsByEanCode.put(product.getEanCode(), product);
+
+        productGrams(product).forEach(gram -> {
+            eanCodesByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(product.getEanCode());
+        });
+    }
+
+    private void remove(String eanCode) {
+
+        IndexedProduct product = productsByEanCode.remove(eanCode);
+
+        if(product == null)
+            return;
+
+        productGrams(product).forEach(gram -> {
+
+            Set<String> eanCodes = eanCodesByGram.get(gram);
+
+            if(eanCodes != null) {
+                eanCodes.remove(eanCode);
+
+                if(eanCodes.isEmpty())
+                    eanCodesByGram.remove(gram);
+            }
+        });
+    }
+
+    private Set<String> productGrams(IndexedProduct product) {
+
+        Set<String> grams = new HashSet<>();
+
+        grams.addAll(grams(product.getLowerCaseName()));
+        grams.addAll(grams(product.getLowerCaseType()));
+        grams.addAll(grams(product.getLowerCaseDescription()));
+
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+
+        Set<String> grams = new HashSet<>();
+
+        for(int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+
+        return grams;
+    }
+
+    private static List<String> splitToWords(String phrase) {
+        return Arrays.stream(phrase.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private record ScoredEanCode(String eanCode, int score) {}
+}
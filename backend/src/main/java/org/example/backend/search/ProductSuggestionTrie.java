@@ -0,0 +1,203 @@
+package org.example.backend.search;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationListener;
+import org.example.backend.cache.CacheInvalidationType;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.model.ProductSuggestionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//In-memory prefix tree of lowercased product names, words of names and types used for search-as-you-type.
+//It is built once on application start and then kept up to date like ProductSearchIndex
+@Component
+public class ProductSuggestionTrie implements ApplicationListener<ApplicationReadyEvent>,
+        CacheInvalidationListener {
+
+    private final ProductRepository productRepository;
+
+    private final Map<String, IndexedProduct> productsByEanCode = new HashMap<>();
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StaleProducts staleProducts;
+
+    @Autowired
+    public ProductSuggestionTrie(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        this.staleProducts = new StaleProducts(productRepository);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        rebuild(productRepository.findAllIndexedProducts());
+    }
+
+    public void rebuild(List<IndexedProduct> products) {
+
+        lock.writeLock().lock();
+
+        try{
+            productsByEanCode.clear();
+            root.children.clear();
+            root.eanCodes.clear();
+            products.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Product changed on any replica is read again before the next lookup
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+
+        if(invalidation.type() == CacheInvalidationType.PRODUCT)
+            staleProducts.add(invalidation.key());
+    }
+
+    //Returns at most limit products which name, word of name or type starts with prefix.
+    //Shorter completions go first, completions of equal length are ordered alphabetically
+    public List<ProductSuggestionModel> suggest(String prefix, int limit) {
+
+        String key = prefix.toLowerCase(Locale.ROOT).trim();
+
+        refreshStaleProducts();
+
+        lock.readLock().lock();
+
+        try{
+            Node node = root;
+
+            for(int i = 0; (node != null) && (i < key.length()); i++)
+                node = node.children.get(key.charAt(i));
+
+            if(node == null)
+                return new ArrayList<>();
+
+            Set<String> eanCodes = new LinkedHashSet<>();
+
+            //Breadth first walk, so products reachable with shorter completion are found first
+            Deque<Node> nodes = new ArrayDeque<>();
+            nodes.add(node);
+
+            while((!nodes.isEmpty()) && (eanCodes.size() < limit)) {
+
+                Node current = nodes.poll();
+
+                for(String eanCode : current.eanCodes) {
+
+                    eanCodes.add(eanCode);
+
+                    if(eanCodes.size() == limit)
+                        break;
+                }
+
+                nodes.addAll(current.children.values());
+            }
+
+            List<ProductSuggestionModel> suggestions = new ArrayList<>();
+
+            eanCodes.forEach(eanCode -> {
+                suggestions.add(new ProductSuggestionModel(productsByEanCode.get(eanCode).getName(), eanCode));
+            });
+
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshStaleProducts() {
+
+        staleProducts.reload(products -> {
+
+            lock.writeLock().lock();
+
+            try{
+                products.forEach((eanCode, product) -> {
+                    remove(eanCode);
+
+                    if(product != null)
+                        put(product);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(IndexedProduct product) {
+
+        productsByEanCode.put(product.getEanCode(), product);
+
+        keys(product).forEach(key -> {
+
+            Node node = root;
+
+            for(int i = 0; i < key.length(); i++)
+                node = node.children.computeIfAbsent(key.charAt(i), character -> new Node());
+
+            node.eanCodes.add(product.getEanCode());
+        });
+    }
+
+    private void remove(String eanCode) {
+
+        IndexedProduct product = productsByEanCode.remove(eanCode);
+
+        if(product == null)
+            return;
+
+        keys(product).forEach(key -> remove(root, key, 0, eanCode));
+    }
+
+    //Returns true when node became empty and can be detached from its parent
+    private boolean remove(Node node, String key, int depth, String eanCode) {
+
+        if(depth == key.length()) {
+            node.eanCodes.remove(eanCode);
+        }
+        else {
+            Node child = node.children.get(key.charAt(depth));
+
+            if((child != null) && (remove(child, key, depth + 1, eanCode)))
+                node.children.remove(key.charAt(depth));
+        }
+
+        return node.eanCodes.isEmpty() && node.children.isEmpty();
+    }
+
+    //Whole name, every word of name to the end of name and type,
+    //so "mouse" suggests "Wireless mouse" as well as "Mouse pad"
+    private static Set<String> keys(IndexedProduct product) {
+
+        Set<String> keys = new HashSet<>();
+
+        String name = product.getLowerCaseName();
+
+        for(int i = 0; i < name.length(); i++) {
+
+            boolean wordStart = (i == 0)
+                    || (Character.isWhitespace(name.charAt(i - 1)) && (!Character.isWhitespace(name.charAt(i))));
+
+            if(wordStart)
+                keys.add(name.substring(i));
+        }
+
+        keys.add(product.getLowerCaseType());
+
+        return keys;
+    }
+
+    private static class Node {
+
+        //Children are kept sorted, so nodes on the same depth are visited alphabetically
+        private final Map<Character, Node> children = new TreeMap<>();
+        private final Set<String> eanCodes = new TreeSet<>();
+    }
+}
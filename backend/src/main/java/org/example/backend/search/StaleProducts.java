@@ -0,0 +1,63 @@
+package org.example.backend.search;
+
+import org.example.backend.dao.repository.product.ProductRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+//Ean codes of products changed on any replica since they were indexed. They are read again before the next
+//lookup, with one query per chunk, so import of many products doesn't read them one by one
+class StaleProducts {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final Set<String> eanCodes = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    StaleProducts(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    void add(String eanCode) {
+        eanCodes.add(eanCode);
+    }
+
+    //Gives current state of stale products to consumer, product which no longer exists is given as null.
+    //Reloads don't overlap, so older state of product is never given after newer one
+    void reload(Consumer<Map<String, IndexedProduct>> consumer) {
+
+        if(eanCodes.isEmpty())
+            return;
+
+        reloadLock.lock();
+
+        try{
+            //Ean code added again after this is read again by the next reload
+            List<String> takenEanCodes = new ArrayList<>(eanCodes);
+            eanCodes.removeAll(takenEanCodes);
+
+            Map<String, IndexedProduct> products = new HashMap<>();
+
+            try{
+                for(int i = 0; i < takenEanCodes.size(); i += CHUNK_SIZE) {
+
+                    List<String> chunk = takenEanCodes.subList(i, Math.min(i + CHUNK_SIZE, takenEanCodes.size()));
+
+                    chunk.forEach(eanCode -> products.put(eanCode, null));
+                    productRepository.findIndexedProductsByEANCodes(chunk)
+                            .forEach(product -> products.put(product.getEanCode(), product));
+                }
+            } catch (RuntimeException e) {
+                eanCodes.addAll(takenEanCodes);
+                throw e;
+            }
+
+            consumer.accept(products);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.statusevent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Bounded buffer of one subscriber. Full buffer drops its oldest element, so publisher never waits for slow
+//subscriber and subscriber gets the newest state. Number of dropped elements is kept until it is taken
+class DropOldestBuffer<T> {
+
+    private final int capacity;
+    private final ArrayDeque<T> elements;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long dropped;
+
+    DropOldestBuffer(int capacity) {
+
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Incorrect argument: capacity");
+
+        this.capacity = capacity;
+        this.elements = new ArrayDeque<>(capacity);
+    }
+
+    void add(T element) {
+
+        lock.lock();
+
+        try{
+            if(elements.size() == capacity) {
+                elements.pollFirst();
+                dropped++;
+            }
+
+            elements.addLast(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Takes every buffered element together with number of elements dropped since last take
+    Taken<T> takeAll() {
+
+        lock.lock();
+
+        try{
+            Taken<T> taken = new Taken<>(new ArrayList<>(elements), dropped);
+            elements.clear();
+            dropped = 0;
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+
+        lock.lock();
+
+        try{
+            return elements.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record Taken<T>(List<T> elements, long dropped) {
+
+        boolean isEmpty() {
+            return elements.isEmpty() && (dropped == 0);
+        }
+    }
+}
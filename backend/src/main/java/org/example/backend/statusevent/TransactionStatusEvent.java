@@ -0,0 +1,17 @@
+package org.example.backend.statusevent;
+
+import org.example.backend.enumerated.TransactionEventType;
+import org.example.backend.enumerated.TransactionStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+//Order or return transaction which was created or got new status. Event holds only id and status,
+//dashboard loads the rest of transaction when it needs it
+public record TransactionStatusEvent(TransactionEventType type, UUID transactionId, TransactionStatus status,
+                                     Instant occurredAt) {
+
+    public static TransactionStatusEvent of(TransactionEventType type, UUID transactionId, TransactionStatus status) {
+        return new TransactionStatusEvent(type, transactionId, status, Instant.now());
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.backend.statusevent;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.exception.transaction.TooManySubscribersException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//In-process hub of transaction status events, every subscriber gets them as server-sent events.
+//Publisher only puts event into bounded buffer of every subscriber, events are written by sender threads,
+//so slow dashboard never holds transaction which published event. Subscriber which can't keep up loses
+//its oldest events and gets "dropped" event with their number, then it should reload what it shows.
+//Every subscriber gets heartbeat comment periodically, so disconnected one is found and removed even
+//when no events are published.
+//Servlet write blocks while TCP buffer of client is full, so every subscriber which is written to holds
+//its own sender thread. Sender threads above sender-threads are started only for such writes and stop
+//when idle. Subscriber whose write takes longer than write-timeout is removed and its stream is completed
+//with error, its slot and buffer are freed at once, its thread is freed when servlet container fails
+//the write
+@Component
+public class TransactionStatusEventHub {
+
+    private static final String DROPPED_EVENT_NAME = "dropped";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+    private static final Duration IDLE_SENDER_TIMEOUT = Duration.ofMinutes(1);
+
+    private final int maximalSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration writeTimeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore subscriberSlots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public TransactionStatusEventHub(@Value("${transaction-status-events.max-subscribers:100}") int maximalSubscribers,
+                                     @Value("${transaction-status-events.buffer-size:256}") int bufferSize,
+                                     @Value("${transaction-status-events.timeout:30m}") Duration timeout,
+                                     @Value("${transaction-status-events.sender-threads:2}") int senderThreads,
+                                     @Value("${transaction-status-events.heartbeat:15s}") Duration heartbeat,
+                                     @Value("${transaction-status-events.write-timeout:10s}") Duration writeTimeout) {
+
+        if(maximalSubscribers <= 0)
+            throw new IllegalArgumentException("Incorrect argument: maximalSubscribers");
+        else if(bufferSize <= 0)
+            throw new IllegalArgumentException("Incorrect argument: bufferSize");
+        else if((timeout == null) || (timeout.isNegative()))
+            throw new IllegalArgumentException("Incorrect argument: timeout");
+        else if(senderThreads <= 0)
+            throw new IllegalArgumentException("Incorrect argument: senderThreads");
+        else if((heartbeat == null) || (heartbeat.isNegative()) || (heartbeat.isZero()))
+            throw new IllegalArgumentException("Incorrect argument: heartbeat");
+        else if((writeTimeout == null) || (writeTimeout.isNegative()) || (writeTimeout.isZero()))
+            throw new IllegalArgumentException("Incorrect argument: writeTimeout");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.maximalSubscribers = maximalSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.writeTimeout = writeTimeout;
+        this.subscriberSlots = new Semaphore(maximalSubscribers);
+        //Every subscriber is written to by at most one task, so there are never more tasks than subscribers
+        this.sender = new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, maximalSubscribers),
+                IDLE_SENDER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "transaction-status-event-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-status-event-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::scheduleHeartbeats, heartbeat.toMillis(),
+                heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleAtFixedRate(this::removeStalledSubscribers, writeTimeout.toMillis(),
+                writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    //Subscriber is removed when its stream completes, times out or fails, dashboard then subscribes again.
+    //Slot is taken before subscriber is added, so concurrent subscriptions never exceed the limit
+    public SseEmitter subscribe() {
+
+        if(!subscriberSlots.tryAcquire())
+            throw new TooManySubscribersException(
+                    "Transaction status stream already has " + maximalSubscribers + " subscribers");
+
+        SseEmitter emitter = createEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter, new DropOldestBuffer<>(bufferSize), new AtomicBoolean(),
+                new AtomicBoolean(), new AtomicBoolean(), new AtomicLong());
+
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(subscriber));
+
+        return emitter;
+    }
+
+    //Event published in transaction is delivered after commit, so dashboard never shows status
+    //which was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(TransactionStatusEvent event) {
+
+        SequencedEvent sequencedEvent = new SequencedEvent(sequence.incrementAndGet(), event);
+
+        subscribers.forEach(subscriber -> {
+            subscriber.buffer().add(sequencedEvent);
+            scheduleSending(subscriber);
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    //Tests replace emitter by one which blocks like write to client which doesn't read
+    SseEmitter createEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    //Completion, timeout and error may all be reported for the same stream, its slot is released only once
+    private void remove(Subscriber subscriber) {
+
+        if(subscriber.removed().compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriberSlots.release();
+        }
+    }
+
+    private void scheduleHeartbeats() {
+
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue().set(true);
+            scheduleSending(subscriber);
+        });
+    }
+
+    //Stream of stalled subscriber is completed from scheduler thread, completion doesn't wait for
+    //write which holds emitter
+    private void removeStalledSubscribers() {
+
+        long now = System.nanoTime();
+
+        subscribers.forEach(subscriber -> {
+
+            long writeStartedAt = subscriber.writeStartedAt().get();
+
+            if((writeStartedAt != 0) && (now - writeStartedAt > writeTimeout.toNanos())) {
+                remove(subscriber);
+                subscriber.emitter().completeWithError(
+                        new IOException("Write to subscriber took longer than " + writeTimeout));
+            }
+        });
+    }
+
+    private void scheduleSending(Subscriber subscriber) {
+
+        if(subscriber.sending().compareAndSet(false, true)) {
+            try{
+                sender.execute(() -> send(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.sending().set(false);
+            }
+        }
+    }
+
+    //Only one sender thread writes to subscriber at a time, events and heartbeats which come while it writes
+    //are written by the same thread before it leaves subscriber
+    private void send(Subscriber subscriber) {
+
+        while(true) {
+
+            DropOldestBuffer.Taken<SequencedEvent> taken = subscriber.buffer().takeAll();
+            boolean heartbeat = subscriber.heartbeatDue().getAndSet(false);
+
+            if(taken.isEmpty() && (!heartbeat)) {
+
+                subscriber.sending().set(false);
+
+                //Event or heartbeat added after buffer was taken and before flag was cleared found flag still set
+                if((subscriber.buffer().isEmpty() && (!subscriber.heartbeatDue().get()))
+                        || (!subscriber.sending().compareAndSet(false, true)))
+                    return;
+
+                continue;
+            }
+
+            try{
+                if(heartbeat)
+                    write(subscriber, SseEmitter.event().comment(HEARTBEAT_COMMENT));
+
+                if(taken.dropped() > 0)
+                    write(subscriber, SseEmitter.event().name(DROPPED_EVENT_NAME).data(taken.dropped()));
+
+                for(SequencedEvent sequencedEvent : taken.elements())
+                    write(subscriber, SseEmitter.event()
+                            .id(String.valueOf(sequencedEvent.sequence()))
+                            .name(sequencedEvent.event().type().name())
+                            .data(sequencedEvent.event()));
+            } catch (IOException | IllegalStateException e) {
+                //Sending flag stays set, so nothing is sent to disconnected subscriber again
+                remove(subscriber);
+                subscriber.emitter().completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    //Start of write is kept while it lasts, so write which doesn't return is found
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+
+        subscriber.writeStartedAt().set(System.nanoTime());
+
+        try{
+            subscriber.emitter().send(event);
+        } finally {
+            subscriber.writeStartedAt().set(0);
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, DropOldestBuffer<SequencedEvent> buffer, AtomicBoolean sending,
+                              AtomicBoolean heartbeatDue, AtomicBoolean removed, AtomicLong writeStartedAt) {}
+
+    private record SequencedEvent(long sequence, TransactionStatusEvent event) {}
+}
@@ -0,0 +1,14 @@
+package org.example.backend.validator;
+
+import java.util.regex.Pattern;
+
+public class EANCodeValidator {
+
+    private static final Pattern EAN8_PATTERN = Pattern.compile("^[0-9]{8}$");
+    private static final Pattern EAN13_PATTERN = Pattern.compile("^[0-9]{13}$");
+
+    //Checks that ean code is EAN-8 or EAN-13
+    public static boolean isCorrect(String eanCode) {
+        return (eanCode != null) && (EAN8_PATTERN.matcher(eanCode).matches() || EAN13_PATTERN.matcher(eanCode).matches());
+    }
+}
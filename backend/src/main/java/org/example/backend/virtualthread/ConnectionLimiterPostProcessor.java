@@ -0,0 +1,38 @@
+package org.example.backend.virtualthread;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+//Wraps Hikari pool in ConnectionLimitingDataSource when requests are served on virtual threads.
+//Platform threads are already limited by Tomcat thread pool, so limiter isn't needed for them
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimiterPostProcessor implements BeanPostProcessor {
+
+    private final int maximalWaiting;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimiterPostProcessor(
+            @Value("${virtual-threads.connection-limiter.max-waiting:1000}") int maximalWaiting,
+            @Value("${virtual-threads.connection-limiter.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.maximalWaiting = maximalWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    //Number of permits is read when pool is created, so it follows spring.datasource.hikari.maximum-pool-size
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+        if(bean instanceof HikariDataSource hikariDataSource)
+            return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(),
+                    maximalWaiting, acquireTimeout);
+
+        return bean;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.backend.virtualthread;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Lets only as many threads take connection as pool has connections, others wait in fair queue.
+//Virtual threads are cheap, so thousands of requests can wait for pool at once. Limiter refuses
+//connection at once when queue is already full and after acquire timeout, instead of letting every
+//request wait for pool timeout
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maximalWaiting;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int connections, int maximalWaiting,
+                                        Duration acquireTimeout) {
+
+        super(targetDataSource);
+
+        if(connections <= 0)
+            throw new IllegalArgumentException("Incorrect argument: connections");
+        else if(maximalWaiting < 0)
+            throw new IllegalArgumentException("Incorrect argument: maximalWaiting");
+        else if((acquireTimeout == null) || (acquireTimeout.isNegative()))
+            throw new IllegalArgumentException("Incorrect argument: acquireTimeout");
+
+        this.permits = new Semaphore(connections, true);
+        this.maximalWaiting = maximalWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        acquirePermit();
+
+        try{
+            return releasingPermitOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        acquirePermit();
+
+        try{
+            return releasingPermitOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    //Queue length is only estimate, so a few more threads than maximalWaiting can wait under burst
+    private void acquirePermit() throws SQLException {
+
+        if(permits.tryAcquire())
+            return;
+        else if(permits.getQueueLength() >= maximalWaiting)
+            throw new SQLTransientConnectionException("Too many threads are waiting for database connection");
+
+        try{
+            if(!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS))
+                throw new SQLTransientConnectionException(
+                        "Database connection wasn't available in " + acquireTimeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Waiting for database connection was interrupted", e);
+        }
+    }
+
+    private Connection releasingPermitOnClose(Connection connection) {
+
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, arguments) -> {
+
+            try{
+                return method.invoke(connection, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                //Permit is given back once, even when connection is closed more than once
+                if(method.getName().equals("close") && released.compareAndSet(false, true))
+                    permits.release();
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.virtualthread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+//Reports virtual threads which stayed pinned to their carrier thread longer than threshold, for example
+//when they blocked inside synchronized block or in JDBC driver. Pinned thread holds carrier, so a few of
+//them can stop all other virtual threads. Pinnings are counted in virtual.threads.pinned metric and
+//logged with the frames where they happened
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("virtual.threads.pinned")
+                .description("Virtual threads pinned to carrier thread longer than threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        if(started.compareAndSet(false, true)) {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::report);
+            recordingStream.startAsync();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        if(recordingStream != null)
+            recordingStream.close();
+    }
+
+    private void report(RecordedEvent event) {
+
+        pinnedCounter.increment();
+
+        logger.warn("Virtual thread was pinned for " + event.getDuration().toMillis() + " ms at\n"
+                + framesOf(event.getStackTrace()));
+    }
+
+    private String framesOf(RecordedStackTrace stackTrace) {
+
+        if(stackTrace == null)
+            return "    unknown frames";
+
+        List<RecordedFrame> frames = stackTrace.getFrames();
+
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "    " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
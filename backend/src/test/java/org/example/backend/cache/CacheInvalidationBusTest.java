@@ -0,0 +1,59 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.ProductModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Two replicas are simulated by two buses with their own caches connected by one loopback transport
+public class CacheInvalidationBusTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final ProductModel RANDOM_PRODUCT = ProductModel.builder().EANCode(RANDOM_EAN_CODE).build();
+
+    private ProductCatalogCache firstReplicaCache;
+    private ProductCatalogCache secondReplicaCache;
+    private List<CacheInvalidation> firstReplicaInvalidations;
+    private CacheInvalidationBus firstReplicaBus;
+    private CacheInvalidationBus secondReplicaBus;
+
+    @BeforeEach
+    public void setUp() {
+        LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+
+        firstReplicaCache = new ProductCatalogCache();
+        secondReplicaCache = new ProductCatalogCache();
+        firstReplicaInvalidations = new ArrayList<>();
+
+        firstReplicaBus = new CacheInvalidationBus(List.of(firstReplicaCache, firstReplicaInvalidations::add), transport);
+        secondReplicaBus = new CacheInvalidationBus(List.of(secondReplicaCache), transport);
+    }
+
+    @Test
+    public void testOfInvalidateProduct(){
+
+        firstReplicaCache.getProduct(RANDOM_EAN_CODE, eanCode -> RANDOM_PRODUCT);
+        secondReplicaCache.getProduct(RANDOM_EAN_CODE, eanCode -> RANDOM_PRODUCT);
+
+        secondReplicaBus.invalidateProduct(RANDOM_EAN_CODE);
+
+        assertNull(firstReplicaCache.getProduct(RANDOM_EAN_CODE, eanCode -> null));
+        assertNull(secondReplicaCache.getProduct(RANDOM_EAN_CODE, eanCode -> null));
+    }
+
+    @Test
+    public void testOfOwnInvalidationIsAppliedOnce(){
+
+        firstReplicaBus.invalidateCatalogQueries(CatalogQuery.PRODUCTS_ON_SALE, CatalogQuery.PRODUCT_TYPES);
+        firstReplicaBus.invalidateRolesAndPrivileges();
+
+        assertEquals(firstReplicaInvalidations.size(), 3);
+        assertEquals(firstReplicaInvalidations.get(0).type(), CacheInvalidationType.CATALOG_QUERY);
+        assertEquals(firstReplicaInvalidations.get(0).key(), CatalogQuery.PRODUCTS_ON_SALE.name());
+        assertEquals(firstReplicaInvalidations.get(2).type(), CacheInvalidationType.ROLES_AND_PRIVILEGES);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.backend.cache;
+
+import org.example.backend.dao.repository.cache.CacheInvalidationEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Polling thread isn't started, because context refresh event isn't sent to transport created by test
+@DataJpaTest
+@Import(CacheInvalidationEventRepository.class)
+public class OutboxCacheInvalidationTransportTest {
+
+    private final String RANDOM_ORIGIN = "replica";
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+
+    @Autowired
+    private CacheInvalidationEventRepository cacheInvalidationEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxCacheInvalidationTransport transport;
+    private List<CacheInvalidation> received;
+
+    @BeforeEach
+    public void setUp() {
+        transport = new OutboxCacheInvalidationTransport(cacheInvalidationEventRepository);
+        received = new ArrayList<>();
+        transport.subscribe(received::add);
+
+        //First poll only takes highest id
+        transport.poll();
+    }
+
+    @Test
+    public void testOfPoll(){
+
+        CacheInvalidation invalidation = new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT, RANDOM_EAN_CODE);
+
+        transport.send(invalidation);
+        transport.poll();
+        transport.poll();
+
+        assertEquals(received, List.of(invalidation));
+    }
+
+    //Row with smaller id is committed after row with greater one, it is delivered when it appears
+    @Test
+    public void testOfPollDeliversLateCommittedInvalidation(){
+
+        CacheInvalidation lateInvalidation =
+                new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT, RANDOM_EAN_CODE);
+        CacheInvalidation invalidation =
+                new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT, DIFFERENT_EAN_CODE);
+
+        transport.send(lateInvalidation);
+        transport.send(invalidation);
+
+        long lateId = cacheInvalidationEventRepository.findMaximalId() - 1;
+        jdbcTemplate.update("DELETE FROM cache_invalidation_event WHERE id = ?", lateId);
+
+        transport.poll();
+
+        assertEquals(received, List.of(invalidation));
+
+        jdbcTemplate.update("INSERT INTO cache_invalidation_event (id, origin, type, cache_key, created_at) "
+                + "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)", lateId, RANDOM_ORIGIN, CacheInvalidationType.PRODUCT.name(),
+                RANDOM_EAN_CODE);
+
+        transport.poll();
+        transport.poll();
+
+        assertEquals(received, List.of(invalidation, lateInvalidation));
+    }
+
+    //Delivery depends only on id, so row stamped by writer with clock far behind is still delivered once
+    //before it is deleted
+    @Test
+    public void testOfPollDeletesOldInvalidations(){
+
+        CacheInvalidation invalidation = new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                RANDOM_EAN_CODE);
+
+        cacheInvalidationEventRepository.save(invalidation, Instant.now().minus(Duration.ofDays(1)));
+
+        transport.poll();
+
+        assertEquals(received, List.of(invalidation));
+        assertTrue(cacheInvalidationEventRepository.findAfterId(0, 10).isEmpty());
+    }
+}
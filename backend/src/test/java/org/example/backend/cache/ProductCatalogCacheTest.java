@@ -0,0 +1,169 @@
+package org.example.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.ProductModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductCatalogCacheTest {
+
+    private final String KEYBOARD_EAN_CODE = "18921008";
+    private final String MOUSE_EAN_CODE = "71021038";
+    private final String EAN_CODE_THAT_NOT_EXIST = "7102103839021";
+    private final String ACCESSORIES_TYPE = "accessories";
+    private final String ORIGIN = "other replica";
+
+    private ProductCatalogCache productCatalogCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        productCatalogCache = new ProductCatalogCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testOfGetProduct(){
+
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+
+        assertEquals(loads.get(), 1);
+
+        //Product which doesn't exist isn't cached
+        assertNull(productCatalogCache.getProduct(EAN_CODE_THAT_NOT_EXIST, eanCode -> null));
+
+        productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.PRODUCT, KEYBOARD_EAN_CODE));
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+
+        assertEquals(loads.get(), 2);
+    }
+
+    //Change is committed and evicted while product is loaded, so loaded model may be old and isn't cached
+    @Test
+    public void testOfGetProductInvalidatedDuringLoad(){
+
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, eanCode -> {
+            productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.PRODUCT, eanCode));
+            return loadProduct(eanCode);
+        });
+
+        assertNull(productCatalogCache.getProductsIfPresent(List.of(KEYBOARD_EAN_CODE)));
+
+        productCatalogCache.getProducts(List.of(KEYBOARD_EAN_CODE, MOUSE_EAN_CODE), eanCodes -> {
+            productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.PRODUCT, MOUSE_EAN_CODE));
+            return Map.of(KEYBOARD_EAN_CODE, loadProduct(KEYBOARD_EAN_CODE), MOUSE_EAN_CODE, loadProduct(MOUSE_EAN_CODE));
+        });
+
+        assertNotNull(productCatalogCache.getProductsIfPresent(List.of(KEYBOARD_EAN_CODE)));
+        assertNull(productCatalogCache.getProductsIfPresent(List.of(MOUSE_EAN_CODE)));
+
+        productCatalogCache.getProduct(MOUSE_EAN_CODE, this::loadProduct);
+
+        assertNotNull(productCatalogCache.getProductsIfPresent(List.of(MOUSE_EAN_CODE)));
+        assertEquals(loads.get(), 4);
+    }
+
+    @Test
+    public void testOfGetQueryInvalidatedDuringLoad(){
+
+        productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, () -> {
+            productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.CATALOG_QUERY,
+                    CatalogQuery.PRODUCT_TYPES.name()));
+            return loadTypes();
+        });
+
+        assertNull(productCatalogCache.getQueryIfPresent(CatalogQuery.PRODUCT_TYPES));
+
+        productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, this::loadTypes);
+
+        assertEquals(productCatalogCache.getQueryIfPresent(CatalogQuery.PRODUCT_TYPES), List.of(ACCESSORIES_TYPE));
+    }
+
+    @Test
+    public void testOfGetProducts(){
+
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+
+        List<ProductModel> products = productCatalogCache.getProducts(
+                List.of(MOUSE_EAN_CODE, EAN_CODE_THAT_NOT_EXIST, KEYBOARD_EAN_CODE), eanCodes -> {
+
+                    //Only products which aren't cached are loaded
+                    assertEquals(eanCodes.size(), 2);
+                    assertFalse(eanCodes.contains(KEYBOARD_EAN_CODE));
+
+                    return Map.of(MOUSE_EAN_CODE, loadProduct(MOUSE_EAN_CODE));
+                });
+
+        assertEquals(products.stream().map(ProductModel::getEANCode).toList(), List.of(MOUSE_EAN_CODE, KEYBOARD_EAN_CODE));
+    }
+
+    @Test
+    public void testOfGetProductsIfPresent(){
+
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+
+        assertEquals(productCatalogCache.getProductsIfPresent(List.of(KEYBOARD_EAN_CODE)).get(0).getEANCode(),
+                KEYBOARD_EAN_CODE);
+        assertNull(productCatalogCache.getProductsIfPresent(List.of(KEYBOARD_EAN_CODE, MOUSE_EAN_CODE)));
+        assertNull(productCatalogCache.getQueryIfPresent(CatalogQuery.PRODUCTS_ON_SALE));
+        assertEquals(loads.get(), 1);
+    }
+
+    @Test
+    public void testOfGetQueryAndInvalidate(){
+
+        productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, this::loadTypes);
+        productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, this::loadTypes);
+
+        assertEquals(loads.get(), 1);
+
+        //Invalidation of other query keeps product types
+        productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.CATALOG_QUERY,
+                CatalogQuery.PRODUCTS_ON_SALE.name()));
+        productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, this::loadTypes);
+
+        assertEquals(loads.get(), 1);
+
+        productCatalogCache.invalidate(new CacheInvalidation(ORIGIN, CacheInvalidationType.CATALOG_QUERY,
+                CatalogQuery.PRODUCT_TYPES.name()));
+
+        assertEquals(productCatalogCache.getQuery(CatalogQuery.PRODUCT_TYPES, this::loadTypes), List.of(ACCESSORIES_TYPE));
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void testOfBindTo(){
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        productCatalogCache.bindTo(registry);
+
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+        productCatalogCache.getProduct(KEYBOARD_EAN_CODE, this::loadProduct);
+
+        assertEquals(registry.get("cache.gets").tag("cache", "productCatalog.products")
+                .tag("result", "hit").functionCounter().count(), 1.0);
+        assertEquals(registry.get("cache.gets").tag("cache", "productCatalog.products")
+                .tag("result", "miss").functionCounter().count(), 1.0);
+    }
+
+    private ProductModel loadProduct(String eanCode) {
+
+        loads.incrementAndGet();
+
+        return ProductModel.builder().EANCode(eanCode).type(ACCESSORIES_TYPE).build();
+    }
+
+    private List<String> loadTypes() {
+
+        loads.incrementAndGet();
+
+        return List.of(ACCESSORIES_TYPE);
+    }
+}
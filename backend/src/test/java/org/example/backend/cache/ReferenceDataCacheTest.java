@@ -0,0 +1,126 @@
+package org.example.backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.transaction.PaymentMethod;
+import org.example.backend.dao.entity.user.Privilege;
+import org.example.backend.dao.entity.user.Role;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
+import org.example.backend.dao.repository.user.PrivilegeRepository;
+import org.example.backend.dao.repository.user.RoleRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Test isn't run in one transaction, because second-level cache is filled and used only by committed transactions
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ReferenceDataCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReferenceDataCacheTest {
+
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "random delivery provider";
+    private final String RANDOM_PAYMENT_METHOD_NAME = "random payment method";
+    private final String RANDOM_PRIVILEGE_NAME = "RANDOM_PRIVILEGE";
+    private final String RANDOM_ROLE_NAME = "ROLE_RANDOM";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private PrivilegeRepository privilegeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        paymentMethodRepository.save(new PaymentMethod(RANDOM_PAYMENT_METHOD_NAME, true));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        roleRepository.deleteAll();
+
+        //Cached roles of privilege still hold deleted role, the same way UserDataService evicts them
+        referenceDataCache.evictRolesAndPrivileges();
+
+        privilegeRepository.deleteAll();
+        deliveryProviderRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+    }
+
+    @Test
+    public void testOfCachedFindByName(){
+
+        for(int i = 0; i < 3; i++) {
+            assertEquals(deliveryProviderRepository.findByName(RANDOM_DELIVERY_PROVIDER_NAME).getName(),
+                    RANDOM_DELIVERY_PROVIDER_NAME);
+            assertEquals(paymentMethodRepository.findByName(RANDOM_PAYMENT_METHOD_NAME).getName(),
+                    RANDOM_PAYMENT_METHOD_NAME);
+        }
+
+        //Only the first lookup of each name reaches database
+        assertEquals(statistics.getPrepareStatementCount(), 2L);
+        assertEquals(statistics.getQueryCacheHitCount(), 4L);
+    }
+
+    @Test
+    public void testOfCachedFindAllNames(){
+
+        deliveryProviderRepository.findAllNames();
+        paymentMethodRepository.findAllPaymentMethodNames();
+
+        assertEquals(deliveryProviderRepository.findAllNames(), List.of(RANDOM_DELIVERY_PROVIDER_NAME));
+        assertEquals(paymentMethodRepository.findAllPaymentMethodNames(), List.of(RANDOM_PAYMENT_METHOD_NAME));
+        assertEquals(statistics.getPrepareStatementCount(), 2L);
+
+        //Change of table invalidates cached names
+        deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME + " 2", true));
+
+        assertEquals(deliveryProviderRepository.findAllNames().size(), 2);
+    }
+
+    @Test
+    public void testOfEvictRolesAndPrivileges(){
+
+        Privilege privilege = privilegeRepository.save(new Privilege(RANDOM_PRIVILEGE_NAME));
+        Role role = roleRepository.save(new Role(RANDOM_ROLE_NAME, List.of(privilege)));
+
+        roleRepository.findById(role.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(Role.class, role.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Privilege.class, privilege.getId()));
+
+        referenceDataCache.evictRolesAndPrivileges();
+
+        assertFalse(entityManagerFactory.getCache().contains(Role.class, role.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Privilege.class, privilege.getId()));
+    }
+}
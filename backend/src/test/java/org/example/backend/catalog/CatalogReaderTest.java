@@ -0,0 +1,107 @@
+package org.example.backend.catalog;
+
+import org.example.backend.dao.service.ProductDataService;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.model.ProductModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogReaderTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String WRONG_EAN_CODE = "DHADABDB232";
+    private final ProductModel RANDOM_PRODUCT = ProductModel.builder().EANCode(RANDOM_EAN_CODE).build();
+
+    @Mock
+    private ProductDataService productDataService;
+
+    private CatalogReader catalogReader;
+
+    @BeforeEach
+    public void setUp() {
+        catalogReader = new CatalogReader(productDataService, 1, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        catalogReader.shutdown();
+    }
+
+    //Cached result completes at once and database isn't read
+    @Test
+    public void testOfGetProductsOnSaleWhenCached() {
+
+        when(productDataService.getCachedProductsOnSale()).thenReturn(List.of(RANDOM_PRODUCT));
+
+        CompletableFuture<List<ProductModel>> products = catalogReader.getProductsOnSale();
+
+        assertTrue(products.isDone());
+        assertEquals(products.join(), List.of(RANDOM_PRODUCT));
+        verify(productDataService, never()).getProductsOnSale();
+    }
+
+    @Test
+    public void testOfGetProductsByEANCodesWhenNotCached() throws Exception {
+
+        when(productDataService.getCachedProductsByEANCodes(List.of(RANDOM_EAN_CODE))).thenReturn(null);
+        when(productDataService.getProductsByEANCodes(List.of(RANDOM_EAN_CODE))).thenReturn(List.of(RANDOM_PRODUCT));
+
+        assertEquals(catalogReader.getProductsByEANCodes(List.of(RANDOM_EAN_CODE)).get(5, TimeUnit.SECONDS),
+                List.of(RANDOM_PRODUCT));
+    }
+
+    //Incorrect argument fails future instead of being thrown to caller
+    @Test
+    public void testOfGetProductsByEANCodesWithBadArguments() {
+
+        when(productDataService.getCachedProductsByEANCodes(List.of(WRONG_EAN_CODE)))
+                .thenThrow(new BadArgumentException("Incorrect argument: eanCodes"));
+
+        CompletableFuture<List<ProductModel>> products = catalogReader.getProductsByEANCodes(List.of(WRONG_EAN_CODE));
+
+        assertTrue(products.isCompletedExceptionally());
+        assertInstanceOf(BadArgumentException.class,
+                assertThrows(ExecutionException.class, products::get).getCause());
+    }
+
+    //One read is running and one waits in queue, so the third one is refused at once
+    @Test
+    public void testOfGetProductsBySearchWhenQueueIsFull() throws Exception {
+
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readAllowed = new CountDownLatch(1);
+
+        when(productDataService.getProductsBySearch(null, null, null, null, null)).thenAnswer(invocation -> {
+            readStarted.countDown();
+            readAllowed.await();
+            return null;
+        });
+
+        CompletableFuture<?> runningRead = catalogReader.getProductsBySearch(null, null, null, null, null);
+        readStarted.await(5, TimeUnit.SECONDS);
+        CompletableFuture<?> waitingRead = catalogReader.getProductsBySearch(null, null, null, null, null);
+        CompletableFuture<?> refusedRead = catalogReader.getProductsBySearch(null, null, null, null, null);
+
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(ExecutionException.class, refusedRead::get).getCause());
+
+        readAllowed.countDown();
+        runningRead.get(5, TimeUnit.SECONDS);
+        waitingRead.get(5, TimeUnit.SECONDS);
+    }
+}
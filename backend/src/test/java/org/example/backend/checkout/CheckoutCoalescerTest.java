@@ -0,0 +1,306 @@
+package org.example.backend.checkout;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.PaymentMethod;
+import org.example.backend.dao.entity.user.Role;
+import org.example.backend.dao.entity.user.User;
+import org.example.backend.dao.repository.logistic.AddressRepository;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockReservationRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.example.backend.dao.repository.transaction.OrderTransactionRepository;
+import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
+import org.example.backend.dao.repository.user.RoleRepository;
+import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.dao.service.OrderTransactionOutcome;
+import org.example.backend.dao.service.OrderTransactionService;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.product.InsufficientStockException;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.AddressModel;
+import org.example.backend.model.OrderTransactionModel;
+import org.example.backend.model.OrderedProductModel;
+import org.example.backend.model.ProductModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+//Load test of flash sale, many buyers order the same products at once through the coalescer.
+//Test isn't run in one transaction, because every batch of checkouts is committed in its own transaction
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "checkout-coalescer.enabled=true", "checkout-coalescer.window=5ms", "checkout-coalescer.max-batch-size=32"})
+@Import({CheckoutCoalescer.class, OrderTransactionService.class, StockReservationRepository.class,
+        DailyProductSalesRollupRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CheckoutCoalescerTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String RANDOM_PRODUCT_NAME = "Random product name";
+    private final String RANDOM_TYPE = "Random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 5.00;
+    private final Long FLASH_SALE_QUANTITY = 100L;
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
+    private final String RANDOM_PAYMENT_METHOD = "Random payment method";
+    private final AddressModel RANDOM_ADDRESS = new AddressModel("Random country", "Random province",
+            "Random city", "Random address");
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final int BUYERS = 16;
+    private final int ORDERS_PER_BUYER = 10;
+
+    @Autowired
+    private CheckoutCoalescer checkoutCoalescer;
+
+    @Autowired
+    private OrderTransactionService orderTransactionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderTransactionRepository orderTransactionRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+
+        saveProduct(RANDOM_EAN_CODE, "1");
+        saveProduct(DIFFERENT_EAN_CODE, "2");
+
+        deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        paymentMethodRepository.save(new PaymentMethod(RANDOM_PAYMENT_METHOD, true));
+
+        Role role = roleRepository.save(new Role("ROLE_RANDOM", List.of()));
+        userRepository.save(new User("FirstName", "LastName", RANDOM_EMAIL, "RandomPassword",
+                LocalDate.of(1950, 1, 1), role));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("DELETE FROM daily_product_sales");
+        jdbcTemplate.update("DELETE FROM ordered_product");
+        jdbcTemplate.update("DELETE FROM order_transaction");
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        deliveryProviderRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    //Every order takes one piece of both products, odd buyers list them in different order. Stock must be sold out
+    //exactly, every order which didn't fit gets its own refusal and orders are committed in fewer transactions
+    @Test
+    public void testOfSaveNewOrderTransactionConcurrently() throws Exception {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AtomicInteger placedOrders = new AtomicInteger();
+        AtomicInteger refusedOrders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for(int i = 0; i < BUYERS; i++) {
+
+            OrderTransactionModel order = (i % 2 == 0) ? orderOf(RANDOM_EAN_CODE, DIFFERENT_EAN_CODE)
+                    : orderOf(DIFFERENT_EAN_CODE, RANDOM_EAN_CODE);
+
+            buyers.add(executor.submit(() -> {
+
+                start.await();
+
+                for(int j = 0; j < ORDERS_PER_BUYER; j++) {
+                    try{
+                        assertNotNull(checkoutCoalescer.saveNewOrderTransaction(order).getId());
+                        placedOrders.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        refusedOrders.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for(Future<?> buyer : buyers)
+            buyer.get(1, TimeUnit.MINUTES);
+
+        executor.shutdown();
+
+        long transactions = statistics.getTransactionCount();
+
+        assertEquals(placedOrders.get(), FLASH_SALE_QUANTITY.intValue());
+        assertEquals(refusedOrders.get(), BUYERS * ORDERS_PER_BUYER - FLASH_SALE_QUANTITY.intValue());
+        assertEquals(orderTransactionRepository.count(), FLASH_SALE_QUANTITY);
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), 0L);
+        assertTrue(transactions < BUYERS * ORDERS_PER_BUYER);
+    }
+
+    //Window is longer than test, so order is still queued or waits in open batch when coalescer shuts down.
+    //Shutdown must place it either way instead of leaving its caller waiting
+    @Test
+    public void testOfShutdownWithOpenBatch() throws Exception {
+
+        CheckoutCoalescer stoppingCheckoutCoalescer = new CheckoutCoalescer(orderTransactionService,
+                transactionManager, true, Duration.ofMinutes(10), 32, 1, Duration.ofSeconds(30));
+        stoppingCheckoutCoalescer.onApplicationEvent(null);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<OrderTransactionModel> buyer = executor.submit(
+                () -> stoppingCheckoutCoalescer.saveNewOrderTransaction(orderOf(RANDOM_EAN_CODE)));
+
+        Thread.sleep(200);
+        stoppingCheckoutCoalescer.shutdown();
+
+        assertNotNull(buyer.get(1, TimeUnit.MINUTES).getId());
+        assertEquals(orderTransactionRepository.count(), 1L);
+
+        //Order after shutdown is placed directly
+        assertNotNull(stoppingCheckoutCoalescer.saveNewOrderTransaction(orderOf(RANDOM_EAN_CODE)).getId());
+        assertEquals(orderTransactionRepository.count(), 2L);
+
+        executor.shutdown();
+    }
+
+    //Only worker is stuck in first batch past shutdown timeout, so second batch still waits in queue of workers.
+    //Shutdown places it itself, its caller doesn't wait for result timeout
+    @Test
+    public void testOfShutdownWithBlockedWorker() throws Exception {
+
+        OrderTransactionService blockingOrderTransactionService = mock(OrderTransactionService.class);
+        AtomicBoolean firstBatch = new AtomicBoolean(true);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+
+            if(firstBatch.getAndSet(false)) {
+                blocked.countDown();
+                released.await();
+            }
+
+            return invocation.<List<OrderTransactionModel>>getArgument(0).stream()
+                    .map(OrderTransactionOutcome::placed)
+                    .toList();
+        }).when(blockingOrderTransactionService).placeNewOrderTransactions(anyList());
+
+        CheckoutCoalescer stoppingCheckoutCoalescer = new CheckoutCoalescer(blockingOrderTransactionService,
+                transactionManager, true, Duration.ZERO, 1, 1, Duration.ofMillis(200));
+        stoppingCheckoutCoalescer.onApplicationEvent(null);
+
+        OrderTransactionModel blockedOrder = orderOf(RANDOM_EAN_CODE);
+        OrderTransactionModel queuedOrder = orderOf(DIFFERENT_EAN_CODE);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<OrderTransactionModel> blockedBuyer = executor.submit(
+                () -> stoppingCheckoutCoalescer.saveNewOrderTransaction(blockedOrder));
+        assertTrue(blocked.await(1, TimeUnit.MINUTES));
+
+        Future<OrderTransactionModel> queuedBuyer = executor.submit(
+                () -> stoppingCheckoutCoalescer.saveNewOrderTransaction(queuedOrder));
+
+        Thread.sleep(200);
+        stoppingCheckoutCoalescer.shutdown();
+
+        assertSame(queuedBuyer.get(10, TimeUnit.SECONDS), queuedOrder);
+
+        //Shutdown interrupted blocked worker, its order is answered as well
+        released.countDown();
+        assertDoesNotThrow(() -> blockedBuyer.get(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    //Incorrect order is refused before it is queued
+    @Test
+    public void testOfSaveNewOrderTransactionWithBadArguments(){
+
+        OrderTransactionModel order = orderOf(RANDOM_EAN_CODE);
+        order.getOrderedProducts().get(0).setQuantity(0L);
+
+        assertThrows(BadArgumentException.class, () -> checkoutCoalescer.saveNewOrderTransaction(order));
+        assertThrows(BadArgumentException.class, () -> checkoutCoalescer.saveNewOrderTransaction(null));
+    }
+
+    private void saveProduct(String eanCode, String imageHashDigit) {
+        productRepository.save(new Product(RANDOM_PRODUCT_NAME, eanCode, RANDOM_TYPE, RANDOM_DESCRIPTION, null, null,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(FLASH_SALE_QUANTITY),
+                new ProductMainImage(new StoredImage(imageHashDigit.repeat(64), 10L, "image/png"))));
+    }
+
+    private OrderTransactionModel orderOf(String... eanCodes) {
+
+        ArrayList<OrderedProductModel> orderedProducts = new ArrayList<>();
+
+        for(String eanCode : eanCodes)
+            orderedProducts.add(OrderedProductModel.builder()
+                    .product(ProductModel.builder().EANCode(eanCode).build())
+                    .quantity(1L)
+                    .build());
+
+        return OrderTransactionModel.builder()
+                .userEmail(RANDOM_EMAIL)
+                .deliveryProviderName(RANDOM_DELIVERY_PROVIDER_NAME)
+                .paymentMethodName(RANDOM_PAYMENT_METHOD)
+                .address(RANDOM_ADDRESS)
+                .orderedProducts(orderedProducts)
+                .build();
+    }
+}
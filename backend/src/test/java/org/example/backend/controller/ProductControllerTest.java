@@ -0,0 +1,74 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dao.service.ProductDataService;
+import org.example.backend.dao.service.ProductImportService;
+import org.example.backend.dao.service.StockAdjustmentService;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.model.ProductPageModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductControllerTest {
+
+    private final String RANDOM_TYPE = "Random type";
+    private final String INCORRECT_CURSOR = "incorrect cursor";
+
+    @Mock
+    private ProductDataService productDataService;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private StockAdjustmentService stockAdjustmentService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productDataService, productImportService,
+                stockAdjustmentService, new ObjectMapper())).build();
+    }
+
+    //Search page leaves out every filter which isn't used, first page is loaded without any
+    @Test
+    public void testOfGetProductsByProductSearchModelWithoutFilters() throws Exception {
+
+        when(productDataService.getProductsBySearch(null, null, null, null, null))
+                .thenReturn(new ProductPageModel(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/products-by-search")).andExpect(status().isOk());
+
+        verify(productDataService).getProductsBySearch(null, null, null, null, null);
+    }
+
+    @Test
+    public void testOfGetProductsByProductSearchModelWithSomeFilters() throws Exception {
+
+        when(productDataService.getProductsBySearch(RANDOM_TYPE, null, null, null, null))
+                .thenReturn(new ProductPageModel(new ArrayList<>(), null));
+        when(productDataService.getProductsBySearch(isNull(), isNull(), isNull(), isNull(), eq(INCORRECT_CURSOR)))
+                .thenThrow(new BadArgumentException("Incorrect argument: cursor"));
+
+        mockMvc.perform(get("/products-by-search").param("type", RANDOM_TYPE)).andExpect(status().isOk());
+        mockMvc.perform(get("/products-by-search").param("cursor", INCORRECT_CURSOR))
+                .andExpect(status().isBadRequest());
+
+        verify(productDataService, times(2)).getProductsBySearch(any(), any(), any(), any(), any());
+    }
+}
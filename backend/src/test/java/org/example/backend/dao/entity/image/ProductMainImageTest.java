@@ -1,6 +1,7 @@
 package org.example.backend.dao.entity.image;
 
 import org.example.backend.dao.entity.product.Product;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -8,26 +9,28 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ProductMainImageTest {
 
-    private final byte[] RANDOM_IMAGE = new byte[10];
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final Product RANDOM_PRODUCT = new Product();
 
     @Test
     public void testOfConstructorWithImageArgument(){
 
-        ProductMainImage productMainImage = new ProductMainImage(RANDOM_IMAGE);
+        ProductMainImage productMainImage = new ProductMainImage(RANDOM_STORED_IMAGE);
 
         assertNull(productMainImage.getId());
-        assertEquals(productMainImage.getImage(), RANDOM_IMAGE);
+        assertEquals(productMainImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(productMainImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertNull(productMainImage.getProduct());
     }
 
     @Test
     public void testOfConstructorWithImageAndProductArguments(){
 
-        ProductMainImage productMainImage = new ProductMainImage(RANDOM_IMAGE, RANDOM_PRODUCT);
+        ProductMainImage productMainImage = new ProductMainImage(RANDOM_STORED_IMAGE, RANDOM_PRODUCT);
 
         assertNull(productMainImage.getId());
-        assertEquals(productMainImage.getImage(), RANDOM_IMAGE);
+        assertEquals(productMainImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(productMainImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertEquals(productMainImage.getProduct(), RANDOM_PRODUCT);
     }
 }
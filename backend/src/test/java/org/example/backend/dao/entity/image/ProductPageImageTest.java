@@ -1,6 +1,7 @@
 package org.example.backend.dao.entity.image;
 
 import org.example.backend.dao.entity.product.Product;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -8,26 +9,28 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ProductPageImageTest {
 
-    private final byte[] RANDOM_IMAGE = new byte[10];
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final Product RANDOM_PRODUCT = new Product();
 
     @Test
     public void testOfConstructorWithImageArgument() {
 
-        ProductPageImage productPageImage = new ProductPageImage(RANDOM_IMAGE);
+        ProductPageImage productPageImage = new ProductPageImage(RANDOM_STORED_IMAGE);
 
         assertNull(productPageImage.getId());
-        assertEquals(productPageImage.getImage(), RANDOM_IMAGE);
+        assertEquals(productPageImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(productPageImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertNull(productPageImage.getProduct());
     }
 
     @Test
     public void testOfConstructorWithImageAndProductArguments() {
 
-        ProductPageImage productPageImage = new ProductPageImage(RANDOM_IMAGE, RANDOM_PRODUCT);
+        ProductPageImage productPageImage = new ProductPageImage(RANDOM_STORED_IMAGE, RANDOM_PRODUCT);
 
         assertNull(productPageImage.getId());
-        assertEquals(productPageImage.getImage(), RANDOM_IMAGE);
+        assertEquals(productPageImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(productPageImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertEquals(productPageImage.getProduct(), RANDOM_PRODUCT);
     }
 }
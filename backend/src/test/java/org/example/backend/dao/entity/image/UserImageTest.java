@@ -2,6 +2,7 @@ package org.example.backend.dao.entity.image;
 
 
 import org.example.backend.dao.entity.user.User;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -9,26 +10,28 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class UserImageTest {
 
-    private final byte[] RANDOM_IMAGE = new byte[10];
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final User RANDOM_USER = new User();
 
     @Test
     public void testOfConstructorWithImageArgument() {
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
 
         assertNull(userImage.getId());
-        assertEquals(userImage.getImage(), RANDOM_IMAGE);
+        assertEquals(userImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(userImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertNull(userImage.getUser());
     }
 
     @Test
     public void testOfConstructorWithImageAndUserArguments() {
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE, RANDOM_USER);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE, RANDOM_USER);
 
         assertNull(userImage.getId());
-        assertEquals(userImage.getImage(), RANDOM_IMAGE);
+        assertEquals(userImage.getHash(), RANDOM_STORED_IMAGE.key());
+        assertEquals(userImage.getSize(), RANDOM_STORED_IMAGE.size());
         assertEquals(userImage.getUser(), RANDOM_USER);
     }
 }
@@ -0,0 +1,73 @@
+package org.example.backend.dao.repository.cache;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CacheInvalidationEventRepository.class)
+public class CacheInvalidationEventRepositoryTest {
+
+    private final String RANDOM_ORIGIN = "replica";
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final Instant RANDOM_TIME = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Autowired
+    private CacheInvalidationEventRepository cacheInvalidationEventRepository;
+
+    @Test
+    public void testOfSaveAndFindAfterId(){
+
+        CacheInvalidation productInvalidation =
+                new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT, RANDOM_EAN_CODE);
+        CacheInvalidation rolesInvalidation =
+                new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.ROLES_AND_PRIVILEGES, null);
+
+        long maximalId = cacheInvalidationEventRepository.findMaximalId();
+
+        cacheInvalidationEventRepository.save(productInvalidation, RANDOM_TIME);
+        cacheInvalidationEventRepository.save(rolesInvalidation, RANDOM_TIME);
+
+        List<StoredCacheInvalidation> found = cacheInvalidationEventRepository.findAfterId(maximalId, 10);
+
+        assertEquals(found.stream().map(StoredCacheInvalidation::invalidation).toList(),
+                List.of(productInvalidation, rolesInvalidation));
+        assertEquals(cacheInvalidationEventRepository.findAfterId(maximalId, 1).size(), 1);
+        assertEquals(cacheInvalidationEventRepository.findAfterId(found.get(0).id(), 10).size(), 1);
+        assertEquals(cacheInvalidationEventRepository.findMaximalId(), found.get(1).id());
+    }
+
+    @Test
+    public void testOfFindByIds(){
+
+        cacheInvalidationEventRepository.save(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                RANDOM_EAN_CODE), RANDOM_TIME);
+
+        long id = cacheInvalidationEventRepository.findMaximalId();
+
+        assertEquals(cacheInvalidationEventRepository.findByIds(List.of(id, id + 1)).get(0).id(), id);
+        assertEquals(cacheInvalidationEventRepository.findByIds(List.of(id + 1)).size(), 0);
+        assertEquals(cacheInvalidationEventRepository.findByIds(List.of()).size(), 0);
+    }
+
+    @Test
+    public void testOfDeleteCreatedBefore(){
+
+        cacheInvalidationEventRepository.save(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                RANDOM_EAN_CODE), RANDOM_TIME.minus(Duration.ofHours(2)));
+        cacheInvalidationEventRepository.save(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                RANDOM_EAN_CODE), RANDOM_TIME);
+
+        assertEquals(cacheInvalidationEventRepository.deleteCreatedBefore(RANDOM_TIME.minus(Duration.ofHours(1))), 1);
+        assertEquals(cacheInvalidationEventRepository.findAfterId(0, 10).size(), 1);
+    }
+}
@@ -1,16 +1,18 @@
 package org.example.backend.dao.repository.image;
 
 import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class ProductMainImageRepositoryTest {
 
-    private final byte[] RANDOM_IMAGE = new byte[12];
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
 
     @Autowired
     private ProductMainImageRepository productMainImageRepository;
@@ -18,10 +20,20 @@ public class ProductMainImageRepositoryTest {
     @Test
     public void testOfSave(){
 
-        ProductMainImage productMainImage = new ProductMainImage(RANDOM_IMAGE);
+        ProductMainImage productMainImage = new ProductMainImage(RANDOM_STORED_IMAGE);
 
         assertDoesNotThrow(() -> {
             productMainImageRepository.save(productMainImage);
         });
     }
+
+    @Test
+    public void testOfFindFirstByHash(){
+
+        ProductMainImage productMainImage = productMainImageRepository.save(new ProductMainImage(RANDOM_STORED_IMAGE));
+
+        assertEquals(productMainImageRepository.findFirstByHash(productMainImage.getHash()).getId(),
+                productMainImage.getId());
+        assertNull(productMainImageRepository.findFirstByHash(DIFFERENT_STORED_IMAGE.key()));
+    }
 }
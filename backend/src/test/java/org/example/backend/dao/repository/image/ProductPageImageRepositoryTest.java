@@ -5,6 +5,7 @@ import org.example.backend.dao.entity.image.ProductPageImage;
 import org.example.backend.dao.entity.product.Product;
 import org.example.backend.dao.entity.product.Stock;
 import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -17,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @DataJpaTest
 public class ProductPageImageRepositoryTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final String RANDOM_EAN_CODE = "0799439112766";
     private final String DIFFERENT_EAN_CODE = "07994391127222";
     private final String RANDOM_NAME = "Random name";
@@ -33,7 +35,6 @@ public class ProductPageImageRepositoryTest {
     private final Stock RANDOM_STOCK = new Stock(5L);
     private final Stock DIFFERENT_STOCK = new Stock(2L);
     private final Long SUM_OF_STOCKS_QUANTITY = 7L;
-    private final byte[] RANDOM_IMAGE = new byte[10];
 
     @Autowired
     private ProductPageImageRepository productPageImageRepository;
@@ -44,7 +45,7 @@ public class ProductPageImageRepositoryTest {
     @Test
     public void testOfSaveSave(){
 
-        ProductPageImage productPageImage = new ProductPageImage(RANDOM_IMAGE);
+        ProductPageImage productPageImage = new ProductPageImage(RANDOM_STORED_IMAGE);
 
         assertDoesNotThrow(() -> {
             productPageImageRepository.save(productPageImage);
@@ -56,9 +57,9 @@ public class ProductPageImageRepositoryTest {
 
         Product product = new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE_LOWER_CASE, RANDOM_DESCRIPTION,
                 10, 10, RANDOM_REGULAR_PRICE, RANDOM_CURRENT_PRICE, RANDOM_STOCK,
-                new ProductMainImage(RANDOM_IMAGE));
+                new ProductMainImage(RANDOM_STORED_IMAGE));
         product = productRepository.save(product);
-        ProductPageImage productPageImage = new ProductPageImage(RANDOM_IMAGE, product);
+        ProductPageImage productPageImage = new ProductPageImage(RANDOM_STORED_IMAGE, product);
         productPageImageRepository.save(productPageImage);
         product.setPageImages(List.of(productPageImage));
 
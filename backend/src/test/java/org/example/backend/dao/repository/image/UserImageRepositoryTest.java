@@ -2,6 +2,7 @@ package org.example.backend.dao.repository.image;
 
 import org.example.backend.dao.entity.image.UserImage;
 import org.example.backend.dao.entity.user.User;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -11,7 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 @DataJpaTest
 public class UserImageRepositoryTest {
 
-    private final byte[] RANDOM_IMAGE = new byte[12];
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
 
     @Autowired
     private UserImageRepository userImageRepository;
@@ -19,7 +20,7 @@ public class UserImageRepositoryTest {
     @Test
     public void testOfSave(){
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
 
         assertDoesNotThrow(() -> {
             userImageRepository.save(userImage);
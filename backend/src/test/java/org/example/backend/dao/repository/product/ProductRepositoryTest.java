@@ -5,6 +5,8 @@ import org.example.backend.dao.entity.image.ProductMainImage;
 import org.example.backend.dao.entity.image.ProductPageImage;
 import org.example.backend.dao.entity.product.Product;
 import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.image.StoredImage;
+import org.example.backend.search.IndexedProduct;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,15 +14,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class ProductRepositoryTest {
 
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final String RANDOM_EAN_CODE = "0799439112766";
     private final String DIFFERENT_EAN_CODE = "07994391127222";
     private final String RANDOM_NAME = "Random name";
@@ -37,10 +41,10 @@ public class ProductRepositoryTest {
     private final Stock RANDOM_STOCK = new Stock(5L);
     private final Stock DIFFERENT_STOCK = new Stock(2L);
     private final Long SUM_OF_STOCKS_QUANTITY = 7L;
-    private final ProductMainImage RANDOM_MAIN_IMAGE = new ProductMainImage(new byte[10]);
-    private final ProductMainImage DIFFERENT_MAIN_IMAGE = new ProductMainImage(new byte[13]);
-    private final List<ProductPageImage> RANDOM_IMAGE_LIST = List.of(new ProductPageImage(new byte[10]), new ProductPageImage(new byte[10]));
-    private final List<ProductPageImage> DIFFERENT_IMAGE_LIST = List.of(new ProductPageImage(new byte[10]), new ProductPageImage(new byte[10]));
+    private final ProductMainImage RANDOM_MAIN_IMAGE = new ProductMainImage(RANDOM_STORED_IMAGE);
+    private final ProductMainImage DIFFERENT_MAIN_IMAGE = new ProductMainImage(DIFFERENT_STORED_IMAGE);
+    private final List<ProductPageImage> RANDOM_IMAGE_LIST = List.of(new ProductPageImage(RANDOM_STORED_IMAGE), new ProductPageImage(RANDOM_STORED_IMAGE));
+    private final List<ProductPageImage> DIFFERENT_IMAGE_LIST = List.of(new ProductPageImage(RANDOM_STORED_IMAGE), new ProductPageImage(RANDOM_STORED_IMAGE));
     private final Integer RANDOM_HEIGHT = 1000;
     private final Integer RANDOM_WIDTH = 1000;
 
@@ -126,9 +130,26 @@ public class ProductRepositoryTest {
 
         productRepository.save(product1);
 
-        List<Product> products = productRepository.find(List.of(), PageRequest.of(0, 10));
+        List<Product> products = productRepository.find("", PageRequest.of(0, 10));
 
         assertEquals(products.size(), 2);
+        assertEquals(products.get(0).getEANCode(), DIFFERENT_EAN_CODE);
+        assertEquals(products.get(1).getEANCode(), RANDOM_EAN_CODE);
+    }
+
+    @Test
+    public void testOfFindWithAfterEanCode(){
+
+        productRepository.save(product1);
+
+        List<Product> firstPage = productRepository.find("", PageRequest.of(0, 1));
+        List<Product> secondPage = productRepository.find(firstPage.get(0).getEANCode(), PageRequest.of(0, 1));
+        List<Product> thirdPage = productRepository.find(secondPage.get(0).getEANCode(), PageRequest.of(0, 1));
+
+        assertEquals(firstPage.size(), 1);
+        assertEquals(secondPage.size(), 1);
+        assertEquals(thirdPage.size(), 0);
+        assertNotEquals(firstPage.get(0).getEANCode(), secondPage.get(0).getEANCode());
     }
 
     @Test
@@ -139,24 +160,42 @@ public class ProductRepositoryTest {
         productRepository.save(product);
 
         List<Product> products = productRepository.findByType(
-                RANDOM_TYPE_LOWER_CASE, List.of(), PageRequest.of(0, 10));
+                RANDOM_TYPE_LOWER_CASE, "", PageRequest.of(0, 10));
 
         assertEquals(products.size(), 1);
     }
 
     @Test
-    public void testOfFindByPhrase(){
+    public void testOfFindAllIndexedProducts(){
+
+        productRepository.save(product1);
 
-        List<String> list = new ArrayList<>();
+        List<IndexedProduct> indexedProducts = productRepository.findAllIndexedProducts();
 
-        Product product = new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE_LOWER_CASE, RANDOM_DESCRIPTION, RANDOM_HEIGHT,
-                RANDOM_WIDTH, RANDOM_REGULAR_PRICE, RANDOM_CURRENT_PRICE, RANDOM_STOCK, RANDOM_MAIN_IMAGE, RANDOM_IMAGE_LIST);
-        productRepository.save(product);
+        assertEquals(indexedProducts.size(), 2);
+        assertTrue(indexedProducts.stream().anyMatch(indexedProduct ->
+                indexedProduct.getEanCode().equals(RANDOM_EAN_CODE)
+                        && indexedProduct.getLowerCaseName().equals(RANDOM_NAME.toLowerCase())));
+    }
 
-        List<Product> products = productRepository
-                .findByPhrase(PHRASE_OF_RANDOM_NAME_LOWER_CASE, list, PageRequest.of(0, 10));
+    @Test
+    public void testOfFindIndexedProductsByEANCodes(){
 
-        assertEquals(products.size(), 1);
+        //Product1 isn't saved, so only product2 is found
+        List<IndexedProduct> indexedProducts = productRepository.findIndexedProductsByEANCodes(
+                List.of(RANDOM_EAN_CODE, DIFFERENT_EAN_CODE));
+
+        assertEquals(indexedProducts.size(), 1);
+        assertEquals(indexedProducts.get(0).getEanCode(), DIFFERENT_EAN_CODE);
+    }
+
+    @Test
+    public void testOfFindEANCodeById(){
+
+        productRepository.save(product1);
+
+        assertEquals(productRepository.findEANCodeById(product1.getId()), RANDOM_EAN_CODE);
+        assertNull(productRepository.findEANCodeById(UUID.randomUUID()));
     }
 
     @Test
@@ -167,40 +206,21 @@ public class ProductRepositoryTest {
         List<Product> products = productRepository
                 .findByPriceRange(
                         LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                        List.of(), PageRequest.of(0, 10));
+                        "", PageRequest.of(0, 10));
         List<Product> notFoundProducts = productRepository
                 .findByPriceRange(
                         GREATER_PRICE_THAN_CURRENT_PRICE_1, GREATER_PRICE_THAN_CURRENT_PRICE_2,
-                        List.of(), PageRequest.of(0, 10));
+                        "", PageRequest.of(0, 10));
         List<Product> notFoundProducts2 = productRepository
                 .findByPriceRange(
                         LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_2,
-                        List.of(RANDOM_EAN_CODE, DIFFERENT_EAN_CODE),
-                        PageRequest.of(0, 10));
+                        RANDOM_EAN_CODE, PageRequest.of(0, 10));
 
         assertEquals(products.size(), 2);
         assertEquals(notFoundProducts.size(), 0);
         assertEquals(notFoundProducts2.size(), 0);
     }
 
-    @Test
-    public void testOfFindByPhraseAndType(){
-
-        Product product = new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE_LOWER_CASE, RANDOM_DESCRIPTION, RANDOM_HEIGHT,
-                RANDOM_WIDTH, RANDOM_REGULAR_PRICE, RANDOM_CURRENT_PRICE, RANDOM_STOCK, RANDOM_MAIN_IMAGE, RANDOM_IMAGE_LIST);
-        productRepository.save(product);
-
-        List<Product> products = productRepository
-                .findByPhraseAndType(PHRASE_OF_RANDOM_NAME_LOWER_CASE, RANDOM_TYPE_LOWER_CASE,
-                        List.of(), PageRequest.of(0, 10));
-        List<Product> notFoundedProductList = productRepository
-                .findByPhraseAndType(PHRASE_OF_RANDOM_NAME_LOWER_CASE, DIFFERENT_RANDOM_TYPE_LOWER_CASE,
-                        List.of(), PageRequest.of(0, 10));
-
-        assertEquals(products.size(), 1);
-        assertEquals(notFoundedProductList.size(), 0);
-    }
-
     @Test
     public void testOfFindByTypeAndPriceRange(){
 
@@ -210,11 +230,11 @@ public class ProductRepositoryTest {
 
         List<Product> products = productRepository
                 .findByTypeAndPriceRange(RANDOM_TYPE_LOWER_CASE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                        GREATER_PRICE_THAN_CURRENT_PRICE_1, List.of(),
+                        GREATER_PRICE_THAN_CURRENT_PRICE_1, "",
                         PageRequest.of(0, 10));
         List<Product> notFoundedProductList = productRepository
                 .findByTypeAndPriceRange(RANDOM_TYPE_LOWER_CASE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                        GREATER_PRICE_THAN_CURRENT_PRICE_2, List.of(),
+                        GREATER_PRICE_THAN_CURRENT_PRICE_2, "",
                         PageRequest.of(0, 10));
 
         assertEquals(products.size(), 1);
@@ -222,50 +242,11 @@ public class ProductRepositoryTest {
     }
 
     @Test
-    public void testOfFindByPhraseAndPriceRange(){
-
-        Product product = new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE_LOWER_CASE,
-                RANDOM_DESCRIPTION, RANDOM_HEIGHT, RANDOM_WIDTH, RANDOM_REGULAR_PRICE, RANDOM_CURRENT_PRICE,
-                RANDOM_STOCK, RANDOM_MAIN_IMAGE, RANDOM_IMAGE_LIST);
-        productRepository.save(product);
-
-        List<Product> products = productRepository
-                .findByPhraseAndPriceRange(PHRASE_OF_RANDOM_NAME_LOWER_CASE,
-                        LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                        List.of(), PageRequest.of(0, 10));
-        List<Product> notFoundedProductList = productRepository
-                .findByPhraseAndPriceRange(PHRASE_OF_RANDOM_NAME_LOWER_CASE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                        GREATER_PRICE_THAN_CURRENT_PRICE_2, List.of(), PageRequest.of(0, 10));
-
-        assertEquals(products.size(), 1);
-        assertEquals(notFoundedProductList.size(), 0);
-    }
-
-    @Test
-    public void testOffFindByPhraseAndTypeAndPriceRange(){
-
-        productRepository.save(product1);
-
-        List<Product> products = productRepository
-                .findByPhraseAndTypeAndPriceRange(PHRASE_OF_RANDOM_NAME_LOWER_CASE,
-                RANDOM_TYPE_LOWER_CASE, LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                        List.of(), PageRequest.of(0, 10));
+    public void testOfFindEANCodesOfProductsOnSale(){
 
-        List<Product> productsNotFound = productRepository
-                .findByPhraseAndTypeAndPriceRange(PHRASE_OF_RANDOM_NAME_LOWER_CASE,
-                RANDOM_TYPE_LOWER_CASE, GREATER_PRICE_THAN_CURRENT_PRICE_1, GREATER_PRICE_THAN_CURRENT_PRICE_2,
-                        List.of(), PageRequest.of(0, 10));
+        List<String> eanCodes = productRepository.findEANCodesOfProductsOnSale();
 
-        assertEquals(products.size(), 1);
-        assertEquals(productsNotFound.size(), 0);
-    }
-
-    @Test
-    public void testOfShowOnSale(){
-
-        List<Product> products = productRepository.showOnSale();
-
-        assertEquals(products.size(), 1);
+        assertEquals(eanCodes, List.of(DIFFERENT_EAN_CODE));
     }
 
     @Test
@@ -327,15 +308,17 @@ public class ProductRepositoryTest {
 
         productRepository.save(product1);
 
-        List<Object[]> list = productRepository.getProductsAndRelatedQuantityByPhrase(PHRASE_OF_RANDOM_NAME_LOWER_CASE);
+        List<ProductQuantity> list = productRepository.getProductsAndRelatedQuantityByPhrase(PHRASE_OF_RANDOM_NAME_LOWER_CASE);
 
         HashMap<String, Long> map = new HashMap<>();
 
         list.forEach(row -> {
-            map.put(((Product) row[0]).getName(), (Long) row[1]);
+            map.put(row.name(), row.quantity());
         });
 
         assertEquals(map.size(), 1);
         assertEquals(map.get(RANDOM_NAME), RANDOM_STOCK.getQuantity());
+        assertEquals(list.get(0).EANCode(), product1.getEANCode());
+        assertEquals(list.get(0).type(), product1.getType());
     }
 }
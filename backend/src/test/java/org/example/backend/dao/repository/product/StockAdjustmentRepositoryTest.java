@@ -0,0 +1,85 @@
+package org.example.backend.dao.repository.product;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(StockAdjustmentRepository.class)
+public class StockAdjustmentRepositoryTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String EAN_CODE_THAT_NOT_EXIST = "73920483";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 100.00;
+    private final Long RANDOM_QUANTITY = 5L;
+    private final Long DIFFERENT_QUANTITY = 2L;
+
+    @Autowired
+    private StockAdjustmentRepository stockAdjustmentRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    //Adjustments of the same product are applied in order they were sent, even though batch is sorted
+    @Test
+    public void testOfAdjust(){
+
+        saveProduct(RANDOM_EAN_CODE, RANDOM_QUANTITY, RANDOM_STORED_IMAGE);
+        saveProduct(DIFFERENT_EAN_CODE, DIFFERENT_QUANTITY, DIFFERENT_STORED_IMAGE);
+        entityManager.flush();
+
+        boolean[] applied = stockAdjustmentRepository.adjust(List.of(
+                new StockAdjustment(RANDOM_EAN_CODE, 3L),
+                new StockAdjustment(DIFFERENT_EAN_CODE, -(DIFFERENT_QUANTITY + 1)),
+                new StockAdjustment(RANDOM_EAN_CODE, -(RANDOM_QUANTITY + 4)),
+                new StockAdjustment(EAN_CODE_THAT_NOT_EXIST, 1L),
+                new StockAdjustment(RANDOM_EAN_CODE, -(RANDOM_QUANTITY + 3))));
+
+        entityManager.clear();
+
+        assertArrayEquals(applied, new boolean[]{true, false, false, false, true});
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), DIFFERENT_QUANTITY);
+    }
+
+    @Test
+    public void testOfAdjustWithEmptyList(){
+        assertEquals(stockAdjustmentRepository.adjust(List.of()).length, 0);
+    }
+
+    private void saveProduct(String eanCode, Long quantity, StoredImage storedImage) {
+        productRepository.save(new Product(RANDOM_NAME, eanCode, RANDOM_TYPE, RANDOM_DESCRIPTION, null, null,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(quantity), new ProductMainImage(storedImage)));
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.backend.dao.repository.product;
+
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Comparison of conditional decrement with pessimistic locking under flash sale load. Many buyers order the same
+//two products, every order is its own transaction, the same load is sent to both and their throughput is logged.
+//It takes a while, so it is run only with -Dload-test=true:
+//mvn test -Dtest=StockReservationLoadTest -Dload-test=true
+@DataJpaTest
+@Import(StockReservationRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+public class StockReservationLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationLoadTest.class);
+
+    //Stock is locked, checked and written back, as checkout did before conditional decrement
+    private static final String LOCK_STOCK_QUERY =
+            "SELECT s.quantity FROM stock AS s "
+                    + "WHERE s.id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?) FOR UPDATE";
+    private static final String UPDATE_STOCK_QUERY =
+            "UPDATE stock SET quantity = ? WHERE id = (SELECT p.stock_id FROM product AS p WHERE p.eancode = ?)";
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 100.00;
+    private final Long FLASH_SALE_QUANTITY = 2000L;
+    private final int BUYERS = 32;
+    private final int ORDERS_PER_BUYER = 100;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    //Both ways must sell stock out exactly, only their throughput differs. Both are run once before
+    //they are measured, so neither one pays for warming up connection pool and JIT
+    @Test
+    public void testOfReserveInBothModes() throws Exception {
+
+        Predicate<List<StockReservation>> conditionalDecrementReservation =
+                order -> stockReservationRepository.reserve(order).isEmpty();
+
+        runLoad(conditionalDecrementReservation);
+        runLoad(this::reserveWithLock);
+
+        LoadResult conditionalDecrement = runLoad(conditionalDecrementReservation);
+        LoadResult pessimisticLocking = runLoad(this::reserveWithLock);
+
+        logger.info("Conditional decrement: " + conditionalDecrement);
+        logger.info("Pessimistic locking: " + pessimisticLocking);
+
+        assertEquals(conditionalDecrement.successfulOrders(), FLASH_SALE_QUANTITY.intValue());
+        assertEquals(pessimisticLocking.successfulOrders(), FLASH_SALE_QUANTITY.intValue());
+    }
+
+    private LoadResult runLoad(Predicate<List<StockReservation>> reservation) throws Exception {
+
+        productRepository.deleteAll();
+        saveProduct(RANDOM_EAN_CODE, RANDOM_STORED_IMAGE);
+        saveProduct(DIFFERENT_EAN_CODE, DIFFERENT_STORED_IMAGE);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger successfulOrders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> buyers = new ArrayList<>();
+
+        try{
+
+            for(int i = 0; i < BUYERS; i++) {
+
+                List<StockReservation> order = new ArrayList<>(List.of(
+                        new StockReservation(RANDOM_EAN_CODE, 1L), new StockReservation(DIFFERENT_EAN_CODE, 1L)));
+
+                if(i % 2 == 0)
+                    Collections.reverse(order);
+
+                buyers.add(executor.submit(() -> {
+
+                    start.await();
+
+                    for(int j = 0; j < ORDERS_PER_BUYER; j++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+
+                            if(reservation.test(order))
+                                successfulOrders.incrementAndGet();
+                            else
+                                status.setRollbackOnly();
+                        });
+                    }
+
+                    return null;
+                }));
+            }
+
+            long loadStart = System.nanoTime();
+            start.countDown();
+
+            for(Future<?> buyer : buyers)
+                buyer.get(10, TimeUnit.MINUTES);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - loadStart);
+
+            assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+            assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), 0L);
+
+            return new LoadResult(successfulOrders.get(), BUYERS * ORDERS_PER_BUYER, elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Rows are locked in the same order as conditional decrement locks them, so neither way can deadlock
+    private boolean reserveWithLock(List<StockReservation> order) {
+
+        List<StockReservation> sortedOrder = new ArrayList<>(order);
+        sortedOrder.sort(Comparator.comparing(StockReservation::EANCode));
+
+        List<Long> quantities = new ArrayList<>();
+
+        for(StockReservation reservation : sortedOrder) {
+
+            Long quantity = jdbcTemplate.queryForObject(LOCK_STOCK_QUERY, Long.class, reservation.EANCode());
+
+            if((quantity == null) || (quantity < reservation.quantity()))
+                return false;
+
+            quantities.add(quantity);
+        }
+
+        for(int i = 0; i < sortedOrder.size(); i++)
+            jdbcTemplate.update(UPDATE_STOCK_QUERY, quantities.get(i) - sortedOrder.get(i).quantity(),
+                    sortedOrder.get(i).EANCode());
+
+        return true;
+    }
+
+    private void saveProduct(String eanCode, StoredImage storedImage) {
+        productRepository.save(new Product(RANDOM_NAME, eanCode, RANDOM_TYPE, RANDOM_DESCRIPTION, null, null,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(FLASH_SALE_QUANTITY), new ProductMainImage(storedImage)));
+    }
+
+    private record LoadResult(int successfulOrders, int orders, Duration elapsed) {
+
+        @Override
+        public String toString() {
+            return successfulOrders + " of " + orders + " orders placed in " + elapsed.toMillis() + " ms, "
+                    + (orders * 1000L / Math.max(elapsed.toMillis(), 1)) + " orders/s";
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.backend.dao.repository.product;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(StockReservationRepository.class)
+public class StockReservationRepositoryTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String EAN_CODE_THAT_NOT_EXIST = "73920483";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 100.00;
+    private final Long RANDOM_QUANTITY = 5L;
+    private final Long DIFFERENT_QUANTITY = 2L;
+    private final Long FLASH_SALE_QUANTITY = 100L;
+    private final int BUYERS = 8;
+    private final int ORDERS_PER_BUYER = 25;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void testOfReserve(){
+
+        saveProduct(RANDOM_EAN_CODE, RANDOM_QUANTITY, RANDOM_STORED_IMAGE);
+        saveProduct(DIFFERENT_EAN_CODE, DIFFERENT_QUANTITY, DIFFERENT_STORED_IMAGE);
+        entityManager.flush();
+
+        List<StockReservation> failedReservations = stockReservationRepository.reserve(List.of(
+                new StockReservation(RANDOM_EAN_CODE, RANDOM_QUANTITY - 1),
+                new StockReservation(DIFFERENT_EAN_CODE, DIFFERENT_QUANTITY + 1),
+                new StockReservation(EAN_CODE_THAT_NOT_EXIST, 1L)));
+
+        entityManager.clear();
+
+        assertEquals(failedReservations, List.of(new StockReservation(DIFFERENT_EAN_CODE, DIFFERENT_QUANTITY + 1),
+                new StockReservation(EAN_CODE_THAT_NOT_EXIST, 1L)));
+        //Reservation which was made is given back, because other reservations of the order failed
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), RANDOM_QUANTITY);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), DIFFERENT_QUANTITY);
+    }
+
+    //Random product is short for the whole batch, so it is shared among orders in their order. Second order
+    //doesn't fit and gives back different product it reserved, fourth one still fits into what is left
+    @Test
+    public void testOfReserveForOrders(){
+
+        saveProduct(RANDOM_EAN_CODE, RANDOM_QUANTITY, RANDOM_STORED_IMAGE);
+        saveProduct(DIFFERENT_EAN_CODE, DIFFERENT_QUANTITY, DIFFERENT_STORED_IMAGE);
+        entityManager.flush();
+
+        List<List<String>> missingEANCodes = stockReservationRepository.reserveForOrders(List.of(
+                List.of(new StockReservation(RANDOM_EAN_CODE, RANDOM_QUANTITY - 1)),
+                List.of(new StockReservation(DIFFERENT_EAN_CODE, 1L), new StockReservation(RANDOM_EAN_CODE, 2L)),
+                List.of(new StockReservation(EAN_CODE_THAT_NOT_EXIST, 1L)),
+                List.of(new StockReservation(RANDOM_EAN_CODE, 1L), new StockReservation(DIFFERENT_EAN_CODE, 1L))));
+
+        entityManager.clear();
+
+        assertEquals(missingEANCodes, List.of(List.of(), List.of(RANDOM_EAN_CODE), List.of(EAN_CODE_THAT_NOT_EXIST),
+                List.of()));
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(),
+                DIFFERENT_QUANTITY - 1);
+    }
+
+    @Test
+    public void testOfReserveForOrdersWithEnoughStock(){
+
+        saveProduct(RANDOM_EAN_CODE, RANDOM_QUANTITY, RANDOM_STORED_IMAGE);
+        entityManager.flush();
+
+        assertEquals(stockReservationRepository.reserveForOrders(List.of(
+                List.of(new StockReservation(RANDOM_EAN_CODE, 2L)),
+                List.of(new StockReservation(RANDOM_EAN_CODE, 3L)))), List.of(List.of(), List.of()));
+
+        entityManager.clear();
+
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+    }
+
+    //Many buyers order both products at once, with lines in different order, every order is its own transaction.
+    //Stock must be sold out exactly, without oversell and without deadlock
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testOfReserveConcurrently() throws Exception {
+
+        saveProduct(RANDOM_EAN_CODE, FLASH_SALE_QUANTITY, RANDOM_STORED_IMAGE);
+        saveProduct(DIFFERENT_EAN_CODE, FLASH_SALE_QUANTITY, DIFFERENT_STORED_IMAGE);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger successfulOrders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for(int i = 0; i < BUYERS; i++) {
+
+            List<StockReservation> order = new ArrayList<>(List.of(
+                    new StockReservation(RANDOM_EAN_CODE, 1L), new StockReservation(DIFFERENT_EAN_CODE, 1L)));
+
+            if(i % 2 == 0)
+                Collections.reverse(order);
+
+            List<StockReservation> finalOrder = order;
+
+            buyers.add(executor.submit(() -> {
+
+                start.await();
+
+                for(int j = 0; j < ORDERS_PER_BUYER; j++) {
+                    transactionTemplate.executeWithoutResult(status -> {
+
+                        if(stockReservationRepository.reserve(finalOrder).isEmpty())
+                            successfulOrders.incrementAndGet();
+                        else
+                            status.setRollbackOnly();
+                    });
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for(Future<?> buyer : buyers)
+            buyer.get(1, TimeUnit.MINUTES);
+
+        executor.shutdown();
+
+        assertEquals(successfulOrders.get(), FLASH_SALE_QUANTITY.intValue());
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), 0L);
+    }
+
+    private void saveProduct(String eanCode, Long quantity, StoredImage storedImage) {
+        productRepository.save(new Product(RANDOM_NAME, eanCode, RANDOM_TYPE, RANDOM_DESCRIPTION, null, null,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(quantity), new ProductMainImage(storedImage)));
+    }
+}
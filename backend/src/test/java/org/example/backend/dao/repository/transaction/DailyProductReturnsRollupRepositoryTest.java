@@ -0,0 +1,96 @@
+package org.example.backend.dao.repository.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.DailyProductReturns;
+import org.example.backend.dao.entity.transaction.DailyProductReturnsId;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DailyProductReturnsRollupRepository.class)
+public class DailyProductReturnsRollupRepositoryTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String EAN_CODE_THAT_NOT_EXIST = "73920483";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
+    private final Double RANDOM_PRICE = 10.00;
+    private final Long RANDOM_QUANTITY = 3L;
+    private final Long DIFFERENT_QUANTITY = 5L;
+    private final LocalDate RANDOM_DAY = LocalDate.of(2024, 5, 1);
+    private final ReturnCause RANDOM_RETURN_CAUSE = ReturnCause.DAMAGED;
+    private final ReturnCause DIFFERENT_RETURN_CAUSE = ReturnCause.WRONG_SIZE;
+
+    @Autowired
+    private DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository;
+
+    @Autowired
+    private DailyProductReturnsRepository dailyProductReturnsRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+    private DeliveryProvider deliveryProvider;
+
+    @BeforeEach
+    public void setUp() {
+
+        product = productRepository.save(new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION,
+                null, null, RANDOM_PRICE, RANDOM_PRICE, new Stock(10L), new ProductMainImage(RANDOM_STORED_IMAGE)));
+        deliveryProvider = deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testOfAdd(){
+
+        assertTrue(dailyProductReturnsRollupRepository.isEmpty());
+
+        dailyProductReturnsRollupRepository.add(RANDOM_DAY, RANDOM_RETURN_CAUSE, deliveryProvider.getId(), List.of(
+                new ProductReturn(RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_QUANTITY, RANDOM_QUANTITY * RANDOM_PRICE),
+                new ProductReturn(EAN_CODE_THAT_NOT_EXIST, RANDOM_TYPE, RANDOM_QUANTITY, RANDOM_QUANTITY * RANDOM_PRICE)));
+        dailyProductReturnsRollupRepository.add(RANDOM_DAY, RANDOM_RETURN_CAUSE, deliveryProvider.getId(), List.of(
+                new ProductReturn(RANDOM_EAN_CODE, RANDOM_TYPE, DIFFERENT_QUANTITY, DIFFERENT_QUANTITY * RANDOM_PRICE)));
+        dailyProductReturnsRollupRepository.add(RANDOM_DAY, DIFFERENT_RETURN_CAUSE, deliveryProvider.getId(), List.of(
+                new ProductReturn(RANDOM_EAN_CODE, RANDOM_TYPE, DIFFERENT_QUANTITY, DIFFERENT_QUANTITY * RANDOM_PRICE)));
+
+        entityManager.clear();
+
+        DailyProductReturns randomCauseReturns = dailyProductReturnsRepository.findById(new DailyProductReturnsId(
+                RANDOM_DAY, product.getId(), RANDOM_TYPE, RANDOM_RETURN_CAUSE, deliveryProvider.getId())).orElseThrow();
+
+        assertFalse(dailyProductReturnsRollupRepository.isEmpty());
+        assertEquals(dailyProductReturnsRepository.count(), 2L);
+        assertEquals(randomCauseReturns.getQuantity(), RANDOM_QUANTITY + DIFFERENT_QUANTITY);
+        assertEquals(randomCauseReturns.getRevenue(), (RANDOM_QUANTITY + DIFFERENT_QUANTITY) * RANDOM_PRICE);
+        assertEquals(dailyProductReturnsRepository.findById(new DailyProductReturnsId(
+                RANDOM_DAY, product.getId(), RANDOM_TYPE, DIFFERENT_RETURN_CAUSE, deliveryProvider.getId())).orElseThrow()
+                .getQuantity(), DIFFERENT_QUANTITY);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.dao.repository.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.DailyProductSales;
+import org.example.backend.dao.entity.transaction.DailyProductSalesId;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DailyProductSalesRollupRepository.class)
+public class DailyProductSalesRollupRepositoryTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String EAN_CODE_THAT_NOT_EXIST = "73920483";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String DIFFERENT_TYPE = "different type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 10.00;
+    private final Long RANDOM_QUANTITY = 3L;
+    private final Long DIFFERENT_QUANTITY = 5L;
+    private final LocalDate RANDOM_DAY = LocalDate.of(2024, 5, 1);
+    private final LocalDate DIFFERENT_DAY = LocalDate.of(2024, 5, 2);
+
+    @Autowired
+    private DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+
+        product = productRepository.save(new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION,
+                null, null, RANDOM_PRICE, RANDOM_PRICE, new Stock(10L), new ProductMainImage(RANDOM_STORED_IMAGE)));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testOfAdd(){
+
+        assertTrue(dailyProductSalesRollupRepository.isEmpty());
+
+        dailyProductSalesRollupRepository.add(RANDOM_DAY, List.of(
+                new ProductSale(RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_QUANTITY, RANDOM_QUANTITY * RANDOM_PRICE),
+                new ProductSale(EAN_CODE_THAT_NOT_EXIST, RANDOM_TYPE, RANDOM_QUANTITY, RANDOM_QUANTITY * RANDOM_PRICE)));
+        dailyProductSalesRollupRepository.add(RANDOM_DAY, List.of(
+                new ProductSale(RANDOM_EAN_CODE, RANDOM_TYPE, DIFFERENT_QUANTITY, DIFFERENT_QUANTITY * RANDOM_PRICE),
+                new ProductSale(RANDOM_EAN_CODE, DIFFERENT_TYPE, DIFFERENT_QUANTITY, DIFFERENT_QUANTITY * RANDOM_PRICE)));
+        dailyProductSalesRollupRepository.add(DIFFERENT_DAY, List.of(
+                new ProductSale(RANDOM_EAN_CODE, RANDOM_TYPE, DIFFERENT_QUANTITY, DIFFERENT_QUANTITY * RANDOM_PRICE)));
+
+        entityManager.clear();
+
+        DailyProductSales randomDaySales = dailyProductSalesRepository
+                .findById(new DailyProductSalesId(RANDOM_DAY, product.getId(), RANDOM_TYPE)).orElseThrow();
+
+        assertFalse(dailyProductSalesRollupRepository.isEmpty());
+        assertEquals(dailyProductSalesRepository.count(), 3L);
+        assertEquals(randomDaySales.getQuantity(), RANDOM_QUANTITY + DIFFERENT_QUANTITY);
+        assertEquals(randomDaySales.getRevenue(), (RANDOM_QUANTITY + DIFFERENT_QUANTITY) * RANDOM_PRICE);
+        assertEquals(dailyProductSalesRepository
+                .findById(new DailyProductSalesId(DIFFERENT_DAY, product.getId(), RANDOM_TYPE)).orElseThrow()
+                .getQuantity(), DIFFERENT_QUANTITY);
+    }
+}
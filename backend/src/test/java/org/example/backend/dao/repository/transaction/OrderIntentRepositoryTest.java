@@ -0,0 +1,81 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.enumerated.OrderIntentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(OrderIntentRepository.class)
+public class OrderIntentRepositoryTest {
+
+    private final String RANDOM_IDEMPOTENCY_KEY = "random-key";
+    private final String DIFFERENT_IDEMPOTENCY_KEY = "different-key";
+    private final String RANDOM_PAYLOAD = "{\"userEmail\":\"email@email.com\"}";
+    private final String RANDOM_CLAIM_TOKEN = "random-claim-token";
+    private final String DIFFERENT_CLAIM_TOKEN = "different-claim-token";
+    private final String RANDOM_REJECTION_REASON = "Random reason";
+    private final Instant RANDOM_TIME = Instant.parse("2024-05-01T10:00:00Z");
+    private final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    @Autowired
+    private OrderIntentRepository orderIntentRepository;
+
+    @Test
+    public void testOfSave(){
+
+        StoredOrderIntent intent = pendingIntent(RANDOM_IDEMPOTENCY_KEY);
+        orderIntentRepository.save(intent, RANDOM_TIME);
+
+        assertEquals(orderIntentRepository.findById(intent.id()), intent);
+        assertEquals(orderIntentRepository.findByIdempotencyKey(RANDOM_IDEMPOTENCY_KEY), intent);
+        assertNull(orderIntentRepository.findByIdempotencyKey(DIFFERENT_IDEMPOTENCY_KEY));
+        assertThrows(DuplicateKeyException.class, () -> orderIntentRepository
+                .save(pendingIntent(RANDOM_IDEMPOTENCY_KEY), RANDOM_TIME));
+    }
+
+    //Claimed intent can't be claimed by other worker until its claim expires, then only the new claim finishes it
+    @Test
+    public void testOfClaimAndFinish(){
+
+        StoredOrderIntent olderIntent = pendingIntent(RANDOM_IDEMPOTENCY_KEY);
+        StoredOrderIntent newerIntent = pendingIntent(DIFFERENT_IDEMPOTENCY_KEY);
+        orderIntentRepository.save(newerIntent, RANDOM_TIME.plusSeconds(1));
+        orderIntentRepository.save(olderIntent, RANDOM_TIME);
+
+        assertEquals(orderIntentRepository.claim(RANDOM_CLAIM_TOKEN, 1, RANDOM_TIME,
+                RANDOM_TIME.minus(CLAIM_TIMEOUT)), List.of(olderIntent));
+        assertEquals(orderIntentRepository.claim(DIFFERENT_CLAIM_TOKEN, 10, RANDOM_TIME,
+                RANDOM_TIME.minus(CLAIM_TIMEOUT)), List.of(newerIntent));
+        assertTrue(orderIntentRepository.claim(DIFFERENT_CLAIM_TOKEN, 10, RANDOM_TIME,
+                RANDOM_TIME.minus(CLAIM_TIMEOUT)).isEmpty());
+
+        Instant afterTimeout = RANDOM_TIME.plus(CLAIM_TIMEOUT).plusSeconds(1);
+
+        assertEquals(orderIntentRepository.claim(DIFFERENT_CLAIM_TOKEN, 1, afterTimeout,
+                afterTimeout.minus(CLAIM_TIMEOUT)).get(0).id(), olderIntent.id());
+        assertFalse(orderIntentRepository.finish(List.of(olderIntent.rejected(RANDOM_REJECTION_REASON)),
+                RANDOM_CLAIM_TOKEN));
+        assertTrue(orderIntentRepository.finish(List.of(olderIntent.rejected(RANDOM_REJECTION_REASON)),
+                DIFFERENT_CLAIM_TOKEN));
+
+        StoredOrderIntent finishedIntent = orderIntentRepository.findById(olderIntent.id());
+
+        assertEquals(finishedIntent.status(), OrderIntentStatus.REJECTED);
+        assertEquals(finishedIntent.rejectionReason(), RANDOM_REJECTION_REASON);
+    }
+
+    private StoredOrderIntent pendingIntent(String idempotencyKey) {
+        return new StoredOrderIntent(UUID.randomUUID().toString(), idempotencyKey, RANDOM_PAYLOAD,
+                OrderIntentStatus.PENDING, null, null);
+    }
+}
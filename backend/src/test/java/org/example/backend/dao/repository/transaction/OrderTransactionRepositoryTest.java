@@ -19,6 +19,10 @@ import org.example.backend.dao.repository.product.ProductRepository;
 import org.example.backend.dao.repository.user.PrivilegeRepository;
 import org.example.backend.dao.repository.user.RoleRepository;
 import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.enumerated.TransactionStatus;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.OrderTransactionSearchModel;
+import org.example.backend.pagination.DateAndIdCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,12 +37,17 @@ import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
+import static org.example.backend.pagination.DateAndIdCursor.FIRST_PAGE;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @DataJpaTest
 public class OrderTransactionRepositoryTest {
 
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final StoredImage RANDOM_MAIN_STORED_IMAGE = new StoredImage("3".repeat(64), 12L, "image/png");
     private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
     private final String RANDOM_COUNTRY_NAME = "Random country";
     private final String RANDOM_PROVINCE_NAME = "Random province";
@@ -51,8 +60,6 @@ public class OrderTransactionRepositoryTest {
     private final String RANDOM_TYPE = "Random type";
     private final String RANDOM_PRODUCT_DESCRIPTION = "Random product description";
     private final Double RANDOM_PRICE = 5.00;
-    private final byte[] RANDOM_MAIN_IMAGE = new byte[10];
-    private final byte[] DIFFERENT_IMAGE = new byte[12];
     private final Date TODAYS_DATE = Date.from(ZonedDateTime.now().toInstant());
     private final String RANDOM_FIRST_NAME = "FirstName";
     private final String RANDOM_LAST_NAME = "LastName";
@@ -67,6 +74,9 @@ public class OrderTransactionRepositoryTest {
     private final Date DATE_NOT_IN_RANGE = new Date(Instant.now().toEpochMilli() + 100000000000L);
     private final Integer RANDOM_HEIGHT = 700;
     private final Integer RANDOM_WIDTH = 800;
+    private final String PAYMENT_METHOD_THAT_NOT_EXIST = "Payment method that not exist";
+    private final Double MINIMAL_COST = 5.00;
+    private final Double MAXIMAL_COST = 20.00;
 
     @Autowired
     private OrderTransactionRepository orderTransactionRepository;
@@ -115,8 +125,8 @@ public class OrderTransactionRepositoryTest {
     public void setUp() {
 
         Stock stock = new Stock(RANDOM_QUANTITY);
-        ProductMainImage productMainImage = new ProductMainImage(RANDOM_MAIN_IMAGE);
-        ProductPageImage productPageImage = new ProductPageImage(DIFFERENT_IMAGE);
+        ProductMainImage productMainImage = new ProductMainImage(RANDOM_MAIN_STORED_IMAGE);
+        ProductPageImage productPageImage = new ProductPageImage(DIFFERENT_STORED_IMAGE);
         product = new Product(RANDOM_PRODUCT_NAME, RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_PRODUCT_DESCRIPTION, RANDOM_HEIGHT,
                 RANDOM_WIDTH, RANDOM_PRICE, RANDOM_PRICE, stock, productMainImage, List.of(productPageImage));
         productRepository.save(product);
@@ -180,366 +190,107 @@ public class OrderTransactionRepositoryTest {
     }
 
     @Test
-    public void testOfFindOrderTransactions(){
+    public void testOfFindOrderTransactionsBySpecification(){
 
         orderTransactionRepository.save(orderTransaction);
 
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactions(List.of(), PageRequest.of(0, 10));
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(
+                null, null, null, null, null, null, null, null);
 
-        List<UUID> allIds = new ArrayList<>();
+        List<OrderTransaction> orders = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, FIRST_PAGE), 10);
 
-        orders.forEach(order -> allIds.add(order.getId()));
+        OrderTransaction lastOrderTransaction = orders.get(orders.size() - 1);
 
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactions(allIds, PageRequest.of(0, 10));
+        List<OrderTransaction> emptyResultList = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel,
+                        new DateAndIdCursor(lastOrderTransaction.getDate(), lastOrderTransaction.getId())), 10);
 
         assertEquals(orders.size(), 2);
+        assertEquals(orders.get(0).getDate(), DATE_NOT_IN_RANGE);
+        assertEquals(orders.get(1).getDate(), TODAYS_DATE);
         assertEquals(emptyResultList.size(), 0);
     }
 
     @Test
-    public void testOfFindOrderTransactionsByTimePeriod(){
+    public void testOfFindOrderTransactionsBySpecificationWithCursor(){
 
         orderTransactionRepository.save(orderTransaction);
 
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriod(
-                        DATE_BEFORE, DATE_AFTER, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(
+                null, null, RANDOM_PAYMENT_METHOD, null, null, null, null, null);
 
-        orders.forEach(order -> allIds.add(order.getId()));
+        List<OrderTransaction> firstPage = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, FIRST_PAGE), 1);
 
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriod(
-                        DATE_BEFORE, DATE_AFTER, allIds, PageRequest.of(0, 10));
+        List<OrderTransaction> secondPage = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel,
+                        new DateAndIdCursor(firstPage.get(0).getDate(), firstPage.get(0).getId())), 1);
 
-        assertEquals(orders.size(), 1);
-        assertEquals(orders.get(0).getDeliveryAddress(), address);
-        assertEquals(orders.get(0).getPaymentMethod(), paymentMethod);
-        assertEquals(orders.get(0).getDate(), TODAYS_DATE);
-        assertEquals(emptyResultList.size(), 0);
+        assertEquals(firstPage.size(), 1);
+        assertEquals(secondPage.size(), 1);
+        assertNotEquals(firstPage.get(0).getId(), secondPage.get(0).getId());
+        assertFalse(firstPage.get(0).getDate().before(secondPage.get(0).getDate()));
     }
 
     @Test
-    public void testOfFindOrderTransactionsByPaymentMethodName(){
+    public void testOfFindOrderTransactionsBySpecificationWithTimePeriod(){
 
         orderTransactionRepository.save(orderTransaction);
 
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodName(
-                        RANDOM_PAYMENT_METHOD, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(
+                DATE_BEFORE, DATE_AFTER, null, null, null, null, null, null);
 
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodName(
-                        RANDOM_PAYMENT_METHOD, allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByDeliveryProviderName(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderName(
-                        RANDOM_DELIVERY_PROVIDER_NAME, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderName(
-                        RANDOM_DELIVERY_PROVIDER_NAME, allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByUserEmail(
-                        RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyOrderList = orderTransactionRepository
-                .findOrderTransactionsByUserEmail(
-                        RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyOrderList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndPaymentMethodName(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, List.of(),
-                        PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, allIds,
-                        PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 1);
-        assertEquals(orders.get(0).getDeliveryAddress(), address);
-        assertEquals(orders.get(0).getPaymentMethod(), paymentMethod);
-        assertEquals(orders.get(0).getDate(), TODAYS_DATE);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndDeliveryProviderName(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, List.of(),
-                PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultSet = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, allIds,
-                PageRequest.of(0, 10));
+        List<OrderTransaction> orders = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, FIRST_PAGE), 10);
 
         assertEquals(orders.size(), 1);
         assertEquals(orders.get(0).getDeliveryAddress(), address);
         assertEquals(orders.get(0).getPaymentMethod(), paymentMethod);
         assertEquals(orders.get(0).getDate(), TODAYS_DATE);
-        assertEquals(emptyResultSet.size(), 0);
     }
 
     @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndUserEmail(){
+    public void testOfFindOrderTransactionsBySpecificationWithPaymentMethodNameAndDeliveryProviderNameAndUserEmail(){
 
         orderTransactionRepository.save(orderTransaction);
 
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, List.of(),
-                        PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, allIds,
-                        PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 1);
-        assertEquals(orders.get(0).getDeliveryAddress(), address);
-        assertEquals(orders.get(0).getPaymentMethod(), paymentMethod);
-        assertEquals(orders.get(0).getDate(), TODAYS_DATE);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(){
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(null, null,
+                RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null, null, null);
 
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                        RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME, List.of(),
-                        PageRequest.of(0, 10));
+        OrderTransactionSearchModel searchModelWithPaymentMethodThatNotExist = new OrderTransactionSearchModel(
+                null, null, PAYMENT_METHOD_THAT_NOT_EXIST, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
+                null, null, null);
 
-        List<UUID> allIds = new ArrayList<>();
+        List<OrderTransaction> orders = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, FIRST_PAGE), 10);
 
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                        RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME, allIds,
-                        PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByPaymentMethodNameAndUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndUserEmail(
-                        RANDOM_PAYMENT_METHOD, RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndUserEmail(
-                        RANDOM_PAYMENT_METHOD, RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByDeliveryProviderNameAndUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderNameAndUserEmail(RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByDeliveryProviderNameAndUserEmail(RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 2);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME,
-                        List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME,
-                        allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 1);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 1);
-        assertEquals(emptyResultList.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_EMAIL,
-                        List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultSet = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_EMAIL,
-                        allIds, PageRequest.of(0, 10));
-
-        assertEquals(orders.size(), 1);
-        assertEquals(emptyResultSet.size(), 0);
-    }
-
-    @Test
-    public void testOfFindOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(){
-
-        orderTransactionRepository.save(orderTransaction);
-
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
-
-        orders.forEach(order -> allIds.add(order.getId()));
-
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        allIds, PageRequest.of(0, 10));
+        List<OrderTransaction> emptyResultList = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModelWithPaymentMethodThatNotExist, FIRST_PAGE), 10);
 
         assertEquals(orders.size(), 2);
         assertEquals(emptyResultList.size(), 0);
     }
 
     @Test
-    public void testOfFindOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(){
+    public void testOfFindOrderTransactionsBySpecificationWithStatusAndCostRange(){
 
         orderTransactionRepository.save(orderTransaction);
 
-        List<OrderTransaction> orders = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(null, null, null, null, null,
+                TransactionStatus.PAID, MINIMAL_COST, MAXIMAL_COST);
 
-        List<UUID> allIds = new ArrayList<>();
+        OrderTransactionSearchModel searchModelWithOtherStatus = new OrderTransactionSearchModel(
+                null, null, null, null, null, TransactionStatus.SENT, null, null);
 
-        orders.forEach(order -> allIds.add(order.getId()));
+        List<OrderTransaction> orders = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, FIRST_PAGE), 10);
 
-        List<OrderTransaction> emptyResultList = orderTransactionRepository
-                .findOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_METHOD, RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
+        List<OrderTransaction> emptyResultList = orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModelWithOtherStatus, FIRST_PAGE), 10);
 
         assertEquals(orders.size(), 1);
+        assertEquals(orders.get(0).getDate(), TODAYS_DATE);
         assertEquals(emptyResultList.size(), 0);
     }
 
@@ -0,0 +1,110 @@
+package org.example.backend.dao.repository.transaction;
+
+import org.example.backend.enumerated.TransactionStatus;
+import org.example.backend.model.OrderTransactionSearchModel;
+import org.example.backend.pagination.DateAndIdCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.example.backend.pagination.DateAndIdCursor.FIRST_PAGE;
+import static org.junit.jupiter.api.Assertions.*;
+
+//Statement cache of driver and plan cache of database are keyed by SQL text, so search has to produce
+//one statement per combination of criteria, whatever values are searched for
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.backend.dao.repository.transaction.OrderTransactionSpecificationTest$RecordingStatementInspector")
+public class OrderTransactionSpecificationTest {
+
+    private final Date RANDOM_DATE = new Date(0);
+    private final Date DIFFERENT_DATE = Date.from(Instant.now());
+    private final String RANDOM_NAME = "Random name";
+    private final String DIFFERENT_NAME = "Different name";
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final String DIFFERENT_EMAIL = "different@email.com";
+    private final Double MINIMAL_COST = 5.00;
+    private final Double MAXIMAL_COST = 20.00;
+
+    @Autowired
+    private OrderTransactionRepository orderTransactionRepository;
+
+    @BeforeEach
+    public void setUp() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    public void testOfBySearchModelStatementPerCombinationOfCriteria() {
+
+        List<List<OrderTransactionSearchModel>> combinations = List.of(
+                List.of(searchModel(null, null, null, null, null, null, null, null),
+                        searchModel(null, null, null, null, null, null, null, null)),
+                List.of(searchModel(RANDOM_DATE, DIFFERENT_DATE, null, null, null, null, null, null),
+                        searchModel(DIFFERENT_DATE, DIFFERENT_DATE, null, null, null, null, null, null)),
+                List.of(searchModel(null, null, RANDOM_NAME, RANDOM_NAME, RANDOM_EMAIL, null, null, null),
+                        searchModel(null, null, DIFFERENT_NAME, DIFFERENT_NAME, DIFFERENT_EMAIL, null, null, null)),
+                List.of(searchModel(null, null, null, null, null, TransactionStatus.SENT, MINIMAL_COST, MAXIMAL_COST),
+                        searchModel(null, null, null, null, null, TransactionStatus.PAID, MAXIMAL_COST, MAXIMAL_COST)),
+                List.of(searchModel(RANDOM_DATE, DIFFERENT_DATE, RANDOM_NAME, RANDOM_NAME, RANDOM_EMAIL,
+                                TransactionStatus.SENT, MINIMAL_COST, MAXIMAL_COST),
+                        searchModel(DIFFERENT_DATE, DIFFERENT_DATE, DIFFERENT_NAME, DIFFERENT_NAME, DIFFERENT_EMAIL,
+                                TransactionStatus.PAID, MAXIMAL_COST, MAXIMAL_COST)));
+
+        Set<String> statementsOfAllCombinations = new HashSet<>();
+
+        for(List<OrderTransactionSearchModel> combination : combinations) {
+
+            Set<String> statementsOfCombination = new HashSet<>();
+
+            statementsOfCombination.add(search(combination.get(0), FIRST_PAGE));
+            statementsOfCombination.add(search(combination.get(1),
+                    new DateAndIdCursor(DIFFERENT_DATE, UUID.randomUUID())));
+
+            assertEquals(statementsOfCombination.size(), 1);
+            statementsOfAllCombinations.addAll(statementsOfCombination);
+        }
+
+        assertEquals(statementsOfAllCombinations.size(), combinations.size());
+    }
+
+    private String search(OrderTransactionSearchModel searchModel, DateAndIdCursor afterCursor) {
+
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        orderTransactionRepository.findOrderTransactionsBySpecification(
+                OrderTransactionSpecification.bySearchModel(searchModel, afterCursor), 10);
+
+        assertEquals(RecordingStatementInspector.STATEMENTS.size(), 1);
+
+        return RecordingStatementInspector.STATEMENTS.get(0);
+    }
+
+    private OrderTransactionSearchModel searchModel(Date startingDate, Date endingDate, String paymentMethodName,
+                                                    String deliveryProviderName, String userEmail,
+                                                    TransactionStatus status, Double minimalCost,
+                                                    Double maximalCost) {
+        return new OrderTransactionSearchModel(startingDate, endingDate, paymentMethodName, deliveryProviderName,
+                userEmail, status, minimalCost, maximalCost);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.example.backend.dao.repository.product.ProductRepository;
 import org.example.backend.dao.repository.user.PrivilegeRepository;
 import org.example.backend.dao.repository.user.RoleRepository;
 import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,7 +27,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,7 +34,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @DataJpaTest
 public class OrderedProductRepositoryTest {
 
-    private final String RANDOM_PHRASE_LOWER_CASE = "random";
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final String RANDOM_PRODUCT_NAME = "Random name";
     private final String DIFFERENT_PRODUCT_NAME = "Different name";
     private final String RANDOM_EAN_CODE = "6234628742679";
@@ -46,14 +46,11 @@ public class OrderedProductRepositoryTest {
     private final Double RANDOM_CURRENT_PRICE = 100.99;
     private final Stock RANDOM_STOCK = new Stock(10L);
     private final Stock DIFFERENT_STOCK = new Stock(10L);
-    private final byte[] RANDOM_IMAGE = new byte[12];
-    private final ProductMainImage RANDOM_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_IMAGE);
-    private final ProductMainImage DIFFERENT_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_IMAGE);
+    private final ProductMainImage RANDOM_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_STORED_IMAGE);
+    private final ProductMainImage DIFFERENT_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_STORED_IMAGE);
     private final Long RANDOM_QUANTITY = 10L;
     private final Long DIFFERENT_QUANTITY = 31L;
-    private final Date DATE_BEFORE = new Date(0);
     private final Date DATE_NOW = new Date(Instant.now().toEpochMilli());
-    private final Date DATE_AFTER = new Date(Instant.now().toEpochMilli() + 1000000000);
     private final String RANDOM_FIRST_NAME = "FirstName";
     private final String RANDOM_LAST_NAME = "LastName";
     private final String RANDOM_EMAIL = "email@email.com";
@@ -171,218 +168,4 @@ public class OrderedProductRepositoryTest {
 
         assertDoesNotThrow(() -> orderedProductRepository.save(orderedProduct));
     }
-
-    @Test
-    public void testOfGetAllQuantityOfOrderedProductsAndRevenue(){
-
-        List<Object[]> quantityAndRevenue =  orderedProductRepository.getAllQuantityOfOrderedProductsAndRevenue();
-
-        Long quantity = (Long) quantityAndRevenue.get(0)[0];
-        Double revenue = (Double) quantityAndRevenue.get(0)[1];
-
-        assertEquals(quantity, RANDOM_QUANTITY + DIFFERENT_QUANTITY);
-        assertEquals(revenue, RANDOM_QUANTITY * product1.getCurrentPrice() + DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirOrderedQuantityAndRevenue(){
-
-        List<Object[]> list = orderedProductRepository.getAllTypesAndTheirOrderedQuantityAndRevenue();
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            map1.put((String) row[0], (Long) row[1]);
-            map2.put((String) row[0], (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 2);
-        assertEquals(map2.size(), 2);
-        assertEquals(map1.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY);
-        assertEquals(map1.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY);
-        assertEquals(map2.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY * product1.getCurrentPrice());
-        assertEquals(map2.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirRevenueOfOrderedProducts(){
-
-        List<Object[]> list = orderedProductRepository.getProductsAndTheirOrderedQuantityAndRevenueByPhrase(RANDOM_PHRASE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map2.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * product1.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirOrderedQuantityAndRevenueByType(){
-
-        List<Object[]> list = orderedProductRepository.getProductsAndTheirOrderedQuantityAndRevenueByType(RANDOM_TYPE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map2.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * product1.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllQuantityOfOrderedProductsAndRevenueByTimePeriod(){
-
-        List<Object[]> result = orderedProductRepository.getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        Object[] quantityAndRevenue = result.get(0);
-
-        Long quantity = (Long) quantityAndRevenue[0];
-        Double revenue = (Double) quantityAndRevenue[1];
-
-        assertEquals(result.size(), 1);
-        assertEquals(quantity, RANDOM_QUANTITY + DIFFERENT_QUANTITY);
-        assertEquals(revenue, RANDOM_QUANTITY * orderedProduct1.getPricePerUnit() + DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriod(){
-
-        List<Object[]> result = orderedProductRepository
-                .getAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            map1.put((String) row[0], (Long) row[1]);
-            map2.put((String) row[0], (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 2);
-        assertEquals(map1.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-        assertEquals(map1.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY);
-        assertEquals(map2.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY * orderedProduct2.getPricePerUnit());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndPhrase(){
-
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndPhrase(DATE_BEFORE, DATE_AFTER, RANDOM_PHRASE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            Product pomProduct = (Product) row[0];
-            map1.put(pomProduct.getName(), (Long) row[1]);
-            map2.put(pomProduct.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(){
-
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 2);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-        assertEquals(map1.get(DIFFERENT_PRODUCT_NAME), DIFFERENT_QUANTITY);
-        assertEquals(map2.get(DIFFERENT_PRODUCT_NAME), DIFFERENT_QUANTITY * orderedProduct2.getPricePerUnit());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndType(){
-
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndType(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_TYPE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirQuantityOfOrderedProductsAndRevenueByTypeAndPhrase(){
-
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTypeAndPhrase(
-                        RANDOM_TYPE_LOWER_CASE, RANDOM_PHRASE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndTypeAndPhrase(){
-
-        List<Object[]> result = orderedProductRepository
-                .getProductsAndTheirQuantityOfOrderedProductsAndRevenueByTimePeriodAndTypeAndPhrase(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_TYPE_LOWER_CASE, RANDOM_PHRASE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * orderedProduct1.getPricePerUnit());
-    }
 }
@@ -17,6 +17,7 @@ import org.example.backend.dao.repository.user.PrivilegeRepository;
 import org.example.backend.dao.repository.user.RoleRepository;
 import org.example.backend.dao.repository.user.UserRepository;
 import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,11 +32,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
+import static org.example.backend.pagination.DateAndIdCursor.FIRST_PAGE;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class ReturnTransactionRepositoryTest {
 
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final StoredImage RANDOM_MAIN_STORED_IMAGE = new StoredImage("3".repeat(64), 12L, "image/png");
     private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
     private final String RANDOM_COUNTRY_NAME = "Random country";
     private final String RANDOM_PROVINCE_NAME = "Random province";
@@ -47,8 +51,6 @@ public class ReturnTransactionRepositoryTest {
     private final String RANDOM_TYPE = "Random type";
     private final String RANDOM_PRODUCT_DESCRIPTION = "Random product description";
     private final Double RANDOM_PRICE = 5.00;
-    private final byte[] RANDOM_MAIN_IMAGE = new byte[10];
-    private final byte[] DIFFERENT_IMAGE = new byte[12];
     private final Date TODAYS_DATE = Date.from(ZonedDateTime.now().toInstant());
     private final String RANDOM_FIRST_NAME = "FirstName";
     private final String RANDOM_LAST_NAME = "LastName";
@@ -106,8 +108,8 @@ public class ReturnTransactionRepositoryTest {
     public void setUp() {
 
         Stock stock = new Stock(RANDOM_QUANTITY);
-        ProductMainImage productMainImage = new ProductMainImage(RANDOM_MAIN_IMAGE);
-        ProductPageImage productPageImage = new ProductPageImage(DIFFERENT_IMAGE);
+        ProductMainImage productMainImage = new ProductMainImage(RANDOM_MAIN_STORED_IMAGE);
+        ProductPageImage productPageImage = new ProductPageImage(DIFFERENT_STORED_IMAGE);
         product = new Product(RANDOM_PRODUCT_NAME, RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_PRODUCT_DESCRIPTION, RANDOM_HEIGHT
                 , RANDOM_WIDTH, RANDOM_PRICE, RANDOM_PRICE, stock, productMainImage, List.of(productPageImage));
         productRepository.save(product);
@@ -183,14 +185,13 @@ public class ReturnTransactionRepositoryTest {
         returnTransactionRepository.save(returnTransaction);
 
         List<ReturnTransaction> returnTransactions = returnTransactionRepository
-                .findReturnTransactions(List.of(), PageRequest.of(0, 10));
+                .findReturnTransactions(FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returnTransactions.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returnTransactions.get(returnTransactions.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
-                .findReturnTransactions(allIds, PageRequest.of(0, 10));
+                .findReturnTransactions(lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
+                        PageRequest.of(0, 10));
 
         assertEquals(returnTransactions.size(), 2);
         assertEquals(emptyResultList.size(), 0);
@@ -203,15 +204,14 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriod(
-                        DATE_BEFORE, DATE_AFTER, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+                        DATE_BEFORE, DATE_AFTER, FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriod(
-                        DATE_BEFORE, DATE_AFTER, allIds, PageRequest.of(0, 10));
+                        DATE_BEFORE, DATE_AFTER, lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
+                        PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
         assertEquals(returns.get(0).getDeliveryAddress(), address);
@@ -227,15 +227,14 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByReturnCause(
-                        RANDOM_RETURN_CAUSE, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+                        RANDOM_RETURN_CAUSE, FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByReturnCause(
-                        RANDOM_RETURN_CAUSE, allIds, PageRequest.of(0, 10));
+                        RANDOM_RETURN_CAUSE, lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
+                        PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
         assertEquals(returns.get(0).getDeliveryAddress(), address);
@@ -252,16 +251,14 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderName(
-                        RANDOM_DELIVERY_PROVIDER_NAME, List.of(),
+                        RANDOM_DELIVERY_PROVIDER_NAME, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderName(
-                        RANDOM_DELIVERY_PROVIDER_NAME, allIds,
+                        RANDOM_DELIVERY_PROVIDER_NAME, lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
@@ -275,15 +272,14 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByUserEmail(
-                        RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+                        RANDOM_EMAIL, FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByUserEmail(
-                        RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
+                        RANDOM_EMAIL, lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
+                        PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
         assertEquals(emptyResultList.size(), 0);
@@ -296,16 +292,15 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCause(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, List.of(),
+                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCause(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, allIds,
+                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
@@ -322,16 +317,16 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, List.of(),
+                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME,
+                        FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, allIds,
+                        DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
@@ -348,16 +343,15 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, List.of(),
+                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, allIds,
+                        DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
@@ -374,16 +368,15 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, List.of(),
+                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, allIds,
+                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
@@ -397,16 +390,15 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndUserEmail(
-                        RANDOM_RETURN_CAUSE, RANDOM_EMAIL, List.of(),
+                        RANDOM_RETURN_CAUSE, RANDOM_EMAIL, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndUserEmail(
-                        RANDOM_RETURN_CAUSE, RANDOM_EMAIL, allIds,
+                        RANDOM_RETURN_CAUSE, RANDOM_EMAIL,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
@@ -420,16 +412,15 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                        RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, List.of(),
+                        RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                        RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, allIds,
+                        RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
@@ -444,16 +435,14 @@ public class ReturnTransactionRepositoryTest {
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                         DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME,
-                        List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+                        FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                         DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME,
-                        allIds, PageRequest.of(0, 10));
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(), PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
         assertEquals(emptyResultList.size(), 0);
@@ -466,16 +455,16 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_EMAIL, List.of(),
+                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_EMAIL,
+                        FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_EMAIL, allIds,
+                        DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_EMAIL,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
@@ -490,16 +479,14 @@ public class ReturnTransactionRepositoryTest {
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                         DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        List.of(), PageRequest.of(0, 10));
+                        FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                         DATE_BEFORE, DATE_AFTER, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                        allIds, PageRequest.of(0, 10));
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(), PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
         assertEquals(emptyResultList.size(), 0);
@@ -512,16 +499,16 @@ public class ReturnTransactionRepositoryTest {
 
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, List.of(),
+                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
+                        FIRST_PAGE.getDate(), FIRST_PAGE.getId(),
                         PageRequest.of(0, 10));
 
-        List<UUID> allIds = new ArrayList<>();
-
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, allIds,
+                        RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
+                        lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
                         PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 2);
@@ -536,16 +523,15 @@ public class ReturnTransactionRepositoryTest {
         List<ReturnTransaction> returns = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                         DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, List.of(), PageRequest.of(0, 10));
-
-        List<UUID> allIds = new ArrayList<>();
+                        RANDOM_EMAIL, FIRST_PAGE.getDate(), FIRST_PAGE.getId(), PageRequest.of(0, 10));
 
-        returns.forEach(returnTransaction -> allIds.add(returnTransaction.getId()));
+        ReturnTransaction lastReturnTransaction = returns.get(returns.size() - 1);
 
         List<ReturnTransaction> emptyResultList = returnTransactionRepository
                 .findReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                         DATE_BEFORE, DATE_AFTER, RANDOM_RETURN_CAUSE, RANDOM_DELIVERY_PROVIDER_NAME,
-                        RANDOM_EMAIL, allIds, PageRequest.of(0, 10));
+                        RANDOM_EMAIL, lastReturnTransaction.getDate(), lastReturnTransaction.getId(),
+                        PageRequest.of(0, 10));
 
         assertEquals(returns.size(), 1);
         assertEquals(emptyResultList.size(), 0);
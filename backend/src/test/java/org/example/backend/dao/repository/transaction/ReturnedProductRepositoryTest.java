@@ -16,6 +16,7 @@ import org.example.backend.dao.repository.user.PrivilegeRepository;
 import org.example.backend.dao.repository.user.RoleRepository;
 import org.example.backend.dao.repository.user.UserRepository;
 import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.image.StoredImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +25,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @DataJpaTest
 public class ReturnedProductRepositoryTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final String RANDOM_PHRASE_LOWER_CASE = "random";
     private final String RANDOM_PRODUCT_NAME = "Random name";
     private final String DIFFERENT_PRODUCT_NAME = "Different name";
@@ -46,9 +47,8 @@ public class ReturnedProductRepositoryTest {
     private final Double RANDOM_CURRENT_PRICE = 100.99;
     private final Stock RANDOM_STOCK = new Stock(10L);
     private final Stock DIFFERENT_STOCK = new Stock(10L);
-    private final byte[] RANDOM_IMAGE = new byte[12];
-    private final ProductMainImage RANDOM_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_IMAGE);
-    private final ProductMainImage DIFFERENT_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_IMAGE);
+    private final ProductMainImage RANDOM_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_STORED_IMAGE);
+    private final ProductMainImage DIFFERENT_PRODUCT_MAIN_IMAGE = new ProductMainImage(RANDOM_STORED_IMAGE);
     private final Long RANDOM_QUANTITY = 10L;
     private final Long DIFFERENT_QUANTITY = 31L;
     private final Date DATE_BEFORE = new Date(0);
@@ -167,162 +167,13 @@ public class ReturnedProductRepositoryTest {
     }
 
     @Test
-    public void testOfGetAllQuantityOfReturnedProductsAndRevenue(){
+    public void testOfGetReturnedProductByTimePeriodAndTransactionId(){
 
-        List<Object[]> quantityAndRevenue =  returnedProductRepository.getAllQuantityOfReturnedProductsAndRevenue();
+        List<ReturnedProduct> returnedProducts = returnedProductRepository
+                .getReturnedProductByTimePeriodAndTransactionId(DATE_BEFORE, DATE_AFTER, RANDOM_ORDER_TRANSACTION_ID);
 
-        Long quantity = (Long) quantityAndRevenue.get(0)[0];
-        Double revenue = (Double) quantityAndRevenue.get(0)[1];
-
-        assertEquals(quantity, RANDOM_QUANTITY + DIFFERENT_QUANTITY);
-        assertEquals(revenue, RANDOM_QUANTITY * product1.getCurrentPrice() + DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirReturnedQuantityAndRevenue(){
-
-        List<Object[]> list = returnedProductRepository.getAllTypesAndTheirReturnedQuantityAndRevenue();
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            map1.put((String) row[0], (Long) row[1]);
-            map2.put((String) row[0], (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 2);
-        assertEquals(map2.size(), 2);
-        assertEquals(map1.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY);
-        assertEquals(map1.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY);
-        assertEquals(map2.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY * product1.getCurrentPrice());
-        assertEquals(map2.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(){
-
-        List<Object[]> list =returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        assertEquals(list.size(), 2);
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByPhrase(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByPhrase(RANDOM_PHRASE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map2.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * product1.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByType(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByType(RANDOM_TYPE_LOWER_CASE);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        list.forEach(row -> {
-            Product product = (Product) row[0];
-            map1.put(product.getName(), (Long) row[1]);
-            map2.put(product.getName(), (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 1);
-        assertEquals(map2.size(), 1);
-        assertEquals(map1.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_PRODUCT_NAME), RANDOM_QUANTITY * product1.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhrase(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PHRASE_LOWER_CASE);
-
-        assertEquals(list.size(), 1);
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_TYPE_LOWER_CASE);
-
-        assertEquals(list.size(), 1);
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByPhraseAndType(
-                        RANDOM_PHRASE_LOWER_CASE, RANDOM_TYPE_LOWER_CASE);
-
-        assertEquals(list.size(), 1);
-    }
-
-    @Test
-    public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(){
-
-        List<Object[]> list = returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriodAndPhraseAndType(
-                        DATE_BEFORE, DATE_AFTER, RANDOM_PHRASE_LOWER_CASE, RANDOM_TYPE_LOWER_CASE);
-
-        assertEquals(list.size(), 1);
-    }
-
-    @Test
-    public void testOfGetAllQuantityOfReturnedProductsAndRevenueByTimePeriod(){
-
-        List<Object[]> result = returnedProductRepository.getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        Object[] quantityAndRevenue = result.get(0);
-
-        Long quantity = (Long) quantityAndRevenue[0];
-        Double revenue = (Double) quantityAndRevenue[1];
-
-        assertEquals(result.size(), 1);
-        assertEquals(quantity, RANDOM_QUANTITY + DIFFERENT_QUANTITY);
-        assertEquals(revenue, RANDOM_QUANTITY * returnedProduct1.getPricePerUnit() + DIFFERENT_QUANTITY * product2.getCurrentPrice());
-    }
-
-    @Test
-    public void testOfGetAllTypesAndTheirQuantityOfReturnedProductsAndRevenueByTimePeriod(){
-
-        List<Object[]> result = returnedProductRepository
-                .getAllTypesAndTheirQuantityOfReturnedProductsAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER);
-
-        HashMap<String, Long> map1 = new HashMap<>();
-        HashMap<String, Double> map2 = new HashMap<>();
-
-        result.forEach(row -> {
-            map1.put((String) row[0], (Long) row[1]);
-            map2.put((String) row[0], (Double) row[2]);
-        });
-
-        assertEquals(map1.size(), 2);
-        assertEquals(map1.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY);
-        assertEquals(map2.get(RANDOM_TYPE_LOWER_CASE), RANDOM_QUANTITY * returnedProduct1.getPricePerUnit());
-        assertEquals(map1.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY);
-        assertEquals(map2.get(DIFFERENT_TYPE_LOWER_CASE), DIFFERENT_QUANTITY * returnedProduct2.getPricePerUnit());
+        assertEquals(returnedProducts.size(), 2);
+        assertEquals(returnedProductRepository
+                .getReturnedProductByTimePeriodAndTransactionId(DATE_BEFORE, DATE_AFTER, UUID.randomUUID()).size(), 0);
     }
 }
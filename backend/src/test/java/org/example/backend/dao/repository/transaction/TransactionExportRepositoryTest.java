@@ -0,0 +1,193 @@
+package org.example.backend.dao.repository.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.logistic.Address;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.*;
+import org.example.backend.dao.entity.user.Privilege;
+import org.example.backend.dao.entity.user.Role;
+import org.example.backend.dao.entity.user.User;
+import org.example.backend.dao.repository.logistic.AddressRepository;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.user.PrivilegeRepository;
+import org.example.backend.dao.repository.user.RoleRepository;
+import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.image.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransactionExportRepository.class)
+public class TransactionExportRepositoryTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 10.00;
+    private final Long RANDOM_QUANTITY = 3L;
+    private final Long DIFFERENT_QUANTITY = 5L;
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
+    private final String RANDOM_PAYMENT_METHOD = "Random payment method";
+    private final String RANDOM_COUNTRY_NAME = "Random country";
+    private final String RANDOM_PROVINCE_NAME = "Random province";
+    private final String RANDOM_CITY_NAME = "Random city";
+    private final String RANDOM_ADDRESS = "Random address";
+    private final String RANDOM_FIRST_NAME = "FirstName";
+    private final String RANDOM_LAST_NAME = "LastName";
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final String RANDOM_PASSWORD = "RandomPassword";
+    private final LocalDate RANDOM_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    private final String RANDOM_PRIVILEGE_NAME = "RANDOM_PRIVILEGE";
+    private final String RANDOM_ROLE_NAME = "ROLE_RANDOM";
+    private final Instant RANDOM_INSTANT = Instant.parse("2024-05-01T10:15:30Z");
+    private final Date STARTING_DATE = Date.from(Instant.parse("2024-05-01T00:00:00Z"));
+    private final Date ENDING_DATE = Date.from(Instant.parse("2024-05-31T23:59:59Z"));
+    private final Date DATE_NOT_IN_RANGE = Date.from(Instant.parse("2024-06-01T10:15:30Z"));
+    private final ReturnCause RANDOM_RETURN_CAUSE = ReturnCause.MISLEADING_DATA;
+
+    @Autowired
+    private TransactionExportRepository transactionExportRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private PrivilegeRepository privilegeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderTransactionRepository orderTransactionRepository;
+
+    @Autowired
+    private ReturnTransactionRepository returnTransactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+    private Product product2;
+    private Address address;
+    private DeliveryProvider deliveryProvider;
+    private PaymentMethod paymentMethod;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+
+        product = productRepository.save(new Product(RANDOM_NAME, RANDOM_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION,
+                null, null, RANDOM_PRICE, RANDOM_PRICE, new Stock(10L), new ProductMainImage(RANDOM_STORED_IMAGE)));
+        product2 = productRepository.save(new Product(RANDOM_NAME, DIFFERENT_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION,
+                null, null, RANDOM_PRICE, RANDOM_PRICE, new Stock(10L), new ProductMainImage(DIFFERENT_STORED_IMAGE)));
+
+        address = addressRepository.save(
+                new Address(RANDOM_COUNTRY_NAME, RANDOM_PROVINCE_NAME, RANDOM_CITY_NAME, RANDOM_ADDRESS));
+        deliveryProvider = deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        paymentMethod = paymentMethodRepository.save(new PaymentMethod(RANDOM_PAYMENT_METHOD, true));
+
+        Privilege privilege = privilegeRepository.save(new Privilege(RANDOM_PRIVILEGE_NAME));
+        Role role = roleRepository.save(new Role(RANDOM_ROLE_NAME, List.of(privilege)));
+        user = userRepository.save(new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD,
+                RANDOM_BIRTH_DATE, role));
+    }
+
+    @Test
+    public void testOfForEachOrderedProduct(){
+
+        OrderTransaction orderTransaction = saveOrderTransaction(Date.from(RANDOM_INSTANT));
+        saveOrderTransaction(DATE_NOT_IN_RANGE);
+        entityManager.flush();
+
+        List<Object[]> rows = new ArrayList<>();
+        transactionExportRepository.forEachOrderedProduct(STARTING_DATE, ENDING_DATE, rows::add);
+
+        //One row per ordered product of order in range
+        assertEquals(rows.size(), 2);
+        assertEquals(rows.get(0).length, TransactionExportRepository.ORDER_COLUMNS.size());
+        assertEquals(rows.get(0)[0], orderTransaction.getId());
+        assertEquals(rows.get(0)[1], RANDOM_INSTANT);
+        assertEquals(rows.get(0)[3], RANDOM_EMAIL);
+        assertEquals(rows.get(0)[6], RANDOM_DELIVERY_PROVIDER_NAME);
+        assertEquals(rows.get(0)[7], RANDOM_PAYMENT_METHOD);
+        assertEquals(rows.get(0)[11], RANDOM_ADDRESS);
+        assertEquals(rows.stream().map(row -> (String) row[12]).sorted().toList(),
+                List.of(RANDOM_EAN_CODE, DIFFERENT_EAN_CODE));
+        assertEquals(rows.stream().mapToLong(row -> (Long) row[14]).sum(), RANDOM_QUANTITY + DIFFERENT_QUANTITY);
+    }
+
+    @Test
+    public void testOfForEachReturnedProduct(){
+
+        UUID orderTransactionId = UUID.randomUUID();
+
+        ReturnedProduct returnedProduct = new ReturnedProduct(product, RANDOM_QUANTITY, RANDOM_PRICE, orderTransactionId);
+        ReturnTransaction returnTransaction = new ReturnTransaction(Date.from(RANDOM_INSTANT), user, address,
+                deliveryProvider, RANDOM_RETURN_CAUSE, new ArrayList<>(List.of(returnedProduct)));
+        returnedProduct.setReturnTransaction(returnTransaction);
+        returnTransactionRepository.save(returnTransaction);
+        entityManager.flush();
+
+        List<Object[]> rows = new ArrayList<>();
+        transactionExportRepository.forEachReturnedProduct(STARTING_DATE, ENDING_DATE, rows::add);
+
+        assertEquals(rows.size(), 1);
+        assertEquals(rows.get(0)[0], returnTransaction.getId());
+        assertEquals(rows.get(0)[6], RANDOM_RETURN_CAUSE.name());
+        assertEquals(rows.get(0)[7], RANDOM_DELIVERY_PROVIDER_NAME);
+        assertEquals(rows.get(0)[8], orderTransactionId);
+        assertEquals(rows.get(0)[9], RANDOM_EAN_CODE);
+        assertEquals(rows.get(0)[11], RANDOM_QUANTITY);
+
+        rows.clear();
+        transactionExportRepository.forEachReturnedProduct(ENDING_DATE, DATE_NOT_IN_RANGE, rows::add);
+
+        assertTrue(rows.isEmpty());
+    }
+
+    private OrderTransaction saveOrderTransaction(Date date) {
+
+        ArrayList<OrderedProduct> orderedProducts = new ArrayList<>();
+        orderedProducts.add(new OrderedProduct(product, RANDOM_QUANTITY, RANDOM_PRICE));
+        orderedProducts.add(new OrderedProduct(product2, DIFFERENT_QUANTITY, RANDOM_PRICE));
+
+        OrderTransaction orderTransaction = new OrderTransaction(date, user, address, deliveryProvider,
+                paymentMethod, orderedProducts);
+        orderedProducts.forEach(orderedProduct -> orderedProduct.setOrderTransaction(orderTransaction));
+
+        return orderTransactionRepository.save(orderTransaction);
+    }
+}
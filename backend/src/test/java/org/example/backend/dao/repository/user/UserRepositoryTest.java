@@ -5,6 +5,7 @@ import org.example.backend.dao.entity.image.UserImage;
 import org.example.backend.dao.entity.user.Privilege;
 import org.example.backend.dao.entity.user.Role;
 import org.example.backend.dao.entity.user.User;
+import org.example.backend.image.StoredImage;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @DataJpaTest
 public class UserRepositoryTest {
 
+    private final StoredImage DIFFERENT_STORED_IMAGE = new StoredImage("2".repeat(64), 13L, "image/png");
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final String RANDOM_FIRST_NAME = "FirstName";
     private final String DIFFERENT_FIRST_NAME = "DifferentFirstName";
     private final String RANDOM_LAST_NAME = "LastName";
@@ -28,8 +31,6 @@ public class UserRepositoryTest {
     private final String DIFFERENT_PASSWORD = "DifferentPassword";
     private final LocalDate RANDOM_DATE = LocalDate.of(1950, 1, 1);
     private final LocalDate DIFFERENT_DATE = LocalDate.of(1930, 1, 1);
-    private final byte[] RANDOM_IMAGE = new byte[12];
-    private final byte[] DIFFERENT_IMAGE = new byte[12];
     private final String RANDOM_PRIVILEGE_NAME = "RANDOM_PRIVILEGE";
     private final String RANDOM_ROLE_NAME = "ROLE_RANDOM";
 
@@ -54,7 +55,7 @@ public class UserRepositoryTest {
         Role role = new Role(RANDOM_ROLE_NAME, List.of(privilege));
         roleRepository.save(role);
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
         User randomUser = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role, userImage);
 
         assertDoesNotThrow(() -> {
@@ -62,7 +63,7 @@ public class UserRepositoryTest {
             entityManager.flush();
         });
 
-        UserImage userImage2 = new UserImage(DIFFERENT_IMAGE);
+        UserImage userImage2 = new UserImage(DIFFERENT_STORED_IMAGE);
         User randomUser2 = new User(DIFFERENT_FIRST_NAME, DIFFERENT_LAST_NAME, RANDOM_EMAIL, DIFFERENT_PASSWORD,
                 DIFFERENT_DATE, role, userImage2);
 
@@ -91,7 +92,7 @@ public class UserRepositoryTest {
         Role role = new Role(RANDOM_ROLE_NAME, List.of(privilege));
         roleRepository.save(role);
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
         User randomUser = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role, userImage);
         userRepository.save(randomUser);
 
@@ -116,7 +117,7 @@ public class UserRepositoryTest {
         Role role = new Role(RANDOM_ROLE_NAME, List.of(privilege));
         roleRepository.save(role);
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
         User randomUser = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role, userImage);
         userRepository.save(randomUser);
 
@@ -142,7 +143,7 @@ public class UserRepositoryTest {
         Role role = new Role(RANDOM_ROLE_NAME, List.of(privilege));
         roleRepository.save(role);
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
         User randomUser = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role, userImage);
         userRepository.save(randomUser);
 
@@ -168,7 +169,7 @@ public class UserRepositoryTest {
         Role role = new Role(RANDOM_ROLE_NAME, List.of(privilege));
         roleRepository.save(role);
 
-        UserImage userImage = new UserImage(RANDOM_IMAGE);
+        UserImage userImage = new UserImage(RANDOM_STORED_IMAGE);
         User randomUser = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role, userImage);
         userRepository.save(randomUser);
 
@@ -0,0 +1,95 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.image.ProductPageImage;
+import org.example.backend.dao.repository.image.ProductMainImageRepository;
+import org.example.backend.dao.repository.image.ProductPageImageRepository;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.image.ImageNotFoundException;
+import org.example.backend.image.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageDataServiceTest {
+
+    private final StoredImage MAIN_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final StoredImage PAGE_IMAGE = new StoredImage("2".repeat(64), 13L, "image/jpeg");
+    private final String HASH_THAT_NOT_EXIST = "3".repeat(64);
+    private final String INCORRECT_HASH = "not-a-hash";
+    private final String INCORRECT_SIZE = "huge";
+    private final Long THUMBNAIL_SIZE = 4L;
+
+    @Mock
+    ProductMainImageRepository productMainImageRepository;
+
+    @Mock
+    ProductPageImageRepository productPageImageRepository;
+
+    @Mock
+    ImageStore imageStore;
+
+    @Mock
+    ImageVariantGenerator imageVariantGenerator;
+
+    @InjectMocks
+    private ImageDataService imageDataService;
+
+    @Test
+    public void testOfGetProductImageByHash(){
+
+        when(productMainImageRepository.findFirstByHash(MAIN_IMAGE.key())).thenReturn(new ProductMainImage(MAIN_IMAGE));
+        when(productMainImageRepository.findFirstByHash(PAGE_IMAGE.key())).thenReturn(null);
+        when(productMainImageRepository.findFirstByHash(HASH_THAT_NOT_EXIST)).thenReturn(null);
+        when(productPageImageRepository.findFirstByHash(PAGE_IMAGE.key())).thenReturn(new ProductPageImage(PAGE_IMAGE));
+        when(productPageImageRepository.findFirstByHash(HASH_THAT_NOT_EXIST)).thenReturn(null);
+
+        Exception firstException = assertThrows(BadArgumentException.class, () -> {
+            imageDataService.getProductImageByHash(null, null);
+        });
+
+        Exception secondException = assertThrows(BadArgumentException.class, () -> {
+            imageDataService.getProductImageByHash(INCORRECT_HASH, null);
+        });
+
+        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
+            imageDataService.getProductImageByHash(MAIN_IMAGE.key(), INCORRECT_SIZE);
+        });
+
+        Exception fourthException = assertThrows(ImageNotFoundException.class, () -> {
+            imageDataService.getProductImageByHash(HASH_THAT_NOT_EXIST, null);
+        });
+
+        assertEquals(imageDataService.getProductImageByHash(MAIN_IMAGE.key(), null),
+                new ImageFile(MAIN_IMAGE.key(), null, MAIN_IMAGE.size(), MAIN_IMAGE.mimeType()));
+        assertEquals(imageDataService.getProductImageByHash(PAGE_IMAGE.key(), null),
+                new ImageFile(PAGE_IMAGE.key(), null, PAGE_IMAGE.size(), PAGE_IMAGE.mimeType()));
+        assertEquals(firstException.getMessage(), "Incorrect argument: hash");
+        assertEquals(secondException.getMessage(), "Incorrect argument: hash");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: size");
+        assertEquals(fourthException.getMessage(), "Image with hash " + HASH_THAT_NOT_EXIST + " not found");
+    }
+
+    @Test
+    public void testOfGetProductImageVariantByHash(){
+
+        when(productMainImageRepository.findFirstByHash(MAIN_IMAGE.key())).thenReturn(new ProductMainImage(MAIN_IMAGE));
+        when(imageStore.variantSize(MAIN_IMAGE.key(), ImageVariant.THUMBNAIL)).thenReturn(THUMBNAIL_SIZE);
+        when(imageStore.variantSize(MAIN_IMAGE.key(), ImageVariant.CARD)).thenReturn(null);
+
+        ImageFile thumbnail = imageDataService.getProductImageByHash(MAIN_IMAGE.key(), "thumbnail");
+        ImageFile notGeneratedCard = imageDataService.getProductImageByHash(MAIN_IMAGE.key(), "card");
+
+        assertEquals(thumbnail, new ImageFile(MAIN_IMAGE.key(), ImageVariant.THUMBNAIL, THUMBNAIL_SIZE, "image/jpeg"));
+        assertNull(notGeneratedCard.variant());
+        assertEquals(notGeneratedCard.mimeType(), MAIN_IMAGE.mimeType());
+        verify(imageVariantGenerator).generateVariants(MAIN_IMAGE.key());
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.PaymentMethod;
+import org.example.backend.dao.entity.user.Role;
+import org.example.backend.dao.entity.user.User;
+import org.example.backend.dao.repository.logistic.AddressRepository;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockReservationRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.example.backend.dao.repository.transaction.OrderIntentRepository;
+import org.example.backend.dao.repository.transaction.OrderTransactionRepository;
+import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
+import org.example.backend.dao.repository.user.RoleRepository;
+import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.enumerated.OrderIntentStatus;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.exception.transaction.IdempotencyKeyReusedException;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.AddressModel;
+import org.example.backend.model.OrderIntentModel;
+import org.example.backend.model.OrderTransactionModel;
+import org.example.backend.model.OrderedProductModel;
+import org.example.backend.model.ProductModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Test isn't run in one transaction, because every micro-batch of intents is committed in its own transaction
+@DataJpaTest
+@Import({OrderIntakeService.class, OrderIntentRepository.class, OrderTransactionService.class,
+        StockReservationRepository.class, DailyProductSalesRollupRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OrderIntakeServiceTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String RANDOM_PRODUCT_NAME = "Random product name";
+    private final String RANDOM_TYPE = "Random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 5.00;
+    private final Long RANDOM_STOCK = 10L;
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
+    private final String RANDOM_PAYMENT_METHOD = "Random payment method";
+    private final AddressModel RANDOM_ADDRESS = new AddressModel("Random country", "Random province",
+            "Random city", "Random address");
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final String EMAIL_THAT_NOT_EXIST = "different@email.com";
+    private final String RANDOM_IDEMPOTENCY_KEY = "random-key";
+    private final String DIFFERENT_IDEMPOTENCY_KEY = "different-key";
+    private final String THIRD_IDEMPOTENCY_KEY = "third-key";
+    private final String FOURTH_IDEMPOTENCY_KEY = "fourth-key";
+    private final int BATCH_SIZE = 10;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private OrderTransactionService orderTransactionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderTransactionRepository orderTransactionRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+
+        saveProduct(RANDOM_EAN_CODE, "1");
+        saveProduct(DIFFERENT_EAN_CODE, "2");
+
+        deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        paymentMethodRepository.save(new PaymentMethod(RANDOM_PAYMENT_METHOD, true));
+
+        Role role = roleRepository.save(new Role("ROLE_RANDOM", List.of()));
+        userRepository.save(new User("FirstName", "LastName", RANDOM_EMAIL, "RandomPassword",
+                LocalDate.of(1950, 1, 1), role));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("DELETE FROM order_intent");
+        jdbcTemplate.update("DELETE FROM daily_product_sales");
+        jdbcTemplate.update("DELETE FROM ordered_product");
+        jdbcTemplate.update("DELETE FROM order_transaction");
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        deliveryProviderRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    //Refused orders write nothing, orders placed before and after them in the same batch stay
+    @Test
+    public void testOfProcessOrderIntents(){
+
+        OrderIntentModel firstIntent = orderIntakeService.acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 4L));
+        OrderIntentModel secondIntent = orderIntakeService.acceptOrderTransaction(DIFFERENT_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, DIFFERENT_EAN_CODE, RANDOM_STOCK + 1));
+        OrderIntentModel thirdIntent = orderIntakeService.acceptOrderTransaction(THIRD_IDEMPOTENCY_KEY,
+                orderOf(EMAIL_THAT_NOT_EXIST, RANDOM_EAN_CODE, 1L));
+        OrderIntentModel fourthIntent = orderIntakeService.acceptOrderTransaction(FOURTH_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 6L));
+
+        assertEquals(firstIntent.getStatus(), OrderIntentStatus.PENDING);
+        assertEquals(orderIntakeService.processOrderIntents(BATCH_SIZE), 4);
+        assertEquals(orderIntakeService.processOrderIntents(BATCH_SIZE), 0);
+
+        OrderIntentModel placedIntent = orderIntakeService.getOrderIntentById(firstIntent.getId());
+
+        assertEquals(placedIntent.getStatus(), OrderIntentStatus.COMPLETED);
+        assertEquals(orderTransactionService.getOrderTransactionById(placedIntent.getOrderTransactionId())
+                .getOrderedProducts().get(0).getQuantity(), 4L);
+        assertEquals(orderIntakeService.getOrderIntentById(secondIntent.getId()).getStatus(),
+                OrderIntentStatus.REJECTED);
+        assertEquals(orderIntakeService.getOrderIntentById(thirdIntent.getId()).getRejectionReason(),
+                "User with email " + EMAIL_THAT_NOT_EXIST + " not found");
+        assertEquals(orderIntakeService.getOrderIntentById(fourthIntent.getId()).getStatus(),
+                OrderIntentStatus.COMPLETED);
+
+        assertEquals(orderTransactionRepository.count(), 2L);
+        assertEquals(productRepository.findByEANCode(RANDOM_EAN_CODE).getStock().getQuantity(), 0L);
+        assertEquals(productRepository.findByEANCode(DIFFERENT_EAN_CODE).getStock().getQuantity(), RANDOM_STOCK);
+    }
+
+    @Test
+    public void testOfAcceptOrderTransactionWithTheSameIdempotencyKey(){
+
+        OrderIntentModel intent = orderIntakeService.acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 1L));
+
+        assertEquals(orderIntakeService.acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 1L)), intent);
+        assertThrows(IdempotencyKeyReusedException.class, () -> orderIntakeService
+                .acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY, orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 2L)));
+
+        assertEquals(orderIntakeService.processOrderIntents(BATCH_SIZE), 1);
+        assertEquals(orderTransactionRepository.count(), 1L);
+
+        //Submission repeated after order was placed gets id of placed order
+        assertNotNull(orderIntakeService.acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY,
+                orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 1L)).getOrderTransactionId());
+    }
+
+    @Test
+    public void testOfAcceptOrderTransactionWithBadArguments(){
+
+        assertThrows(BadArgumentException.class, () -> orderIntakeService
+                .acceptOrderTransaction(null, orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 1L)));
+        assertThrows(BadArgumentException.class, () -> orderIntakeService
+                .acceptOrderTransaction(" ", orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 1L)));
+        assertThrows(BadArgumentException.class, () -> orderIntakeService
+                .acceptOrderTransaction(RANDOM_IDEMPOTENCY_KEY, orderOf(RANDOM_EMAIL, RANDOM_EAN_CODE, 0L)));
+
+        assertEquals(orderIntakeService.processOrderIntents(BATCH_SIZE), 0);
+    }
+
+    private void saveProduct(String eanCode, String imageHashDigit) {
+        productRepository.save(new Product(RANDOM_PRODUCT_NAME, eanCode, RANDOM_TYPE, RANDOM_DESCRIPTION, null, null,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(RANDOM_STOCK),
+                new ProductMainImage(new StoredImage(imageHashDigit.repeat(64), 10L, "image/png"))));
+    }
+
+    private OrderTransactionModel orderOf(String userEmail, String eanCode, Long quantity) {
+
+        ArrayList<OrderedProductModel> orderedProducts = new ArrayList<>();
+
+        orderedProducts.add(OrderedProductModel.builder()
+                .product(ProductModel.builder().EANCode(eanCode).build())
+                .quantity(quantity)
+                .build());
+
+        return OrderTransactionModel.builder()
+                .userEmail(userEmail)
+                .deliveryProviderName(RANDOM_DELIVERY_PROVIDER_NAME)
+                .paymentMethodName(RANDOM_PAYMENT_METHOD)
+                .address(RANDOM_ADDRESS)
+                .orderedProducts(orderedProducts)
+                .build();
+    }
+}
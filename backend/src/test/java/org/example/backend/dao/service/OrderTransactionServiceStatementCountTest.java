@@ -0,0 +1,242 @@
+package org.example.backend.dao.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.logistic.Address;
+import org.example.backend.dao.entity.logistic.DeliveryProvider;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.entity.transaction.PaymentMethod;
+import org.example.backend.dao.entity.user.Privilege;
+import org.example.backend.dao.entity.user.Role;
+import org.example.backend.dao.entity.user.User;
+import org.example.backend.dao.repository.logistic.AddressRepository;
+import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockReservationRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
+import org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue;
+import org.example.backend.dao.repository.user.PrivilegeRepository;
+import org.example.backend.dao.repository.user.RoleRepository;
+import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.AddressModel;
+import org.example.backend.model.OrderTransactionModel;
+import org.example.backend.model.OrderTransactionPageModel;
+import org.example.backend.model.OrderTransactionSearchModel;
+import org.example.backend.model.OrderedProductModel;
+import org.example.backend.model.ProductModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Checks that number of statements sent while placing an order doesn't grow with number of lines in cart,
+//that listing orders doesn't grow with number of orders and products and that product reports don't load products
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderTransactionService.class, StockReservationRepository.class, DailyProductSalesRollupRepository.class})
+public class OrderTransactionServiceStatementCountTest {
+
+    private final String RANDOM_EAN_CODE_PREFIX = "100000";
+    private final String RANDOM_PRODUCT_NAME = "Random product name";
+    private final String RANDOM_TYPE = "Random type";
+    private final String RANDOM_DESCRIPTION = "Random description";
+    private final Double RANDOM_PRICE = 5.00;
+    private final Long RANDOM_STOCK = 1000L;
+    private final Long ORDERED_QUANTITY = 2L;
+    private final String RANDOM_DELIVERY_PROVIDER_NAME = "Random delivery provider";
+    private final String RANDOM_PAYMENT_METHOD = "Random payment method";
+    private final String RANDOM_COUNTRY_NAME = "Random country";
+    private final String RANDOM_PROVINCE_NAME = "Random province";
+    private final String RANDOM_CITY_NAME = "Random city";
+    private final String RANDOM_ADDRESS = "Random address";
+    private final String RANDOM_FIRST_NAME = "FirstName";
+    private final String RANDOM_LAST_NAME = "LastName";
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final String RANDOM_PASSWORD = "RandomPassword";
+    private final LocalDate RANDOM_DATE = LocalDate.of(1950, 1, 1);
+    private final String RANDOM_PRIVILEGE_NAME = "RANDOM_PRIVILEGE";
+    private final String RANDOM_ROLE_NAME = "ROLE_RANDOM";
+    private final List<Integer> CART_SIZES = List.of(1, 10, 30);
+    private final int ORDERS_PAGE_SIZE = 24;
+
+    @Autowired
+    private OrderTransactionService orderTransactionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DeliveryProviderRepository deliveryProviderRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PrivilegeRepository privilegeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+
+        for(int i = 0; i < CART_SIZES.get(CART_SIZES.size() - 1); i++) {
+            productRepository.save(new Product(RANDOM_PRODUCT_NAME, eanCode(i), RANDOM_TYPE, RANDOM_DESCRIPTION,
+                    null, null, RANDOM_PRICE, RANDOM_PRICE, new Stock(RANDOM_STOCK),
+                    new ProductMainImage(new StoredImage(String.format("%064d", i), 10L, "image/png"))));
+        }
+
+        addressRepository.save(new Address(RANDOM_COUNTRY_NAME, RANDOM_PROVINCE_NAME, RANDOM_CITY_NAME, RANDOM_ADDRESS));
+        deliveryProviderRepository.save(new DeliveryProvider(RANDOM_DELIVERY_PROVIDER_NAME, true));
+        paymentMethodRepository.save(new PaymentMethod(RANDOM_PAYMENT_METHOD, true));
+
+        Privilege privilege = privilegeRepository.save(new Privilege(RANDOM_PRIVILEGE_NAME));
+        Role role = roleRepository.save(new Role(RANDOM_ROLE_NAME, List.of(privilege)));
+        userRepository.save(new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD, RANDOM_DATE, role));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    //Stock reservation and daily rollup are JdbcTemplate batches for every cart size, they aren't counted by Hibernate statistics
+    @Test
+    public void testOfSaveNewOrderTransactionStatementCount(){
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> statementCounts = new ArrayList<>();
+
+        CART_SIZES.forEach(cartSize -> {
+
+            statistics.clear();
+
+            OrderTransactionModel savedOrder = orderTransactionService.saveNewOrderTransaction(orderOf(cartSize));
+            entityManager.flush();
+            entityManager.clear();
+
+            statementCounts.add(statistics.getPrepareStatementCount());
+
+            assertEquals(savedOrder.getOrderedProducts().size(), cartSize);
+            assertEquals(statistics.getEntityStatistics(Product.class.getName()).getLoadCount(), 0L);
+            assertEquals(statistics.getEntityStatistics(ProductMainImage.class.getName()).getLoadCount(), 0L);
+        });
+
+        assertEquals(statementCounts.stream().distinct().count(), 1L);
+        assertEquals(productRepository.findByEANCode(eanCode(0)).getStock().getQuantity(),
+                RANDOM_STOCK - CART_SIZES.size() * ORDERED_QUANTITY);
+    }
+
+    //Page of orders is one query with its to-one associations and one query with lines, products and main images
+    @Test
+    public void testOfGetOrderTransactionsBySearchStatementCount(){
+
+        for(int i = 0; i < ORDERS_PAGE_SIZE; i++)
+            orderTransactionService.saveNewOrderTransaction(orderOf(1 + (i % 5)));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderTransactionPageModel page = orderTransactionService.getOrderTransactionsBySearch(
+                new OrderTransactionSearchModel(null, null, null, null, null, null, null, null), null);
+
+        assertEquals(page.getTransactions().size(), ORDERS_PAGE_SIZE);
+        assertEquals(page.getTransactions().stream().mapToInt(order -> order.getOrderedProducts().size()).sum(), 70);
+        assertNotNull(page.getTransactions().get(0).getOrderedProducts().get(0).getProduct().getMainImageHash());
+        assertEquals(page.getTransactions().get(0).getDeliveryProviderName(), RANDOM_DELIVERY_PROVIDER_NAME);
+        assertEquals(statistics.getPrepareStatementCount(), 2L);
+        assertEquals(statistics.getEntityStatistics(Stock.class.getName()).getLoadCount(), 0L);
+    }
+
+    @Test
+    public void testOfGetOrderTransactionByIdStatementCount(){
+
+        OrderTransactionModel savedOrder = orderTransactionService.saveNewOrderTransaction(orderOf(10));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderTransactionModel foundOrder = orderTransactionService.getOrderTransactionById(savedOrder.getId());
+
+        assertEquals(foundOrder.getOrderedProducts().size(), 10);
+        assertEquals(foundOrder.getFirstNameAndLastName(), RANDOM_FIRST_NAME + " " + RANDOM_LAST_NAME);
+        assertEquals(statistics.getPrepareStatementCount(), 1L);
+    }
+
+    //Report rows are selected as projections, so it is one query however many products are in report
+    @Test
+    public void testOfGetProductsAndTheirOrderedQuantityAndRevenueByTimePeriodStatementCount(){
+
+        int cartSize = CART_SIZES.get(CART_SIZES.size() - 1);
+
+        orderTransactionService.saveNewOrderTransaction(orderOf(cartSize));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProductQuantityAndRevenue> report = orderTransactionService.getProductsAndTheirOrderedQuantityAndRevenueByTimePeriod(
+                new Date(0), Date.from(Instant.now().plus(1, ChronoUnit.DAYS)));
+
+        assertEquals(report.size(), cartSize);
+        assertEquals(report.get(0).quantity(), ORDERED_QUANTITY);
+        assertEquals(report.get(0).revenue(), ORDERED_QUANTITY * RANDOM_PRICE);
+        assertEquals(statistics.getPrepareStatementCount(), 1L);
+        assertEquals(statistics.getEntityLoadCount(), 0L);
+    }
+
+    private OrderTransactionModel orderOf(int cartSize) {
+
+        ArrayList<OrderedProductModel> orderedProducts = new ArrayList<>();
+
+        for(int i = 0; i < cartSize; i++) {
+            orderedProducts.add(OrderedProductModel.builder()
+                    .product(ProductModel.builder().EANCode(eanCode(i)).build())
+                    .quantity(ORDERED_QUANTITY)
+                    .build());
+        }
+
+        return OrderTransactionModel.builder()
+                .userEmail(RANDOM_EMAIL)
+                .deliveryProviderName(RANDOM_DELIVERY_PROVIDER_NAME)
+                .paymentMethodName(RANDOM_PAYMENT_METHOD)
+                .address(new AddressModel(RANDOM_COUNTRY_NAME, RANDOM_PROVINCE_NAME, RANDOM_CITY_NAME, RANDOM_ADDRESS))
+                .orderedProducts(orderedProducts)
+                .build();
+    }
+
+    private String eanCode(int index) {
+        return RANDOM_EAN_CODE_PREFIX + String.format("%02d", index);
+    }
+}
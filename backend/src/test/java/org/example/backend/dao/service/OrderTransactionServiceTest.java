@@ -13,28 +13,42 @@ import org.example.backend.dao.entity.user.Role;
 import org.example.backend.dao.entity.user.User;
 import org.example.backend.dao.repository.logistic.AddressRepository;
 import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
+import org.example.backend.dao.repository.product.OrderableProduct;
 import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockReservation;
+import org.example.backend.dao.repository.product.StockReservationRepository;
 import org.example.backend.dao.repository.transaction.OrderTransactionRepository;
-import org.example.backend.dao.repository.transaction.OrderedProductRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRepository;
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.example.backend.dao.repository.transaction.ProductSale;
+import org.example.backend.dao.repository.transaction.ProductQuantityAndRevenue;
 import org.example.backend.dao.repository.transaction.PaymentMethodRepository;
 import org.example.backend.dao.repository.user.UserRepository;
+import org.example.backend.enumerated.TransactionEventType;
 import org.example.backend.enumerated.TransactionStatus;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
+import org.example.backend.exception.product.InsufficientStockException;
 import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.transaction.OrderTransactionNotFoundException;
 import org.example.backend.exception.transaction.PaymentMethodNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
+import org.example.backend.image.StoredImage;
 import org.example.backend.model.AddressModel;
 import org.example.backend.model.OrderTransactionModel;
+import org.example.backend.model.OrderTransactionPageModel;
+import org.example.backend.model.OrderTransactionSearchModel;
 import org.example.backend.model.OrderedProductModel;
 import org.example.backend.model.ProductModel;
+import org.example.backend.statusevent.TransactionStatusEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -43,11 +57,13 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class OrderTransactionServiceTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final UUID ID_OF_ORDER_TRANSACTION_THAT_EXIST = UUID.randomUUID();
     private final UUID ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST = UUID.randomUUID();
     private final String RANDOM_EMAIL = "random@email.com";
@@ -74,7 +90,6 @@ public class OrderTransactionServiceTest {
     private final Double GREATER_PRODUCT_PRICE = 15.00;
     private final Integer RANDOM_PRODUCT_HEIGHT = 100;
     private final Integer RANDOM_PRODUCT_WIDTH = 80;
-    private final byte[] RANDOM_IMAGE = new byte[12];
     private final Long RANDOM_QUANTITY = 30L;
     private final Long ORDERED_QUANTITY = 7L;
     private final Date DATE_BEFORE = new Date(0);
@@ -89,10 +104,11 @@ public class OrderTransactionServiceTest {
     private final String RANDOM_LAST_NAME = "random last name";
     private final String RANDOM_PASSWORD = "random password";
     private final Role RANDOM_ROLE = new Role();
-    private final UserImage USER_IMAGE = new UserImage(new byte[12]);
+    private final UserImage USER_IMAGE = new UserImage(RANDOM_STORED_IMAGE);
     private final LocalDate BIRTH_DATE = LocalDate.of(2020, 1, 1);
     private final Double RANDOM_PRICE = 15.00;
-    private final List<UUID> TRANSACTIONS_ID_LIST = List.of(ID_OF_ORDER_TRANSACTION_THAT_EXIST);
+    private final String INCORRECT_CURSOR = "!@#$";
+    private final Double NEGATIVE_COST = -1.00;
 
 
     @Mock
@@ -107,15 +123,24 @@ public class OrderTransactionServiceTest {
     @Mock
     ProductRepository productRepository;
 
-    @Mock
-    OrderedProductRepository orderedProductRepository;
-
     @Mock
     OrderTransactionRepository orderTransactionRepository;
 
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    StockReservationRepository stockReservationRepository;
+
+    @Mock
+    DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
     @InjectMocks
     OrderTransactionService orderTransactionService;
 
@@ -123,13 +148,14 @@ public class OrderTransactionServiceTest {
     private Product product;
     private User user;
     private OrderedProduct orderedProduct;
+    private OrderableProduct orderableProduct;
 
     @BeforeEach
     public void setUp() {
 
         product = new Product(RANDOM_PRODUCT_NAME, RANDOM_EAN_CODE, RANDOM_PRODUCT_TYPE, RANDOM_PRODUCT_DESCRIPTION,
                 RANDOM_PRODUCT_HEIGHT, RANDOM_PRODUCT_WIDTH, GREATER_PRODUCT_PRICE,
-                RANDOM_PRODUCT_PRICE, new Stock(RANDOM_QUANTITY), new ProductMainImage(RANDOM_IMAGE));
+                RANDOM_PRODUCT_PRICE, new Stock(RANDOM_QUANTITY), new ProductMainImage(RANDOM_STORED_IMAGE));
 
 
         user = new User(RANDOM_FIRST_NAME, RANDOM_LAST_NAME, RANDOM_EMAIL, RANDOM_PASSWORD,
@@ -145,6 +171,11 @@ public class OrderTransactionServiceTest {
                 .build();
 
         orderedProduct = new OrderedProduct(product, ORDERED_QUANTITY, RANDOM_PRICE);
+
+        product.setId(ID_OF_PRODUCT_THAT_EXIST);
+        orderableProduct = new OrderableProduct(ID_OF_PRODUCT_THAT_EXIST, OCCUPIED_EAN_CODE, RANDOM_PRODUCT_NAME,
+                RANDOM_PRODUCT_TYPE, RANDOM_PRODUCT_DESCRIPTION, RANDOM_PRODUCT_HEIGHT, RANDOM_PRODUCT_WIDTH,
+                GREATER_PRODUCT_PRICE, RANDOM_PRODUCT_PRICE, RANDOM_STORED_IMAGE.key());
     }
 
     @Test
@@ -161,8 +192,12 @@ public class OrderTransactionServiceTest {
         ArrayList<OrderedProductModel> products = new ArrayList<>();
         products.add(orderedProductModel);
 
-        when(productRepository.findByEANCode(OCCUPIED_EAN_CODE)).thenReturn(product);
-        when(productRepository.findByEANCode(DIFFERENT_8_SIGN_EAN_CODE)).thenReturn(null);
+        //Only product with OCCUPIED_EAN_CODE exists
+        when(productRepository.findOrderableProductsByEANCodes(anyList())).thenAnswer(invocation -> {
+            List<String> eanCodes = invocation.getArgument(0);
+            return eanCodes.stream().filter(OCCUPIED_EAN_CODE::equals).map(eanCode -> orderableProduct).toList();
+        });
+        when(productRepository.getReferenceById(ID_OF_PRODUCT_THAT_EXIST)).thenReturn(product);
 
         when(userRepository.findByEmail(RANDOM_EMAIL)).thenReturn(user);
         when(userRepository.findByEmail(EMAIL_OF_USER_THAT_NOT_EXIST)).thenReturn(null);
@@ -174,13 +209,15 @@ public class OrderTransactionServiceTest {
         when(paymentMethodRepository.findByName(NAME_OF_PAYMENT_METHOD_THAT_EXIST)).thenReturn(new PaymentMethod());
         when(paymentMethodRepository.findByName(NAME_OF_PAYMENT_METHOD_THAT_NOT_EXIST)).thenReturn(null);
 
-        when(orderedProductRepository.save(new OrderedProduct(product, ORDERED_QUANTITY, product.getCurrentPrice())))
-                .thenReturn(new OrderedProduct(product, ORDERED_QUANTITY, product.getCurrentPrice()));
-
         when(orderTransactionRepository.save(any(OrderTransaction.class))).thenReturn(orderTransaction);
-        when(orderedProductRepository.saveAll(anyList())).thenReturn(List.of(orderedProduct));
         when(addressRepository.save(any(Address.class))).thenReturn(orderTransaction.getDeliveryAddress());
 
+        //Reservation fails like conditional decrement in database, when line wants more than there is in stock
+        when(stockReservationRepository.reserve(anyList())).thenAnswer(invocation -> {
+            List<StockReservation> reservations = invocation.getArgument(0);
+            return reservations.stream().filter(reservation -> reservation.quantity() > RANDOM_QUANTITY).toList();
+        });
+
         AddressModel addressModel = new AddressModel(COUNTRY_NAME, PROVINCE_NAME, CITY_NAME, ADDRESS);
         OrderTransactionModel orderTransactionModel = OrderTransactionModel
                 .builder()
@@ -371,7 +408,7 @@ public class OrderTransactionServiceTest {
         orderedProducts3.add(orderedProductModelPom);
         orderTransactionModel.setOrderedProducts(orderedProducts3);
 
-        Exception twentyThirdException = assertThrows(BadArgumentException.class, () -> {
+        InsufficientStockException twentyThirdException = assertThrows(InsufficientStockException.class, () -> {
             orderTransactionService.saveNewOrderTransaction(orderTransactionModel);
         });
 
@@ -438,8 +475,12 @@ public class OrderTransactionServiceTest {
         assertEquals(twentySecondException.getMessage(),
                 "Payment Method with name " + NAME_OF_PAYMENT_METHOD_THAT_NOT_EXIST + " not found");
         assertEquals(twentyThirdException.getMessage(),
-                "There is not enough stock for product with ean code " + OCCUPIED_EAN_CODE);
-        assertEquals(product.getStock().getQuantity(), RANDOM_QUANTITY - ORDERED_QUANTITY);
+                "There is not enough stock for products with ean codes " + OCCUPIED_EAN_CODE);
+        assertEquals(twentyThirdException.getEANCodes(), List.of(OCCUPIED_EAN_CODE));
+        verify(stockReservationRepository).reserve(List.of(new StockReservation(OCCUPIED_EAN_CODE, ORDERED_QUANTITY),
+                new StockReservation(OCCUPIED_EAN_CODE, ORDERED_QUANTITY), new StockReservation(OCCUPIED_EAN_CODE, ORDERED_QUANTITY)));
+        verify(dailyProductSalesRollupRepository).add(any(LocalDate.class), eq(List.of(new ProductSale(OCCUPIED_EAN_CODE,
+                RANDOM_PRODUCT_TYPE, 3 * ORDERED_QUANTITY, 3 * ORDERED_QUANTITY * RANDOM_PRODUCT_PRICE))));
         assertEquals(twentyFourthException.getMessage(),
                 "Incorrect argument field: orderTransactionModel.productsAndOrderedQuantity");
     }
@@ -447,9 +488,9 @@ public class OrderTransactionServiceTest {
     @Test
     public void testOfUpdateOrderTransactionStatusById(){
 
-        when(orderTransactionRepository.findById(ID_OF_ORDER_TRANSACTION_THAT_EXIST))
+        when(orderTransactionRepository.findOrderTransactionWithOrderedProductsById(ID_OF_ORDER_TRANSACTION_THAT_EXIST))
                 .thenReturn(Optional.of(orderTransaction));
-        when(orderTransactionRepository.findById(ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST))
+        when(orderTransactionRepository.findOrderTransactionWithOrderedProductsById(ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST))
                 .thenReturn(Optional.empty());
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
@@ -479,14 +520,22 @@ public class OrderTransactionServiceTest {
         assertEquals(secondException.getMessage(), "Incorrect argument: status");
         assertEquals(thirdException.getMessage(), "Incorrect argument: status");
         assertEquals(fourthException.getMessage(), "Order transaction with id " + ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST + " not found");
+
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        TransactionStatusEvent event = (TransactionStatusEvent) eventCaptor.getValue();
+
+        assertEquals(event.type(), TransactionEventType.ORDER_STATUS_CHANGED);
+        assertEquals(event.transactionId(), ID_OF_ORDER_TRANSACTION_THAT_EXIST);
+        assertEquals(event.status(), RANDOM_STATUS);
     }
 
     @Test
     public void testOfGetOrderTransactionById(){
 
-        when(orderTransactionRepository.findById(ID_OF_ORDER_TRANSACTION_THAT_EXIST))
+        when(orderTransactionRepository.findOrderTransactionWithOrderedProductsById(ID_OF_ORDER_TRANSACTION_THAT_EXIST))
                 .thenReturn(Optional.ofNullable(orderTransaction));
-        when(orderTransactionRepository.findById(ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST))
+        when(orderTransactionRepository.findOrderTransactionWithOrderedProductsById(ID_OF_ORDER_TRANSACTION_THAT_NOT_EXIST))
                 .thenReturn(Optional.empty());
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
@@ -530,789 +579,93 @@ public class OrderTransactionServiceTest {
     }
 
     @Test
-    public void testOfGetOrderTransactions(){
-
-        Exception exception = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService.getOrderTransactions(null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService.getOrderTransactions(TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(exception.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriod(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriod(null, DATE_NOW, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriod(DATE_BEFORE, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService.getOrderTransactionsByTimePeriod(DATE_NOW, DATE_BEFORE, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriod(DATE_BEFORE, DATE_NOW, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriod(DATE_BEFORE, DATE_NOW, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByPaymentMethodName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodName(null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodName("", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodName(RANDOM_PAYMENT_NAME, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodName(RANDOM_PAYMENT_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByDeliveryProviderName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderName(null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderName("", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderName(
-                            RANDOM_PAYMENT_NAME, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderName(DELIVERY_PROVIDER_NAME, List.of());
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService.getOrderTransactionsByUserEmail(null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService.getOrderTransactionsByUserEmail(WRONG_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService.getOrderTransactionsByUserEmail(RANDOM_EMAIL, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService.getOrderTransactionsByUserEmail(RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(secondException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndPaymentMethodName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            null, DATE_NOW, RANDOM_PAYMENT_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_BEFORE, null, RANDOM_PAYMENT_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_NOW, DATE_BEFORE, RANDOM_PAYMENT_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_BEFORE, DATE_NOW, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_BEFORE, DATE_NOW, "", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_BEFORE, DATE_NOW, RANDOM_PAYMENT_NAME, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodName(
-                            DATE_BEFORE, DATE_NOW, RANDOM_PAYMENT_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndDeliveryProviderName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            null, DATE_NOW, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, null, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_NOW, DATE_BEFORE, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_NOW, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_NOW, "", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_NOW, DELIVERY_PROVIDER_NAME, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_NOW, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndUserEmail(){
+    public void testOfGetOrderTransactionsBySearch(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            null, DATE_NOW, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(null, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    DATE_BEFORE, null, null, null, null, null, null, null), null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_NOW, DATE_BEFORE, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    DATE_NOW, DATE_BEFORE, null, null, null, null, null, null), null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_NOW, null, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, "", null, null, null, null, null), null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_NOW, WRONG_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, "", null, null, null, null), null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_NOW, RANDOM_EMAIL, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_NOW, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            null, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            "", DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            RANDOM_PAYMENT_NAME, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            RANDOM_PAYMENT_NAME, "", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderName(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(thirdException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByPaymentMethodNameAndUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            "", RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, WRONG_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, RANDOM_EMAIL, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(thirdException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByDeliveryProviderNameAndUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            "", RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, "", TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(thirdException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            null, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, null, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_AFTER, DATE_BEFORE, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, null, DELIVERY_PROVIDER_NAME,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, "", DELIVERY_PROVIDER_NAME,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, null,
-                            TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, null, WRONG_EMAIL, null, null, null), null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, "", TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, null, null, null, NEGATIVE_COST, null), null);
         });
 
         Exception eighthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME,
-                            null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderName(DATE_BEFORE,
-                            DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(sixthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(seventhException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(eighthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            null, DATE_AFTER, RANDOM_PAYMENT_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, null, RANDOM_PAYMENT_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_AFTER, DATE_BEFORE, RANDOM_PAYMENT_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, "", RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception seventhException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, WRONG_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, null, null, null, RANDOM_PRICE, RANDOM_PRICE - 1), null);
         });
 
-        Exception eighthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, RANDOM_EMAIL, null);
+        Exception ninthException = assertThrows(BadArgumentException.class, () -> {
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, null, null, null, null, null), INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    null, null, null, null, null, null, null, null), null);
+            orderTransactionService.getOrderTransactionsBySearch(new OrderTransactionSearchModel(
+                    DATE_BEFORE, DATE_NOW, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
+                    RANDOM_STATUS, RANDOM_PRICE, RANDOM_PRICE), null);
         });
 
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
+        assertEquals(firstException.getMessage(), "Null argument: searchModel");
         assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
         assertEquals(fourthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(sixthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(seventhException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(eighthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            null, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_AFTER, DATE_BEFORE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, "", RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, null, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception seventhException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, WRONG_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception eighthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(fifthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(sixthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(seventhException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(eighthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
+        assertEquals(seventhException.getMessage(), "Incorrect argument: minimalCost");
+        assertEquals(eighthException.getMessage(), "Incorrect argument: maximalCost");
+        assertEquals(ninthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
-    public void testOfGetOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(){
+    public void testOfGetOrderTransactionsBySearchNextCursor(){
 
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            "", DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, null, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
+        orderTransaction.setId(UUID.randomUUID());
+        orderTransaction.setDate(DATE_NOW);
 
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, "", RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
+        List<OrderTransaction> fullPage = Collections.nCopies(24, orderTransaction);
 
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, null, TRANSACTIONS_ID_LIST);
-        });
+        when(orderTransactionRepository.findOrderTransactionsBySpecification(any(), eq(24)))
+                .thenReturn(fullPage).thenReturn(fullPage.subList(0, 1));
 
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, WRONG_EMAIL, TRANSACTIONS_ID_LIST);
-        });
+        OrderTransactionSearchModel searchModel = new OrderTransactionSearchModel(
+                null, null, null, null, null, null, null, null);
 
-        Exception seventhException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
-        });
+        OrderTransactionPageModel firstPage = orderTransactionService.getOrderTransactionsBySearch(searchModel, null);
+        OrderTransactionPageModel lastPage = orderTransactionService
+                .getOrderTransactionsBySearch(searchModel, firstPage.getNextCursor());
 
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(secondException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(thirdException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(sixthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(seventhException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
-    }
-
-    @Test
-    public void testOfGetOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(){
-
-        Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            null, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, null, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_AFTER, DATE_BEFORE, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, "", DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception sixthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, null, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception seventhException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, "", RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception eighthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, null,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception ninthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, WRONG_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        Exception tenthException = assertThrows(BadArgumentException.class, () -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            null);
-        });
-
-        assertDoesNotThrow(() -> {
-            orderTransactionService
-                    .getOrderTransactionsByTimePeriodAndPaymentMethodNameAndDeliveryProviderNameAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_PAYMENT_NAME, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTIONS_ID_LIST);
-        });
-
-        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
-        assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
-        assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(fifthException.getMessage(), "Incorrect argument: paymentMethodName");
-        assertEquals(sixthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(seventhException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(eighthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(ninthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(tenthException.getMessage(), "Null argument: forbiddenOrderTransactionIds");
+        assertEquals(firstPage.getTransactions().size(), 24);
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(lastPage.getTransactions().size(), 1);
+        assertNull(lastPage.getNextCursor());
     }
 
     @Test
@@ -1399,10 +752,13 @@ public class OrderTransactionServiceTest {
             orderTransactionService.getProductsAndTheirOrderedQuantityAndRevenueByType(null);
         });
 
-        assertDoesNotThrow(() -> {
-            orderTransactionService.getProductsAndTheirOrderedQuantityAndRevenueByType(RANDOM_PRODUCT_TYPE);
-        });
+        List<ProductQuantityAndRevenue> rows = List.of(new ProductQuantityAndRevenue(OCCUPIED_EAN_CODE, RANDOM_PRODUCT_NAME,
+                RANDOM_PRODUCT_TYPE, ORDERED_QUANTITY, ORDERED_QUANTITY * RANDOM_PRODUCT_PRICE));
+
+        when(dailyProductSalesRepository.getProductsAndTheirOrderedQuantityAndRevenueByType(RANDOM_PRODUCT_TYPE))
+                .thenReturn(rows);
 
+        assertEquals(orderTransactionService.getProductsAndTheirOrderedQuantityAndRevenueByType(RANDOM_PRODUCT_TYPE), rows);
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
         assertEquals(secondException.getMessage(), "Incorrect argument: type");
     }
@@ -1,5 +1,8 @@
 package org.example.backend.dao.service;
 
+import org.example.backend.cache.CacheInvalidationBus;
+import org.example.backend.cache.LoopbackCacheInvalidationTransport;
+import org.example.backend.cache.ProductCatalogCache;
 import org.example.backend.dao.entity.image.ProductMainImage;
 import org.example.backend.dao.entity.image.ProductPageImage;
 import org.example.backend.dao.entity.product.Product;
@@ -11,12 +14,20 @@ import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.image.ProductPageImageNotFoundException;
 import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.product.ProductNotSavedException;
+import org.example.backend.image.ImageStore;
+import org.example.backend.image.ImageVariantGenerator;
+import org.example.backend.image.StoredImage;
 import org.example.backend.model.ProductModel;
+import org.example.backend.model.ProductPageModel;
+import org.example.backend.model.ProductSuggestionModel;
+import org.example.backend.search.ProductSearchIndex;
+import org.example.backend.search.ProductSuggestionTrie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
@@ -27,11 +38,14 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductDataServiceTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final UUID ID_OF_PRODUCT_WHICH_EXIST = UUID.randomUUID();
     private final UUID ID_OF_PRODUCT_WHICH_NOT_EXIST = UUID.randomUUID();
     private final UUID ID_OF_PAGE_IMAGE_THAT_EXIST = UUID.randomUUID();
@@ -60,6 +74,7 @@ public class ProductDataServiceTest {
     private final Double LOWER_PRICE_THAN_CURRENT_PRICE = 50.00;
     private final Double GREATER_PRICE_THAN_CURRENT_PRICE_1 = 110.00;
     private final Double GREATER_PRICE_THAN_CURRENT_PRICE_2 = 150.00;
+    private final String INCORRECT_CURSOR = "!@#$";
 
     @Mock
     ProductMainImageRepository productMainImageRepository;
@@ -70,6 +85,25 @@ public class ProductDataServiceTest {
     @Mock
     ProductRepository productRepository;
 
+    @Mock
+    ProductSearchIndex productSearchIndex;
+
+    @Mock
+    ProductSuggestionTrie productSuggestionTrie;
+
+    @Mock
+    ImageStore imageStore;
+
+    @Mock
+    ImageVariantGenerator imageVariantGenerator;
+
+    @Spy
+    ProductCatalogCache productCatalogCache = new ProductCatalogCache();
+
+    @Spy
+    CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus(List.of(productCatalogCache),
+            new LoopbackCacheInvalidationTransport());
+
     @InjectMocks
     private ProductDataService productDataService;
 
@@ -79,8 +113,9 @@ public class ProductDataServiceTest {
     @BeforeEach
     public void setUp() {
         product = new Product(RANDOM_PRODUCT_NAME, OCCUPIED_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION, RANDOM_HEIGHT,
-                RANDOM_WIDTH, RANDOM_PRICE, RANDOM_PRICE, new Stock(RANDOM_STOCK), new ProductMainImage(RANDOM_IMAGE));
-        product.getPageImages().add(new ProductPageImage(ID_OF_PAGE_IMAGE_THAT_EXIST, RANDOM_IMAGE, product));
+                RANDOM_WIDTH, RANDOM_PRICE, RANDOM_PRICE, new Stock(RANDOM_STOCK), new ProductMainImage(RANDOM_STORED_IMAGE));
+        product.getPageImages().add(new ProductPageImage(ID_OF_PAGE_IMAGE_THAT_EXIST, RANDOM_STORED_IMAGE.key(),
+                RANDOM_STORED_IMAGE.size(), RANDOM_STORED_IMAGE.mimeType(), product));
         product.setId(ID_OF_PRODUCT_WHICH_EXIST);
         list_of_products = new ArrayList<>();
         list_of_products.add(product);
@@ -93,6 +128,7 @@ public class ProductDataServiceTest {
         when(productRepository.findByEANCode(DIFFERENT_8_SIGN_EAN_CODE)).thenReturn(null);
         when(productRepository.findByEANCode(DIFFERENT_13_SIGN_EAN_CODE)).thenReturn(null);
         when(productRepository.save(any())).thenReturn(product);
+        when(imageStore.save(RANDOM_IMAGE)).thenReturn(RANDOM_STORED_IMAGE);
 
         ProductModel productModel = ProductModel
                 .builder()
@@ -496,6 +532,7 @@ public class ProductDataServiceTest {
 
         when(productRepository.findByEANCode(OCCUPIED_EAN_CODE)).thenReturn(product);
         when(productRepository.findByEANCode(DIFFERENT_8_SIGN_EAN_CODE)).thenReturn(null);
+        when(imageStore.save(RANDOM_IMAGE)).thenReturn(RANDOM_STORED_IMAGE);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.updateProductMainImageByEANCode(null, RANDOM_IMAGE);
@@ -529,6 +566,7 @@ public class ProductDataServiceTest {
 
         when(productRepository.findByEANCode(OCCUPIED_EAN_CODE)).thenReturn(product);
         when(productRepository.findByEANCode(DIFFERENT_8_SIGN_EAN_CODE)).thenReturn(null);
+        when(imageStore.save(RANDOM_IMAGE)).thenReturn(RANDOM_STORED_IMAGE);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.addProductPageImageByEANCode(null, RANDOM_IMAGE);
@@ -653,13 +691,93 @@ public class ProductDataServiceTest {
 
     }
 
+    @Test
+    public void testOfGetProductByEANCodeFromCatalogCache(){
+
+        when(productRepository.findByEANCode(OCCUPIED_EAN_CODE)).thenReturn(product);
+
+        productDataService.getProductByEANCode(OCCUPIED_EAN_CODE);
+        productDataService.getProductByEANCode(OCCUPIED_EAN_CODE);
+
+        verify(productRepository, times(1)).findByEANCode(OCCUPIED_EAN_CODE);
+
+        //Change of price evicts product, so the next read returns new price
+        productDataService.updateProductRegularPriceAndCurrentPriceByEANCode(
+                OCCUPIED_EAN_CODE, RANDOM_PRICE, RANDOM_CURRENT_PRICE);
+
+        assertEquals(productDataService.getProductByEANCode(OCCUPIED_EAN_CODE).getCurrentPrice(), RANDOM_CURRENT_PRICE);
+        verify(productRepository, times(3)).findByEANCode(OCCUPIED_EAN_CODE);
+    }
+
+    @Test
+    public void testOfGetProductsOnSale(){
+
+        when(productRepository.findEANCodesOfProductsOnSale()).thenReturn(List.of(OCCUPIED_EAN_CODE));
+        when(productRepository.findByEANCodes(List.of(OCCUPIED_EAN_CODE))).thenReturn(list_of_products);
+
+        List<ProductModel> firstResult = productDataService.getProductsOnSale();
+        List<ProductModel> secondResult = productDataService.getProductsOnSale();
+
+        assertEquals(firstResult.size(), 1);
+        assertEquals(firstResult.get(0).getEANCode(), OCCUPIED_EAN_CODE);
+        assertEquals(secondResult, firstResult);
+        verify(productRepository, times(1)).findEANCodesOfProductsOnSale();
+        verify(productRepository, times(1)).findByEANCodes(List.of(OCCUPIED_EAN_CODE));
+    }
+
+    @Test
+    public void testOfGetCachedProductsOnSale(){
+
+        when(productRepository.findEANCodesOfProductsOnSale()).thenReturn(List.of(OCCUPIED_EAN_CODE));
+        when(productRepository.findByEANCodes(List.of(OCCUPIED_EAN_CODE))).thenReturn(list_of_products);
+
+        //Nothing is read from database while products on sale aren't cached
+        assertNull(productDataService.getCachedProductsOnSale());
+
+        productDataService.getProductsOnSale();
+
+        assertEquals(productDataService.getCachedProductsOnSale().get(0).getEANCode(), OCCUPIED_EAN_CODE);
+        verify(productRepository, times(1)).findEANCodesOfProductsOnSale();
+    }
+
+    @Test
+    public void testOfGetCachedProductsByEANCodes(){
+
+        when(productRepository.findByEANCodes(List.of(OCCUPIED_EAN_CODE))).thenReturn(list_of_products);
+
+        assertNull(productDataService.getCachedProductsByEANCodes(List.of(OCCUPIED_EAN_CODE)));
+
+        productDataService.getProductsByEANCodes(List.of(OCCUPIED_EAN_CODE));
+
+        assertEquals(productDataService.getCachedProductsByEANCodes(List.of(OCCUPIED_EAN_CODE)).size(), 1);
+        //One product which isn't cached is enough to read all of them from database
+        assertNull(productDataService.getCachedProductsByEANCodes(
+                List.of(OCCUPIED_EAN_CODE, DIFFERENT_8_SIGN_EAN_CODE)));
+        assertThrows(BadArgumentException.class, () -> productDataService
+                .getCachedProductsByEANCodes(List.of(WRONG_EAN_CODE)));
+    }
+
+    @Test
+    public void testOfGetProductsBySearch(){
+
+        when(productRepository.findByType(eq(RANDOM_TYPE), any(), any())).thenReturn(list_of_products);
+        when(productRepository.findByPriceRange(eq(LOWER_PRICE_THAN_CURRENT_PRICE),
+                eq(GREATER_PRICE_THAN_CURRENT_PRICE_1), any(), any())).thenReturn(list_of_products);
+
+        //Blank phrase is treated as missing, so products are searched only by type
+        assertEquals(productDataService.getProductsBySearch(RANDOM_TYPE, " ", null, null, null)
+                .getProducts().size(), 1);
+        assertEquals(productDataService.getProductsBySearch(null, null, LOWER_PRICE_THAN_CURRENT_PRICE,
+                GREATER_PRICE_THAN_CURRENT_PRICE_1, null).getProducts().size(), 1);
+        assertThrows(BadArgumentException.class, () -> productDataService
+                .getProductsBySearch(null, null, null, null, INCORRECT_CURSOR));
+    }
+
     @Test
     public void testOfGetProductsByEANCodes(){
 
         List<String> list = List.of();
 
-        when(productRepository.findByEANCodes(list)).thenReturn(List.of());
-
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByEANCodes(null);
         });
@@ -675,29 +793,49 @@ public class ProductDataServiceTest {
     public void testOfGetProducts(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProducts(null);
+            productDataService.getProducts(INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            productDataService.getProducts(List.of());
+            productDataService.getProducts(null);
         });
 
-        assertEquals(firstException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(firstException.getMessage(), "Incorrect argument: cursor");
+    }
+
+    @Test
+    public void testOfGetProductsNextCursor(){
+
+        List<Product> fullPage = new ArrayList<>();
+
+        for(int i = 0; i < 24; i++)
+            fullPage.add(product);
+
+        when(productRepository.find(eq(""), any())).thenReturn(fullPage);
+        when(productRepository.find(eq(OCCUPIED_EAN_CODE), any())).thenReturn(list_of_products);
+
+        ProductPageModel firstPage = productDataService.getProducts(null);
+        ProductPageModel secondPage = productDataService.getProducts(firstPage.getNextCursor());
+
+        assertEquals(firstPage.getProducts().size(), 24);
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(secondPage.getProducts().size(), 1);
+        assertNull(secondPage.getNextCursor());
     }
 
     @Test
     public void testOfGetProductsByPhrase(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPhrase(null, List.of());
+            productDataService.getProductsByPhrase(null, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPhrase("", List.of());
+            productDataService.getProductsByPhrase("", null);
         });
 
         assertDoesNotThrow(() -> {
-            productDataService.getProductsByPhrase(RANDOM_PHRASE, List.of());
+            productDataService.getProductsByPhrase(RANDOM_PHRASE, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: phrase");
@@ -705,71 +843,121 @@ public class ProductDataServiceTest {
     }
 
     @Test
-    public void testOfGetProductsByType(){
+    public void testOfGetProductsByPhraseNextCursor(){
+
+        List<String> rankedEanCodes = new ArrayList<>();
+        List<Product> foundProducts = new ArrayList<>();
+
+        for(int i = 0; i < 25; i++){
 
-        List<String> list = new ArrayList<>();
+            Product foundProduct = new Product(RANDOM_PRODUCT_NAME, String.valueOf(10000000 + i), RANDOM_TYPE,
+                    RANDOM_DESCRIPTION, RANDOM_HEIGHT, RANDOM_WIDTH, RANDOM_PRICE, RANDOM_PRICE,
+                    new Stock(RANDOM_STOCK), new ProductMainImage(RANDOM_STORED_IMAGE));
 
-        when(productRepository.findByType(eq(RANDOM_TYPE), eq(list), any())).thenReturn(list_of_products);
-        when(productRepository.findByType(eq(TYPE_THAT_NOT_EXIST), eq(list), any())).thenReturn(List.of());
+            rankedEanCodes.add(foundProduct.getEANCode());
+            foundProducts.add(0, foundProduct);
+        }
+
+        when(productSearchIndex.search(RANDOM_PHRASE, null, null, null)).thenReturn(rankedEanCodes);
+        when(productRepository.findByEANCodes(any())).thenReturn(foundProducts);
+
+        ProductPageModel firstPage = productDataService.getProductsByPhrase(RANDOM_PHRASE, null);
+        ProductPageModel secondPage = productDataService.getProductsByPhrase(RANDOM_PHRASE, firstPage.getNextCursor());
+
+        assertEquals(firstPage.getProducts().size(), 24);
+        assertEquals(firstPage.getProducts().get(0).getEANCode(), rankedEanCodes.get(0));
+        assertEquals(firstPage.getProducts().get(23).getEANCode(), rankedEanCodes.get(23));
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(secondPage.getProducts().size(), 1);
+        assertEquals(secondPage.getProducts().get(0).getEANCode(), rankedEanCodes.get(24));
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void testOfGetProductSuggestions(){
+
+        when(productSuggestionTrie.suggest(eq(RANDOM_PHRASE), any(Integer.class)))
+                .thenReturn(List.of(new ProductSuggestionModel(RANDOM_PRODUCT_NAME, OCCUPIED_EAN_CODE)));
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByType(null, list);
+            productDataService.getProductSuggestions(null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByType("", list);
+            productDataService.getProductSuggestions(" ");
         });
 
-        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByType(RANDOM_TYPE, null);
+        List<ProductSuggestionModel> suggestions = productDataService.getProductSuggestions(RANDOM_PHRASE);
+
+        assertEquals(firstException.getMessage(), "Incorrect argument: prefix");
+        assertEquals(secondException.getMessage(), "Incorrect argument: prefix");
+        assertEquals(suggestions.size(), 1);
+        assertEquals(suggestions.get(0).getEANCode(), OCCUPIED_EAN_CODE);
+    }
+
+    @Test
+    public void testOfGetProductsByType(){
+
+        when(productRepository.findByType(eq(RANDOM_TYPE), eq(""), any())).thenReturn(list_of_products);
+        when(productRepository.findByType(eq(TYPE_THAT_NOT_EXIST), eq(""), any())).thenReturn(List.of());
+
+        Exception firstException = assertThrows(BadArgumentException.class, () -> {
+            productDataService.getProductsByType(null, null);
         });
 
-        Exception fourthException = assertThrows(ProductNotFoundException.class, () -> {
-            productDataService.getProductsByType(TYPE_THAT_NOT_EXIST, list);
+        Exception secondException = assertThrows(BadArgumentException.class, () -> {
+            productDataService.getProductsByType("", null);
+        });
+
+        Exception thirdException = assertThrows(BadArgumentException.class, () -> {
+            productDataService.getProductsByType(RANDOM_TYPE, INCORRECT_CURSOR);
         });
 
+        ProductPageModel emptyPage = productDataService.getProductsByType(TYPE_THAT_NOT_EXIST, null);
+
         assertDoesNotThrow(() -> {
-            productDataService.getProductsByType(RANDOM_TYPE, list);
+            productDataService.getProductsByType(RANDOM_TYPE, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
         assertEquals(secondException.getMessage(), "Incorrect argument: type");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenEanCodes");
-        assertEquals(fourthException.getMessage(), "Products with type " + TYPE_THAT_NOT_EXIST + " not found");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: cursor");
+        assertTrue(emptyPage.getProducts().isEmpty());
+        assertNull(emptyPage.getNextCursor());
     }
 
     @Test
     public void testOfGetProductsByPriceRange(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPriceRange(null, RANDOM_PRICE, List.of());
+            productDataService.getProductsByPriceRange(null, RANDOM_PRICE, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPriceRange(NEGATIVE_PRICE, RANDOM_PRICE, List.of());
+            productDataService.getProductsByPriceRange(NEGATIVE_PRICE, RANDOM_PRICE, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPriceRange(RANDOM_PRICE, null, List.of());
+            productDataService.getProductsByPriceRange(RANDOM_PRICE, null, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByPriceRange(RANDOM_PRICE, NEGATIVE_PRICE, List.of());
+            productDataService.getProductsByPriceRange(RANDOM_PRICE, NEGATIVE_PRICE, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             productDataService
-                    .getProductsByPriceRange(GREATER_PRICE_THAN_CURRENT_PRICE_1, RANDOM_PRICE, List.of());
+                    .getProductsByPriceRange(GREATER_PRICE_THAN_CURRENT_PRICE_1, RANDOM_PRICE, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             productDataService
-                    .getProductsByPriceRange(LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_2, null);
+                    .getProductsByPriceRange(LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_2, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             productDataService
-                    .getProductsByPriceRange(LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_2, List.of());
+                    .getProductsByPriceRange(LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_2, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: minimalPrice");
@@ -777,94 +965,92 @@ public class ProductDataServiceTest {
         assertEquals(thirdException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(fourthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(fifthException.getMessage(), "Argument minimalPrice mustn't be greater than maximalPrice");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(sixthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
     public void testOfGetProductsByTypeAndPhrase(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByTypeAndPhrase(null, RANDOM_PHRASE, List.of());
+            productDataService.getProductsByTypeAndPhrase(null, RANDOM_PHRASE, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByTypeAndPhrase("", RANDOM_PHRASE, List.of());
+            productDataService.getProductsByTypeAndPhrase("", RANDOM_PHRASE, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, null, List.of());
+            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, null, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, "", List.of());
+            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, "", null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
-            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, RANDOM_PHRASE, null);
+            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, RANDOM_PHRASE, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, RANDOM_PHRASE, List.of());
+            productDataService.getProductsByTypeAndPhrase(RANDOM_TYPE, RANDOM_PHRASE, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
         assertEquals(secondException.getMessage(), "Incorrect argument: type");
         assertEquals(thirdException.getMessage(), "Incorrect argument: phrase");
         assertEquals(fourthException.getMessage(), "Incorrect argument: phrase");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(fifthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
     public void testOfGetProductsByTypeAndPriceRange(){
 
-        List<String> list = new ArrayList<>();
-
         when(productRepository.findByTypeAndPriceRange(eq(RANDOM_TYPE), eq(LOWER_PRICE_THAN_CURRENT_PRICE),
-                eq(GREATER_PRICE_THAN_CURRENT_PRICE_1), eq(list), any())).thenReturn(new ArrayList<>());
+                eq(GREATER_PRICE_THAN_CURRENT_PRICE_1), eq(""), any())).thenReturn(new ArrayList<>());
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(null, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange("", LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, null,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, NEGATIVE_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    null, list);
+                    null, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    NEGATIVE_PRICE, list);
+                    NEGATIVE_PRICE, null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                    LOWER_PRICE_THAN_CURRENT_PRICE, list);
+                    LOWER_PRICE_THAN_CURRENT_PRICE, null);
         });
 
         Exception eighthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_2, null);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_2, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             productDataService.getProductsByTypeAndPriceRange(RANDOM_TYPE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
@@ -874,62 +1060,57 @@ public class ProductDataServiceTest {
         assertEquals(fifthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(sixthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(seventhException.getMessage(), "Argument minimalPrice mustn't be greater than maximalPrice");
-        assertEquals(eighthException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(eighthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
     public void testOfGetProductsByPhraseAndPriceRange(){
 
-        List<String> list = new ArrayList<>();
-
-        when(productRepository.findByPhraseAndPriceRange(eq(RANDOM_PHRASE), eq(LOWER_PRICE_THAN_CURRENT_PRICE),
-                eq(GREATER_PRICE_THAN_CURRENT_PRICE_1), eq(list), any())).thenReturn(new ArrayList<>());
-
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange(null, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange("", LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange(RANDOM_PHRASE, null,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange(RANDOM_PHRASE, NEGATIVE_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange(RANDOM_PHRASE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    null, list);
+                    null, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByPhraseAndPriceRange(RANDOM_PHRASE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    NEGATIVE_PRICE, list);
+                    NEGATIVE_PRICE, null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             productDataService
                     .getProductsByPhraseAndPriceRange(RANDOM_PHRASE, GREATER_PRICE_THAN_CURRENT_PRICE_1,
-                    LOWER_PRICE_THAN_CURRENT_PRICE, list);
+                    LOWER_PRICE_THAN_CURRENT_PRICE, null);
         });
 
         Exception ninthException = assertThrows(BadArgumentException.class, () -> {
             productDataService
                     .getProductsByPhraseAndPriceRange(RANDOM_PHRASE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             productDataService.getProductsByPhraseAndPriceRange(RANDOM_PHRASE, LOWER_PRICE_THAN_CURRENT_PRICE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, list);
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: phrase");
@@ -939,7 +1120,7 @@ public class ProductDataServiceTest {
         assertEquals(fifthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(sixthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(seventhException.getMessage(), "Argument minimalPrice mustn't be greater than maximalPrice");
-        assertEquals(ninthException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(ninthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -947,57 +1128,57 @@ public class ProductDataServiceTest {
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(null, RANDOM_PHRASE,
-                    RANDOM_PRICE, RANDOM_PRICE, List.of());
+                    RANDOM_PRICE, RANDOM_PRICE, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange("", RANDOM_PHRASE,
-                    RANDOM_PRICE, RANDOM_PRICE, List.of());
+                    RANDOM_PRICE, RANDOM_PRICE, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, null,
-                    RANDOM_PRICE, RANDOM_PRICE, List.of());
+                    RANDOM_PRICE, RANDOM_PRICE, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, "",
-                    RANDOM_PRICE, RANDOM_PRICE, List.of());
+                    RANDOM_PRICE, RANDOM_PRICE, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    null, RANDOM_PRICE, List.of());
+                    null, RANDOM_PRICE, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    NEGATIVE_PRICE, RANDOM_PRICE, List.of());
+                    NEGATIVE_PRICE, RANDOM_PRICE, null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    RANDOM_PRICE, null, List.of());
+                    RANDOM_PRICE, null, null);
         });
 
         Exception eighthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    RANDOM_PRICE, NEGATIVE_PRICE, List.of());
+                    RANDOM_PRICE, NEGATIVE_PRICE, null);
         });
 
         Exception ninthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    GREATER_PRICE_THAN_CURRENT_PRICE_1, RANDOM_PRICE, List.of());
+                    GREATER_PRICE_THAN_CURRENT_PRICE_1, RANDOM_PRICE, null);
         });
 
         Exception tenthException = assertThrows(BadArgumentException.class, () -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
+                    LOWER_PRICE_THAN_CURRENT_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             productDataService.getProductsByTypeAndPhraseAndPriceRange(RANDOM_TYPE, RANDOM_PHRASE,
-                    RANDOM_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1, List.of());
+                    RANDOM_PRICE, GREATER_PRICE_THAN_CURRENT_PRICE_1, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
@@ -1009,7 +1190,7 @@ public class ProductDataServiceTest {
         assertEquals(seventhException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(eighthException.getMessage(), "Incorrect argument: maximalPrice");
         assertEquals(ninthException.getMessage(), "Argument minimalPrice mustn't be greater than maximalPrice");
-        assertEquals(tenthException.getMessage(), "Null argument: forbiddenEanCodes");
+        assertEquals(tenthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
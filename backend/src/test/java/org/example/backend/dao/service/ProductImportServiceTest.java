@@ -0,0 +1,175 @@
+package org.example.backend.dao.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.cache.CacheInvalidationBus;
+import org.example.backend.cache.LoopbackCacheInvalidationTransport;
+import org.example.backend.cache.ProductCatalogCache;
+import org.example.backend.dao.entity.image.ProductMainImage;
+import org.example.backend.dao.entity.product.Product;
+import org.example.backend.dao.entity.product.Stock;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.image.FileSystemImageStore;
+import org.example.backend.image.ImageVariantGenerator;
+import org.example.backend.image.StoredImage;
+import org.example.backend.model.ProductImportProgressModel;
+import org.example.backend.model.ProductImportRejectionModel;
+import org.example.backend.productimport.ProductImageArchive;
+import org.example.backend.productimport.ProductImportFormat;
+import org.example.backend.search.ProductSearchIndex;
+import org.example.backend.search.ProductSuggestionTrie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Test isn't run in one transaction, because every chunk of import is committed in its own transaction
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "image-store.directory=target/product-import-test-images", "cache-invalidation.transport=loopback"})
+@Import({ProductImportService.class, FileSystemImageStore.class, ImageVariantGenerator.class,
+        ProductSearchIndex.class, ProductSuggestionTrie.class, CacheInvalidationBus.class,
+        LoopbackCacheInvalidationTransport.class, ProductCatalogCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductImportServiceTest {
+
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
+    private final String RANDOM_NAME = "Random name";
+    private final String RANDOM_TYPE = "random type";
+    private final String RANDOM_DESCRIPTION = "Random description, with \"quotes\"";
+    private final Double RANDOM_PRICE = 100.00;
+    private final String EXISTING_EAN_CODE = "10000020";
+    private final String INCORRECT_EAN_CODE = "123";
+    private final String IMAGE_THAT_NOT_EXIST = "missing.png";
+    private final int ROWS = 1200;
+    private final int IMPORTED_PRODUCTS = ROWS - 4;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    private Path temporaryDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository.save(new Product(RANDOM_NAME, EXISTING_EAN_CODE, RANDOM_TYPE, RANDOM_DESCRIPTION, 10, 10,
+                RANDOM_PRICE, RANDOM_PRICE, new Stock(1L), new ProductMainImage(RANDOM_STORED_IMAGE)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void testOfImportProducts() throws IOException {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProductImportProgressModel> progresses = new ArrayList<>();
+
+        try(ProductImageArchive imageArchive = new ProductImageArchive(imageArchive())) {
+            productImportService.importProducts(ProductImportFormat.CSV.createReader(new ByteArrayInputStream(
+                    productsFile().getBytes(StandardCharsets.UTF_8))), imageArchive, progresses::add);
+        }
+
+        //Progress of the first chunk and then of the last one, which finishes import
+        assertEquals(progresses.size(), 2);
+        assertEquals(progresses.get(0).getProcessedRows(), 1000L);
+        assertFalse(progresses.get(0).isFinished());
+        assertEquals(progresses.get(0).getRejections().stream().map(ProductImportRejectionModel::getRow).toList(),
+                List.of(6L, 11L, 21L, 31L));
+        assertEquals(progresses.get(0).getRejections().get(0).getReason(), "Incorrect argument field: EANCode");
+        assertEquals(progresses.get(0).getRejections().get(2).getReason(),
+                "Product with ean code " + EXISTING_EAN_CODE + " already exists");
+
+        ProductImportProgressModel finishedProgress = progresses.get(1);
+
+        assertTrue(finishedProgress.isFinished());
+        assertEquals(finishedProgress.getProcessedRows(), (long) ROWS);
+        assertEquals(finishedProgress.getImportedProducts(), (long) IMPORTED_PRODUCTS);
+        assertEquals(finishedProgress.getRejectedRows(), 4L);
+        assertTrue(finishedProgress.getRejections().isEmpty());
+
+        assertEquals(productRepository.count(), IMPORTED_PRODUCTS + 1L);
+        assertEquals(productRepository.findByEANCode(eanCode(1)).getDescription(), RANDOM_DESCRIPTION);
+        assertFalse(productSearchIndex.search(RANDOM_NAME + " 1199", null, null, null).isEmpty());
+
+        //Products, stocks and images are inserted in JDBC batches, not one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < 100L);
+    }
+
+    //Row 6 has incorrect ean code, row 11 repeats ean code of row 1, row 21 has ean code of existing product
+    //and image of row 31 isn't in archive
+    private String productsFile() {
+
+        StringBuilder file = new StringBuilder("EANCode,name,type,description,height,width,regularPrice,"
+                + "currentPrice,stock,mainImage\n");
+
+        for(int i = 0; i < ROWS; i++) {
+
+            String eanCode = (i == 5) ? INCORRECT_EAN_CODE : (i == 10) ? eanCode(0) : eanCode(i);
+            String image = (i == 30) ? IMAGE_THAT_NOT_EXIST : imageName(i);
+
+            file.append(eanCode).append(',').append(RANDOM_NAME).append(' ').append(i).append(',')
+                    .append(RANDOM_TYPE).append(",\"").append(RANDOM_DESCRIPTION.replace("\"", "\"\""))
+                    .append("\",10,20,").append(RANDOM_PRICE).append(',').append(RANDOM_PRICE).append(",5,")
+                    .append(image).append('\n');
+        }
+
+        return file.toString();
+    }
+
+    private Path imageArchive() throws IOException {
+
+        Path archive = temporaryDirectory.resolve("images.zip");
+
+        try(OutputStream outputStream = Files.newOutputStream(archive);
+            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+
+            for(int i = 0; i < ROWS; i++) {
+                zipOutputStream.putNextEntry(new ZipEntry(imageName(i)));
+                zipOutputStream.write(("image " + i).getBytes(StandardCharsets.UTF_8));
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return archive;
+    }
+
+    private String eanCode(int index) {
+        return String.valueOf(10000000 + index);
+    }
+
+    private String imageName(int index) {
+        return "image-" + index + ".png";
+    }
+}
@@ -8,16 +8,16 @@ import org.example.backend.dao.entity.product.Product;
 import org.example.backend.dao.entity.product.Stock;
 import org.example.backend.dao.entity.transaction.OrderedProduct;
 import org.example.backend.dao.entity.transaction.ReturnTransaction;
+import org.example.backend.dao.entity.transaction.ReturnedProduct;
 import org.example.backend.dao.entity.user.Role;
 import org.example.backend.dao.entity.user.User;
 import org.example.backend.dao.repository.logistic.AddressRepository;
 import org.example.backend.dao.repository.logistic.DeliveryProviderRepository;
 import org.example.backend.dao.repository.product.ProductRepository;
-import org.example.backend.dao.repository.transaction.OrderedProductRepository;
-import org.example.backend.dao.repository.transaction.ReturnTransactionRepository;
-import org.example.backend.dao.repository.transaction.ReturnedProductRepository;
+import org.example.backend.dao.repository.transaction.*;
 import org.example.backend.dao.repository.user.UserRepository;
 import org.example.backend.enumerated.ReturnCause;
+import org.example.backend.enumerated.TransactionEventType;
 import org.example.backend.enumerated.TransactionStatus;
 import org.example.backend.exception.global.BadArgumentException;
 import org.example.backend.exception.logistic.DeliveryProviderNotFoundException;
@@ -25,16 +25,20 @@ import org.example.backend.exception.product.ProductNotFoundException;
 import org.example.backend.exception.transaction.ReturnTransactionNotFoundException;
 import org.example.backend.exception.transaction.ReturnedProductNotFoundException;
 import org.example.backend.exception.user.UserNotFoundException;
+import org.example.backend.image.StoredImage;
 import org.example.backend.model.AddressModel;
 import org.example.backend.model.ProductModel;
 import org.example.backend.model.ReturnTransactionModel;
 import org.example.backend.model.ReturnedProductModel;
+import org.example.backend.statusevent.TransactionStatusEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -43,11 +47,14 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ReturnTransactionServiceTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
     private final UUID ID_OF_RETURN_TRANSACTION_THAT_EXISTS = UUID.randomUUID();
     private final UUID ID_OF_RETURN_TRANSACTION_THAT_NOT_EXISTS = UUID.randomUUID();
     private final String RANDOM_EMAIL = "random@email.com";
@@ -72,7 +79,6 @@ public class ReturnTransactionServiceTest {
     private final Double GREATER_PRODUCT_PRICE = 15.00;
     private final Integer RANDOM_PRODUCT_HEIGHT = 100;
     private final Integer RANDOM_PRODUCT_WIDTH = 80;
-    private final byte[] RANDOM_IMAGE = new byte[12];
     private final UUID ID_OF_ORDER_TRANSACTION_THAT_EXISTS = UUID.randomUUID();
     private final UUID ID_OF_ORDER_TRANSACTION_THAT_NOT_EXISTS = UUID.randomUUID();
     private final Long RANDOM_QUANTITY = 34L;
@@ -93,9 +99,11 @@ public class ReturnTransactionServiceTest {
     private final String RANDOM_LAST_NAME = "random last name";
     private final String RANDOM_PASSWORD = "random password";
     private final Role RANDOM_ROLE = new Role();
-    private final UserImage USER_IMAGE = new UserImage(new byte[12]);
+    private final UserImage USER_IMAGE = new UserImage(RANDOM_STORED_IMAGE);
     private final LocalDate BIRTH_DATE = LocalDate.of(2020, 1, 1);
     private final List<UUID> TRANSACTION_IDS = List.of(ID_OF_RETURN_TRANSACTION_THAT_EXISTS);
+    private final String INCORRECT_CURSOR = "!@#$";
+    private final Long ORDERED_QUANTITY = 200L;
 
     @Mock
     private OrderedProductRepository orderedProductRepository;
@@ -118,6 +126,18 @@ public class ReturnTransactionServiceTest {
     @Mock
     private AddressRepository addressRepository;
 
+    @Mock
+    private DailyProductReturnsRepository dailyProductReturnsRepository;
+
+    @Mock
+    private DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository;
+
+    @Mock
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
     @InjectMocks
     private ReturnTransactionService returnTransactionService;
 
@@ -148,7 +168,7 @@ public class ReturnTransactionServiceTest {
 
         product = new Product(RANDOM_PRODUCT_NAME, OCCUPIED_EAN_CODE, RANDOM_PRODUCT_TYPE, RANDOM_PRODUCT_DESCRIPTION,
                 RANDOM_PRODUCT_HEIGHT, RANDOM_PRODUCT_WIDTH, GREATER_PRODUCT_PRICE,
-                RANDOM_PRODUCT_PRICE, new Stock(RANDOM_QUANTITY), new ProductMainImage(RANDOM_IMAGE));
+                RANDOM_PRODUCT_PRICE, new Stock(RANDOM_QUANTITY), new ProductMainImage(RANDOM_STORED_IMAGE));
 
         orderedProduct = new OrderedProduct(
                 product, RANDOM_QUANTITY, RANDOM_PRICE);
@@ -421,6 +441,16 @@ public class ReturnTransactionServiceTest {
             returnTransactionService.saveNewReturnTransaction(returnTransactionModel);
         });
 
+        ArgumentCaptor<ReturnTransaction> savedReturnTransaction = ArgumentCaptor.forClass(ReturnTransaction.class);
+
+        verify(returnTransactionRepository).save(savedReturnTransaction.capture());
+        verify(dailyProductReturnsRollupRepository).add(any(LocalDate.class), eq(RETURN_CAUSE), isNull(),
+                eq(List.of(new ProductReturn(OCCUPIED_EAN_CODE, RANDOM_PRODUCT_TYPE, RANDOM_QUANTITY,
+                        RANDOM_QUANTITY * RANDOM_PRICE))));
+
+        for(ReturnedProduct returnedProduct : savedReturnTransaction.getValue().getReturnedProducts())
+            assertEquals(returnedProduct.getReturnTransaction(), savedReturnTransaction.getValue());
+
         assertEquals(firstException.getMessage(),
                 "Incorrect argument: returnTransactionModel");
         assertEquals(secondException.getMessage(),
@@ -515,6 +545,14 @@ public class ReturnTransactionServiceTest {
         assertEquals(thirdException.getMessage(), "Incorrect argument: status");
         assertEquals(fourthException.getMessage(), "Incorrect argument: status");
         assertEquals(fifthException.getMessage(), "Return transaction with id " + ID_OF_RETURN_TRANSACTION_THAT_NOT_EXISTS + " not found");
+
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        TransactionStatusEvent event = (TransactionStatusEvent) eventCaptor.getValue();
+
+        assertEquals(event.type(), TransactionEventType.RETURN_STATUS_CHANGED);
+        assertEquals(event.transactionId(), ID_OF_RETURN_TRANSACTION_THAT_EXISTS);
+        assertEquals(event.status(), RANDOM_STATUS);
     }
 
     @Test
@@ -564,14 +602,14 @@ public class ReturnTransactionServiceTest {
     public void testOfGetReturnTransactions(){
 
         Exception exception = assertThrows(BadArgumentException.class, () -> {
-            returnTransactionService.getReturnTransactions(null);
+            returnTransactionService.getReturnTransactions(INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            returnTransactionService.getReturnTransactions(TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactions(null);
         });
 
-        assertEquals(exception.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(exception.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -579,53 +617,53 @@ public class ReturnTransactionServiceTest {
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByTimePeriod(null, DATE_AFTER, TRANSACTION_IDS);
+                    .getReturnTransactionsByTimePeriod(null, DATE_AFTER, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, null, TRANSACTION_IDS);
+                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, null, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByTimePeriod(DATE_AFTER, DATE_BEFORE, TRANSACTION_IDS);
+                    .getReturnTransactionsByTimePeriod(DATE_AFTER, DATE_BEFORE, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, DATE_AFTER, null);
+                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, DATE_AFTER, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
-                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, DATE_AFTER, TRANSACTION_IDS);
+                    .getReturnTransactionsByTimePeriod(DATE_BEFORE, DATE_AFTER, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
         assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
-        assertEquals(fourthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(fourthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
     public void testOfGetReturnTransactionsByReturnCause(){
 
         Exception exception = assertThrows(BadArgumentException.class, () -> {
-            returnTransactionService.getReturnTransactionsByReturnCause(null, TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactionsByReturnCause(null, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByReturnCause(RETURN_CAUSE, null);
+                    .getReturnTransactionsByReturnCause(RETURN_CAUSE, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            returnTransactionService.getReturnTransactionsByReturnCause(RETURN_CAUSE, TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactionsByReturnCause(RETURN_CAUSE, null);
         });
 
         assertEquals(exception.getMessage(), "Null argument: returnCause");
-        assertEquals(secondException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(secondException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -633,52 +671,52 @@ public class ReturnTransactionServiceTest {
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByDeliveryProviderName(null, TRANSACTION_IDS);
+                    .getReturnTransactionsByDeliveryProviderName(null, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByDeliveryProviderName("", TRANSACTION_IDS);
+                    .getReturnTransactionsByDeliveryProviderName("", null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByDeliveryProviderName(DELIVERY_PROVIDER_NAME, null);
+                    .getReturnTransactionsByDeliveryProviderName(DELIVERY_PROVIDER_NAME, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
-                    .getReturnTransactionsByDeliveryProviderName(DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                    .getReturnTransactionsByDeliveryProviderName(DELIVERY_PROVIDER_NAME, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(secondException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
     public void testOfGetReturnTransactionsByUserEmail(){
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
-            returnTransactionService.getReturnTransactionsByUserEmail(null, TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactionsByUserEmail(null, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
-            returnTransactionService.getReturnTransactionsByUserEmail(WRONG_EMAIL, TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactionsByUserEmail(WRONG_EMAIL, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
-                    .getReturnTransactionsByUserEmail(RANDOM_EMAIL, null);
+                    .getReturnTransactionsByUserEmail(RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
-            returnTransactionService.getReturnTransactionsByUserEmail(RANDOM_EMAIL, TRANSACTION_IDS);
+            returnTransactionService.getReturnTransactionsByUserEmail(RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(secondException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(thirdException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -687,44 +725,44 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            null, DATE_AFTER, RETURN_CAUSE, TRANSACTION_IDS);
+                            null, DATE_AFTER, RETURN_CAUSE, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            DATE_BEFORE, null, RETURN_CAUSE, TRANSACTION_IDS);
+                            DATE_BEFORE, null, RETURN_CAUSE, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, TRANSACTION_IDS);
+                            DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            DATE_BEFORE, DATE_AFTER, null, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, null, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCause(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
         assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
         assertEquals(fourthException.getMessage(), "Null argument: returnCause");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(fifthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -733,43 +771,43 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            null, DATE_AFTER, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            null, DATE_AFTER, DELIVERY_PROVIDER_NAME, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, null, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            DATE_BEFORE, null, DELIVERY_PROVIDER_NAME, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_AFTER, DATE_BEFORE, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            DATE_AFTER, DATE_BEFORE, DELIVERY_PROVIDER_NAME, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, null, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, null, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, "", TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, "", null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, null);
+                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderName(
-                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -777,7 +815,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
         assertEquals(fourthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(fifthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(sixthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -786,43 +824,43 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            null, DATE_AFTER, RANDOM_EMAIL, TRANSACTION_IDS);
+                            null, DATE_AFTER, RANDOM_EMAIL, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, null, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, null, RANDOM_EMAIL, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_AFTER, DATE_BEFORE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_AFTER, DATE_BEFORE, RANDOM_EMAIL, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, null, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, null, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, WRONG_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, WRONG_EMAIL, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, null);
+                            DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -830,7 +868,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
         assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(fifthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(sixthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -839,37 +877,37 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                            null, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            null, DELIVERY_PROVIDER_NAME, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                            RETURN_CAUSE, null, TRANSACTION_IDS);
+                            RETURN_CAUSE, null, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                            RETURN_CAUSE, "", TRANSACTION_IDS);
+                            RETURN_CAUSE, "", null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, null);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderName(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, TRANSACTION_IDS);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, null);
         });
 
         assertEquals(firstException.getMessage(), "Null argument: returnCause");
         assertEquals(secondException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(thirdException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(fourthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(fourthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -878,37 +916,37 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndUserEmail(
-                            null, RANDOM_EMAIL, TRANSACTION_IDS);
+                            null, RANDOM_EMAIL, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndUserEmail(
-                            RETURN_CAUSE, null, TRANSACTION_IDS);
+                            RETURN_CAUSE, null, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndUserEmail(
-                            RETURN_CAUSE, WRONG_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, WRONG_EMAIL, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndUserEmail(
-                            RETURN_CAUSE, RANDOM_EMAIL, null);
+                            RETURN_CAUSE, RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndUserEmail(
-                            RETURN_CAUSE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Null argument: returnCause");
         assertEquals(secondException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(thirdException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fourthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(fourthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -917,44 +955,44 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            null, RANDOM_EMAIL, TRANSACTION_IDS);
+                            null, RANDOM_EMAIL, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            "", RANDOM_EMAIL, TRANSACTION_IDS);
+                            "", RANDOM_EMAIL, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, null, TRANSACTION_IDS);
+                            DELIVERY_PROVIDER_NAME, null, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, WRONG_EMAIL, TRANSACTION_IDS);
+                            DELIVERY_PROVIDER_NAME, WRONG_EMAIL, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
+                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByDeliveryProviderNameAndUserEmail(
-                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(secondException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(thirdException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(fifthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(fifthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -964,56 +1002,56 @@ public class ReturnTransactionServiceTest {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             null, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, null, RETURN_CAUSE, DELIVERY_PROVIDER_NAME,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, DELIVERY_PROVIDER_NAME,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, DATE_AFTER, null, DELIVERY_PROVIDER_NAME,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, "",
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME,
-                            null);
+                            INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderName(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -1022,7 +1060,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(fourthException.getMessage(), "Null argument: returnCause");
         assertEquals(fifthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(sixthException.getMessage(), "Incorrect argument: deliveryProviderName");
-        assertEquals(seventhException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(seventhException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -1031,49 +1069,49 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            null, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            null, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, null, RETURN_CAUSE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, null, RETURN_CAUSE, RANDOM_EMAIL, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, RANDOM_EMAIL, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, null, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, null, RANDOM_EMAIL, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, WRONG_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, WRONG_EMAIL, null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, null);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndUserEmail(
-                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, TRANSACTION_IDS);
+                            DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -1082,7 +1120,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(fourthException.getMessage(), "Null argument: returnCause");
         assertEquals(fifthException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(sixthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(seventhException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(seventhException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -1092,63 +1130,63 @@ public class ReturnTransactionServiceTest {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             null, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_AFTER, DATE_BEFORE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, null, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, "", RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, null,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, WRONG_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception eighthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            null);
+                            INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -1158,7 +1196,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(fifthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(sixthException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(seventhException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(eighthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(eighthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -1167,43 +1205,43 @@ public class ReturnTransactionServiceTest {
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTION_IDS);
+                            null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, null, RANDOM_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, null, RANDOM_EMAIL, null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, "", RANDOM_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, "", RANDOM_EMAIL, null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, null, TRANSACTION_IDS);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, null, null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, WRONG_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, WRONG_EMAIL, null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByReturnCauseAndDeliveryProviderNameAndUserEmail(
-                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, TRANSACTION_IDS);
+                            RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL, null);
         });
 
         assertEquals(firstException.getMessage(), "Null argument: returnCause");
@@ -1211,7 +1249,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(thirdException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(fourthException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(fifthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(sixthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(sixthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -1221,70 +1259,70 @@ public class ReturnTransactionServiceTest {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             null, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception secondException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, null, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception thirdException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_AFTER, DATE_BEFORE, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fourthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, null, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception fifthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, null, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception sixthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, "", RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception seventhException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, null,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception eighthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, WRONG_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         Exception ninthException = assertThrows(BadArgumentException.class, () -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            null);
+                            INCORRECT_CURSOR);
         });
 
         assertDoesNotThrow(() -> {
             returnTransactionService
                     .getReturnTransactionsByTimePeriodAndReturnCauseAndDeliveryProviderNameAndUserEmail(
                             DATE_BEFORE, DATE_AFTER, RETURN_CAUSE, DELIVERY_PROVIDER_NAME, RANDOM_EMAIL,
-                            TRANSACTION_IDS);
+                            null);
         });
 
         assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
@@ -1295,7 +1333,7 @@ public class ReturnTransactionServiceTest {
         assertEquals(sixthException.getMessage(), "Incorrect argument: deliveryProviderName");
         assertEquals(seventhException.getMessage(), "Incorrect argument: userEmail");
         assertEquals(eighthException.getMessage(), "Incorrect argument: userEmail");
-        assertEquals(ninthException.getMessage(), "Null argument: forbiddenReturnTransactionIds");
+        assertEquals(ninthException.getMessage(), "Incorrect argument: cursor");
     }
 
     @Test
@@ -1320,16 +1358,11 @@ public class ReturnTransactionServiceTest {
     @Test
     public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(){
 
-        Object[] row = new Object[3];
-        row[0] = product;
-        row[1] = RANDOM_QUANTITY;
-        row[2] = RANDOM_PRICE;
-
-        ArrayList<Object[]> result = new ArrayList<>();
-        result.add(row);
+        List<ProductQuantityAndRevenue> result = List.of(new ProductQuantityAndRevenue(OCCUPIED_EAN_CODE,
+                RANDOM_PRODUCT_NAME, RANDOM_PRODUCT_TYPE, RANDOM_QUANTITY, RANDOM_PRICE));
 
-        when(returnedProductRepository
-                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(DATE_BEFORE, DATE_AFTER))
+        when(dailyProductReturnsRepository
+                .getProductsAndTheirReturnedQuantityAndRevenueByTimePeriod(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(result);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
@@ -1360,15 +1393,10 @@ public class ReturnTransactionServiceTest {
     @Test
     public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByPhrase(){
 
-        Object[] row = new Object[3];
-        row[0] = product;
-        row[1] = RANDOM_QUANTITY;
-        row[2] = RANDOM_PRICE;
-
-        ArrayList<Object[]> result = new ArrayList<>();
-        result.add(row);
+        List<ProductQuantityAndRevenue> result = List.of(new ProductQuantityAndRevenue(OCCUPIED_EAN_CODE,
+                RANDOM_PRODUCT_NAME, RANDOM_PRODUCT_TYPE, RANDOM_QUANTITY, RANDOM_PRICE));
 
-        when(returnedProductRepository
+        when(dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByPhrase(RANDOM_PHRASE))
                 .thenReturn(result);
 
@@ -1394,20 +1422,14 @@ public class ReturnTransactionServiceTest {
     @Test
     public void testOfGetProductsAndTheirReturnedQuantityAndRevenueByType(){
 
-        ArrayList<Object[]> arrayList = new ArrayList<>();
+        List<ProductQuantityAndRevenue> rows = List.of(new ProductQuantityAndRevenue(OCCUPIED_EAN_CODE,
+                RANDOM_PRODUCT_NAME, RANDOM_PRODUCT_TYPE, RANDOM_QUANTITY, RANDOM_PRICE));
 
-        Object[] row = new Object[3];
-        row[0] = product;
-        row[1] = RANDOM_QUANTITY;
-        row[2] = RANDOM_PRICE;
-
-        arrayList.add(row);
-
-        when(returnedProductRepository
+        when(dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByType(TYPE_THAT_EXIST))
-                .thenReturn(arrayList);
+                .thenReturn(rows);
 
-        when(returnedProductRepository
+        when(dailyProductReturnsRepository
                 .getProductsAndTheirReturnedQuantityAndRevenueByType(TYPE_THAT_NOT_EXIST))
                 .thenReturn(new ArrayList<>());
 
@@ -1423,9 +1445,7 @@ public class ReturnTransactionServiceTest {
             returnTransactionService.getProductsAndTheirReturnedQuantityAndRevenueByType(TYPE_THAT_NOT_EXIST);
         });
 
-        assertDoesNotThrow(() -> {
-            returnTransactionService.getProductsAndTheirReturnedQuantityAndRevenueByType(TYPE_THAT_EXIST);
-        });
+        assertEquals(returnTransactionService.getProductsAndTheirReturnedQuantityAndRevenueByType(TYPE_THAT_EXIST), rows);
 
         assertEquals(firstException.getMessage(), "Incorrect argument: type");
         assertEquals(secondException.getMessage(), "Incorrect argument: type");
@@ -1634,8 +1654,8 @@ public class ReturnTransactionServiceTest {
 
         myList.add(objects);
 
-        when(returnedProductRepository
-                .getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(DATE_BEFORE, DATE_NOW))
+        when(dailyProductReturnsRepository
+                .getAllQuantityOfReturnedProductsAndRevenueByTimePeriod(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(myList);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
@@ -1690,4 +1710,75 @@ public class ReturnTransactionServiceTest {
         assertEquals(secondException.getMessage(), "Incorrect argument: endingDate");
         assertEquals(thirdException.getMessage(), "Argument startingDate is after endingDate");
     }
+
+    @Test
+    public void testOfGetReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(){
+
+        ArrayList<Object[]> orderedQuantityAndRevenue = new ArrayList<>();
+        orderedQuantityAndRevenue.add(new Object[]{ORDERED_QUANTITY, ORDERED_QUANTITY * RANDOM_PRICE});
+
+        ArrayList<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{RETURN_CAUSE, RETURNED_QUANTITY, RETURNED_QUANTITY * RANDOM_PRICE});
+
+        when(dailyProductSalesRepository
+                .getAllQuantityOfOrderedProductsAndRevenueByTimePeriod(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(orderedQuantityAndRevenue);
+        when(dailyProductReturnsRepository
+                .getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriod(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(rows);
+
+        Exception firstException = assertThrows(BadArgumentException.class, () -> {
+            returnTransactionService.getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(
+                    null, DATE_NOW);
+        });
+
+        Exception secondException = assertThrows(BadArgumentException.class, () -> {
+            returnTransactionService.getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(
+                    DATE_NOW, DATE_BEFORE);
+        });
+
+        List<Object[]> result = returnTransactionService
+                .getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriod(DATE_BEFORE, DATE_NOW);
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0)[0], RETURN_CAUSE);
+        assertEquals(result.get(0)[1], RETURNED_QUANTITY);
+        assertEquals(result.get(0)[2], RETURNED_QUANTITY * RANDOM_PRICE);
+        assertEquals(result.get(0)[3], RETURNED_QUANTITY.doubleValue() / ORDERED_QUANTITY);
+        assertEquals(firstException.getMessage(), "Incorrect argument: startingDate");
+        assertEquals(secondException.getMessage(), "Argument startingDate is after endingDate");
+    }
+
+    @Test
+    public void testOfGetReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(){
+
+        ArrayList<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{RETURN_CAUSE, RETURNED_QUANTITY, RETURNED_QUANTITY * RANDOM_PRICE});
+
+        when(dailyProductSalesRepository.getQuantityOfOrderedProductsByTimePeriodAndType(
+                any(LocalDate.class), any(LocalDate.class), eq(TYPE_THAT_EXIST))).thenReturn(null);
+        when(dailyProductReturnsRepository.getReturnCausesAndTheirReturnedQuantityAndRevenueByTimePeriodAndType(
+                any(LocalDate.class), any(LocalDate.class), eq(TYPE_THAT_EXIST))).thenReturn(rows);
+
+        Exception firstException = assertThrows(BadArgumentException.class, () -> {
+            returnTransactionService.getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(
+                    DATE_BEFORE, DATE_NOW, null);
+        });
+
+        Exception secondException = assertThrows(BadArgumentException.class, () -> {
+            returnTransactionService.getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(
+                    DATE_BEFORE, DATE_NOW, "");
+        });
+
+        //Nothing of this type was ordered, so there is no return rate
+        List<Object[]> result = returnTransactionService
+                .getReturnCausesAndTheirReturnedQuantityAndRevenueAndReturnRateByTimePeriodAndType(
+                        DATE_BEFORE, DATE_NOW, TYPE_THAT_EXIST);
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0)[1], RETURNED_QUANTITY);
+        assertNull(result.get(0)[3]);
+        assertEquals(firstException.getMessage(), "Incorrect argument: type");
+        assertEquals(secondException.getMessage(), "Incorrect argument: type");
+    }
 }
@@ -0,0 +1,127 @@
+package org.example.backend.dao.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.dao.repository.product.StockAdjustment;
+import org.example.backend.dao.repository.product.StockAdjustmentRepository;
+import org.example.backend.enumerated.StockAdjustmentStatus;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.model.StockAdjustmentResultModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockAdjustmentServiceTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "71021038";
+    private final String EAN_CODE_THAT_NOT_EXIST = "73920483";
+    private final String INCORRECT_EAN_CODE = "123";
+    private final int ADJUSTMENTS = 2500;
+
+    @Mock
+    private StockAdjustmentRepository stockAdjustmentRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Test
+    public void testOfAdjustStock() throws IOException {
+
+        //Unknown properties are ignored, even though mapper itself fails on them
+        String file = "{\"EANCode\":\"" + RANDOM_EAN_CODE + "\",\"delta\":5,\"note\":\"restock\"}\n"
+                + "not json\n"
+                + "\n"
+                + line(DIFFERENT_EAN_CODE, -10) + "\n"
+                + line(INCORRECT_EAN_CODE, 1) + "\n"
+                + "{\"EANCode\":\"" + RANDOM_EAN_CODE + "\"}\n"
+                + line(EAN_CODE_THAT_NOT_EXIST, 1);
+
+        when(stockAdjustmentRepository.adjust(List.of(new StockAdjustment(RANDOM_EAN_CODE, 5L),
+                new StockAdjustment(DIFFERENT_EAN_CODE, -10L), new StockAdjustment(EAN_CODE_THAT_NOT_EXIST, 1L))))
+                .thenReturn(new boolean[]{true, false, false});
+        when(productRepository.findExistingEANCodes(List.of(DIFFERENT_EAN_CODE, EAN_CODE_THAT_NOT_EXIST)))
+                .thenReturn(List.of(DIFFERENT_EAN_CODE));
+
+        List<StockAdjustmentResultModel> results = new ArrayList<>();
+        stockAdjustmentService.adjustStock(inputStream(file), results::add);
+
+        //Empty line 3 has no result, but numbers of next lines still count it
+        assertEquals(results.stream().map(StockAdjustmentResultModel::getLine).toList(), List.of(1L, 2L, 4L, 5L, 6L, 7L));
+        assertEquals(results.stream().map(StockAdjustmentResultModel::getStatus).toList(), List.of(
+                StockAdjustmentStatus.APPLIED, StockAdjustmentStatus.INCORRECT_ARGUMENT,
+                StockAdjustmentStatus.INSUFFICIENT_STOCK, StockAdjustmentStatus.INCORRECT_ARGUMENT,
+                StockAdjustmentStatus.INCORRECT_ARGUMENT, StockAdjustmentStatus.PRODUCT_NOT_FOUND));
+        assertEquals(results.get(2), new StockAdjustmentResultModel(4L, DIFFERENT_EAN_CODE, -10L,
+                StockAdjustmentStatus.INSUFFICIENT_STOCK));
+    }
+
+    //Every chunk is one batch in its own transaction, products are never looked up when everything is applied
+    @Test
+    public void testOfAdjustStockInChunks() throws IOException {
+
+        StringBuilder file = new StringBuilder();
+
+        for(int i = 0; i < ADJUSTMENTS; i++)
+            file.append(line(RANDOM_EAN_CODE, 1)).append('\n');
+
+        when(stockAdjustmentRepository.adjust(anyList())).thenAnswer(invocation -> {
+            boolean[] applied = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(applied, true);
+            return applied;
+        });
+
+        List<StockAdjustmentResultModel> results = new ArrayList<>();
+        stockAdjustmentService.adjustStock(inputStream(file.toString()), results::add);
+
+        assertEquals(results.size(), ADJUSTMENTS);
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == StockAdjustmentStatus.APPLIED));
+        verify(stockAdjustmentRepository, times(3)).adjust(anyList());
+        verify(transactionManager, times(3)).commit(any());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    public void testOfAdjustStockWithBadArguments(){
+
+        assertThrows(BadArgumentException.class, () -> stockAdjustmentService.adjustStock(null, result -> {}));
+        assertThrows(BadArgumentException.class, () -> stockAdjustmentService.adjustStock(inputStream(""), null));
+
+        verifyNoInteractions(stockAdjustmentRepository);
+    }
+
+    private String line(String eanCode, long delta) {
+        return "{\"EANCode\":\"" + eanCode + "\",\"delta\":" + delta + "}";
+    }
+
+    private InputStream inputStream(String file) {
+        return new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.backend.dao.service;
+
+import org.example.backend.dao.repository.transaction.TransactionExportRepository;
+import org.example.backend.exception.global.BadArgumentException;
+import org.example.backend.export.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionExportServiceTest {
+
+    private final Date STARTING_DATE = Date.from(Instant.parse("2024-05-01T00:00:00Z"));
+    private final Date ENDING_DATE = Date.from(Instant.parse("2024-05-31T23:59:59Z"));
+    private final String RANDOM_EMAIL = "email@email.com";
+    private final String RANDOM_EAN_CODE = "18921008";
+
+    @Mock
+    private TransactionExportRepository transactionExportRepository;
+
+    @InjectMocks
+    private TransactionExportService transactionExportService;
+
+    @Test
+    public void testOfExportReturnTransactions() throws IOException {
+
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumer = invocation.getArgument(2);
+            consumer.accept(new Object[]{RANDOM_EMAIL, RANDOM_EAN_CODE});
+            return null;
+        }).when(transactionExportRepository).forEachReturnedProduct(eq(STARTING_DATE), eq(ENDING_DATE), any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionExportService.exportReturnTransactions(STARTING_DATE, ENDING_DATE, ExportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+
+        assertEquals(lines.length, 2);
+        assertEquals(lines[0], String.join(",", TransactionExportRepository.RETURN_COLUMNS));
+        assertEquals(lines[1], RANDOM_EMAIL + "," + RANDOM_EAN_CODE);
+    }
+
+    @Test
+    public void testOfExportOrderTransactionsWhenClientDisconnects() {
+
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumer = invocation.getArgument(2);
+
+            //Rows don't fit into buffer of writer, so they reach closed output stream before export ends
+            for(int i = 0; i < 1000; i++)
+                consumer.accept(new Object[]{RANDOM_EMAIL, RANDOM_EAN_CODE});
+
+            return null;
+        }).when(transactionExportRepository).forEachOrderedProduct(eq(STARTING_DATE), eq(ENDING_DATE), any());
+
+        OutputStream closedOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> transactionExportService.exportOrderTransactions(STARTING_DATE,
+                ENDING_DATE, ExportFormat.NDJSON, closedOutputStream));
+    }
+
+    @Test
+    public void testOfExportWithBadArguments(){
+
+        assertThrows(BadArgumentException.class, () -> transactionExportService
+                .exportOrderTransactions(null, ENDING_DATE, ExportFormat.CSV, new ByteArrayOutputStream()));
+        assertThrows(BadArgumentException.class, () -> transactionExportService
+                .exportOrderTransactions(ENDING_DATE, STARTING_DATE, ExportFormat.CSV, new ByteArrayOutputStream()));
+        assertThrows(BadArgumentException.class, () -> transactionExportService
+                .exportReturnTransactions(STARTING_DATE, ENDING_DATE, null, new ByteArrayOutputStream()));
+
+        verifyNoInteractions(transactionExportRepository);
+    }
+}
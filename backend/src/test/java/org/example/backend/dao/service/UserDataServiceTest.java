@@ -1,5 +1,6 @@
 package org.example.backend.dao.service;
 
+import org.example.backend.cache.CacheInvalidationBus;
 import org.example.backend.dao.entity.image.UserImage;
 import org.example.backend.dao.entity.user.Privilege;
 import org.example.backend.dao.entity.user.Role;
@@ -15,6 +16,8 @@ import org.example.backend.exception.role.RoleNotFoundException;
 import org.example.backend.exception.role.RoleNotSavedException;
 import org.example.backend.exception.user.UserNotFoundException;
 import org.example.backend.exception.user.UserNotSavedException;
+import org.example.backend.image.ImageStore;
+import org.example.backend.image.StoredImage;
 import org.example.backend.model.PrivilegeModel;
 import org.example.backend.model.RoleModel;
 import org.example.backend.model.UserModel;
@@ -33,11 +36,14 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class UserDataServiceTest {
 
+    private final StoredImage RANDOM_STORED_IMAGE = new StoredImage("1".repeat(64), 10L, "image/png");
 
     private final Long ID_OF_FIRST_CREATED_ENTITY = 1L;
     private final Long ID_OF_SECOND_CREATED_ENTITY = 2L;
@@ -77,6 +83,12 @@ public class UserDataServiceTest {
     @Mock
     private UserImageRepository userImageRepository;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private UserDataService userDataService;
 
@@ -114,7 +126,7 @@ public class UserDataServiceTest {
                 .password(RANDOM_PASSWORD)
                 .birthDate(RANDOM_BIRTH_DATE)
                 .role(role)
-                .profileImage(new UserImage(RANDOM_IMAGE))
+                .profileImage(new UserImage(RANDOM_STORED_IMAGE))
                 .build();
     }
 
@@ -471,6 +483,9 @@ public class UserDataServiceTest {
             userDataService.addPrivilegeToRoleByIdAndName(ID_OF_FIRST_CREATED_ENTITY, RANDOM_PRIVILEGE_NAME);
         });
 
+        //Cache is evicted only when role was changed
+        verify(cacheInvalidationBus, times(1)).invalidateRolesAndPrivileges();
+
         assertEquals(firstException.getMessage(), "Incorrect argument: id");
         assertEquals(secondException.getMessage(), "Incorrect argument: id");
         assertEquals(thirdException.getMessage(), "Incorrect argument: privilegeName");
@@ -805,6 +820,7 @@ public class UserDataServiceTest {
         when(userRepository.findById(RANDOM_USER_ID)).thenReturn(Optional.ofNullable(firstUser));
         when(userRepository.findById(ID_OF_USER_WHICH_NOT_EXIST)).thenReturn(Optional.empty());
         when(userImageRepository.save(any())).thenReturn(firstUser.getProfileImage());
+        when(imageStore.save(RANDOM_IMAGE)).thenReturn(RANDOM_STORED_IMAGE);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             userDataService.updateUserImageById(null, RANDOM_IMAGE);
@@ -881,6 +897,7 @@ public class UserDataServiceTest {
 
         when(userRepository.findById(RANDOM_USER_ID)).thenReturn(Optional.ofNullable(firstUser));
         when(userRepository.findById(ID_OF_USER_WHICH_NOT_EXIST)).thenReturn(Optional.empty());
+        when(imageStore.read(RANDOM_STORED_IMAGE.key())).thenReturn(RANDOM_IMAGE);
 
         Exception firstException = assertThrows(BadArgumentException.class, () -> {
             userDataService.getUserIdAndImageById(null);
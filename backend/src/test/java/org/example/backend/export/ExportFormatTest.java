@@ -0,0 +1,69 @@
+package org.example.backend.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportFormatTest {
+
+    private final List<String> COLUMNS = List.of("name", "date", "quantity", "price", "description");
+    private final Instant RANDOM_INSTANT = Instant.parse("2024-05-01T10:15:30Z");
+    private final String NAME_WITH_COMMA = "Random, name";
+    private final String DESCRIPTION_WITH_QUOTE = "Random \"description\"";
+
+    @Test
+    public void testOfCsvWriter() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExportWriter writer = ExportFormat.CSV.createWriter(COLUMNS, outputStream);
+
+        writer.writeRow(new Object[]{NAME_WITH_COMMA, RANDOM_INSTANT, 3L, 10.5, DESCRIPTION_WITH_QUOTE});
+        writer.writeRow(new Object[]{"name", RANDOM_INSTANT, 1L, 2.0, null});
+        writer.finish();
+
+        assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+                "name,date,quantity,price,description\r\n"
+                        + "\"Random, name\",2024-05-01T10:15:30Z,3,10.5,\"Random \"\"description\"\"\"\r\n"
+                        + "name,2024-05-01T10:15:30Z,1,2.0,\r\n");
+    }
+
+    @Test
+    public void testOfCsvWriterWithoutRows() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExportFormat.CSV.createWriter(COLUMNS, outputStream).finish();
+
+        assertEquals(outputStream.toString(StandardCharsets.UTF_8), "name,date,quantity,price,description\r\n");
+    }
+
+    @Test
+    public void testOfNdjsonWriter() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExportWriter writer = ExportFormat.NDJSON.createWriter(COLUMNS, outputStream);
+
+        writer.writeRow(new Object[]{NAME_WITH_COMMA, RANDOM_INSTANT, 3L, 10.5, DESCRIPTION_WITH_QUOTE});
+        writer.writeRow(new Object[]{"name", RANDOM_INSTANT, 1L, 2.0, null});
+        writer.finish();
+
+        assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+                "{\"name\":\"Random, name\",\"date\":\"2024-05-01T10:15:30Z\",\"quantity\":3,\"price\":10.5,"
+                        + "\"description\":\"Random \\\"description\\\"\"}\n"
+                        + "{\"name\":\"name\",\"date\":\"2024-05-01T10:15:30Z\",\"quantity\":1,\"price\":2.0,"
+                        + "\"description\":null}\n");
+    }
+
+    @Test
+    public void testOfFromFormatName(){
+
+        assertEquals(ExportFormat.fromFormatName("csv"), ExportFormat.CSV);
+        assertEquals(ExportFormat.fromFormatName("ndjson"), ExportFormat.NDJSON);
+        assertNull(ExportFormat.fromFormatName("xml"));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.backend.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSystemImageStoreTest {
+
+    //Beginning of PNG file, enough for mime type to be recognized
+    private final byte[] PNG_IMAGE = new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+    private final byte[] RANDOM_IMAGE = new byte[]{1, 2, 3, 4};
+
+    @TempDir
+    private Path directory;
+
+    private FileSystemImageStore imageStore;
+
+    @BeforeEach
+    public void setUp() {
+        imageStore = new FileSystemImageStore(directory.toString());
+    }
+
+    @Test
+    public void testOfSave(){
+
+        StoredImage firstStoredImage = imageStore.save(PNG_IMAGE);
+        StoredImage secondStoredImage = imageStore.save(PNG_IMAGE);
+        StoredImage randomStoredImage = imageStore.save(RANDOM_IMAGE);
+
+        assertEquals(firstStoredImage, secondStoredImage);
+        assertEquals(firstStoredImage.key(), ImageHashes.sha256(PNG_IMAGE));
+        assertEquals(firstStoredImage.size(), (long) PNG_IMAGE.length);
+        assertEquals(firstStoredImage.mimeType(), "image/png");
+        assertEquals(randomStoredImage.mimeType(), "application/octet-stream");
+        assertTrue(imageStore.exists(firstStoredImage.key()));
+        assertFalse(imageStore.exists(ImageHashes.sha256(new byte[1])));
+    }
+
+    @Test
+    public void testOfReadAndTransferTo() throws Exception {
+
+        StoredImage storedImage = imageStore.save(RANDOM_IMAGE);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        imageStore.transferTo(storedImage.key(), Channels.newChannel(outputStream));
+
+        assertArrayEquals(imageStore.read(storedImage.key()), RANDOM_IMAGE);
+        assertArrayEquals(outputStream.toByteArray(), RANDOM_IMAGE);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageVariantGeneratorTest {
+
+    private final int ORIGINAL_WIDTH = 2000;
+    private final int ORIGINAL_HEIGHT = 1000;
+    private final byte[] NOT_AN_IMAGE = new byte[]{1, 2, 3, 4};
+
+    @TempDir
+    private Path directory;
+
+    private FileSystemImageStore imageStore;
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        imageStore = new FileSystemImageStore(directory.toString());
+        imageVariantGenerator = new ImageVariantGenerator(imageStore);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        imageVariantGenerator.shutdown();
+    }
+
+    @Test
+    public void testOfGenerateVariantsNow() throws Exception {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(ORIGINAL_WIDTH, ORIGINAL_HEIGHT, BufferedImage.TYPE_INT_ARGB),
+                "png", outputStream);
+
+        StoredImage storedImage = imageStore.save(outputStream.toByteArray());
+
+        imageVariantGenerator.generateVariantsNow(storedImage.key());
+
+        for(ImageVariant variant : ImageVariant.values()) {
+
+            ByteArrayOutputStream variantOutputStream = new ByteArrayOutputStream();
+            imageStore.transferVariantTo(storedImage.key(), variant, Channels.newChannel(variantOutputStream));
+
+            BufferedImage variantImage = ImageIO.read(new ByteArrayInputStream(variantOutputStream.toByteArray()));
+
+            assertEquals(variantImage.getWidth(), variant.getMaxDimension());
+            assertEquals(variantImage.getHeight(), variant.getMaxDimension() / 2);
+        }
+    }
+
+    @Test
+    public void testOfGenerateVariantsNowOfNotAnImage() {
+
+        StoredImage storedImage = imageStore.save(NOT_AN_IMAGE);
+
+        assertDoesNotThrow(() -> {
+            imageVariantGenerator.generateVariantsNow(storedImage.key());
+        });
+
+        assertNull(imageStore.variantSize(storedImage.key(), ImageVariant.THUMBNAIL));
+    }
+}
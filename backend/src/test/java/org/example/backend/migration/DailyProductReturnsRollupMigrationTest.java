@@ -0,0 +1,48 @@
+package org.example.backend.migration;
+
+import org.example.backend.dao.repository.transaction.DailyProductReturnsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyProductReturnsRollupMigrationTest {
+
+    private final LocalDate FIRST_RETURN_DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private DailyProductReturnsRollupRepository dailyProductReturnsRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DailyProductReturnsRollupMigration dailyProductReturnsRollupMigration;
+
+    @BeforeEach
+    public void setUp() {
+        dailyProductReturnsRollupMigration = new DailyProductReturnsRollupMigration(
+                dailyProductReturnsRollupRepository, transactionManager);
+    }
+
+    //Day given as --before-day isn't rebuilt, its returns may still be added
+    @Test
+    public void testOfRun(){
+
+        when(dailyProductReturnsRollupRepository.findFirstReturnDay()).thenReturn(FIRST_RETURN_DAY);
+
+        dailyProductReturnsRollupMigration.run(new DefaultApplicationArguments("--before-day=2024-05-03"));
+
+        verify(dailyProductReturnsRollupRepository).rebuildDay(FIRST_RETURN_DAY);
+        verify(dailyProductReturnsRollupRepository).rebuildDay(FIRST_RETURN_DAY.plusDays(1));
+        verify(dailyProductReturnsRollupRepository, never()).rebuildDay(FIRST_RETURN_DAY.plusDays(2));
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.backend.migration;
+
+import org.example.backend.dao.repository.transaction.DailyProductSalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyProductSalesRollupMigrationTest {
+
+    private final LocalDate FIRST_ORDER_DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DailyProductSalesRollupMigration dailyProductSalesRollupMigration;
+
+    @BeforeEach
+    public void setUp() {
+        dailyProductSalesRollupMigration = new DailyProductSalesRollupMigration(dailyProductSalesRollupRepository,
+                transactionManager);
+    }
+
+    //Every day from the first order to the day before --before-day is rebuilt in its own transaction
+    @Test
+    public void testOfRun(){
+
+        when(dailyProductSalesRollupRepository.findFirstOrderDay()).thenReturn(FIRST_ORDER_DAY);
+
+        dailyProductSalesRollupMigration.run(new DefaultApplicationArguments("--before-day=2024-05-04"));
+
+        verify(dailyProductSalesRollupRepository).rebuildDay(FIRST_ORDER_DAY);
+        verify(dailyProductSalesRollupRepository).rebuildDay(FIRST_ORDER_DAY.plusDays(1));
+        verify(dailyProductSalesRollupRepository).rebuildDay(FIRST_ORDER_DAY.plusDays(2));
+        verify(dailyProductSalesRollupRepository, times(3)).rebuildDay(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    public void testOfRunWithoutOrders(){
+
+        when(dailyProductSalesRollupRepository.findFirstOrderDay()).thenReturn(null);
+
+        dailyProductSalesRollupMigration.run(new DefaultApplicationArguments("--before-day=2024-05-04"));
+
+        verify(dailyProductSalesRollupRepository, never()).rebuildDay(any());
+    }
+
+    @Test
+    public void testOfRunWithIncorrectBeforeDay(){
+
+        Exception firstException = assertThrows(IllegalArgumentException.class, () -> {
+            dailyProductSalesRollupMigration.run(new DefaultApplicationArguments());
+        });
+
+        Exception secondException = assertThrows(IllegalArgumentException.class, () -> {
+            dailyProductSalesRollupMigration.run(new DefaultApplicationArguments("--before-day=2024-13-01"));
+        });
+
+        Exception thirdException = assertThrows(IllegalArgumentException.class, () -> {
+            dailyProductSalesRollupMigration.run(new DefaultApplicationArguments(
+                    "--before-day=" + LocalDate.now().plusDays(1)));
+        });
+
+        assertEquals(firstException.getMessage(), "Null argument: before-day");
+        assertEquals(secondException.getMessage(), "Incorrect argument: before-day");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: before-day");
+        verify(dailyProductSalesRollupRepository, never()).rebuildDay(any());
+    }
+}
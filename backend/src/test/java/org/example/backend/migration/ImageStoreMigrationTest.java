@@ -0,0 +1,92 @@
+package org.example.backend.migration;
+
+import org.example.backend.image.FileSystemImageStore;
+import org.example.backend.image.ImageHashes;
+import org.example.backend.image.ImageStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Test isn't run in one transaction, because migration commits every batch in its own transaction
+@DataJpaTest(properties = "image-store.directory=target/image-store-migration-test-images")
+@Import({ImageStoreMigration.class, FileSystemImageStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImageStoreMigrationTest {
+
+    private final byte[] RANDOM_IMAGE = new byte[]{1, 2, 3, 4};
+    private final String MIGRATED_HASH = "1".repeat(64);
+    private final UUID NOT_MIGRATED_ID = UUID.randomUUID();
+    private final UUID MIGRATED_ID = UUID.randomUUID();
+
+    @Autowired
+    private ImageStoreMigration imageStoreMigration;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    //Legacy image column is added back, so table looks like before ImageStore was introduced.
+    //Row which was migrated before has its hash already
+    @BeforeEach
+    public void setUp() {
+
+        jdbcTemplate.execute("ALTER TABLE product_main_image ADD COLUMN image BLOB");
+
+        jdbcTemplate.update("INSERT INTO product_main_image (id, hash, size, mime_type, image) VALUES (?, '', 0, '', ?)",
+                NOT_MIGRATED_ID, RANDOM_IMAGE);
+        jdbcTemplate.update("INSERT INTO product_main_image (id, hash, size, mime_type, image) VALUES (?, ?, 4, ?, ?)",
+                MIGRATED_ID, MIGRATED_HASH, "image/png", RANDOM_IMAGE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_main_image");
+        jdbcTemplate.execute("ALTER TABLE product_main_image DROP COLUMN image");
+    }
+
+    @Test
+    public void testOfRun(){
+
+        imageStoreMigration.run(new DefaultApplicationArguments());
+
+        String randomImageHash = ImageHashes.sha256(RANDOM_IMAGE);
+
+        assertEquals(hashOf(NOT_MIGRATED_ID), randomImageHash);
+        assertEquals(hashOf(MIGRATED_ID), MIGRATED_HASH);
+        assertArrayEquals(imageStore.read(randomImageHash), RANDOM_IMAGE);
+
+        //Column stays for replicas of older version
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_main_image WHERE image IS NOT NULL",
+                Integer.class), 2);
+    }
+
+    //Second run finds no row without hash
+    @Test
+    public void testOfRunAgain(){
+
+        imageStoreMigration.run(new DefaultApplicationArguments());
+        jdbcTemplate.update("UPDATE product_main_image SET mime_type = 'changed' WHERE id = ?", NOT_MIGRATED_ID);
+
+        imageStoreMigration.run(new DefaultApplicationArguments());
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT mime_type FROM product_main_image WHERE id = ?",
+                String.class, NOT_MIGRATED_ID), "changed");
+    }
+
+    private String hashOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT hash FROM product_main_image WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.backend.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MigrationRunnerTest {
+
+    private final String RANDOM_MIGRATION_NAME = "random-migration";
+    private final String DIFFERENT_MIGRATION_NAME = "different-migration";
+
+    @Mock
+    private Migration randomMigration;
+
+    @Mock
+    private Migration differentMigration;
+
+    private MigrationRunner migrationRunner;
+
+    @BeforeEach
+    public void setUp() {
+
+        when(randomMigration.getName()).thenReturn(RANDOM_MIGRATION_NAME);
+        when(differentMigration.getName()).thenReturn(DIFFERENT_MIGRATION_NAME);
+
+        migrationRunner = new MigrationRunner(List.of(randomMigration, differentMigration));
+    }
+
+    @Test
+    public void testOfRun(){
+
+        ApplicationArguments arguments = new DefaultApplicationArguments("--migrate=" + RANDOM_MIGRATION_NAME);
+
+        migrationRunner.run(arguments);
+
+        verify(randomMigration).run(arguments);
+        verify(differentMigration, never()).run(any());
+    }
+
+    //Ordinary start runs no migration
+    @Test
+    public void testOfRunWithoutMigrateOption(){
+
+        migrationRunner.run(new DefaultApplicationArguments("--server.port=8080"));
+
+        verify(randomMigration, never()).run(any());
+        verify(differentMigration, never()).run(any());
+    }
+
+    @Test
+    public void testOfRunWithUnknownMigration(){
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            migrationRunner.run(new DefaultApplicationArguments("--migrate=" + RANDOM_MIGRATION_NAME,
+                    "--migrate=unknown-migration"));
+        });
+
+        assertEquals(exception.getMessage(), "Incorrect argument: migrate");
+        verify(randomMigration, never()).run(any());
+    }
+}
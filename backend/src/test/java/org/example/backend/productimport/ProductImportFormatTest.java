@@ -0,0 +1,66 @@
+package org.example.backend.productimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductImportFormatTest {
+
+    private final String RANDOM_EAN_CODE = "18921008";
+    private final String DIFFERENT_EAN_CODE = "7102103839021";
+    private final String RANDOM_DESCRIPTION = "Random description, with comma and \"quotes\"\nin two lines";
+
+    @Test
+    public void testOfCsvReader() throws IOException {
+
+        String file = "\uFEFFname,EANCode,type,description,height,width,regularPrice,currentPrice,stock,mainImage\r\n"
+                + "Keyboard," + RANDOM_EAN_CODE + ",accessories,\"Random description, with comma and \"\"quotes\"\"\n"
+                + "in two lines\",10,20,100.5,90,5,keyboard.png\r\n"
+                + "\r\n"
+                + "Mouse," + DIFFERENT_EAN_CODE + ",accessories\r\n";
+
+        ProductImportReader reader = ProductImportFormat.CSV.createReader(
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+
+        ProductImportRow keyboard = reader.read();
+        ProductImportRow mouse = reader.read();
+
+        assertEquals(keyboard, new ProductImportRow(RANDOM_EAN_CODE, "Keyboard", "accessories", RANDOM_DESCRIPTION,
+                "10", "20", "100.5", "90", "5", "keyboard.png"));
+
+        //Values missing at the end of row are null, so row is rejected when it is checked
+        assertEquals(mouse.EANCode(), DIFFERENT_EAN_CODE);
+        assertNull(mouse.description());
+        assertNull(mouse.mainImage());
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void testOfNdjsonReader() throws IOException {
+
+        String file = "{\"EANCode\":\"" + RANDOM_EAN_CODE + "\",\"name\":\"Keyboard\",\"type\":\"accessories\","
+                + "\"description\":\"Random\",\"height\":10,\"width\":20,\"regularPrice\":100.5,\"currentPrice\":90,"
+                + "\"stock\":5,\"mainImage\":\"keyboard.png\",\"color\":\"black\"}\n"
+                + "{\"EANCode\":\"" + DIFFERENT_EAN_CODE + "\"}\n";
+
+        ProductImportReader reader = ProductImportFormat.NDJSON.createReader(
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(reader.read(), new ProductImportRow(RANDOM_EAN_CODE, "Keyboard", "accessories", "Random",
+                "10", "20", "100.5", "90", "5", "keyboard.png"));
+        assertEquals(reader.read().EANCode(), DIFFERENT_EAN_CODE);
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void testOfFromFormatName(){
+
+        assertEquals(ProductImportFormat.fromFormatName("csv"), ProductImportFormat.CSV);
+        assertEquals(ProductImportFormat.fromFormatName("ndjson"), ProductImportFormat.NDJSON);
+        assertNull(ProductImportFormat.fromFormatName("xlsx"));
+    }
+}
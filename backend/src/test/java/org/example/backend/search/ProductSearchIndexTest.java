@@ -0,0 +1,97 @@
+package org.example.backend.search;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationType;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSearchIndexTest {
+
+    private final String RANDOM_ORIGIN = "other replica";
+    private final String KEYBOARD_EAN_CODE = "18921008";
+    private final String MOUSE_EAN_CODE = "71021038";
+    private final String MONITOR_EAN_CODE = "7102103839021";
+    private final String ACCESSORIES_TYPE = "accessories";
+    private final String DISPLAYS_TYPE = "displays";
+    private final Double KEYBOARD_PRICE = 120.00;
+    private final Double MOUSE_PRICE = 60.00;
+    private final Double MONITOR_PRICE = 900.00;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        productSearchIndex.rebuild(List.of(
+                new IndexedProduct(KEYBOARD_EAN_CODE, "Wireless keyboard", ACCESSORIES_TYPE,
+                        "Keyboard which works with wireless mouse", KEYBOARD_PRICE),
+                new IndexedProduct(MOUSE_EAN_CODE, "Wireless mouse", ACCESSORIES_TYPE,
+                        "Silent mouse", MOUSE_PRICE),
+                new IndexedProduct(MONITOR_EAN_CODE, "Monitor 27 inch", DISPLAYS_TYPE,
+                        "Monitor for office", MONITOR_PRICE)));
+    }
+
+    @Test
+    public void testOfSearch(){
+
+        assertEquals(productSearchIndex.search("WIRELESS", null, null, null),
+                List.of(KEYBOARD_EAN_CODE, MOUSE_EAN_CODE));
+        assertEquals(productSearchIndex.search("monitor 27", null, null, null), List.of(MONITOR_EAN_CODE));
+        assertEquals(productSearchIndex.search("wireless printer", null, null, null), List.of());
+    }
+
+    @Test
+    public void testOfSearchRanking(){
+
+        //Mouse has phrase in name, keyboard only in description
+        assertEquals(productSearchIndex.search("mouse", null, null, null),
+                List.of(MOUSE_EAN_CODE, KEYBOARD_EAN_CODE));
+    }
+
+    @Test
+    public void testOfSearchByTypeAndPriceRange(){
+
+        assertEquals(productSearchIndex.search("wireless", ACCESSORIES_TYPE, 50.00, 100.00),
+                List.of(MOUSE_EAN_CODE));
+        assertEquals(productSearchIndex.search("wireless", DISPLAYS_TYPE, null, null), List.of());
+    }
+
+    //Product changed on other replica is read again before the next search
+    @Test
+    public void testOfInvalidate(){
+
+        when(productRepository.findIndexedProductsByEANCodes(List.of(MOUSE_EAN_CODE)))
+                .thenReturn(List.of(new IndexedProduct(MOUSE_EAN_CODE, "Mouse pad", ACCESSORIES_TYPE,
+                        "Pad for mouse", MOUSE_PRICE)))
+                .thenReturn(List.of());
+
+        productSearchIndex.invalidate(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                MOUSE_EAN_CODE));
+
+        assertEquals(productSearchIndex.search("wireless", null, null, null), List.of(KEYBOARD_EAN_CODE));
+        assertEquals(productSearchIndex.search("pad", null, null, null), List.of(MOUSE_EAN_CODE));
+
+        //Deleted product isn't found anymore, other invalidations don't change index
+        productSearchIndex.invalidate(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                MOUSE_EAN_CODE));
+        productSearchIndex.invalidate(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.CATALOG_QUERY,
+                MOUSE_EAN_CODE));
+
+        assertEquals(productSearchIndex.search("pad", null, null, null), List.of());
+        verify(productRepository, times(2)).findIndexedProductsByEANCodes(any());
+    }
+}
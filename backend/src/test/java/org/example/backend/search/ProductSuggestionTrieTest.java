@@ -0,0 +1,82 @@
+package org.example.backend.search;
+
+import org.example.backend.cache.CacheInvalidation;
+import org.example.backend.cache.CacheInvalidationType;
+import org.example.backend.dao.repository.product.ProductRepository;
+import org.example.backend.model.ProductSuggestionModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSuggestionTrieTest {
+
+    private final String RANDOM_ORIGIN = "other replica";
+    private final String KEYBOARD_EAN_CODE = "18921008";
+    private final String MOUSE_EAN_CODE = "71021038";
+    private final String MOUSE_PAD_EAN_CODE = "7102103839021";
+    private final String ACCESSORIES_TYPE = "accessories";
+    private final Double RANDOM_PRICE = 100.00;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSuggestionTrie productSuggestionTrie;
+
+    @BeforeEach
+    public void setUp() {
+        productSuggestionTrie.rebuild(List.of(
+                new IndexedProduct(KEYBOARD_EAN_CODE, "Wireless keyboard", ACCESSORIES_TYPE,
+                        "Keyboard", RANDOM_PRICE),
+                new IndexedProduct(MOUSE_EAN_CODE, "Wireless mouse", ACCESSORIES_TYPE,
+                        "Mouse", RANDOM_PRICE),
+                new IndexedProduct(MOUSE_PAD_EAN_CODE, "Mouse pad", ACCESSORIES_TYPE,
+                        "Pad", RANDOM_PRICE)));
+    }
+
+    @Test
+    public void testOfSuggest(){
+
+        List<ProductSuggestionModel> suggestions = productSuggestionTrie.suggest("MOU", 10);
+
+        //"mouse" is shorter completion than "mouse pad"
+        assertEquals(suggestions.size(), 2);
+        assertEquals(suggestions.get(0).getEANCode(), MOUSE_EAN_CODE);
+        assertEquals(suggestions.get(0).getName(), "Wireless mouse");
+        assertEquals(suggestions.get(1).getEANCode(), MOUSE_PAD_EAN_CODE);
+        assertEquals(productSuggestionTrie.suggest("acc", 10).size(), 3);
+        assertEquals(productSuggestionTrie.suggest("acc", 2).size(), 2);
+        assertEquals(productSuggestionTrie.suggest("printer", 10).size(), 0);
+    }
+
+    //Product changed on other replica is read again before the next suggestion
+    @Test
+    public void testOfInvalidate(){
+
+        when(productRepository.findIndexedProductsByEANCodes(List.of(MOUSE_EAN_CODE)))
+                .thenReturn(List.of(new IndexedProduct(MOUSE_EAN_CODE, "Gaming keyboard", ACCESSORIES_TYPE,
+                        "Keyboard", RANDOM_PRICE)))
+                .thenReturn(List.of());
+
+        productSuggestionTrie.invalidate(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                MOUSE_EAN_CODE));
+
+        assertEquals(productSuggestionTrie.suggest("wireless", 10).size(), 1);
+        assertEquals(productSuggestionTrie.suggest("gam", 10).get(0).getEANCode(), MOUSE_EAN_CODE);
+
+        productSuggestionTrie.invalidate(new CacheInvalidation(RANDOM_ORIGIN, CacheInvalidationType.PRODUCT,
+                MOUSE_EAN_CODE));
+
+        assertEquals(productSuggestionTrie.suggest("gam", 10).size(), 0);
+        assertEquals(productSuggestionTrie.suggest("keyboard", 10).size(), 1);
+    }
+}
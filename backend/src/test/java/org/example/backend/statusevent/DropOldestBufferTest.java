@@ -0,0 +1,59 @@
+package org.example.backend.statusevent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DropOldestBufferTest {
+
+    private final int CAPACITY = 3;
+
+    @Test
+    public void testOfTakeAll() {
+
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(CAPACITY);
+
+        buffer.add(1);
+        buffer.add(2);
+
+        DropOldestBuffer.Taken<Integer> taken = buffer.takeAll();
+
+        assertEquals(taken.elements(), List.of(1, 2));
+        assertEquals(taken.dropped(), 0);
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.takeAll().isEmpty());
+    }
+
+    //Full buffer keeps the newest elements and counts dropped ones until they are taken
+    @Test
+    public void testOfTakeAllWhenFull() {
+
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(CAPACITY);
+
+        for(int i = 1; i <= 5; i++)
+            buffer.add(i);
+
+        DropOldestBuffer.Taken<Integer> firstTaken = buffer.takeAll();
+
+        buffer.add(6);
+
+        DropOldestBuffer.Taken<Integer> secondTaken = buffer.takeAll();
+
+        assertEquals(firstTaken.elements(), List.of(3, 4, 5));
+        assertEquals(firstTaken.dropped(), 2);
+        assertEquals(secondTaken.elements(), List.of(6));
+        assertEquals(secondTaken.dropped(), 0);
+    }
+
+    @Test
+    public void testOfConstructor() {
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            new DropOldestBuffer<Integer>(0);
+        });
+
+        assertEquals(exception.getMessage(), "Incorrect argument: capacity");
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.backend.statusevent;
+
+import org.example.backend.enumerated.TransactionEventType;
+import org.example.backend.enumerated.TransactionStatus;
+import org.example.backend.exception.transaction.TooManySubscribersException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionStatusEventHubTest {
+
+    private final int MAXIMAL_SUBSCRIBERS = 2;
+    private final Duration RANDOM_HEARTBEAT = Duration.ofSeconds(15);
+    private final Duration RANDOM_WRITE_TIMEOUT = Duration.ofSeconds(10);
+    private final Duration SHORT_WRITE_TIMEOUT = Duration.ofMillis(200);
+    private final int CONCURRENT_SUBSCRIBERS = 50;
+    private final TransactionStatusEvent RANDOM_EVENT = TransactionStatusEvent.of(
+            TransactionEventType.ORDER_STATUS_CHANGED, UUID.randomUUID(), TransactionStatus.SENT);
+
+    private TransactionStatusEventHub transactionStatusEventHub;
+
+    @BeforeEach
+    public void setUp() {
+        transactionStatusEventHub = new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(1), 1,
+                RANDOM_HEARTBEAT, RANDOM_WRITE_TIMEOUT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionStatusEventHub.shutdown();
+    }
+
+    @Test
+    public void testOfSubscribe() {
+
+        assertNotNull(transactionStatusEventHub.subscribe());
+        assertNotNull(transactionStatusEventHub.subscribe());
+
+        Exception exception = assertThrows(TooManySubscribersException.class, () -> {
+            transactionStatusEventHub.subscribe();
+        });
+
+        assertEquals(transactionStatusEventHub.getSubscriberCount(), MAXIMAL_SUBSCRIBERS);
+        assertEquals(exception.getMessage(),
+                "Transaction status stream already has " + MAXIMAL_SUBSCRIBERS + " subscribers");
+    }
+
+    //Limit holds also when many dashboards subscribe at once
+    @Test
+    public void testOfSubscribeConcurrently() throws Exception {
+
+        AtomicInteger refusedSubscribers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_SUBSCRIBERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> subscriptions = new ArrayList<>();
+
+        for(int i = 0; i < CONCURRENT_SUBSCRIBERS; i++)
+            subscriptions.add(executor.submit(() -> {
+
+                start.await();
+
+                try{
+                    transactionStatusEventHub.subscribe();
+                } catch (TooManySubscribersException e) {
+                    refusedSubscribers.incrementAndGet();
+                }
+
+                return null;
+            }));
+
+        start.countDown();
+
+        for(Future<?> subscription : subscriptions)
+            subscription.get(1, TimeUnit.MINUTES);
+
+        executor.shutdown();
+
+        assertEquals(transactionStatusEventHub.getSubscriberCount(), MAXIMAL_SUBSCRIBERS);
+        assertEquals(refusedSubscribers.get(), CONCURRENT_SUBSCRIBERS - MAXIMAL_SUBSCRIBERS);
+    }
+
+    //Publishing never waits for subscribers, also when there are none
+    @Test
+    public void testOfPublish() {
+
+        assertDoesNotThrow(() -> {
+            transactionStatusEventHub.publish(RANDOM_EVENT);
+        });
+
+        transactionStatusEventHub.subscribe();
+
+        assertDoesNotThrow(() -> {
+            for(int i = 0; i < 100; i++)
+                transactionStatusEventHub.publish(RANDOM_EVENT);
+        });
+    }
+
+    @Test
+    public void testOfConstructor() {
+
+        Exception firstException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(0, 4, Duration.ofMinutes(1), 1, RANDOM_HEARTBEAT,
+                    RANDOM_WRITE_TIMEOUT);
+        });
+
+        Exception secondException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 0, Duration.ofMinutes(1), 1, RANDOM_HEARTBEAT,
+                    RANDOM_WRITE_TIMEOUT);
+        });
+
+        Exception thirdException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(-1), 1, RANDOM_HEARTBEAT,
+                    RANDOM_WRITE_TIMEOUT);
+        });
+
+        Exception fourthException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(1), 0, RANDOM_HEARTBEAT,
+                    RANDOM_WRITE_TIMEOUT);
+        });
+
+        Exception fifthException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(1), 1, Duration.ZERO,
+                    RANDOM_WRITE_TIMEOUT);
+        });
+
+        Exception sixthException = assertThrows(IllegalArgumentException.class, () -> {
+            new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(1), 1, RANDOM_HEARTBEAT,
+                    Duration.ZERO);
+        });
+
+        assertEquals(firstException.getMessage(), "Incorrect argument: maximalSubscribers");
+        assertEquals(secondException.getMessage(), "Incorrect argument: bufferSize");
+        assertEquals(thirdException.getMessage(), "Incorrect argument: timeout");
+        assertEquals(fourthException.getMessage(), "Incorrect argument: senderThreads");
+        assertEquals(fifthException.getMessage(), "Incorrect argument: heartbeat");
+        assertEquals(sixthException.getMessage(), "Incorrect argument: writeTimeout");
+    }
+
+    //Dashboard which never reads holds only its own sender thread, so other dashboard still gets events
+    //with single sender thread, and stalled one is removed once its write takes longer than write timeout
+    @Test
+    public void testOfPublishWithSubscriberWhichNeverReads() throws Exception {
+
+        CountDownLatch stalledWriteStarted = new CountDownLatch(1);
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        BlockingQueue<SseEmitter.SseEventBuilder> written = new LinkedBlockingQueue<>();
+        AtomicInteger createdEmitters = new AtomicInteger();
+
+        transactionStatusEventHub.shutdown();
+        transactionStatusEventHub = new TransactionStatusEventHub(MAXIMAL_SUBSCRIBERS, 4, Duration.ofMinutes(1), 1,
+                RANDOM_HEARTBEAT, SHORT_WRITE_TIMEOUT) {
+
+            @Override
+            SseEmitter createEmitter(Duration timeout) {
+
+                boolean stalled = createdEmitters.getAndIncrement() == 0;
+
+                return new SseEmitter(timeout.toMillis()) {
+
+                    @Override
+                    public void send(SseEventBuilder event) throws IOException {
+
+                        if(!stalled) {
+                            written.add(event);
+                            return;
+                        }
+
+                        stalledWriteStarted.countDown();
+
+                        try{
+                            neverReleased.await();
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                    }
+                };
+            }
+        };
+
+        transactionStatusEventHub.subscribe();
+        transactionStatusEventHub.subscribe();
+        transactionStatusEventHub.publish(RANDOM_EVENT);
+
+        assertTrue(stalledWriteStarted.await(10, TimeUnit.SECONDS));
+        assertNotNull(written.poll(10, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while((transactionStatusEventHub.getSubscriberCount() > 1) && (System.nanoTime() < deadline))
+            Thread.sleep(SHORT_WRITE_TIMEOUT.toMillis());
+
+        //Slot of stalled subscriber is free again while its write still blocks
+        assertEquals(transactionStatusEventHub.getSubscriberCount(), 1);
+        assertNotNull(transactionStatusEventHub.subscribe());
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.backend.virtualthread;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionLimitingDataSourceTest {
+
+    private final int CONNECTIONS = 2;
+    private final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(100);
+    private final Duration LONG_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+
+    private JdbcDataSource targetDataSource;
+
+    @BeforeEach
+    public void setUp() {
+        targetDataSource = new JdbcDataSource();
+        targetDataSource.setURL("jdbc:h2:mem:connection-limiter;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    public void testOfGetConnection() throws SQLException {
+
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, CONNECTIONS,
+                10, ACQUIRE_TIMEOUT);
+
+        Connection firstConnection = dataSource.getConnection();
+        Connection secondConnection = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        //Connection closed twice gives back only one permit
+        firstConnection.close();
+        firstConnection.close();
+
+        Connection thirdConnection = dataSource.getConnection();
+
+        assertTrue(thirdConnection.isValid(1));
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        secondConnection.close();
+        thirdConnection.close();
+    }
+
+    //Waiting thread gets connection as soon as other thread closes its one
+    @Test
+    public void testOfGetConnectionWhenConnectionIsClosed() throws Exception {
+
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1,
+                10, LONG_ACQUIRE_TIMEOUT);
+
+        Connection connection = dataSource.getConnection();
+
+        CompletableFuture<Connection> waitingConnection = CompletableFuture.supplyAsync(() -> {
+            try{
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        while(dataSource.getWaitingThreads() == 0)
+            Thread.onSpinWait();
+
+        connection.close();
+
+        waitingConnection.get(5, TimeUnit.SECONDS).close();
+    }
+
+    //Thread isn't queued when queue is full, so it doesn't wait for acquire timeout
+    @Test
+    public void testOfGetConnectionWhenQueueIsFull() throws SQLException {
+
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1,
+                0, LONG_ACQUIRE_TIMEOUT);
+
+        Connection connection = dataSource.getConnection();
+        long start = System.nanoTime();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertTrue(System.nanoTime() - start < LONG_ACQUIRE_TIMEOUT.toNanos());
+
+        connection.close();
+    }
+
+    @Test
+    public void testOfConstructorWithBadArguments(){
+
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(targetDataSource, 0,
+                10, ACQUIRE_TIMEOUT));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(targetDataSource,
+                CONNECTIONS, -1, ACQUIRE_TIMEOUT));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(targetDataSource,
+                CONNECTIONS, 10, null));
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.backend.virtualthread;
+
+import org.example.backend.BackendApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Comparison of platform and virtual threads on existing controllers, application is started once in every mode
+//and the same load is sent to both, results of both modes are logged. It takes a while, so it is run only with
+//-Dload-test=true, virtual threads mode needs Java 21 as well:
+//mvn test -Dtest=VirtualThreadLoadTest -Dload-test=true
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+public class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    //Security is left out, so load measures controllers, services and pool, not password hashing
+    private final String SECURITY_AUTO_CONFIGURATIONS = String.join(",",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.oauth2.server.servlet.OAuth2AuthorizationServerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.oauth2.server.servlet.OAuth2AuthorizationServerJwtAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration");
+    private final List<String> PATHS = List.of("/products/sale", "/products/suggest?prefix=a", "/admin/products/quantity",
+            "/orders/ordered-products/all/quantity-and-revenue");
+    private final int CLIENTS = 1000;
+    private final int REQUESTS_PER_CLIENT = 20;
+    private final int POOL_SIZE = 10;
+
+    //Limiter may refuse requests with 503 under this load, but no request may fail otherwise
+    @Test
+    public void testOfLoadWithPlatformThreads() throws Exception {
+
+        LoadResult platformThreads = runLoad(false);
+        logger.info("Platform threads: " + platformThreads);
+
+        assertEquals(platformThreads.failedRequests(), 0);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void testOfLoadWithVirtualThreads() throws Exception {
+
+        LoadResult virtualThreads = runLoad(true);
+        logger.info("Virtual threads: " + virtualThreads);
+
+        assertEquals(virtualThreads.failedRequests(), 0);
+    }
+
+    private LoadResult runLoad(boolean virtualThreadsEnabled) throws Exception {
+
+        //Arguments override application.yaml, default properties of SpringApplicationBuilder wouldn't
+        try(ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreadsEnabled,
+                "--spring.datasource.url=jdbc:h2:mem:load-test-" + virtualThreadsEnabled + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.autoconfigure.exclude=" + SECURITY_AUTO_CONFIGURATIONS,
+                "--cache-invalidation.transport=loopback",
+                "--order-intake.enabled=false")) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            return sendLoad("http://localhost:" + port);
+        }
+    }
+
+    private LoadResult sendLoad(String baseUrl) throws Exception {
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        AtomicInteger successfulRequests = new AtomicInteger();
+        AtomicInteger refusedRequests = new AtomicInteger();
+        AtomicInteger failedRequests = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>();
+
+        //Every client has its own thread, so load generator doesn't limit concurrency itself
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+
+        try{
+
+            for(int i = 0; i < CLIENTS; i++) {
+
+                int clientNumber = i;
+
+                clients.add(executor.submit(() -> {
+
+                    start.await();
+
+                    for(int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create(baseUrl + PATHS.get((clientNumber + j) % PATHS.size())))
+                                .timeout(Duration.ofMinutes(1))
+                                .build();
+
+                        long requestStart = System.nanoTime();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies.add(System.nanoTime() - requestStart);
+
+                        if(status == 200)
+                            successfulRequests.incrementAndGet();
+                        else if(status == 503)
+                            refusedRequests.incrementAndGet();
+                        else
+                            failedRequests.incrementAndGet();
+                    }
+
+                    return null;
+                }));
+            }
+
+            long loadStart = System.nanoTime();
+            start.countDown();
+
+            for(Future<?> loadClient : clients)
+                loadClient.get(10, TimeUnit.MINUTES);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - loadStart);
+            List<Long> sortedLatencies = latencies.stream().sorted().toList();
+
+            return new LoadResult(successfulRequests.get(), refusedRequests.get(), failedRequests.get(), elapsed,
+                    Duration.ofNanos(sortedLatencies.get(sortedLatencies.size() / 2)),
+                    Duration.ofNanos(sortedLatencies.get((int) (sortedLatencies.size() * 0.99))));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record LoadResult(int successfulRequests, int refusedRequests, int failedRequests, Duration elapsed,
+                              Duration medianLatency, Duration p99Latency) {
+
+        @Override
+        public String toString() {
+            return successfulRequests + " successful, " + refusedRequests + " refused, " + failedRequests
+                    + " failed requests in " + elapsed.toMillis() + " ms, " + (successfulRequests * 1000L
+                    / Math.max(elapsed.toMillis(), 1)) + " requests/s, median " + medianLatency.toMillis()
+                    + " ms, p99 " + p99Latency.toMillis() + " ms";
+        }
+    }
+}
@@ -18,7 +18,9 @@ function OrderTransactionSearchPage() {
 
     const [isLoading, setIsLoading] = React.useState(true);
 
-    const [idsOfPreviouslyLoadedTransactions, setIdsOfPreviouslyLoadedTransactions] = React.useState([]);
+    //Cursors of previously loaded pages, last one is cursor of current page
+    const [cursorsOfPreviouslyLoadedPages, setCursorsOfPreviouslyLoadedPages] = React.useState([]);
+    const [nextCursor, setNextCursor] = React.useState(null);
     const [currentLoadedTransactions, setCurrentLoadedTransactions] = React.useState([]);
 
     const [startingDate, setStartingDate] = React.useState(null);
@@ -31,45 +33,43 @@ function OrderTransactionSearchPage() {
 
         setIsLoading(true);
 
-        axios.get('http://127.0.0.1:8080/orders-by-search', {
-            params: {
-                startingDate: startingDate,
-                endingDate: endingDate,
-                paymentMethodName: paymentMethodName,
-                deliveryProviderName: deliveryProviderName,
-                userEmail: userEmail,
-                forbiddenOrderTransactionIds: idsOfPreviouslyLoadedTransactions
-            }})
+        loadPage(null)
             .then(response => {
 
-                setIdsOfPreviouslyLoadedTransactions([]);
-                setCurrentLoadedTransactions(response.data);
+                setCurrentLoadedTransactions(response.data['transactions']);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
             })
             .catch((error) => {
 
                 console.error("Error during fetching order transactions", error);
             });
-    });
-
-    function searchWhenClickingSearchButtonHandler() {
+    }, []);
 
-        setIsLoading(true);
+    function loadPage(cursor) {
 
-        axios.get('http://127.0.0.1:8080/orders-by-search', {
+        return axios.get('http://127.0.0.1:8080/orders-by-search', {
             params: {
                 startingDate: startingDate,
                 endingDate: endingDate,
                 paymentMethodName: paymentMethodName,
                 deliveryProviderName: deliveryProviderName,
                 userEmail: userEmail,
-                forbiddenOrderTransactionIds: idsOfPreviouslyLoadedTransactions
+                cursor: cursor
             }
-            })
+        });
+    }
+
+    function searchWhenClickingSearchButtonHandler() {
+
+        setIsLoading(true);
+
+        loadPage(null)
             .then((response) => {
 
-                setIdsOfPreviouslyLoadedTransactions([]);
-                setCurrentLoadedTransactions(response.data);
+                setCursorsOfPreviouslyLoadedPages([]);
+                setCurrentLoadedTransactions(response.data['transactions']);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
             })
             .catch((error) => {
@@ -80,7 +80,7 @@ function OrderTransactionSearchPage() {
 
     function handleMoveBack() {
 
-        if(idsOfPreviouslyLoadedTransactions.length > 24){
+        if(cursorsOfPreviouslyLoadedPages.length === 0){
 
             return false;
         }
@@ -89,21 +89,15 @@ function OrderTransactionSearchPage() {
 
         let returnValue = true;
 
-        let ids24 = [];
+        let cursorsWithoutCurrentPage = cursorsOfPreviouslyLoadedPages.slice(0, -1);
+        let cursorOfPreviousPage = cursorsWithoutCurrentPage.length === 0 ?
+            null : cursorsWithoutCurrentPage[cursorsWithoutCurrentPage.length - 1];
 
-        for(let i = idsOfPreviouslyLoadedTransactions.length - 1;
-            (i >= idsOfPreviouslyLoadedTransactions.length - 24) && (i >= 0) ; i--){
+        loadPage(cursorOfPreviousPage).then(response => {
 
-            ids24.push(idsOfPreviouslyLoadedTransactions[i]);
-            idsOfPreviouslyLoadedTransactions.pop();
-        }
-
-        axios.get('http://127.0.0.1:8080/orders-by-ids', {
-            params: {
-                ids: ids24
-            }
-        }).then(response => {
-            setCurrentLoadedTransactions(response.data);
+            setCurrentLoadedTransactions(response.data['transactions']);
+            setNextCursor(response.data['nextCursor']);
+            setCursorsOfPreviouslyLoadedPages(cursorsWithoutCurrentPage);
             setIsLoading(false);
         }).catch(error => {
 
@@ -116,7 +110,7 @@ function OrderTransactionSearchPage() {
 
     function handleMoveForward() {
 
-        if(currentLoadedTransactions.length < 24){
+        if(nextCursor === null){
             return false;
         }
 
@@ -124,30 +118,12 @@ function OrderTransactionSearchPage() {
 
         let returnValue = true;
 
-        axios.get('http://127.0.0.1:8080/orders-by-search', {
-            params: {
-                startingDate: startingDate,
-                endingDate: endingDate,
-                paymentMethodName: paymentMethodName,
-                deliveryProviderName: deliveryProviderName,
-                userEmail: userEmail,
-                forbiddenOrderTransactionIds: idsOfPreviouslyLoadedTransactions
-            }
-            })
+        loadPage(nextCursor)
             .then((response) => {
 
-                setCurrentLoadedTransactions(response.data);
-
-                let arrayOfOrdersIdsOnLastPage = [];
-
-                currentLoadedTransactions.forEach(orderTransaction => {
-                    arrayOfOrdersIdsOnLastPage.push(orderTransaction['id']);
-                });
-
-                setIdsOfPreviouslyLoadedTransactions(prevState => {
-                    prevState.push(...arrayOfOrdersIdsOnLastPage);
-                });
-
+                setCurrentLoadedTransactions(response.data['transactions']);
+                setCursorsOfPreviouslyLoadedPages(prevState => [...prevState, nextCursor]);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
             })
             .catch((error) => {
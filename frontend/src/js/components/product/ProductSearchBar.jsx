@@ -9,6 +9,7 @@ function ProductSearchBar(props) {
     }
 
     const [types, setTypes] = React.useState([]);
+    const [suggestions, setSuggestions] = React.useState([]);
 
     useEffect(() => {
         axios
@@ -24,6 +25,24 @@ function ProductSearchBar(props) {
 
     function handleInputChange(event) {
         props.inputDataSetter(event.target.value !== "" ? event.target.value : null);
+        loadSuggestions(event.target.value);
+    }
+
+    function loadSuggestions(prefix) {
+
+        if(prefix.trim() === "") {
+            setSuggestions([]);
+            return;
+        }
+
+        axios
+            .get('http://127.0.0.1:8080/products/suggest', {params: {prefix: prefix}})
+            .then(res => {
+                setSuggestions(res.data);
+            })
+            .catch(() => {
+                setSuggestions([]);
+            });
     }
 
     function handleKeyPress(event) {
@@ -50,7 +69,13 @@ function ProductSearchBar(props) {
                 ))}
             </select>
             <input type={"text"} placeholder={"Search"} onChange={handleInputChange} onKeyDown={handleKeyPress}
+                   list={"product-suggestions"}
                    className={"bg-cyan-50 placeholder-gray-700 row-start-1 row-span-1 col-start-3 col-span-3"} />
+            <datalist id={"product-suggestions"}>
+                {suggestions.map(suggestion => (
+                    <option key={suggestion.eancode} value={suggestion.name}/>
+                ))}
+            </datalist>
             <input type={"number"} placeholder={"Minimal price"} onChange={handleMinimalValueChange}
                    className={"bg-cyan-50 placeholder-gray-700 row-start-2 row-span-1 col-start-2 col-span-2"} />
             <input type={"number"} placeholder={"Maximal price"} onChange={handleMaximalValueChange}
@@ -16,8 +16,9 @@ function ProductSearchPage() {
     }
 
     const [isLoading, setIsLoading] = useState(true);
-    const [eanCodesOfPreviouslyLoadedProducts, setEanCodesOfPreviouslyLoadedProducts]
-        = useState([]);
+    //Cursors of previously loaded pages, last one is cursor of current page
+    const [cursorsOfPreviouslyLoadedPages, setCursorsOfPreviouslyLoadedPages] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [minimalPrice, setMinimalPrice] = useState(0);
     const [maximalPrice, setMaximalPrice] = useState(0);
     const [type, setType] = useState('');
@@ -25,18 +26,19 @@ function ProductSearchPage() {
     const [currentProducts, setCurrentProducts] = React.useState([]);
 
     useEffect(() => {
-        axios.get('http://127.0.0.1:8080/search-products', {
+        axios.get('http://127.0.0.1:8080/products-by-search', {
             params: {
                 type: null,
                 phrase: null,
                 minPrice: null,
                 maxPrice: null,
-                forbiddenEanCodes: []
+                cursor: null
             }
         })
             .then(response => {
 
-                setCurrentProducts(response.data);
+                setCurrentProducts(response.data['products']);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
             })
             .catch(err => console.error("Error fetching products:", err));
@@ -45,60 +47,66 @@ function ProductSearchPage() {
     function searchProductsByHittingEnter() {
 
         setIsLoading(true);
-        setEanCodesOfPreviouslyLoadedProducts([]);
+        setCursorsOfPreviouslyLoadedPages([]);
 
         let pomType = type.trim().length === 0 ? null : type;
         let pomPhrase = inputData.trim().length === 0 ? null : inputData;
         let pomMax = maximalPrice === 0 ? null : maximalPrice;
 
-        axios.get('http://127.0.0.1:8080/search-products', {
+        axios.get('http://127.0.0.1:8080/products-by-search', {
             params: {
                 type: pomType,
                 phrase: pomPhrase,
                 minPrice: minimalPrice,
                 maxPrice: pomMax,
-                forbiddenEanCodes: []
+                cursor: null
             }
         })
             .then(response => {
 
-                setCurrentProducts(response.data);
+                setCurrentProducts(response.data['products']);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
             })
             .catch(err => console.error("Error fetching products:", err));
     }
 
-    function moveToPreviousPage(){
-
-        setIsLoading(true);
+    function loadPage(cursor){
 
-        let arrayOfLast24EanCodesInList = [];
-
-        for(let i = eanCodesOfPreviouslyLoadedProducts.length - 1;
-            (i > eanCodesOfPreviouslyLoadedProducts.length - 1 - 24)
-            && (eanCodesOfPreviouslyLoadedProducts .length - i >= 0); i++){
-
-            arrayOfLast24EanCodesInList.push(eanCodesOfPreviouslyLoadedProducts[i]);
-        }
+        let pomType = type.trim().length === 0 ? null : type;
+        let pomPhrase = inputData.trim().length === 0 ? null : inputData;
+        let pomMin = minimalPrice === 0 ? null : minimalPrice;
+        let pomMax = maximalPrice === 0 ? null : maximalPrice;
 
-        axios.get("http://127.0.0.1:8080/products-by-ean-codes", {
+        return axios.get('http://127.0.0.1:8080/products-by-search', {
             params: {
-                eanCodes: arrayOfLast24EanCodesInList
+                type: pomType,
+                phrase: pomPhrase,
+                minPrice: pomMin,
+                maxPrice: pomMax,
+                cursor: cursor
             }
-        }).then(response => {
+        });
+    }
 
-            setIsLoading(false);
+    function moveToPreviousPage(){
 
-            setCurrentProducts(response.data);
-            setEanCodesOfPreviouslyLoadedProducts(prevState => {
+        if(cursorsOfPreviouslyLoadedPages.length === 0)
+            return false;
 
-                for(let i = 0; i < 24; i++){
+        setIsLoading(true);
 
-                    prevState.pop();
-                }
+        let cursorsWithoutCurrentPage = cursorsOfPreviouslyLoadedPages.slice(0, -1);
+        let cursorOfPreviousPage = cursorsWithoutCurrentPage.length === 0 ?
+            null : cursorsWithoutCurrentPage[cursorsWithoutCurrentPage.length - 1];
 
-                return prevState;
-            });
+        loadPage(cursorOfPreviousPage).then(response => {
+
+            setIsLoading(false);
+
+            setCurrentProducts(response.data['products']);
+            setNextCursor(response.data['nextCursor']);
+            setCursorsOfPreviouslyLoadedPages(cursorsWithoutCurrentPage);
 
             return true;
 
@@ -112,44 +120,19 @@ function ProductSearchPage() {
 
     function moveToNextPage(){
 
-        setIsLoading(true);
-
-        if(currentProducts.length !== 24)
+        if(nextCursor === null)
             return false;
 
-        let pomType = type.trim().length === 0 ? null : type;
-        let pomPhrase = inputData.trim().length === 0 ? null : inputData;
-        let pomMin = minimalPrice === 0 ? null : minimalPrice;
-        let pomMax = maximalPrice === 0 ? null : maximalPrice;
+        setIsLoading(true);
 
-        axios.get('http://127.0.0.1:8080/search-products', {
-            params: {
-                type: pomType,
-                phrase: pomPhrase,
-                minPrice: pomMin,
-                maxPrice: pomMax,
-                forbiddenEanCodes: eanCodesOfPreviouslyLoadedProducts
-            }
-        })
+        loadPage(nextCursor)
             .then(response => {
 
-                setCurrentProducts(response.data);
+                setCurrentProducts(response.data['products']);
+                setCursorsOfPreviouslyLoadedPages(prevState => [...prevState, nextCursor]);
+                setNextCursor(response.data['nextCursor']);
                 setIsLoading(false);
 
-                let eanCodesOfCurrentlyLoadedProducts = [];
-
-                currentProducts.forEach(product => {
-
-                    eanCodesOfCurrentlyLoadedProducts.push(product['EANCode']);
-                });
-
-                setEanCodesOfPreviouslyLoadedProducts(prevState => {
-
-                    prevState.push(...eanCodesOfCurrentlyLoadedProducts);
-
-                    return prevState;
-                });
-
                 return true;
 
             })
@@ -178,7 +161,7 @@ function ProductSearchPage() {
                         {currentProducts.map(product => {
                             return (
                                 <div className={"col-span-1 row-span-1"}>
-                                    <ProductCard width={"100%"} height={"100%"} imageSrc={product['mainImage']}
+                                    <ProductCard width={"100%"} height={"100%"} imageSrc={'http://127.0.0.1:8080/images/' + product['mainImageHash'] + '?size=card'}
                                                  name={product['name']} price={product['currentPrice']}/>
                                 </div>
                             );